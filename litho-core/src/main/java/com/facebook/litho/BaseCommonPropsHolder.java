@@ -0,0 +1,428 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.animation.StateListAnimator;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.AttrRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.Nullable;
+import android.support.annotation.Px;
+import android.support.annotation.StyleRes;
+import android.util.SparseArray;
+import android.view.ViewOutlineProvider;
+import com.facebook.infer.annotation.ThreadConfined;
+import com.facebook.litho.reference.Reference;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaDirection;
+import com.facebook.yoga.YogaEdge;
+import com.facebook.yoga.YogaPositionType;
+
+/**
+ * Internal base class for the holders of props that are common to all {@link Component}s. Props
+ * which end up in {@link NodeInfo} are stored there by this class, the layout props are stored by
+ * the subclass. See {@link CommonPropsHolder} and {@link PackedCommonPropsHolder}.
+ */
+@ThreadConfined(ThreadConfined.ANY)
+abstract class BaseCommonPropsHolder implements CommonProps, CommonPropsCopyable {
+
+  @Nullable private NodeInfo mNodeInfo;
+
+  abstract void setStyle(@AttrRes int defStyleAttr, @StyleRes int defStyleRes);
+
+  abstract void positionType(YogaPositionType positionType);
+
+  abstract void positionPx(YogaEdge edge, @Px int position);
+
+  abstract void widthPx(@Px int width);
+
+  abstract void heightPx(@Px int height);
+
+  abstract void background(Reference<? extends Drawable> background);
+
+  abstract void testKey(String testKey);
+
+  abstract void wrapInView();
+
+  abstract void layoutDirection(YogaDirection direction);
+
+  abstract void alignSelf(YogaAlign alignSelf);
+
+  abstract void flex(float flex);
+
+  abstract void flexGrow(float flexGrow);
+
+  abstract void flexShrink(float flexShrink);
+
+  abstract void flexBasisPx(@Px int flexBasis);
+
+  abstract void flexBasisPercent(float percent);
+
+  abstract void importantForAccessibility(int importantForAccessibility);
+
+  abstract void duplicateParentState(boolean duplicateParentState);
+
+  abstract void marginPx(YogaEdge edge, @Px int margin);
+
+  abstract void marginPercent(YogaEdge edge, float percent);
+
+  abstract void marginAuto(YogaEdge edge);
+
+  abstract void paddingPx(YogaEdge edge, @Px int padding);
+
+  abstract void paddingPercent(YogaEdge edge, float percent);
+
+  abstract void border(Border border);
+
+  abstract void stateListAnimator(StateListAnimator stateListAnimator);
+
+  abstract void stateListAnimatorRes(@DrawableRes int resId);
+
+  abstract void positionPercent(YogaEdge edge, float percent);
+
+  abstract void widthPercent(float percent);
+
+  abstract void minWidthPx(@Px int minWidth);
+
+  abstract void minWidthPercent(float percent);
+
+  abstract void maxWidthPx(@Px int maxWidth);
+
+  abstract void maxWidthPercent(float percent);
+
+  abstract void heightPercent(float percent);
+
+  abstract void minHeightPx(@Px int minHeight);
+
+  abstract void minHeightPercent(float percent);
+
+  abstract void maxHeightPx(@Px int maxHeight);
+
+  abstract void maxHeightPercent(float percent);
+
+  abstract void aspectRatio(float aspectRatio);
+
+  abstract void touchExpansionPx(YogaEdge edge, @Px int touchExpansion);
+
+  abstract void foreground(Drawable foreground);
+
+  abstract void visibleHeightRatio(float visibleHeightRatio);
+
+  abstract void visibleWidthRatio(float visibleWidthRatio);
+
+  abstract void visibleHandler(EventHandler<VisibleEvent> visibleHandler);
+
+  abstract void focusedHandler(EventHandler<FocusedVisibleEvent> focusedHandler);
+
+  abstract void unfocusedHandler(EventHandler<UnfocusedVisibleEvent> unfocusedHandler);
+
+  abstract void fullImpressionHandler(
+      EventHandler<FullImpressionVisibleEvent> fullImpressionHandler);
+
+  abstract void invisibleHandler(EventHandler<InvisibleEvent> invisibleHandler);
+
+  abstract void transitionKey(String key);
+
+  void clickHandler(EventHandler<ClickEvent> clickHandler) {
+    getOrCreateNodeInfo().setClickHandler(clickHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<ClickEvent> getClickHandler() {
+    return getOrCreateNodeInfo().getClickHandler();
+  }
+
+  void longClickHandler(EventHandler<LongClickEvent> longClickHandler) {
+    getOrCreateNodeInfo().setLongClickHandler(longClickHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<LongClickEvent> getLongClickHandler() {
+    return getOrCreateNodeInfo().getLongClickHandler();
+  }
+
+  void focusChangeHandler(EventHandler<FocusChangedEvent> focusChangeHandler) {
+    getOrCreateNodeInfo().setFocusChangeHandler(focusChangeHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<FocusChangedEvent> getFocusChangeHandler() {
+    return getOrCreateNodeInfo().getFocusChangeHandler();
+  }
+
+  void touchHandler(EventHandler<TouchEvent> touchHandler) {
+    getOrCreateNodeInfo().setTouchHandler(touchHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<TouchEvent> getTouchHandler() {
+    return getOrCreateNodeInfo().getTouchHandler();
+  }
+
+  void interceptTouchHandler(EventHandler<InterceptTouchEvent> interceptTouchHandler) {
+    getOrCreateNodeInfo().setInterceptTouchHandler(interceptTouchHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<InterceptTouchEvent> getInterceptTouchHandler() {
+    return getOrCreateNodeInfo().getInterceptTouchHandler();
+  }
+
+  void focusable(boolean isFocusable) {
+    getOrCreateNodeInfo().setFocusable(isFocusable);
+  }
+
+  @Override
+  public boolean getFocusable() {
+    return getOrCreateNodeInfo().getFocusState() == NodeInfo.FOCUS_SET_TRUE;
+  }
+
+  void enabled(boolean isEnabled) {
+    getOrCreateNodeInfo().setEnabled(isEnabled);
+  }
+
+  @Override
+  public boolean getEnabled() {
+    return getOrCreateNodeInfo().getEnabledState() == NodeInfo.ENABLED_SET_TRUE;
+  }
+
+  void selected(boolean isSelected) {
+    getOrCreateNodeInfo().setSelected(isSelected);
+  }
+
+  @Override
+  public boolean getSelected() {
+    return getOrCreateNodeInfo().getSelectedState() == NodeInfo.ENABLED_SET_TRUE;
+  }
+
+  void contentDescription(CharSequence contentDescription) {
+    getOrCreateNodeInfo().setContentDescription(contentDescription);
+  }
+
+  @Override
+  @Nullable
+  public CharSequence getContentDescription() {
+    return getOrCreateNodeInfo().getContentDescription();
+  }
+
+  void viewTag(Object viewTag) {
+    getOrCreateNodeInfo().setViewTag(viewTag);
+  }
+
+  @Override
+  @Nullable
+  public Object getViewTag() {
+    return getOrCreateNodeInfo().getViewTag();
+  }
+
+  void viewTags(SparseArray<Object> viewTags) {
+    getOrCreateNodeInfo().setViewTags(viewTags);
+  }
+
+  @Override
+  @Nullable
+  public SparseArray getViewTags() {
+    final SparseArray<Object> viewTags = getOrCreateNodeInfo().getViewTags();
+    return viewTags == null ? null : viewTags.clone();
+  }
+
+  void shadowElevationPx(float shadowElevation) {
+    getOrCreateNodeInfo().setShadowElevation(shadowElevation);
+  }
+
+  @Override
+  public float getShadowElevationPx() {
+    return getOrCreateNodeInfo().getShadowElevation();
+  }
+
+  void outlineProvider(ViewOutlineProvider outlineProvider) {
+    getOrCreateNodeInfo().setOutlineProvider(outlineProvider);
+  }
+
+  @Override
+  @Nullable
+  public ViewOutlineProvider getOutlineProvider() {
+    return getOrCreateNodeInfo().getOutlineProvider();
+  }
+
+  void clipToOutline(boolean clipToOutline) {
+    getOrCreateNodeInfo().setClipToOutline(clipToOutline);
+  }
+
+  @Override
+  public boolean getClipToOutline() {
+    return getOrCreateNodeInfo().getClipToOutline();
+  }
+
+  void accessibilityRole(@AccessibilityRole.AccessibilityRoleType String role) {
+    getOrCreateNodeInfo().setAccessibilityRole(role);
+  }
+
+  @Override
+  @AccessibilityRole.AccessibilityRoleType
+  @Nullable
+  public String getAccessibilityRole() {
+    return getOrCreateNodeInfo().getAccessibilityRole();
+  }
+
+  void dispatchPopulateAccessibilityEventHandler(
+      EventHandler<DispatchPopulateAccessibilityEventEvent>
+          dispatchPopulateAccessibilityEventHandler) {
+    getOrCreateNodeInfo()
+        .setDispatchPopulateAccessibilityEventHandler(dispatchPopulateAccessibilityEventHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<DispatchPopulateAccessibilityEventEvent>
+      getDispatchPopulateAccessibilityEventHandler() {
+    return getOrCreateNodeInfo().getDispatchPopulateAccessibilityEventHandler();
+  }
+
+  void onInitializeAccessibilityEventHandler(
+      EventHandler<OnInitializeAccessibilityEventEvent> onInitializeAccessibilityEventHandler) {
+    getOrCreateNodeInfo()
+        .setOnInitializeAccessibilityEventHandler(onInitializeAccessibilityEventHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<OnInitializeAccessibilityEventEvent>
+      getOnInitializeAccessibilityEventHandler() {
+    return getOrCreateNodeInfo().getOnInitializeAccessibilityEventHandler();
+  }
+
+  void onInitializeAccessibilityNodeInfoHandler(
+      EventHandler<OnInitializeAccessibilityNodeInfoEvent>
+          onInitializeAccessibilityNodeInfoHandler) {
+    getOrCreateNodeInfo()
+        .setOnInitializeAccessibilityNodeInfoHandler(onInitializeAccessibilityNodeInfoHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<OnInitializeAccessibilityNodeInfoEvent>
+      getOnInitializeAccessibilityNodeInfoHandler() {
+    return getOrCreateNodeInfo().getOnInitializeAccessibilityNodeInfoHandler();
+  }
+
+  void onPopulateAccessibilityEventHandler(
+      EventHandler<OnPopulateAccessibilityEventEvent> onPopulateAccessibilityEventHandler) {
+    getOrCreateNodeInfo()
+        .setOnPopulateAccessibilityEventHandler(onPopulateAccessibilityEventHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<OnPopulateAccessibilityEventEvent> getOnPopulateAccessibilityEventHandler() {
+    return getOrCreateNodeInfo().getOnPopulateAccessibilityEventHandler();
+  }
+
+  void onRequestSendAccessibilityEventHandler(
+      EventHandler<OnRequestSendAccessibilityEventEvent> onRequestSendAccessibilityEventHandler) {
+    getOrCreateNodeInfo()
+        .setOnRequestSendAccessibilityEventHandler(onRequestSendAccessibilityEventHandler);
+  }
+
+  @Nullable
+  @Override
+  public EventHandler<OnRequestSendAccessibilityEventEvent>
+      getOnRequestSendAccessibilityEventHandler() {
+    return getOrCreateNodeInfo().getOnRequestSendAccessibilityEventHandler();
+  }
+
+  void performAccessibilityActionHandler(
+      EventHandler<PerformAccessibilityActionEvent> performAccessibilityActionHandler) {
+    getOrCreateNodeInfo().setPerformAccessibilityActionHandler(performAccessibilityActionHandler);
+  }
+
+  @Nullable
+  @Override
+  public EventHandler<PerformAccessibilityActionEvent> getPerformAccessibilityActionHandler() {
+    return getOrCreateNodeInfo().getPerformAccessibilityActionHandler();
+  }
+
+  void sendAccessibilityEventHandler(
+      EventHandler<SendAccessibilityEventEvent> sendAccessibilityEventHandler) {
+    getOrCreateNodeInfo().setSendAccessibilityEventHandler(sendAccessibilityEventHandler);
+  }
+
+  @Nullable
+  @Override
+  public EventHandler<SendAccessibilityEventEvent> getSendAccessibilityEventHandler() {
+    return getOrCreateNodeInfo().getSendAccessibilityEventHandler();
+  }
+
+  void sendAccessibilityEventUncheckedHandler(
+      EventHandler<SendAccessibilityEventUncheckedEvent> sendAccessibilityEventUncheckedHandler) {
+    getOrCreateNodeInfo()
+        .setSendAccessibilityEventUncheckedHandler(sendAccessibilityEventUncheckedHandler);
+  }
+
+  @Nullable
+  @Override
+  public EventHandler<SendAccessibilityEventUncheckedEvent>
+      getSendAccessibilityEventUncheckedHandler() {
+    return getOrCreateNodeInfo().getSendAccessibilityEventUncheckedHandler();
+  }
+
+  void scale(float scale) {
+    getOrCreateNodeInfo().setScale(scale);
+  }
+
+  @Override
+  public float getScale() {
+    return getOrCreateNodeInfo().getScale();
+  }
+
+  void alpha(float alpha) {
+    getOrCreateNodeInfo().setAlpha(alpha);
+  }
+
+  @Override
+  public float getAlpha() {
+    return getOrCreateNodeInfo().getAlpha();
+  }
+
+  void rotation(float rotation) {
+    getOrCreateNodeInfo().setRotation(rotation);
+  }
+
+  @Override
+  public float getRotation() {
+    return getOrCreateNodeInfo().getRotation();
+  }
+
+  private NodeInfo getOrCreateNodeInfo() {
+    if (mNodeInfo == null) {
+      mNodeInfo = NodeInfo.acquire();
+    }
+
+    return mNodeInfo;
+  }
+
+  void copyNodeInfoInto(InternalNode node) {
+    if (mNodeInfo != null) {
+      mNodeInfo.copyInto(node);
+    }
+  }
+}
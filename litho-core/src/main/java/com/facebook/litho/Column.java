@@ -16,7 +16,6 @@
 
 package com.facebook.litho;
 
-import android.support.v4.util.Pools;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.yoga.YogaAlign;
 import com.facebook.yoga.YogaFlexDirection;
@@ -52,8 +51,7 @@ public final class Column extends Component {
   @Prop(optional = true)
   private boolean reverse;
 
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool =
-      new Pools.SynchronizedPool<>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<>(2);
 
   private Column() {
     super("Column");
@@ -23,8 +23,6 @@ import android.support.annotation.DrawableRes;
 import android.support.annotation.Nullable;
 import android.support.annotation.Px;
 import android.support.annotation.StyleRes;
-import android.util.SparseArray;
-import android.view.ViewOutlineProvider;
 import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.reference.Reference;
@@ -37,7 +35,7 @@ import java.util.List;
 
 /** Internal class that holds props that are common to all {@link Component}s. */
 @ThreadConfined(ThreadConfined.ANY)
-class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
+class CommonPropsHolder extends BaseCommonPropsHolder {
 
   // Flags used to indicate that a certain attribute was explicitly set on the node.
   private static final byte PFLAG_POSITION_TYPE_IS_SET = 1 << 1;
@@ -50,7 +48,6 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
   @Nullable private OtherProps mOtherProps;
 
   private byte mPrivateFlags;
-  @Nullable private NodeInfo mNodeInfo;
 
   @Nullable private YogaPositionType mPositionType;
   @Nullable private YogaEdgesWithInts mPositions;
@@ -70,6 +67,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mOtherProps;
   }
 
+  @Override
   void setStyle(@AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
     mDefStyleAttr = defStyleAttr;
     mDefStyleRes = defStyleRes;
@@ -87,6 +85,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mDefStyleRes;
   }
 
+  @Override
   void positionType(YogaPositionType positionType) {
     mPrivateFlags |= PFLAG_POSITION_TYPE_IS_SET;
     mPositionType = positionType;
@@ -98,6 +97,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mPositionType;
   }
 
+  @Override
   void positionPx(YogaEdge edge, @Px int position) {
     mPrivateFlags |= PFLAG_POSITION_IS_SET;
     if (mPositions == null) {
@@ -110,6 +110,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     mPositions.add(edge, position);
   }
 
+  @Override
   void widthPx(@Px int width) {
     mPrivateFlags |= PFLAG_WIDTH_IS_SET;
     mWidthPx = width;
@@ -120,6 +121,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mWidthPx;
   }
 
+  @Override
   void heightPx(@Px int height) {
     mPrivateFlags |= PFLAG_HEIGHT_IS_SET;
     mHeightPx = height;
@@ -130,6 +132,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mHeightPx;
   }
 
+  @Override
   void background(Reference<? extends Drawable> background) {
     mPrivateFlags |= PFLAG_BACKGROUND_IS_SET;
     mBackground = background;
@@ -141,6 +144,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mBackground;
   }
 
+  @Override
   void testKey(String testKey) {
     mPrivateFlags |= PFLAG_TEST_KEY_IS_SET;
     mTestKey = testKey;
@@ -152,6 +156,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mTestKey;
   }
 
+  @Override
   void wrapInView() {
     mWrapInView = true;
   }
@@ -161,6 +166,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return mWrapInView;
   }
 
+  @Override
   void layoutDirection(YogaDirection direction) {
     getOrCreateOtherProps().layoutDirection(direction);
   }
@@ -171,6 +177,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mLayoutDirection;
   }
 
+  @Override
   void alignSelf(YogaAlign alignSelf) {
     getOrCreateOtherProps().alignSelf(alignSelf);
   }
@@ -181,6 +188,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mAlignSelf;
   }
 
+  @Override
   void flex(float flex) {
     getOrCreateOtherProps().flex(flex);
   }
@@ -190,6 +198,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFlex;
   }
 
+  @Override
   void flexGrow(float flexGrow) {
     getOrCreateOtherProps().flexGrow(flexGrow);
   }
@@ -199,6 +208,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFlexGrow;
   }
 
+  @Override
   void flexShrink(float flexShrink) {
     getOrCreateOtherProps().flexShrink(flexShrink);
   }
@@ -208,6 +218,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFlexShrink;
   }
 
+  @Override
   void flexBasisPx(@Px int flexBasis) {
     getOrCreateOtherProps().flexBasisPx(flexBasis);
   }
@@ -218,6 +229,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFlexBasisPx;
   }
 
+  @Override
   void flexBasisPercent(float percent) {
     getOrCreateOtherProps().flexBasisPercent(percent);
   }
@@ -227,6 +239,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFlexBasisPercent;
   }
 
+  @Override
   void importantForAccessibility(int importantForAccessibility) {
     getOrCreateOtherProps().importantForAccessibility(importantForAccessibility);
   }
@@ -236,6 +249,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mImportantForAccessibility;
   }
 
+  @Override
   void duplicateParentState(boolean duplicateParentState) {
     getOrCreateOtherProps().duplicateParentState(duplicateParentState);
   }
@@ -245,26 +259,32 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mDuplicateParentState;
   }
 
+  @Override
   void marginPx(YogaEdge edge, @Px int margin) {
     getOrCreateOtherProps().marginPx(edge, margin);
   }
 
+  @Override
   void marginPercent(YogaEdge edge, float percent) {
     getOrCreateOtherProps().marginPercent(edge, percent);
   }
 
+  @Override
   void marginAuto(YogaEdge edge) {
     getOrCreateOtherProps().marginAuto(edge);
   }
 
+  @Override
   void paddingPx(YogaEdge edge, @Px int padding) {
     getOrCreateOtherProps().paddingPx(edge, padding);
   }
 
+  @Override
   void paddingPercent(YogaEdge edge, float percent) {
     getOrCreateOtherProps().paddingPercent(edge, percent);
   }
 
+  @Override
   void border(Border border) {
     getOrCreateOtherProps().border(border);
   }
@@ -275,6 +295,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mBorder;
   }
 
+  @Override
   void stateListAnimator(StateListAnimator stateListAnimator) {
     getOrCreateOtherProps().stateListAnimator(stateListAnimator);
   }
@@ -285,6 +306,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mStateListAnimator;
   }
 
+  @Override
   void stateListAnimatorRes(@DrawableRes int resId) {
     getOrCreateOtherProps().stateListAnimatorRes(resId);
   }
@@ -295,50 +317,62 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mStateListAnimatorRes;
   }
 
+  @Override
   void positionPercent(YogaEdge edge, float percent) {
     getOrCreateOtherProps().positionPercent(edge, percent);
   }
 
+  @Override
   void widthPercent(float percent) {
     getOrCreateOtherProps().widthPercent(percent);
   }
 
+  @Override
   void minWidthPx(@Px int minWidth) {
     getOrCreateOtherProps().minWidthPx(minWidth);
   }
 
+  @Override
   void minWidthPercent(float percent) {
     getOrCreateOtherProps().minWidthPercent(percent);
   }
 
+  @Override
   void maxWidthPx(@Px int maxWidth) {
     getOrCreateOtherProps().maxWidthPx(maxWidth);
   }
 
+  @Override
   void maxWidthPercent(float percent) {
     getOrCreateOtherProps().maxWidthPercent(percent);
   }
 
+  @Override
   void heightPercent(float percent) {
     getOrCreateOtherProps().heightPercent(percent);
   }
 
+  @Override
   void minHeightPx(@Px int minHeight) {
     getOrCreateOtherProps().minHeightPx(minHeight);
   }
 
+  @Override
   void minHeightPercent(float percent) {
     getOrCreateOtherProps().minHeightPercent(percent);
   }
 
+  @Override
   void maxHeightPx(@Px int maxHeight) {
     getOrCreateOtherProps().maxHeightPx(maxHeight);
   }
 
+  @Override
   void maxHeightPercent(float percent) {
     getOrCreateOtherProps().maxHeightPercent(percent);
   }
 
+  @Override
   void aspectRatio(float aspectRatio) {
     getOrCreateOtherProps().aspectRatio(aspectRatio);
   }
@@ -348,10 +382,12 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mAspectRatio;
   }
 
+  @Override
   void touchExpansionPx(YogaEdge edge, @Px int touchExpansion) {
     getOrCreateOtherProps().touchExpansionPx(edge, touchExpansion);
   }
 
+  @Override
   void foreground(Drawable foreground) {
     getOrCreateOtherProps().foreground(foreground);
   }
@@ -362,83 +398,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mForeground;
   }
 
-  void clickHandler(EventHandler<ClickEvent> clickHandler) {
-    getOrCreateNodeInfo().setClickHandler(clickHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<ClickEvent> getClickHandler() {
-    return getOrCreateNodeInfo().getClickHandler();
-  }
-
-  void longClickHandler(EventHandler<LongClickEvent> longClickHandler) {
-    getOrCreateNodeInfo().setLongClickHandler(longClickHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<LongClickEvent> getLongClickHandler() {
-    return getOrCreateNodeInfo().getLongClickHandler();
-  }
-
-  void focusChangeHandler(EventHandler<FocusChangedEvent> focusChangeHandler) {
-    getOrCreateNodeInfo().setFocusChangeHandler(focusChangeHandler);
-  }
-
   @Override
-  @Nullable
-  public EventHandler<FocusChangedEvent> getFocusChangeHandler() {
-    return getOrCreateNodeInfo().getFocusChangeHandler();
-  }
-
-  void touchHandler(EventHandler<TouchEvent> touchHandler) {
-    getOrCreateNodeInfo().setTouchHandler(touchHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<TouchEvent> getTouchHandler() {
-    return getOrCreateNodeInfo().getTouchHandler();
-  }
-
-  void interceptTouchHandler(EventHandler<InterceptTouchEvent> interceptTouchHandler) {
-    getOrCreateNodeInfo().setInterceptTouchHandler(interceptTouchHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<InterceptTouchEvent> getInterceptTouchHandler() {
-    return getOrCreateNodeInfo().getInterceptTouchHandler();
-  }
-
-  void focusable(boolean isFocusable) {
-    getOrCreateNodeInfo().setFocusable(isFocusable);
-  }
-
-  @Override
-  public boolean getFocusable() {
-    return getOrCreateNodeInfo().getFocusState() == NodeInfo.FOCUS_SET_TRUE;
-  }
-
-  void enabled(boolean isEnabled) {
-    getOrCreateNodeInfo().setEnabled(isEnabled);
-  }
-
-  @Override
-  public boolean getEnabled() {
-    return getOrCreateNodeInfo().getEnabledState() == NodeInfo.ENABLED_SET_TRUE;
-  }
-
-  void selected(boolean isSelected) {
-    getOrCreateNodeInfo().setSelected(isSelected);
-  }
-
-  @Override
-  public boolean getSelected() {
-    return getOrCreateNodeInfo().getSelectedState() == NodeInfo.ENABLED_SET_TRUE;
-  }
-
   void visibleHeightRatio(float visibleHeightRatio) {
     getOrCreateOtherProps().visibleHeightRatio(visibleHeightRatio);
   }
@@ -448,6 +408,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mVisibleHeightRatio;
   }
 
+  @Override
   void visibleWidthRatio(float visibleWidthRatio) {
     getOrCreateOtherProps().visibleWidthRatio(visibleWidthRatio);
   }
@@ -457,6 +418,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mVisibleWidthRatio;
   }
 
+  @Override
   void visibleHandler(EventHandler<VisibleEvent> visibleHandler) {
     getOrCreateOtherProps().visibleHandler(visibleHandler);
   }
@@ -467,6 +429,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mVisibleHandler;
   }
 
+  @Override
   void focusedHandler(EventHandler<FocusedVisibleEvent> focusedHandler) {
     getOrCreateOtherProps().focusedHandler(focusedHandler);
   }
@@ -477,6 +440,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFocusedHandler;
   }
 
+  @Override
   void unfocusedHandler(EventHandler<UnfocusedVisibleEvent> unfocusedHandler) {
     getOrCreateOtherProps().unfocusedHandler(unfocusedHandler);
   }
@@ -487,6 +451,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mUnfocusedHandler;
   }
 
+  @Override
   void fullImpressionHandler(EventHandler<FullImpressionVisibleEvent> fullImpressionHandler) {
     getOrCreateOtherProps().fullImpressionHandler(fullImpressionHandler);
   }
@@ -497,6 +462,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mFullImpressionHandler;
   }
 
+  @Override
   void invisibleHandler(EventHandler<InvisibleEvent> invisibleHandler) {
     getOrCreateOtherProps().invisibleHandler(invisibleHandler);
   }
@@ -507,204 +473,7 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mInvisibleHandler;
   }
 
-  void contentDescription(CharSequence contentDescription) {
-    getOrCreateNodeInfo().setContentDescription(contentDescription);
-  }
-
-  @Override
-  @Nullable
-  public CharSequence getContentDescription() {
-    return getOrCreateNodeInfo().getContentDescription();
-  }
-
-  void viewTag(Object viewTag) {
-    getOrCreateNodeInfo().setViewTag(viewTag);
-  }
-
-  @Override
-  @Nullable
-  public Object getViewTag() {
-    return getOrCreateNodeInfo().getViewTag();
-  }
-
-  void viewTags(SparseArray<Object> viewTags) {
-    getOrCreateNodeInfo().setViewTags(viewTags);
-  }
-
-  @Override
-  @Nullable
-  public SparseArray getViewTags() {
-    final SparseArray<Object> viewTags = getOrCreateNodeInfo().getViewTags();
-    return viewTags == null ? null : viewTags.clone();
-  }
-
-  void shadowElevationPx(float shadowElevation) {
-    getOrCreateNodeInfo().setShadowElevation(shadowElevation);
-  }
-
-  @Override
-  public float getShadowElevationPx() {
-    return getOrCreateNodeInfo().getShadowElevation();
-  }
-
-  void outlineProvider(ViewOutlineProvider outlineProvider) {
-    getOrCreateNodeInfo().setOutlineProvider(outlineProvider);
-  }
-
-  @Override
-  @Nullable
-  public ViewOutlineProvider getOutlineProvider() {
-    return getOrCreateNodeInfo().getOutlineProvider();
-  }
-
-  void clipToOutline(boolean clipToOutline) {
-    getOrCreateNodeInfo().setClipToOutline(clipToOutline);
-  }
-
-  @Override
-  public boolean getClipToOutline() {
-    return getOrCreateNodeInfo().getClipToOutline();
-  }
-
-  void accessibilityRole(@AccessibilityRole.AccessibilityRoleType String role) {
-    getOrCreateNodeInfo().setAccessibilityRole(role);
-  }
-
-  @Override
-  @AccessibilityRole.AccessibilityRoleType
-  @Nullable
-  public String getAccessibilityRole() {
-    return getOrCreateNodeInfo().getAccessibilityRole();
-  }
-
-  void dispatchPopulateAccessibilityEventHandler(
-      EventHandler<DispatchPopulateAccessibilityEventEvent>
-          dispatchPopulateAccessibilityEventHandler) {
-    getOrCreateNodeInfo()
-        .setDispatchPopulateAccessibilityEventHandler(dispatchPopulateAccessibilityEventHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<DispatchPopulateAccessibilityEventEvent>
-      getDispatchPopulateAccessibilityEventHandler() {
-    return getOrCreateNodeInfo().getDispatchPopulateAccessibilityEventHandler();
-  }
-
-  void onInitializeAccessibilityEventHandler(
-      EventHandler<OnInitializeAccessibilityEventEvent> onInitializeAccessibilityEventHandler) {
-    getOrCreateNodeInfo()
-        .setOnInitializeAccessibilityEventHandler(onInitializeAccessibilityEventHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<OnInitializeAccessibilityEventEvent>
-      getOnInitializeAccessibilityEventHandler() {
-    return getOrCreateNodeInfo().getOnInitializeAccessibilityEventHandler();
-  }
-
-  void onInitializeAccessibilityNodeInfoHandler(
-      EventHandler<OnInitializeAccessibilityNodeInfoEvent>
-          onInitializeAccessibilityNodeInfoHandler) {
-    getOrCreateNodeInfo()
-        .setOnInitializeAccessibilityNodeInfoHandler(onInitializeAccessibilityNodeInfoHandler);
-  }
-
-  @Override
-  @Nullable
-  public EventHandler<OnInitializeAccessibilityNodeInfoEvent>
-      getOnInitializeAccessibilityNodeInfoHandler() {
-    return getOrCreateNodeInfo().getOnInitializeAccessibilityNodeInfoHandler();
-  }
-
-  void onPopulateAccessibilityEventHandler(
-      EventHandler<OnPopulateAccessibilityEventEvent> onPopulateAccessibilityEventHandler) {
-    getOrCreateNodeInfo()
-        .setOnPopulateAccessibilityEventHandler(onPopulateAccessibilityEventHandler);
-  }
-
   @Override
-  @Nullable
-  public EventHandler<OnPopulateAccessibilityEventEvent> getOnPopulateAccessibilityEventHandler() {
-    return getOrCreateNodeInfo().getOnPopulateAccessibilityEventHandler();
-  }
-
-  void onRequestSendAccessibilityEventHandler(
-      EventHandler<OnRequestSendAccessibilityEventEvent> onRequestSendAccessibilityEventHandler) {
-    getOrCreateNodeInfo()
-        .setOnRequestSendAccessibilityEventHandler(onRequestSendAccessibilityEventHandler);
-  }
-
-  @Nullable
-  @Override
-  public EventHandler<OnRequestSendAccessibilityEventEvent>
-      getOnRequestSendAccessibilityEventHandler() {
-    return getOrCreateNodeInfo().getOnRequestSendAccessibilityEventHandler();
-  }
-
-  void performAccessibilityActionHandler(
-      EventHandler<PerformAccessibilityActionEvent> performAccessibilityActionHandler) {
-    getOrCreateNodeInfo().setPerformAccessibilityActionHandler(performAccessibilityActionHandler);
-  }
-
-  @Nullable
-  @Override
-  public EventHandler<PerformAccessibilityActionEvent> getPerformAccessibilityActionHandler() {
-    return getOrCreateNodeInfo().getPerformAccessibilityActionHandler();
-  }
-
-  void sendAccessibilityEventHandler(
-      EventHandler<SendAccessibilityEventEvent> sendAccessibilityEventHandler) {
-    getOrCreateNodeInfo().setSendAccessibilityEventHandler(sendAccessibilityEventHandler);
-  }
-
-  @Nullable
-  @Override
-  public EventHandler<SendAccessibilityEventEvent> getSendAccessibilityEventHandler() {
-    return getOrCreateNodeInfo().getSendAccessibilityEventHandler();
-  }
-
-  void sendAccessibilityEventUncheckedHandler(
-      EventHandler<SendAccessibilityEventUncheckedEvent> sendAccessibilityEventUncheckedHandler) {
-    getOrCreateNodeInfo()
-        .setSendAccessibilityEventUncheckedHandler(sendAccessibilityEventUncheckedHandler);
-  }
-
-  @Nullable
-  @Override
-  public EventHandler<SendAccessibilityEventUncheckedEvent>
-      getSendAccessibilityEventUncheckedHandler() {
-    return getOrCreateNodeInfo().getSendAccessibilityEventUncheckedHandler();
-  }
-
-  void scale(float scale) {
-    getOrCreateNodeInfo().setScale(scale);
-  }
-
-  @Override
-  public float getScale() {
-    return getOrCreateNodeInfo().getScale();
-  }
-
-  void alpha(float alpha) {
-    getOrCreateNodeInfo().setAlpha(alpha);
-  }
-
-  @Override
-  public float getAlpha() {
-    return getOrCreateNodeInfo().getAlpha();
-  }
-
-  void rotation(float rotation) {
-    getOrCreateNodeInfo().setRotation(rotation);
-  }
-
-  @Override
-  public float getRotation() {
-    return getOrCreateNodeInfo().getRotation();
-  }
-
   void transitionKey(String key) {
     getOrCreateOtherProps().transitionKey(key);
   }
@@ -715,21 +484,11 @@ class CommonPropsHolder implements CommonProps, CommonPropsCopyable {
     return getOrCreateOtherProps().mTransitionKey;
   }
 
-  private NodeInfo getOrCreateNodeInfo() {
-    if (mNodeInfo == null) {
-      mNodeInfo = NodeInfo.acquire();
-    }
-
-    return mNodeInfo;
-  }
-
   @Override
   public void copyInto(ComponentContext c, InternalNode node) {
     c.applyStyle(node, mDefStyleAttr, mDefStyleRes);
 
-    if (mNodeInfo != null) {
-      mNodeInfo.copyInto(node);
-    }
+    copyNodeInfoInto(node);
 
     if ((mPrivateFlags & PFLAG_BACKGROUND_IS_SET) != 0L) {
       node.background(mBackground);
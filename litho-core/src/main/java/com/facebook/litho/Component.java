@@ -92,7 +92,7 @@ public abstract class Component extends ComponentLifecycle
   @ThreadConfined(ThreadConfined.ANY)
   private InternalNode mLastMeasuredLayout;
 
-  @Nullable private CommonPropsHolder mCommonPropsHolder;
+  @Nullable private BaseCommonPropsHolder mCommonPropsHolder;
 
   /**
    * Holds onto how many direct component children of each type this Component has. Used for
@@ -119,6 +119,11 @@ public abstract class Component extends ComponentLifecycle
   /** Holds an identifying name of the component, set at construction time. */
   private final String mSimpleName;
 
+  /** Lazily computed hash of the props, only valid if {@link #mHasPropsHash} is set. */
+  private int mPropsHash;
+
+  private volatile boolean mHasPropsHash;
+
   protected Component(String simpleName) {
     this(simpleName, null);
   }
@@ -158,6 +163,38 @@ public abstract class Component extends ComponentLifecycle
     return this == other;
   }
 
+  /**
+   * Computes a hash over the props of this component that is consistent with {@link
+   * #isEquivalentTo(Component)}: equivalent components always have the same props hash. Generated
+   * components override this so that their isEquivalentTo can reject most mismatches without
+   * comparing every prop.
+   */
+  protected int computePropsHash() {
+    return 0;
+  }
+
+  /**
+   * @return false if the props of this component and {@code other} can't be equivalent, true if
+   *     a full comparison is needed to tell. The props hash is only computed once per component
+   *     since props don't change after the component is built.
+   */
+  protected final boolean isPropsHashMatching(Component other) {
+    final boolean isMatching = getPropsHash() == other.getPropsHash();
+    if (ComponentsConfiguration.collectIsEquivalentToStats) {
+      IsEquivalentToStats.record(mSimpleName, !isMatching);
+    }
+    return isMatching;
+  }
+
+  private int getPropsHash() {
+    if (!mHasPropsHash) {
+      // Components may be compared from several threads, computing the same hash at worst.
+      mPropsHash = computePropsHash();
+      mHasPropsHash = true;
+    }
+    return mPropsHash;
+  }
+
   protected StateContainer getStateContainer() {
     return null;
   }
@@ -563,9 +600,12 @@ public abstract class Component extends ComponentLifecycle
     return mCommonPropsHolder;
   }
 
-  private CommonPropsHolder getOrCreateCommonPropsHolder() {
+  private BaseCommonPropsHolder getOrCreateCommonPropsHolder() {
     if (mCommonPropsHolder == null) {
-      mCommonPropsHolder = new CommonPropsHolder();
+      mCommonPropsHolder =
+          ComponentsConfiguration.usePackedCommonProps
+              ? new PackedCommonPropsHolder()
+              : new CommonPropsHolder();
     }
 
     return mCommonPropsHolder;
@@ -681,6 +721,30 @@ public abstract class Component extends ComponentLifecycle
       }
     }
 
+    /**
+     * Same as {@link #checkArgs(int, BitSet, String[])}, for components with at most 64 required
+     * props whose supplied props are tracked in a bitmask.
+     *
+     * @param requiredPropsCount expected number of props
+     * @param required the bitmask that identifies which props have been supplied
+     * @param requiredPropsNames the names of all props used for a useful error message
+     */
+    protected static void checkArgs(
+        int requiredPropsCount, long required, String[] requiredPropsNames) {
+      final long allRequired = requiredPropsCount == 64 ? -1L : (1L << requiredPropsCount) - 1;
+      if ((required & allRequired) != allRequired) {
+        List<String> missingProps = new ArrayList<>();
+        for (int i = 0; i < requiredPropsCount; i++) {
+          if ((required & (1L << i)) == 0) {
+            missingProps.add(requiredPropsNames[i]);
+          }
+        }
+        throw new IllegalStateException(
+            "The following props are not marked as optional and were not supplied: "
+                + Arrays.toString(missingProps.toArray()));
+      }
+    }
+
     @ReturnsOwnership
     public abstract Component build();
 
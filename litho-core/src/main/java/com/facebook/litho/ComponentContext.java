@@ -55,6 +55,9 @@ public class ComponentContext extends ContextWrapper {
   @ThreadConfined(ThreadConfined.ANY)
   private ComponentTree mComponentTree;
 
+  @ThreadConfined(ThreadConfined.ANY)
+  private @Nullable ReusableLayouts mReusableLayouts;
+
   // Used to hold styling information applied to components
   @StyleRes
   @ThreadConfined(ThreadConfined.ANY)
@@ -115,6 +118,7 @@ public class ComponentContext extends ContextWrapper {
       mHeightSpec = componentContext.mHeightSpec;
       mComponentScope = componentContext.mComponentScope;
       mComponentTree = componentContext.mComponentTree;
+      mReusableLayouts = componentContext.mReusableLayouts;
     } else {
       mResourceCache = ResourceCache.getLatest(context.getResources().getConfiguration());
     }
@@ -358,6 +362,19 @@ public class ComponentContext extends ContextWrapper {
     return mKeyHandler;
   }
 
+  void setReusableLayouts(@Nullable ReusableLayouts reusableLayouts) {
+    mReusableLayouts = reusableLayouts;
+  }
+
+  /**
+   * @return the subtree kept from the previous layout for an equivalent component, or null if
+   *     there is none. A subtree can only be claimed once.
+   */
+  @Nullable
+  InternalNode claimReusableLayout(Component component) {
+    return mReusableLayouts == null ? null : mReusableLayouts.claim(component, mTreeProps);
+  }
+
   void applyStyle(InternalNode node, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
     if (defStyleAttr != 0 || defStyleRes != 0) {
       setDefStyle(defStyleAttr, defStyleRes);
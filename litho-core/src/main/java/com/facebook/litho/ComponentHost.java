@@ -41,8 +41,10 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
 import android.view.accessibility.AccessibilityNodeInfo;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.proguard.annotations.DoNotStrip;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -53,13 +55,13 @@ import java.util.List;
 @DoNotStrip
 public class ComponentHost extends ViewGroup {
 
-  private final SparseArrayCompat<MountItem> mMountItems = new SparseArrayCompat<>();
+  private final SparseArrayCompat<MountItem> mMountItems = createMountItemsArray();
   private SparseArrayCompat<MountItem> mScrapMountItemsArray;
 
-  private final SparseArrayCompat<MountItem> mViewMountItems = new SparseArrayCompat<>();
+  private final SparseArrayCompat<MountItem> mViewMountItems = createMountItemsArray();
   private SparseArrayCompat<MountItem> mScrapViewMountItemsArray;
 
-  private final SparseArrayCompat<MountItem> mDrawableMountItems = new SparseArrayCompat<>();
+  private final SparseArrayCompat<MountItem> mDrawableMountItems = createMountItemsArray();
   private SparseArrayCompat<MountItem> mScrapDrawableMountItems;
 
   private final ArrayList<MountItem> mDisappearingItems = new ArrayList<>();
@@ -82,6 +84,7 @@ public class ComponentHost extends ViewGroup {
 
   @Nullable private ComponentAccessibilityDelegate mComponentAccessibilityDelegate;
   private boolean mIsComponentAccessibilityDelegateSet = false;
+  @Nullable private List<CharSequence> mContentDescriptions;
 
   private ComponentClickListener mOnClickListener;
   private ComponentLongClickListener mOnLongClickListener;
@@ -107,7 +110,9 @@ public class ComponentHost extends ViewGroup {
     super(context, attrs);
     setWillNotDraw(false);
     setChildrenDrawingOrderEnabled(true);
-    refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled(context));
+    if (!ComponentsConfiguration.lazilyRefreshAccessibilityDelegates) {
+      refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled(context));
+    }
   }
 
   /**
@@ -180,6 +185,7 @@ public class ComponentHost extends ViewGroup {
 
     if (content instanceof Drawable) {
       ComponentHostUtils.removeItem(index, mDrawableMountItems, mScrapDrawableMountItems);
+      mContentDescriptions = null;
     } else if (content instanceof View) {
       ComponentHostUtils.removeItem(index, mViewMountItems, mScrapViewMountItemsArray);
       mIsChildDrawingOrderDirty = true;
@@ -355,6 +361,7 @@ public class ComponentHost extends ViewGroup {
   @Override
   public void setContentDescription(CharSequence contentDescription) {
     mContentDescription = contentDescription;
+    mContentDescriptions = null;
 
     if (!TextUtils.isEmpty(contentDescription)
         && ViewCompat.getImportantForAccessibility(this)
@@ -369,7 +376,9 @@ public class ComponentHost extends ViewGroup {
   public void setTag(int key, Object tag) {
     super.setTag(key, tag);
     if (key == R.id.component_node_info && tag != null) {
-      refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled(getContext()));
+      if (!ComponentsConfiguration.lazilyRefreshAccessibilityDelegates) {
+        refreshAccessibilityDelegatesIfNeeded(isAccessibilityEnabled(getContext()));
+      }
 
       if (mComponentAccessibilityDelegate != null) {
         mComponentAccessibilityDelegate.setNodeInfo((NodeInfo) tag);
@@ -585,7 +594,32 @@ public class ComponentHost extends ViewGroup {
     return item != null && item.getComponent().implementsExtraAccessibilityNodes();
   }
 
+  /**
+   * @return a new list with the content descriptions of the drawables mounted in this host followed
+   *     by its own, which the caller is free to modify.
+   */
   public List<CharSequence> getContentDescriptions() {
+    return new ArrayList<>(getCachedContentDescriptions());
+  }
+
+  /**
+   * Same as {@link #getContentDescriptions()}, but the list is cached until the mounted drawables
+   * or content descriptions change, and must not be modified.
+   */
+  List<CharSequence> getCachedContentDescriptions() {
+    if (mContentDescriptions == null) {
+      mContentDescriptions = collectContentDescriptions();
+    }
+
+    return mContentDescriptions;
+  }
+
+  /** Drops the content descriptions cached by {@link #getCachedContentDescriptions()}. */
+  void invalidateContentDescriptions() {
+    mContentDescriptions = null;
+  }
+
+  private List<CharSequence> collectContentDescriptions() {
     final List<CharSequence> contentDescriptions = new ArrayList<>();
     for (int i = 0, size = mDrawableMountItems.size(); i < size; i++) {
       final NodeInfo nodeInfo = mDrawableMountItems.valueAt(i).getNodeInfo();
@@ -603,7 +637,9 @@ public class ComponentHost extends ViewGroup {
       contentDescriptions.add(hostContentDescription);
     }
 
-    return contentDescriptions;
+    return contentDescriptions.isEmpty()
+        ? Collections.<CharSequence>emptyList()
+        : Collections.unmodifiableList(contentDescriptions);
   }
 
   private void mountView(View view, int flags) {
@@ -848,7 +884,8 @@ public class ComponentHost extends ViewGroup {
     }
 
     if (isAccessibilityEnabled && mComponentAccessibilityDelegate == null) {
-      mComponentAccessibilityDelegate = new ComponentAccessibilityDelegate(this);
+      mComponentAccessibilityDelegate =
+          new ComponentAccessibilityDelegate(this, (NodeInfo) getTag(R.id.component_node_info));
     }
 
     ViewCompat.setAccessibilityDelegate(
@@ -1092,6 +1129,12 @@ public class ComponentHost extends ViewGroup {
     mIsChildDrawingOrderDirty = false;
   }
 
+  private static SparseArrayCompat<MountItem> createMountItemsArray() {
+    return ComponentsConfiguration.useDenseMountItemStorage
+        ? new DenseSparseArray<MountItem>()
+        : new SparseArrayCompat<MountItem>();
+  }
+
   private void ensureScrapViewMountItemsArray() {
     if (mScrapViewMountItemsArray == null) {
       mScrapViewMountItemsArray = ComponentsPools.acquireScrapMountItemsArray();
@@ -1120,6 +1163,7 @@ public class ComponentHost extends ViewGroup {
     assertMainThread();
 
     mDrawableMountItems.put(index, mountItem);
+    mContentDescriptions = null;
     final Drawable drawable = (Drawable) mountItem.getContent();
     final DisplayListDrawable displayListDrawable = mountItem.getDisplayListDrawable();
 
@@ -1140,6 +1184,7 @@ public class ComponentHost extends ViewGroup {
         : mountItem.getDisplayListDrawable();
 
     drawable.setCallback(null);
+    mContentDescriptions = null;
 
     this.invalidate(drawable.getBounds());
 
@@ -1158,6 +1203,7 @@ public class ComponentHost extends ViewGroup {
 
     // Move the MountItem in the new position.
     ComponentHostUtils.moveItem(oldIndex, newIndex, mDrawableMountItems, mScrapDrawableMountItems);
+    mContentDescriptions = null;
 
     // Drawing order changed, invalidate the whole view.
     this.invalidate();
@@ -1271,8 +1317,8 @@ public class ComponentHost extends ViewGroup {
       CharSequence contentDesc = null;
       if (!TextUtils.isEmpty(getContentDescription())) {
         contentDesc = getContentDescription();
-      } else if (getContentDescriptions().size() != 0) {
-        contentDesc = TextUtils.join(", ", getContentDescriptions());
+      } else if (getCachedContentDescriptions().size() != 0) {
+        contentDesc = TextUtils.join(", ", getCachedContentDescriptions());
       } else if (getTextContent().getTextItems().size() != 0) {
         contentDesc = TextUtils.join(", ", getTextContent().getTextItems());
       }
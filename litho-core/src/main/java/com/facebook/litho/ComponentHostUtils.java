@@ -32,6 +32,9 @@ class ComponentHostUtils {
    * is no item at newIndex for the items array. If that's the case
    * {@link ComponentHostUtils#scrapItemAt(int, SparseArrayCompat, SparseArrayCompat)}
    * has to be called before invoking this.
+   *
+   * <p>When items is a {@link DenseSparseArray} and the move keeps the order of its keys, the key
+   * of the item is changed in place.
    */
   static <T> void moveItem(
       int oldIndex,
@@ -40,6 +43,13 @@ class ComponentHostUtils {
       SparseArrayCompat<T> scrapItems) {
     T itemToMove;
 
+    if (items instanceof DenseSparseArray
+        && !existsScrapItemAt(oldIndex, scrapItems)
+        && items.get(newIndex) == null
+        && ((DenseSparseArray<T>) items).moveKey(oldIndex, newIndex)) {
+      return;
+    }
+
     if (existsScrapItemAt(oldIndex, scrapItems)) {
       // Before moving the item from items we need to check whether an old item has been put in
       // the scrapItems array. If there is an item at oldIndex there, it means that in
@@ -189,6 +199,11 @@ class ComponentHostUtils {
   }
 
   static void maybeInvalidateAccessibilityState(MountItem mountItem) {
+    if (mountItem.getHost() != null && mountItem.getContent() instanceof Drawable) {
+      // The NodeInfo of a drawable may have changed with its content description.
+      mountItem.getHost().invalidateContentDescriptions();
+    }
+
     if (mountItem.isAccessible()) {
       mountItem.getHost().invalidateAccessibilityState();
     }
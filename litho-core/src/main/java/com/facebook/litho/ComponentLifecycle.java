@@ -157,7 +157,9 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
             final Size size = acquireSize(Integer.MIN_VALUE /* initialValue */);
 
             try {
+              final long profilerStart = ComponentProfiler.begin();
               component.onMeasure(component.getScopedContext(), node, widthSpec, heightSpec, size);
+              ComponentProfiler.end(component, ComponentProfiler.ON_MEASURE, profilerStart);
 
               if (size.width < 0 || size.height < 0) {
                 throw new IllegalStateException(
@@ -267,6 +269,15 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
       return layout;
     }
 
+    final boolean canReuseLayout =
+        ComponentsConfiguration.reusePureLayoutSpecSubtrees && canReuseLayout();
+    if (canReuseLayout) {
+      final InternalNode reusedLayout = context.claimReusableLayout(component);
+      if (reusedLayout != null) {
+        return reusedLayout;
+      }
+    }
+
     final boolean deferNestedTreeResolution =
         Component.isNestedTree((Component) this) && !resolveNestedTree;
 
@@ -339,7 +350,9 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
     }
 
     if (!deferNestedTreeResolution) {
+      final long profilerStart = ComponentProfiler.begin();
       onPrepare(context);
+      ComponentProfiler.end(component, ComponentProfiler.ON_PREPARE, profilerStart);
     }
 
     final TreeProps contextTreeProps = context.getTreeProps();
@@ -355,10 +368,17 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
       node.addWorkingRanges(component.mWorkingRangeRegistrations);
     }
 
+    // The subtree can only be reused later if nothing outside of this component's props went into
+    // it: tree props from ancestors or common props set on this node could change independently.
+    if (canReuseLayout && parentTreeProps == null && commonProps == null) {
+      node.markLayoutReusable(component);
+    }
+
     return node;
   }
 
   private Component createComponentLayout(ComponentContext context) {
+    final long profilerStart = ComponentProfiler.begin();
     Component layoutComponent = null;
     if (Component.isLayoutSpecWithSizeSpec(((Component) this))) {
       try {
@@ -374,6 +394,7 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
         dispatchErrorEvent(context, e);
       }
     }
+    ComponentProfiler.end((Component) this, ComponentProfiler.ON_CREATE_LAYOUT, profilerStart);
     return layoutComponent;
   }
 
@@ -711,6 +732,15 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
     return false;
   }
 
+  /**
+   * @return true if the layout of this component only depends on its props, so that the subtree
+   *     created for an equivalent component in the previous layout can be reused instead of
+   *     calling onCreateLayout again. Generated for pure layout specs without state or tree props.
+   */
+  protected boolean canReuseLayout() {
+    return false;
+  }
+
   protected boolean callsShouldUpdateOnMount() {
     return false;
   }
@@ -732,6 +762,18 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
     return false;
   }
 
+  /**
+   * @return true if the mount content of this component keeps no reference to the Context it's
+   *     mounted with once unmounted, so that it can be recycled across Activities when {@link
+   *     ComponentsConfiguration#shareMountContentAcrossContexts} is enabled. Its Context is then
+   *     rebound to the acquiring Context on each acquire. Anything the content reads from its
+   *     Context when it's created, such as the Resources cached by View, comes from the
+   *     application Context.
+   */
+  protected boolean canShareMountContentAcrossContexts() {
+    return false;
+  }
+
   final boolean shouldComponentUpdate(Component previous, Component next) {
     if (isPureRender()) {
       return shouldUpdate(previous, next);
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.os.Debug;
+import android.support.annotation.IntDef;
+import android.support.annotation.VisibleForTesting;
+import android.util.SparseArray;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Attributes the time, and optionally the allocations, spent in the lifecycle methods of each
+ * component type while calculating a {@link LayoutState}.
+ *
+ * <p>One layout out of {@link ComponentsConfiguration#componentProfilerSampleRate} is profiled.
+ * Times are exclusive: a method which causes other components to be laid out, e.g. the onMeasure
+ * of a Recycler, isn't charged for their lifecycle methods. Samples are accumulated per thread and
+ * merged into the process-wide report at the end of each profiled layout.
+ */
+public final class ComponentProfiler {
+
+  @IntDef({ON_CREATE_LAYOUT, ON_MEASURE, ON_PREPARE, ON_BOUNDS_DEFINED})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface LifecycleMethod {}
+
+  public static final int ON_CREATE_LAYOUT = 0;
+  public static final int ON_MEASURE = 1;
+  public static final int ON_PREPARE = 2;
+  public static final int ON_BOUNDS_DEFINED = 3;
+
+  private static final int METHOD_COUNT = 4;
+  private static final String[] METHOD_NAMES = {
+    "onCreateLayout", "onMeasure", "onPrepare", "onBoundsDefined"
+  };
+
+  private static final AtomicInteger sLayoutCounter = new AtomicInteger(0);
+
+  private static final ThreadLocal<ThreadProfile> sThreadProfile =
+      new ThreadLocal<ThreadProfile>() {
+        @Override
+        protected ThreadProfile initialValue() {
+          return new ThreadProfile();
+        }
+      };
+
+  @GuardedBy("sReport")
+  private static final SparseArray<ComponentStats> sReport = new SparseArray<>();
+
+  @GuardedBy("sReport")
+  private static int sProfiledLayoutsCount;
+
+  /**
+   * Whether a layout was ever begun, so that layouts begun while profiling was enabled are still
+   * ended after it's disabled.
+   */
+  private static volatile boolean sHasBegunLayouts;
+
+  private static final Object sAllocCountingLock = new Object();
+
+  /** Allocation counting is process-wide, so it's only enabled while a layout counts them. */
+  @GuardedBy("sAllocCountingLock")
+  private static int sAllocCountingLayoutsCount;
+
+  private ComponentProfiler() {}
+
+  /** Starts profiling a layout on this thread if it's sampled. Layouts can be nested. */
+  static void beginLayout() {
+    final int sampleRate = ComponentsConfiguration.componentProfilerSampleRate;
+    if (sampleRate <= 0 && !sHasBegunLayouts) {
+      return;
+    }
+
+    final ThreadProfile profile = sThreadProfile.get();
+    if (profile.layoutDepth > 0) {
+      // Nested layouts are profiled along with the outer one.
+      profile.layoutDepth++;
+      return;
+    }
+
+    if (sampleRate <= 0) {
+      return;
+    }
+
+    sHasBegunLayouts = true;
+    profile.layoutDepth = 1;
+
+    profile.isProfiling = sampleRate == 1 || sLayoutCounter.getAndIncrement() % sampleRate == 0;
+    profile.countAllocations =
+        profile.isProfiling && ComponentsConfiguration.componentProfilerCountsAllocations;
+    if (profile.countAllocations) {
+      startAllocCounting();
+    }
+  }
+
+  /** Ends a layout started with {@link #beginLayout()}. */
+  static void endLayout() {
+    if (!sHasBegunLayouts) {
+      return;
+    }
+
+    final ThreadProfile profile = sThreadProfile.get();
+    if (profile.layoutDepth == 0 || --profile.layoutDepth > 0) {
+      return;
+    }
+
+    if (profile.countAllocations) {
+      profile.countAllocations = false;
+      stopAllocCounting();
+    }
+
+    if (profile.isProfiling) {
+      profile.isProfiling = false;
+      profile.depth = 0;
+      profile.mergeIntoReport();
+    }
+  }
+
+  /**
+   * @return the start time of a lifecycle method call, to be passed to {@link #end(Component, int,
+   *     long)}, or -1 if the current layout isn't profiled.
+   */
+  static long begin() {
+    if (ComponentsConfiguration.componentProfilerSampleRate <= 0) {
+      return -1;
+    }
+
+    final ThreadProfile profile = sThreadProfile.get();
+    if (!profile.isProfiling) {
+      return -1;
+    }
+
+    profile.push();
+    return System.nanoTime();
+  }
+
+  /** Charges a lifecycle method call started with {@link #begin()} to the component's type. */
+  static void end(Component component, @LifecycleMethod int method, long startNanos) {
+    if (startNanos < 0) {
+      return;
+    }
+
+    final long durationNanos = System.nanoTime() - startNanos;
+    final ThreadProfile profile = sThreadProfile.get();
+    if (!profile.isProfiling) {
+      return;
+    }
+
+    profile.pop(component, method, durationNanos);
+  }
+
+  /** @return the report of all profiled layouts, with the most expensive methods first. */
+  public static String dumpReport() {
+    final List<Row> rows = getSortedRows();
+    final StringBuilder report = new StringBuilder();
+
+    synchronized (sReport) {
+      report.append("Profiled layouts: ").append(sProfiledLayoutsCount).append('\n');
+    }
+    report.append(
+        String.format(
+            Locale.US,
+            "%-40s %-16s %8s %12s %12s%n",
+            "component",
+            "method",
+            "calls",
+            "self ms",
+            "allocations"));
+    for (int i = 0, size = rows.size(); i < size; i++) {
+      final Row row = rows.get(i);
+      report.append(
+          String.format(
+              Locale.US,
+              "%-40s %-16s %8d %12.3f %12d%n",
+              row.componentName,
+              METHOD_NAMES[row.method],
+              row.calls,
+              row.selfNanos / 1e6,
+              row.allocations));
+    }
+
+    return report.toString();
+  }
+
+  /**
+   * Writes the report of all profiled layouts to the given file, as tab separated values with a
+   * header line: component, method, calls, self_nanos and allocations.
+   */
+  public static void writeReport(File file) throws IOException {
+    final List<Row> rows = getSortedRows();
+    final BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+    try {
+      writer.write("component\tmethod\tcalls\tself_nanos\tallocations\n");
+      for (int i = 0, size = rows.size(); i < size; i++) {
+        final Row row = rows.get(i);
+        writer.write(
+            row.componentName
+                + '\t'
+                + METHOD_NAMES[row.method]
+                + '\t'
+                + row.calls
+                + '\t'
+                + row.selfNanos
+                + '\t'
+                + row.allocations
+                + '\n');
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  /** Clears the report of all profiled layouts. */
+  public static void reset() {
+    synchronized (sReport) {
+      sReport.clear();
+      sProfiledLayoutsCount = 0;
+    }
+  }
+
+  @VisibleForTesting
+  static int getCallCount(Component component, @LifecycleMethod int method) {
+    synchronized (sReport) {
+      final ComponentStats stats = sReport.get(component.getTypeId());
+      return stats == null ? 0 : stats.calls[method];
+    }
+  }
+
+  @VisibleForTesting
+  static int getProfiledLayoutsCount() {
+    synchronized (sReport) {
+      return sProfiledLayoutsCount;
+    }
+  }
+
+  private static List<Row> getSortedRows() {
+    final List<Row> rows = new ArrayList<>();
+    synchronized (sReport) {
+      for (int i = 0, size = sReport.size(); i < size; i++) {
+        final ComponentStats stats = sReport.valueAt(i);
+        for (int method = 0; method < METHOD_COUNT; method++) {
+          if (stats.calls[method] > 0) {
+            rows.add(
+                new Row(
+                    stats.name,
+                    method,
+                    stats.calls[method],
+                    stats.selfNanos[method],
+                    stats.allocations[method]));
+          }
+        }
+      }
+    }
+
+    Collections.sort(
+        rows,
+        new Comparator<Row>() {
+          @Override
+          public int compare(Row lhs, Row rhs) {
+            return rhs.selfNanos < lhs.selfNanos ? -1 : (rhs.selfNanos == lhs.selfNanos ? 0 : 1);
+          }
+        });
+
+    return rows;
+  }
+
+  @SuppressWarnings("deprecation")
+  private static void startAllocCounting() {
+    synchronized (sAllocCountingLock) {
+      if (sAllocCountingLayoutsCount++ == 0) {
+        Debug.startAllocCounting();
+      }
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  private static void stopAllocCounting() {
+    synchronized (sAllocCountingLock) {
+      if (--sAllocCountingLayoutsCount == 0) {
+        Debug.stopAllocCounting();
+      }
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  private static long getThreadAllocCount() {
+    return Debug.getThreadAllocCount();
+  }
+
+  private static class ComponentStats {
+    final String name;
+    final int[] calls = new int[METHOD_COUNT];
+    final long[] selfNanos = new long[METHOD_COUNT];
+    final long[] allocations = new long[METHOD_COUNT];
+
+    ComponentStats(String name) {
+      this.name = name;
+    }
+
+    void add(ComponentStats other) {
+      for (int i = 0; i < METHOD_COUNT; i++) {
+        calls[i] += other.calls[i];
+        selfNanos[i] += other.selfNanos[i];
+        allocations[i] += other.allocations[i];
+      }
+    }
+  }
+
+  private static class Row {
+    final String componentName;
+    final int method;
+    final int calls;
+    final long selfNanos;
+    final long allocations;
+
+    Row(String componentName, int method, int calls, long selfNanos, long allocations) {
+      this.componentName = componentName;
+      this.method = method;
+      this.calls = calls;
+      this.selfNanos = selfNanos;
+      this.allocations = allocations;
+    }
+  }
+
+  private static class ThreadProfile {
+    final SparseArray<ComponentStats> stats = new SparseArray<>();
+    int layoutDepth;
+    boolean isProfiling;
+    boolean countAllocations;
+
+    // Time and allocations of the nested calls of each method call in progress.
+    int depth;
+    long[] childNanos = new long[16];
+    long[] childAllocations = new long[16];
+    long[] startAllocations = new long[16];
+
+    void push() {
+      if (depth == childNanos.length) {
+        final int length = depth * 2;
+        childNanos = copyOf(childNanos, length);
+        childAllocations = copyOf(childAllocations, length);
+        startAllocations = copyOf(startAllocations, length);
+      }
+
+      childNanos[depth] = 0;
+      childAllocations[depth] = 0;
+      startAllocations[depth] = countAllocations ? getThreadAllocCount() : 0;
+      depth++;
+    }
+
+    void pop(Component component, @LifecycleMethod int method, long durationNanos) {
+      if (depth == 0) {
+        return;
+      }
+
+      depth--;
+      final long allocations =
+          countAllocations ? getThreadAllocCount() - startAllocations[depth] : 0;
+      if (depth > 0) {
+        childNanos[depth - 1] += durationNanos;
+        childAllocations[depth - 1] += allocations;
+      }
+
+      final int typeId = component.getTypeId();
+      ComponentStats componentStats = stats.get(typeId);
+      if (componentStats == null) {
+        componentStats = new ComponentStats(component.getSimpleName());
+        stats.put(typeId, componentStats);
+      }
+
+      componentStats.calls[method]++;
+      componentStats.selfNanos[method] += durationNanos - childNanos[depth];
+      componentStats.allocations[method] += allocations - childAllocations[depth];
+    }
+
+    void mergeIntoReport() {
+      synchronized (sReport) {
+        for (int i = 0, size = stats.size(); i < size; i++) {
+          final int typeId = stats.keyAt(i);
+          final ComponentStats threadStats = stats.valueAt(i);
+          final ComponentStats reportStats = sReport.get(typeId);
+          if (reportStats == null) {
+            sReport.put(typeId, threadStats);
+          } else {
+            reportStats.add(threadStats);
+          }
+        }
+        sProfiledLayoutsCount++;
+      }
+
+      stats.clear();
+    }
+
+    private static long[] copyOf(long[] array, int length) {
+      final long[] copy = new long[length];
+      System.arraycopy(array, 0, copy, 0, array.length);
+      return copy;
+    }
+  }
+}
@@ -47,6 +47,8 @@ import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.annotations.MountSpec;
 import com.facebook.litho.config.ComponentsConfiguration;
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.ref.WeakReference;
@@ -55,6 +57,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.concurrent.GuardedBy;
@@ -80,6 +83,7 @@ public class ComponentTree {
   private static final int MESSAGE_WHAT_BACKGROUND_LAYOUT_STATE_UPDATED = 1;
   private static final String DEFAULT_LAYOUT_THREAD_NAME = "ComponentLayoutThread";
   private static final String DEFAULT_PMC_THREAD_NAME = "PreallocateMountContentThread";
+  private static final String LAYOUT_SNAPSHOT_THREAD_NAME = "LayoutSnapshotThread";
 
   private static final int SCHEDULE_NONE = 0;
   private static final int SCHEDULE_LAYOUT_ASYNC = 1;
@@ -113,6 +117,9 @@ public class ComponentTree {
   @GuardedBy("ComponentTree.class")
   private static volatile Looper sDefaultPreallocateMountContentThreadLooper;
 
+  @GuardedBy("ComponentTree.class")
+  private static volatile Looper sLayoutSnapshotThreadLooper;
+
   private static final ThreadLocal<WeakReference<Handler>> sSyncStateUpdatesHandler =
       new ThreadLocal<>();
 
@@ -144,6 +151,20 @@ public class ComponentTree {
   private final boolean mCanCacheDrawingDisplayLists;
   private final boolean mShouldClipChildren;
 
+  @Nullable private final File mLayoutSnapshotFile;
+  private final long mLayoutSnapshotKey;
+  private final boolean mIsPerfEventSampled;
+
+  private final Object mLayoutSnapshotLock = new Object();
+
+  @GuardedBy("mLayoutSnapshotLock")
+  private boolean mHasReadLayoutSnapshot;
+
+  @Nullable private volatile LayoutSnapshot mLayoutSnapshot;
+  private volatile boolean mIsLayoutSnapshotInvalid;
+  private final AtomicBoolean mHasWrittenLayoutSnapshot = new AtomicBoolean();
+  @Nullable private Handler mLayoutSnapshotHandler;
+
   @Nullable private LayoutHandler mPreAllocateMountContentHandler;
 
   // These variables are only accessed from the main thread.
@@ -253,6 +274,8 @@ public class ComponentTree {
     mShouldClipChildren = builder.shouldClipChildren;
     mHasMounted = builder.hasMounted;
     mMeasureListener = builder.mMeasureListener;
+    mLayoutSnapshotFile = builder.layoutSnapshotFile;
+    mLayoutSnapshotKey = builder.layoutSnapshotKey;
 
     if (mLayoutThreadHandler == null) {
       mLayoutThreadHandler =
@@ -268,6 +291,20 @@ public class ComponentTree {
               getDefaultPreallocateMountContentThreadLooper());
     }
 
+    if (mLayoutSnapshotFile != null) {
+      mLayoutSnapshotHandler = new Handler(getLayoutSnapshotThreadLooper());
+
+      // Reading the snapshot hits the disk, so it's done on the layout thread. A measure which
+      // happens before it's read calculates the layout as usual.
+      mLayoutThreadHandler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              readLayoutSnapshot();
+            }
+          });
+    }
+
     final StateHandler builderStateHandler = builder.stateHandler;
     mStateHandler = builderStateHandler == null
         ? StateHandler.acquireNewInstance(null)
@@ -284,6 +321,8 @@ public class ComponentTree {
       mId = generateComponentTreeId();
     }
 
+    mIsPerfEventSampled = PerfEvents.shouldSample(builder.perfEventSampleRate);
+
     mIncrementalMountHelper =
         ComponentsConfiguration.USE_INCREMENTAL_MOUNT_HELPER
             ? new IncrementalMountHelper(this)
@@ -726,6 +765,7 @@ public class ComponentTree {
 
     Component component = null;
     LayoutState toRelease;
+    boolean measuredFromSnapshot = false;
     synchronized (this) {
       mIsMeasuring = true;
 
@@ -741,7 +781,18 @@ public class ComponentTree {
       final boolean shouldCalculateNewLayout =
           mMainThreadLayoutState == null
               || !isCompatibleSpec(mMainThreadLayoutState, mWidthSpec, mHeightSpec);
-      if (forceLayout || shouldCalculateNewLayout) {
+      final LayoutSnapshot layoutSnapshot = mLayoutSnapshot;
+      if (!forceLayout
+          && mMainThreadLayoutState == null
+          && layoutSnapshot != null
+          && !mIsLayoutSnapshotInvalid
+          && layoutSnapshot.isCompatibleSpec(widthSpec, heightSpec)) {
+        // This is the first measure of this tree and a previous launch persisted a snapshot for
+        // the same root and size specs. Use its size and calculate the layout in the background.
+        measureOutput[0] = layoutSnapshot.getWidth();
+        measureOutput[1] = layoutSnapshot.getHeight();
+        measuredFromSnapshot = true;
+      } else if (forceLayout || shouldCalculateNewLayout) {
         // Neither layout was compatible and we have to perform a layout.
         // Since outputs get set on the same object during the lifecycle calls,
         // we need to copy it in order to use it concurrently.
@@ -754,6 +805,23 @@ public class ComponentTree {
       toRelease = null;
     }
 
+    if (measuredFromSnapshot) {
+      synchronized (this) {
+        mIsMeasuring = false;
+        mScheduleLayoutAfterMeasure = SCHEDULE_NONE;
+      }
+
+      synchronized (mCurrentCalculateLayoutRunnableLock) {
+        if (mCurrentCalculateLayoutRunnable != null) {
+          mLayoutThreadHandler.removeCallbacks(mCurrentCalculateLayoutRunnable);
+        }
+        mCurrentCalculateLayoutRunnable =
+            new CalculateLayoutRunnable(CalculateLayoutSource.MEASURE);
+        mLayoutThreadHandler.post(mCurrentCalculateLayoutRunnable);
+      }
+      return;
+    }
+
     if (component != null) {
       // TODO: We should re-use the existing CSSNodeDEPRECATED tree instead of re-creating it.
       if (mMainThreadLayoutState != null) {
@@ -782,11 +850,13 @@ public class ComponentTree {
       final StateHandler layoutStateStateHandler =
           localLayoutState.consumeStateHandler();
       final List<Component> components = new ArrayList<>(localLayoutState.getComponents());
+      final LayoutSnapshot layoutSnapshot;
       synchronized (this) {
         if (layoutStateStateHandler != null) {
           mStateHandler.commit(layoutStateStateHandler);
         }
 
+        layoutSnapshot = maybeCreateLayoutSnapshot(widthSpec, heightSpec, localLayoutState);
         localLayoutState.clearComponents();
         mMainThreadLayoutState = localLayoutState;
         localLayoutState = null;
@@ -794,6 +864,10 @@ public class ComponentTree {
 
       bindEventAndTriggerHandlers(components);
 
+      if (layoutSnapshot != null) {
+        postWriteLayoutSnapshot(layoutSnapshot);
+      }
+
       // We need to force remount on layout
       mLithoView.setMountStateDirty();
 
@@ -843,6 +917,11 @@ public class ComponentTree {
     return mIncrementalMountEnabled;
   }
 
+  /** Whether this tree was picked by its sampling rate to record {@link PerfEvents}. */
+  boolean isPerfEventSampled() {
+    return mIsPerfEventSampled;
+  }
+
   synchronized Component getRoot() {
     return mRoot;
   }
@@ -1356,6 +1435,9 @@ public class ComponentTree {
       }
 
       if (rootInitialized) {
+        if (!rootDidntChange) {
+          invalidateLayoutSnapshot();
+        }
         mRoot = root;
       }
     }
@@ -1447,12 +1529,19 @@ public class ComponentTree {
       output.height = localLayoutState.getHeight();
     }
 
+    if (ComponentsConfiguration.computeMountPlanOnLayoutThread) {
+      // The LayoutState on the main thread is most likely the one which will be mounted when this
+      // one is, MountState checks it before using the diff.
+      localLayoutState.setMountPlan(MountPlan.create(localLayoutState, previousLayoutState));
+    }
+
     if (previousLayoutState != null) {
       previousLayoutState.releaseRef();
       previousLayoutState = null;
     }
 
     List<Component> components = null;
+    LayoutSnapshot layoutSnapshot = null;
 
     boolean layoutStateUpdated = false;
     synchronized (this) {
@@ -1476,6 +1565,7 @@ public class ComponentTree {
 
           components = new ArrayList<>(localLayoutState.getComponents());
           localLayoutState.clearComponents();
+          layoutSnapshot = maybeCreateLayoutSnapshot(widthSpec, heightSpec, localLayoutState);
         }
 
         // Set the new layout state, and remember the old layout state so we
@@ -1500,6 +1590,10 @@ public class ComponentTree {
       postBackgroundLayoutStateUpdated();
     }
 
+    if (layoutSnapshot != null) {
+      postWriteLayoutSnapshot(layoutSnapshot);
+    }
+
     if (mPreAllocateMountContentHandler != null) {
       mPreAllocateMountContentHandler.removeCallbacks(mPreAllocateMountContentRunnable);
       mPreAllocateMountContentHandler.post(mPreAllocateMountContentRunnable);
@@ -1655,6 +1749,17 @@ public class ComponentTree {
     return sDefaultPreallocateMountContentThreadLooper;
   }
 
+  private static synchronized Looper getLayoutSnapshotThreadLooper() {
+    if (sLayoutSnapshotThreadLooper == null) {
+      final HandlerThread defaultThread =
+          new HandlerThread(LAYOUT_SNAPSHOT_THREAD_NAME, DEFAULT_BACKGROUND_THREAD_PRIORITY);
+      defaultThread.start();
+      sLayoutSnapshotThreadLooper = defaultThread.getLooper();
+    }
+
+    return sLayoutSnapshotThreadLooper;
+  }
+
   private static boolean isCompatibleSpec(
       LayoutState layoutState, int widthSpec, int heightSpec) {
     return layoutState != null
@@ -1738,24 +1843,26 @@ public class ComponentTree {
       }
     }
 
+    final LayoutState layoutState;
     if (lock != null) {
       synchronized (lock) {
         if (source == CalculateLayoutSource.UPDATE_STATE) {
           maybeDelayStateUpdateLayout(simulateDelayNano);
         }
 
-        return LayoutState.calculate(
-            contextWithStateHandler,
-            root,
-            mId,
-            widthSpec,
-            heightSpec,
-            diffingEnabled,
-            diffNode,
-            mCanPrefetchDisplayLists,
-            mCanCacheDrawingDisplayLists,
-            mShouldClipChildren,
-            source);
+        layoutState =
+            LayoutState.calculate(
+                contextWithStateHandler,
+                root,
+                mId,
+                widthSpec,
+                heightSpec,
+                diffingEnabled,
+                diffNode,
+                mCanPrefetchDisplayLists,
+                mCanCacheDrawingDisplayLists,
+                mShouldClipChildren,
+                source);
       }
     } else {
 
@@ -1763,19 +1870,93 @@ public class ComponentTree {
         maybeDelayStateUpdateLayout(simulateDelayNano);
       }
 
-      return LayoutState.calculate(
-          contextWithStateHandler,
-          root,
-          mId,
-          widthSpec,
-          heightSpec,
-          diffingEnabled,
-          diffNode,
-          mCanPrefetchDisplayLists,
-          mCanCacheDrawingDisplayLists,
-          mShouldClipChildren,
-          source);
+      layoutState =
+          LayoutState.calculate(
+              contextWithStateHandler,
+              root,
+              mId,
+              widthSpec,
+              heightSpec,
+              diffingEnabled,
+              diffNode,
+              mCanPrefetchDisplayLists,
+              mCanCacheDrawingDisplayLists,
+              mShouldClipChildren,
+              source);
+    }
+
+    return layoutState;
+  }
+
+  /**
+   * Reads the snapshot persisted by a previous launch, if it wasn't read yet. This does disk I/O
+   * and must not be called on the UI thread.
+   */
+  @Nullable
+  private LayoutSnapshot readLayoutSnapshot() {
+    synchronized (mLayoutSnapshotLock) {
+      if (!mHasReadLayoutSnapshot) {
+        mHasReadLayoutSnapshot = true;
+        mLayoutSnapshot =
+            LayoutSnapshot.read(mLayoutSnapshotFile, mLayoutSnapshotKey, mContext.getResources());
+      }
+
+      return mLayoutSnapshot;
+    }
+  }
+
+  /**
+   * @return a snapshot of the given layout if it's the first one committed by this tree and the
+   *     tree persists its layout, or null otherwise.
+   */
+  @Nullable
+  private LayoutSnapshot maybeCreateLayoutSnapshot(
+      int widthSpec, int heightSpec, LayoutState layoutState) {
+    if (mLayoutSnapshotFile == null || !mHasWrittenLayoutSnapshot.compareAndSet(false, true)) {
+      return null;
+    }
+
+    return LayoutSnapshot.create(
+        mLayoutSnapshotKey, mContext.getResources(), widthSpec, heightSpec, layoutState);
+  }
+
+  /**
+   * Persists the first committed layout so that the next launch can measure this tree without
+   * waiting for a layout. The snapshot is only rewritten if it changed, and the disk I/O happens on
+   * a dedicated thread so that it doesn't delay the following layouts.
+   */
+  private void postWriteLayoutSnapshot(final LayoutSnapshot snapshot) {
+    mLayoutSnapshotHandler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            final LayoutSnapshot previousSnapshot = readLayoutSnapshot();
+            mLayoutSnapshot = null;
+            if (mIsLayoutSnapshotInvalid || snapshot.isSameLayout(previousSnapshot)) {
+              return;
+            }
+
+            try {
+              snapshot.write(mLayoutSnapshotFile);
+            } catch (IOException e) {
+              Log.w(TAG, "Failed to write the layout snapshot", e);
+            }
+          }
+        });
+  }
+
+  /**
+   * The snapshot key identifies the props of the root this tree was built with, so neither the
+   * persisted snapshot nor a layout of another root may be used with it.
+   */
+  private void invalidateLayoutSnapshot() {
+    if (mLayoutSnapshotFile == null) {
+      return;
     }
+
+    mIsLayoutSnapshotInvalid = true;
+    mHasWrittenLayoutSnapshot.set(true);
+    mLayoutSnapshot = null;
   }
 
   private static void maybeDelayStateUpdateLayout(int delayNano) {
@@ -1857,6 +2038,9 @@ public class ComponentTree {
     private MeasureListener mMeasureListener;
     private boolean shouldPreallocatePerMountSpec;
     private boolean canPreallocateOnDefaultHandler;
+    private File layoutSnapshotFile;
+    private long layoutSnapshotKey;
+    private int perfEventSampleRate = ComponentsConfiguration.perfEventSampleRate;
 
     protected Builder() {
     }
@@ -1887,6 +2071,9 @@ public class ComponentTree {
       shouldClipChildren = true;
       hasMounted = false;
       preAllocateMountContentHandler = null;
+      layoutSnapshotFile = null;
+      layoutSnapshotKey = 0;
+      perfEventSampleRate = ComponentsConfiguration.perfEventSampleRate;
     }
 
     /**
@@ -2057,6 +2244,33 @@ public class ComponentTree {
       return this;
     }
 
+    /**
+     * Persist the first layout committed by this tree to the given file, and use the size of
+     * a layout persisted by a previous launch to answer the first measure of this tree instead of
+     * calculating a layout on the UI thread. The real layout is then calculated in the background,
+     * calling onMeasure as usual, and replaces the persisted size once it's ready. The file is read
+     * on the layout thread, so a measure which happens before it's read calculates a layout.
+     *
+     * @param key identifies the props of the root component, e.g. a hash of the data it renders.
+     *     A persisted layout is ignored if it was written with a different key, or with a
+     *     different density, font scale or locale. Setting a different root on the tree stops it
+     *     from using or writing a snapshot, since the key no longer describes it.
+     */
+    public Builder layoutSnapshot(File file, long key) {
+      this.layoutSnapshotFile = file;
+      this.layoutSnapshotKey = key;
+      return this;
+    }
+
+    /**
+     * Records {@link PerfEvents} for one tree out of the given number of trees built, or for none
+     * if 0. Defaults to {@link ComponentsConfiguration#perfEventSampleRate}.
+     */
+    public Builder perfEventSampleRate(int sampleRate) {
+      this.perfEventSampleRate = sampleRate;
+      return this;
+    }
+
     /** Builds a {@link ComponentTree} using the parameters specified in this builder. */
     public ComponentTree build() {
       final ComponentTree componentTree = new ComponentTree(this);
@@ -23,6 +23,7 @@ import android.app.Activity;
 import android.app.Application;
 import android.content.Context;
 import android.content.ContextWrapper;
+import android.content.MutableContextWrapper;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
@@ -32,6 +33,7 @@ import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.util.SparseArrayCompat;
 import android.util.SparseArray;
+import android.view.View;
 import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.internal.ArraySet;
@@ -89,6 +91,26 @@ public class ComponentsPools {
   private static final Map<Context, SparseArray<MountContentPool>> sMountContentPoolsByContext =
       new HashMap<>(4);
 
+  // Process-level pools, by type id, for mount content which can be recycled across Activities.
+  // Views in them are created with a MutableContextWrapper, which points to the Context of
+  // whoever acquired them and back to the application Context once they are released.
+  @GuardedBy("sMountContentLock")
+  private static final SparseArray<MountContentPool> sSharedMountContentPools = new SparseArray<>();
+
+  // The identity hash code of the root Context which released each item held by the shared pools.
+  @GuardedBy("sMountContentLock")
+  private static final WeakHashMap<Object, Integer> sSharedMountContentReleasers =
+      new WeakHashMap<>();
+
+  @GuardedBy("sMountContentLock")
+  private static int sSharedMountContentHitCount;
+
+  @GuardedBy("sMountContentLock")
+  private static int sSharedMountContentCrossContextHitCount;
+
+  @GuardedBy("sMountContentLock")
+  private static int sSharedMountContentMissCount;
+
   static final RecyclePool<LayoutOutput> sLayoutOutputPool =
       new RecyclePool<>("LayoutOutput", 256, true);
 
@@ -560,6 +582,10 @@ public class ComponentsPools {
   }
 
   static Object acquireMountContent(ComponentContext context, ComponentLifecycle lifecycle) {
+    if (isSharedAcrossContexts(lifecycle)) {
+      return acquireSharedMountContent(context, lifecycle);
+    }
+
     final MountContentPool pool = getMountContentPool(context, lifecycle);
     if (pool == null) {
       return lifecycle.createMountContent(context);
@@ -569,6 +595,11 @@ public class ComponentsPools {
   }
 
   static void release(ComponentContext context, ComponentLifecycle lifecycle, Object mountContent) {
+    if (isSharedAcrossContexts(lifecycle)) {
+      releaseSharedMountContent(context, lifecycle, mountContent);
+      return;
+    }
+
     final MountContentPool pool = getMountContentPool(context, lifecycle);
     if (pool != null) {
       pool.release(mountContent);
@@ -580,6 +611,12 @@ public class ComponentsPools {
    * pre-allocation limit has been hit in which case we do nothing.
    */
   static void maybePreallocateContent(ComponentContext context, ComponentLifecycle lifecycle) {
+    if (isSharedAcrossContexts(lifecycle)) {
+      getSharedMountContentPool(lifecycle)
+          .maybePreallocateContent(createSharedMountContentContext(context), lifecycle);
+      return;
+    }
+
     final MountContentPool pool = getMountContentPool(context, lifecycle);
     if (pool != null) {
       pool.maybePreallocateContent(context, lifecycle);
@@ -617,6 +654,137 @@ public class ComponentsPools {
     }
   }
 
+  private static boolean isSharedAcrossContexts(ComponentLifecycle lifecycle) {
+    return ComponentsConfiguration.shareMountContentAcrossContexts
+        && lifecycle.poolSize() > 0
+        && lifecycle.canShareMountContentAcrossContexts();
+  }
+
+  private static Object acquireSharedMountContent(
+      ComponentContext context, ComponentLifecycle lifecycle) {
+    final Object content =
+        getSharedMountContentPool(lifecycle)
+            .acquire(createSharedMountContentContext(context), lifecycle);
+
+    final MutableContextWrapper contextWrapper = getSharedMountContentContextWrapper(content);
+    if (contextWrapper != null) {
+      contextWrapper.setBaseContext(context.getBaseContext());
+    }
+
+    synchronized (sMountContentLock) {
+      final Integer releaser = sSharedMountContentReleasers.remove(content);
+      if (releaser == null) {
+        sSharedMountContentMissCount++;
+      } else {
+        sSharedMountContentHitCount++;
+        if (releaser != System.identityHashCode(ContextUtils.getRootContext(context))) {
+          sSharedMountContentCrossContextHitCount++;
+        }
+      }
+    }
+
+    return content;
+  }
+
+  private static void releaseSharedMountContent(
+      ComponentContext context, ComponentLifecycle lifecycle, Object mountContent) {
+    final MountContentPool pool = getSharedMountContentPool(lifecycle);
+
+    synchronized (sMountContentLock) {
+      if (sSharedMountContentReleasers.size() >= ComponentsConfiguration.maxSharedMountContentCount
+          || (pool instanceof RecyclePool && ((RecyclePool) pool).isFull())) {
+        return;
+      }
+
+      // A View which wasn't created by these pools holds the Context it was created with, and
+      // keeping it in a process-level pool would leak that Context.
+      if (mountContent instanceof View
+          && getSharedMountContentContextWrapper(mountContent) == null) {
+        return;
+      }
+
+      sSharedMountContentReleasers.put(
+          mountContent, System.identityHashCode(ContextUtils.getRootContext(context)));
+    }
+
+    final MutableContextWrapper contextWrapper = getSharedMountContentContextWrapper(mountContent);
+    if (contextWrapper != null) {
+      contextWrapper.setBaseContext(context.getApplicationContext());
+    }
+
+    pool.release(mountContent);
+  }
+
+  private static MountContentPool getSharedMountContentPool(ComponentLifecycle lifecycle) {
+    synchronized (sMountContentLock) {
+      MountContentPool pool = sSharedMountContentPools.get(lifecycle.getTypeId());
+      if (pool == null) {
+        pool = lifecycle.onCreateMountContentPool();
+        sSharedMountContentPools.put(lifecycle.getTypeId(), pool);
+      }
+
+      return pool;
+    }
+  }
+
+  /**
+   * @return a ComponentContext to create mount content shared across Activities with. It wraps a
+   *     {@link MutableContextWrapper} of its own, pointing to the application Context, so that the
+   *     content can be rebound to the Context it's acquired with and doesn't keep that Context
+   *     alive once released.
+   */
+  private static ComponentContext createSharedMountContentContext(ComponentContext context) {
+    return new ComponentContext(new MutableContextWrapper(context.getApplicationContext()));
+  }
+
+  /**
+   * @return the {@link MutableContextWrapper} the given mount content was created with by the
+   *     process-level pools, or null if it's not a View created by them.
+   */
+  @Nullable
+  private static MutableContextWrapper getSharedMountContentContextWrapper(Object mountContent) {
+    if (!(mountContent instanceof View)) {
+      return null;
+    }
+
+    final Context context = ((View) mountContent).getContext();
+    final Context baseContext =
+        context instanceof ContextWrapper ? ((ContextWrapper) context).getBaseContext() : null;
+    return baseContext instanceof MutableContextWrapper
+        ? (MutableContextWrapper) baseContext
+        : null;
+  }
+
+  /**
+   * @return how many times mount content was recycled from the process-level pools since they were
+   *     last cleared.
+   */
+  public static int getSharedMountContentHitCount() {
+    synchronized (sMountContentLock) {
+      return sSharedMountContentHitCount;
+    }
+  }
+
+  /**
+   * @return how many of the {@link #getSharedMountContentHitCount()} hits recycled mount content
+   *     which was released by a different Activity or root Context than the one acquiring it.
+   */
+  public static int getSharedMountContentCrossContextHitCount() {
+    synchronized (sMountContentLock) {
+      return sSharedMountContentCrossContextHitCount;
+    }
+  }
+
+  /**
+   * @return how many times mount content had to be created, or was preallocated, because the
+   *     process-level pools had none to recycle.
+   */
+  public static int getSharedMountContentMissCount() {
+    synchronized (sMountContentLock) {
+      return sSharedMountContentMissCount;
+    }
+  }
+
   private static Context getContextForMountPool(ComponentContext wrappedContext) {
     final Context innerContext = wrappedContext.getBaseContext();
     if (innerContext instanceof ComponentContext) {
@@ -775,6 +943,11 @@ public class ComponentsPools {
   public static void clearMountContentPools() {
     synchronized (sMountContentLock) {
       sMountContentPoolsByContext.clear();
+      sSharedMountContentPools.clear();
+      sSharedMountContentReleasers.clear();
+      sSharedMountContentHitCount = 0;
+      sSharedMountContentCrossContextHitCount = 0;
+      sSharedMountContentMissCount = 0;
     }
   }
 
@@ -950,6 +1123,10 @@ public class ComponentsPools {
           pools.add(contentPools.valueAt(i));
         }
       }
+
+      for (int i = 0, count = sSharedMountContentPools.size(); i < count; i++) {
+        pools.add(sSharedMountContentPools.valueAt(i));
+      }
     }
     return pools;
   }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.ThreadUtils.assertMainThread;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.support.annotation.IntDef;
+import android.support.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Records the visibility events of a {@link MountState} during a mount pass and dispatches them in
+ * a batch once the frame is done, in the order they were recorded. An event which reverts a
+ * pending event of the same visibility output, e.g. an invisible event for an output whose
+ * visible event hasn't been dispatched yet, cancels it and neither is dispatched.
+ *
+ * <p>Events are kept for {@link ComponentsConfiguration#deferredVisibilityEventsWindowMs} before
+ * being dispatched, so that the flickers within that window are coalesced.
+ */
+class DeferredVisibilityEvents {
+
+  @IntDef({VISIBLE, INVISIBLE, FOCUSED, UNFOCUSED, FULL_IMPRESSION})
+  @Retention(RetentionPolicy.SOURCE)
+  @interface Type {}
+
+  static final int VISIBLE = 0;
+  static final int INVISIBLE = 1;
+  static final int FOCUSED = 2;
+  static final int UNFOCUSED = 3;
+  static final int FULL_IMPRESSION = 4;
+
+  // A focused event cancelled along with the visible event before it, whose unfocused event must
+  // be dropped when it is recorded.
+  private static final int CANCELLED_WITH_VISIBLE = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  // The pending events, in the order they were recorded. A cancelled event has a null handler.
+  private long[] mIds = new long[INITIAL_CAPACITY];
+  private int[] mTypes = new int[INITIAL_CAPACITY];
+  private EventHandler[] mHandlers = new EventHandler[INITIAL_CAPACITY];
+  private long[] mTimes = new long[INITIAL_CAPACITY];
+  private int mCount;
+
+  private boolean mIsScheduled;
+  private Handler mMainThreadHandler;
+
+  private final Runnable mDispatchRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          mIsScheduled = false;
+          dispatch(false);
+        }
+      };
+
+  private final MessageQueue.IdleHandler mDispatchIdleHandler =
+      new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+          mIsScheduled = false;
+          dispatch(false);
+          return false;
+        }
+      };
+
+  /**
+   * Records an event for the visibility output with the given id, to be dispatched to the given
+   * handler after the current frame.
+   *
+   * @param canCoalesce whether the event may cancel a pending inverse event of the same output.
+   */
+  void add(long visibilityOutputId, @Type int type, EventHandler handler, boolean canCoalesce) {
+    assertMainThread();
+
+    if (canCoalesce && cancelPendingInverse(visibilityOutputId, type)) {
+      return;
+    }
+
+    if (mCount == mIds.length) {
+      grow();
+    }
+
+    mIds[mCount] = visibilityOutputId;
+    mTypes[mCount] = type;
+    mHandlers[mCount] = handler;
+    mTimes[mCount] = SystemClock.uptimeMillis();
+    mCount++;
+
+    if (!mIsScheduled) {
+      schedule(ComponentsConfiguration.deferredVisibilityEventsWindowMs);
+    }
+  }
+
+  /** Dispatches all the pending events right away, e.g. before the LithoView is released. */
+  void flush() {
+    assertMainThread();
+    dispatch(true);
+  }
+
+  @VisibleForTesting
+  int getPendingCount() {
+    int pendingCount = 0;
+    for (int i = 0; i < mCount; i++) {
+      if (mHandlers[i] != null) {
+        pendingCount++;
+      }
+    }
+
+    return pendingCount;
+  }
+
+  /**
+   * If the last pending visible/invisible or focused/unfocused event of the output is the inverse
+   * of the given type, cancels it. Cancelling a visible event also cancels the focused and full
+   * impression events recorded after it, which can't have happened without it, and then the
+   * unfocused event which will follow such a focused event.
+   *
+   * @return whether a pending event was cancelled, in which case the new one must be dropped too.
+   */
+  private boolean cancelPendingInverse(long visibilityOutputId, @Type int type) {
+    final int inverseType = getInverseType(type);
+    if (inverseType < 0) {
+      return false;
+    }
+
+    for (int i = mCount - 1; i >= 0; i--) {
+      if (mIds[i] != visibilityOutputId) {
+        continue;
+      }
+
+      if (mTypes[i] == CANCELLED_WITH_VISIBLE && type == UNFOCUSED) {
+        mTypes[i] = FOCUSED;
+        return true;
+      }
+
+      if (mHandlers[i] == null) {
+        continue;
+      }
+
+      if (mTypes[i] == type) {
+        return false;
+      }
+
+      if (mTypes[i] == inverseType) {
+        mHandlers[i] = null;
+        if (inverseType == VISIBLE) {
+          for (int j = i + 1; j < mCount; j++) {
+            if (mIds[j] != visibilityOutputId || mHandlers[j] == null) {
+              continue;
+            }
+            if (mTypes[j] == FOCUSED) {
+              mTypes[j] = CANCELLED_WITH_VISIBLE;
+              mHandlers[j] = null;
+            } else if (mTypes[j] == FULL_IMPRESSION) {
+              mHandlers[j] = null;
+            }
+          }
+        }
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static int getInverseType(@Type int type) {
+    switch (type) {
+      case VISIBLE:
+        return INVISIBLE;
+      case INVISIBLE:
+        return VISIBLE;
+      case FOCUSED:
+        return UNFOCUSED;
+      case UNFOCUSED:
+        return FOCUSED;
+      default:
+        return -1;
+    }
+  }
+
+  private void schedule(long delayMs) {
+    mIsScheduled = true;
+    if (ComponentsConfiguration.dispatchDeferredVisibilityEventsWhenIdle && delayMs == 0) {
+      Looper.myQueue().addIdleHandler(mDispatchIdleHandler);
+      return;
+    }
+
+    if (mMainThreadHandler == null) {
+      mMainThreadHandler = new Handler(Looper.getMainLooper());
+    }
+    mMainThreadHandler.postDelayed(mDispatchRunnable, delayMs);
+  }
+
+  /**
+   * Dispatches the events which have been pending for the whole coalescing window, or all of them
+   * if force is set, and schedules the dispatch of the rest.
+   */
+  private void dispatch(boolean force) {
+    final long dispatchBefore =
+        SystemClock.uptimeMillis() - ComponentsConfiguration.deferredVisibilityEventsWindowMs;
+
+    int dispatched = 0;
+    // Handlers may cause new events to be recorded, which are added after the current count.
+    while (dispatched < mCount && (force || mTimes[dispatched] <= dispatchBefore)) {
+      final EventHandler handler = mHandlers[dispatched];
+      final int type = mTypes[dispatched];
+      mHandlers[dispatched] = null;
+      dispatched++;
+
+      if (handler != null) {
+        dispatchEvent(type, handler);
+      }
+    }
+
+    final int remaining = mCount - dispatched;
+    System.arraycopy(mIds, dispatched, mIds, 0, remaining);
+    System.arraycopy(mTypes, dispatched, mTypes, 0, remaining);
+    System.arraycopy(mHandlers, dispatched, mHandlers, 0, remaining);
+    System.arraycopy(mTimes, dispatched, mTimes, 0, remaining);
+    for (int i = remaining; i < mCount; i++) {
+      mHandlers[i] = null;
+    }
+    mCount = remaining;
+
+    if (mCount > 0 && !mIsScheduled) {
+      schedule(
+          Math.max(
+              0,
+              mTimes[0]
+                  + ComponentsConfiguration.deferredVisibilityEventsWindowMs
+                  - SystemClock.uptimeMillis()));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static void dispatchEvent(@Type int type, EventHandler handler) {
+    switch (type) {
+      case VISIBLE:
+        EventDispatcherUtils.dispatchOnVisible(handler);
+        break;
+      case INVISIBLE:
+        EventDispatcherUtils.dispatchOnInvisible(handler);
+        break;
+      case FOCUSED:
+        EventDispatcherUtils.dispatchOnFocused(handler);
+        break;
+      case UNFOCUSED:
+        EventDispatcherUtils.dispatchOnUnfocused(handler);
+        break;
+      case FULL_IMPRESSION:
+        EventDispatcherUtils.dispatchOnFullImpression(handler);
+        break;
+    }
+  }
+
+  private void grow() {
+    final int capacity = mIds.length * 2;
+    final long[] ids = new long[capacity];
+    final int[] types = new int[capacity];
+    final EventHandler[] handlers = new EventHandler[capacity];
+    final long[] times = new long[capacity];
+    System.arraycopy(mIds, 0, ids, 0, mCount);
+    System.arraycopy(mTypes, 0, types, 0, mCount);
+    System.arraycopy(mHandlers, 0, handlers, 0, mCount);
+    System.arraycopy(mTimes, 0, times, 0, mCount);
+    mIds = ids;
+    mTypes = types;
+    mHandlers = handlers;
+    mTimes = times;
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.v4.util.SparseArrayCompat;
+import java.util.Arrays;
+
+/**
+ * A {@link SparseArrayCompat} which keeps its keys and values in dense, index-ordered arrays and
+ * removes entries eagerly instead of leaving garbage behind.
+ *
+ * <p>Mount items are mostly put, looked up and moved in the same order as the outputs of the
+ * LayoutState, so this is optimized for keys larger than the last one: they are appended in
+ * constant time, the last key is checked before binary searching, and {@link #moveKey(int, int)}
+ * rewrites a key in place when the order of the keys doesn't change.
+ */
+class DenseSparseArray<E> extends SparseArrayCompat<E> {
+
+  private static final int DEFAULT_CAPACITY = 8;
+
+  private int[] mKeys;
+  private Object[] mValues;
+  private int mSize;
+
+  DenseSparseArray() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  DenseSparseArray(int initialCapacity) {
+    super(0);
+    mKeys = new int[initialCapacity];
+    mValues = new Object[initialCapacity];
+  }
+
+  @Override
+  public E get(int key) {
+    return get(key, null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int key, E valueIfKeyNotFound) {
+    final int index = indexOfKey(key);
+    return index < 0 ? valueIfKeyNotFound : (E) mValues[index];
+  }
+
+  @Override
+  public void put(int key, E value) {
+    if (mSize == 0 || key > mKeys[mSize - 1]) {
+      appendUnchecked(key, value);
+      return;
+    }
+
+    final int index = binarySearch(key);
+    if (index >= 0) {
+      mValues[index] = value;
+      return;
+    }
+
+    insertAt(~index, key, value);
+  }
+
+  @Override
+  public void append(int key, E value) {
+    put(key, value);
+  }
+
+  @Override
+  public void delete(int key) {
+    final int index = indexOfKey(key);
+    if (index >= 0) {
+      removeAt(index);
+    }
+  }
+
+  @Override
+  public void remove(int key) {
+    delete(key);
+  }
+
+  @Override
+  public void removeAt(int index) {
+    final int moved = mSize - index - 1;
+    if (moved > 0) {
+      System.arraycopy(mKeys, index + 1, mKeys, index, moved);
+      System.arraycopy(mValues, index + 1, mValues, index, moved);
+    }
+
+    mSize--;
+    mValues[mSize] = null;
+  }
+
+  @Override
+  public void removeAtRange(int index, int size) {
+    final int end = Math.min(mSize, index + size);
+    final int moved = mSize - end;
+    if (moved > 0) {
+      System.arraycopy(mKeys, end, mKeys, index, moved);
+      System.arraycopy(mValues, end, mValues, index, moved);
+    }
+
+    final int newSize = index + moved;
+    Arrays.fill(mValues, newSize, mSize, null);
+    mSize = newSize;
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public int keyAt(int index) {
+    return mKeys[index];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E valueAt(int index) {
+    return (E) mValues[index];
+  }
+
+  @Override
+  public void setValueAt(int index, E value) {
+    mValues[index] = value;
+  }
+
+  @Override
+  public int indexOfKey(int key) {
+    if (mSize == 0) {
+      return -1;
+    }
+
+    if (mKeys[mSize - 1] == key) {
+      return mSize - 1;
+    }
+
+    final int index = binarySearch(key);
+    return index < 0 ? -1 : index;
+  }
+
+  @Override
+  public int indexOfValue(E value) {
+    for (int i = 0; i < mSize; i++) {
+      if (mValues[i] == value) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(mValues, 0, mSize, null);
+    mSize = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public DenseSparseArray<E> clone() {
+    final DenseSparseArray<E> clone = (DenseSparseArray<E>) super.clone();
+    clone.mKeys = mKeys.clone();
+    clone.mValues = mValues.clone();
+    return clone;
+  }
+
+  /**
+   * Changes the key of the value mapped from oldKey to newKey without moving it, which is possible
+   * when newKey isn't mapped yet and sorts between the neighbours of oldKey.
+   *
+   * @return whether the key was changed. If false, nothing was modified.
+   */
+  boolean moveKey(int oldKey, int newKey) {
+    final int index = indexOfKey(oldKey);
+    if (index < 0) {
+      return false;
+    }
+
+    if ((index > 0 && mKeys[index - 1] >= newKey)
+        || (index < mSize - 1 && mKeys[index + 1] <= newKey)) {
+      return false;
+    }
+
+    mKeys[index] = newKey;
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    if (mSize == 0) {
+      return "{}";
+    }
+
+    final StringBuilder builder = new StringBuilder(mSize * 28);
+    builder.append('{');
+    for (int i = 0; i < mSize; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(mKeys[i]).append('=');
+      final Object value = mValues[i];
+      builder.append(value != this ? value : "(this Map)");
+    }
+    builder.append('}');
+    return builder.toString();
+  }
+
+  private void appendUnchecked(int key, E value) {
+    ensureCapacity(mSize + 1);
+    mKeys[mSize] = key;
+    mValues[mSize] = value;
+    mSize++;
+  }
+
+  private void insertAt(int index, int key, E value) {
+    ensureCapacity(mSize + 1);
+    System.arraycopy(mKeys, index, mKeys, index + 1, mSize - index);
+    System.arraycopy(mValues, index, mValues, index + 1, mSize - index);
+    mKeys[index] = key;
+    mValues[index] = value;
+    mSize++;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= mKeys.length) {
+      return;
+    }
+
+    final int newCapacity = Math.max(capacity, mKeys.length * 2);
+    mKeys = Arrays.copyOf(mKeys, newCapacity);
+    mValues = Arrays.copyOf(mValues, newCapacity);
+  }
+
+  private int binarySearch(int key) {
+    int low = 0;
+    int high = mSize - 1;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int midKey = mKeys[mid];
+
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+
+    return ~low;
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.facebook.litho;
 
+import android.support.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,6 +40,7 @@ class DiffNode implements Cloneable {
   private int mLastWidthSpec;
   private int mLastHeightSpec;
   private final List<DiffNode> mChildren;
+  private @Nullable ReusableLayouts mReusableLayouts;
 
   DiffNode() {
     mChildren = new ArrayList<>(4);
@@ -148,9 +150,27 @@ class DiffNode implements Cloneable {
     mHost = host;
   }
 
+  /**
+   * @return the layout subtrees kept for the next layout calculation. Only set on the root of a
+   *     diff tree.
+   */
+  @Nullable
+  ReusableLayouts getReusableLayouts() {
+    return mReusableLayouts;
+  }
+
+  void setReusableLayouts(@Nullable ReusableLayouts reusableLayouts) {
+    mReusableLayouts = reusableLayouts;
+  }
+
   void release() {
     mComponent = null;
 
+    if (mReusableLayouts != null) {
+      mReusableLayouts.release();
+      mReusableLayouts = null;
+    }
+
     mContent = null;
     mBackground = null;
     mForeground = null;
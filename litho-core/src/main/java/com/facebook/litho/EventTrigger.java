@@ -25,6 +25,8 @@ import javax.annotation.Nullable;
  */
 public class EventTrigger<E> {
 
+  private static final Object[] NO_PARAMS = new Object[0];
+
   @Nullable public EventTriggerTarget mTriggerTarget;
   public final int mId;
   public final String mKey;
@@ -36,7 +38,7 @@ public class EventTrigger<E> {
 
   @Nullable
   public Object dispatchOnTrigger(E event) {
-    return dispatchOnTrigger(event, new Object[] {});
+    return dispatchOnTrigger(event, NO_PARAMS);
   }
 
   @Nullable
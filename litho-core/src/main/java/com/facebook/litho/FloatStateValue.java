@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+/**
+ * Used instead of {@code StateValue<Float>} to pass float State as parameter in methods annotated
+ * with @OnUpdateState, so that the value is not boxed on every state update.
+ */
+public final class FloatStateValue {
+
+  private float mValue;
+
+  public float get() {
+    return mValue;
+  }
+
+  public void set(float value) {
+    mValue = value;
+  }
+}
@@ -57,10 +57,18 @@ public interface FrameworkLogEvents {
   String PARAM_UPDATED_CONTENT = "updated_content";
   String PARAM_UPDATED_TIME = "updated_time_ms";
   String PARAM_NO_OP_COUNT = "no_op_count";
+  String PARAM_PROCESSED_COUNT = "processed_count";
+  String PARAM_SKIPPED_COUNT = "skipped_count";
   String PARAM_IS_DIRTY = "is_dirty";
+  String PARAM_TRANSITION_KEYS_DIFFED_COUNT = "transition_keys_diffed_count";
+  String PARAM_TRANSITION_KEYS_SKIPPED_COUNT = "transition_keys_skipped_count";
+  String PARAM_DISPLAY_LISTS_REUSED_COUNT = "display_lists_reused_count";
+  String PARAM_DISPLAY_LISTS_CREATED_COUNT = "display_lists_created_count";
   String PARAM_VISIBILITY_HANDLERS_TOTAL_TIME = "visibility_handlers_total_time_ms";
   String PARAM_VISIBILITY_HANDLER = "visibility_handler";
   String PARAM_VISIBILITY_HANDLER_TIME = "visibility_handler_time_ms";
+  String PARAM_VISIBILITY_OUTPUTS_COUNT = "visibility_outputs_count";
+  String PARAM_VISIBILITY_OUTPUTS_EVALUATED_COUNT = "visibility_outputs_evaluated_count";
   String PARAM_MESSAGE = "message";
   String PARAM_SECTION_CURRENT = "section_current";
   String PARAM_SECTION_NEXT = "section_next";
@@ -46,6 +46,11 @@ class HostComponent extends Component {
     return 45;
   }
 
+  @Override
+  protected boolean canShareMountContentAcrossContexts() {
+    return true;
+  }
+
   @Override
   protected boolean shouldUpdate(Component previous, Component next) {
     return true;
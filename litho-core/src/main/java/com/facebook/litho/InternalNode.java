@@ -117,6 +117,7 @@ class InternalNode implements ComponentLayout {
   private int mImportantForAccessibility = ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
   private boolean mDuplicateParentState;
   private boolean mIsNestedTreeHolder;
+  private @Nullable Component mReusableLayoutComponent;
   private InternalNode mNestedTree;
   private InternalNode mNestedTreeHolder;
   private long mPrivateFlags;
@@ -352,6 +353,38 @@ class InternalNode implements ComponentLayout {
     return mIsNestedTreeHolder;
   }
 
+  /**
+   * Mark this node as the root of a subtree that only depends on the props of the given component,
+   * see {@link ComponentLifecycle#canReuseLayout()}.
+   */
+  void markLayoutReusable(Component component) {
+    mReusableLayoutComponent = component;
+  }
+
+  @Nullable
+  Component getReusableLayoutComponent() {
+    return mReusableLayoutComponent;
+  }
+
+  /**
+   * Clears what this node kept from the layout calculation it was created for, so that it can be
+   * attached to the tree of a following layout calculation.
+   */
+  void resetLayoutResults() {
+    mResolvedTouchExpansionLeft = YogaConstants.UNDEFINED;
+    mResolvedTouchExpansionRight = YogaConstants.UNDEFINED;
+    mResolvedX = YogaConstants.UNDEFINED;
+    mResolvedY = YogaConstants.UNDEFINED;
+    mResolvedWidth = YogaConstants.UNDEFINED;
+    mResolvedHeight = YogaConstants.UNDEFINED;
+    mDiffNode = null;
+    mCachedMeasuresValid = false;
+
+    if (mYogaNode.hasNewLayout()) {
+      mYogaNode.markLayoutSeen();
+    }
+  }
+
   @Override
   public YogaDirection getResolvedLayoutDirection() {
     return mYogaNode.getLayoutDirection();
@@ -1633,6 +1666,7 @@ class InternalNode implements ComponentLayout {
     mDiffNode = null;
     mCachedMeasuresValid = false;
     mIsNestedTreeHolder = false;
+    mReusableLayoutComponent = null;
     mTestKey = null;
 
     if (mPendingTreeProps != null) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.v4.util.SimpleArrayMap;
+import com.facebook.litho.config.ComponentsConfiguration;
+
+/**
+ * Per component type counters of the props comparisons done by generated isEquivalentTo methods,
+ * collected when {@link ComponentsConfiguration#collectIsEquivalentToStats} is enabled.
+ */
+public final class IsEquivalentToStats {
+
+  private static final int COMPARISONS = 0;
+  private static final int FAST_REJECTS = 1;
+
+  private static final SimpleArrayMap<String, int[]> sCounters = new SimpleArrayMap<>();
+
+  private IsEquivalentToStats() {}
+
+  static synchronized void record(String componentName, boolean isFastReject) {
+    int[] counters = sCounters.get(componentName);
+    if (counters == null) {
+      counters = new int[2];
+      sCounters.put(componentName, counters);
+    }
+
+    counters[COMPARISONS]++;
+    if (isFastReject) {
+      counters[FAST_REJECTS]++;
+    }
+  }
+
+  /** @return how many times components of the given type compared their props. */
+  public static synchronized int getComparisonCount(String componentName) {
+    final int[] counters = sCounters.get(componentName);
+    return counters == null ? 0 : counters[COMPARISONS];
+  }
+
+  /**
+   * @return how many props comparisons of components of the given type were rejected by the props
+   *     hash without comparing the props one by one.
+   */
+  public static synchronized int getFastRejectCount(String componentName) {
+    final int[] counters = sCounters.get(componentName);
+    return counters == null ? 0 : counters[FAST_REJECTS];
+  }
+
+  /** @return a human readable dump of all the counters, one component type per line. */
+  public static synchronized String dump() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0, size = sCounters.size(); i < size; i++) {
+      final int[] counters = sCounters.valueAt(i);
+      builder
+          .append(sCounters.keyAt(i))
+          .append(": comparisons=")
+          .append(counters[COMPARISONS])
+          .append(", fast_rejects=")
+          .append(counters[FAST_REJECTS])
+          .append('\n');
+    }
+    return builder.toString();
+  }
+
+  public static synchronized void reset() {
+    sCounters.clear();
+  }
+}
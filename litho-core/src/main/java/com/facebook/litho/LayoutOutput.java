@@ -77,6 +77,13 @@ class LayoutOutput implements Cloneable, AnimatableItem {
     outRect.bottom = mBounds.bottom - mHostTranslationY;
   }
 
+  boolean hasSameMountBounds(LayoutOutput other) {
+    return mBounds.left - mHostTranslationX == other.mBounds.left - other.mHostTranslationX
+        && mBounds.top - mHostTranslationY == other.mBounds.top - other.mHostTranslationY
+        && mBounds.right - mHostTranslationX == other.mBounds.right - other.mHostTranslationX
+        && mBounds.bottom - mHostTranslationY == other.mBounds.bottom - other.mHostTranslationY;
+  }
+
   @Override
   public Rect getBounds() {
     return mBounds;
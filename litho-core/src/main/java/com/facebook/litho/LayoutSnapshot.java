@@ -0,0 +1,233 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * A compact record of a calculated layout which can be persisted across process launches. It
+ * holds the size of the root and the size specs it was calculated with.
+ *
+ * <p>A snapshot is only valid for the key it was written with, which should identify the props of
+ * the root component, and for the density, font scale and locale it was calculated with. See
+ * {@link ComponentTree.Builder#layoutSnapshot(File, long)}.
+ */
+class LayoutSnapshot {
+
+  private static final int MAGIC = 0x4C534E50;
+  private static final int VERSION = 3;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final long mKey;
+  private final float mDensity;
+  private final float mFontScale;
+  private final String mLocale;
+  private final int mWidthSpec;
+  private final int mHeightSpec;
+  private final int mWidth;
+  private final int mHeight;
+
+  @VisibleForTesting
+  LayoutSnapshot(
+      long key,
+      float density,
+      float fontScale,
+      String locale,
+      int widthSpec,
+      int heightSpec,
+      int width,
+      int height) {
+    mKey = key;
+    mDensity = density;
+    mFontScale = fontScale;
+    mLocale = locale;
+    mWidthSpec = widthSpec;
+    mHeightSpec = heightSpec;
+    mWidth = width;
+    mHeight = height;
+  }
+
+  /** Records the size of the given layout, calculated with the given resources. */
+  static LayoutSnapshot create(
+      long key, Resources resources, int widthSpec, int heightSpec, LayoutState layoutState) {
+    final Configuration configuration = resources.getConfiguration();
+    return new LayoutSnapshot(
+        key,
+        resources.getDisplayMetrics().density,
+        configuration.fontScale,
+        getLocale(configuration),
+        widthSpec,
+        heightSpec,
+        layoutState.getWidth(),
+        layoutState.getHeight());
+  }
+
+  private static String getLocale(Configuration configuration) {
+    return configuration.locale == null ? "" : configuration.locale.toString();
+  }
+
+  /**
+   * Maps the given file and reads the snapshot it contains. This does disk I/O and shouldn't be
+   * called on the UI thread.
+   *
+   * @return the snapshot, or null if the file doesn't exist, can't be read, or was written for a
+   *     different key or with a different density, font scale or locale than the given resources.
+   */
+  @Nullable
+  static LayoutSnapshot read(File file, long key, Resources resources) {
+    if (!file.exists()) {
+      return null;
+    }
+
+    RandomAccessFile randomAccessFile = null;
+    try {
+      randomAccessFile = new RandomAccessFile(file, "r");
+      final FileChannel channel = randomAccessFile.getChannel();
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return read(buffer, key, resources);
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      return null;
+    } finally {
+      closeQuietly(randomAccessFile);
+    }
+  }
+
+  @VisibleForTesting
+  @Nullable
+  static LayoutSnapshot read(ByteBuffer buffer, long key, Resources resources) {
+    if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+      return null;
+    }
+
+    if (buffer.getLong() != key) {
+      return null;
+    }
+
+    final float density = buffer.getFloat();
+    final float fontScale = buffer.getFloat();
+    final String locale = readString(buffer);
+    final Configuration configuration = resources.getConfiguration();
+    if (density != resources.getDisplayMetrics().density
+        || fontScale != configuration.fontScale
+        || !locale.equals(getLocale(configuration))) {
+      return null;
+    }
+
+    final int widthSpec = buffer.getInt();
+    final int heightSpec = buffer.getInt();
+    final int width = buffer.getInt();
+    final int height = buffer.getInt();
+
+    return new LayoutSnapshot(
+        key, density, fontScale, locale, widthSpec, heightSpec, width, height);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid length: " + length);
+    }
+
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Writes this snapshot to the given file. The snapshot is written to a temporary file first and
+   * then renamed, so readers never see a partially written snapshot.
+   */
+  void write(File file) throws IOException {
+    final byte[] localeBytes = mLocale.getBytes(UTF_8);
+    final int size = 4 * 2 + 8 + 4 * 2 + 4 + localeBytes.length + 4 * 4;
+
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(MAGIC).putInt(VERSION).putLong(mKey);
+    buffer.putFloat(mDensity).putFloat(mFontScale);
+    buffer.putInt(localeBytes.length).put(localeBytes);
+    buffer.putInt(mWidthSpec).putInt(mHeightSpec).putInt(mWidth).putInt(mHeight);
+
+    final File tempFile = new File(file.getPath() + ".tmp");
+    FileOutputStream outputStream = null;
+    try {
+      outputStream = new FileOutputStream(tempFile);
+      outputStream.write(buffer.array());
+      outputStream.getFD().sync();
+    } finally {
+      closeQuietly(outputStream);
+    }
+
+    if (!tempFile.renameTo(file)) {
+      tempFile.delete();
+      throw new IOException("Failed to write layout snapshot to " + file);
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // Nothing to do.
+    }
+  }
+
+  long getKey() {
+    return mKey;
+  }
+
+  boolean isCompatibleSpec(int widthSpec, int heightSpec) {
+    return mWidthSpec == widthSpec && mHeightSpec == heightSpec;
+  }
+
+  int getWidth() {
+    return mWidth;
+  }
+
+  int getHeight() {
+    return mHeight;
+  }
+
+  /** @return whether the given snapshot describes the same layout as this one. */
+  boolean isSameLayout(@Nullable LayoutSnapshot other) {
+    return other != null
+        && mKey == other.mKey
+        && mDensity == other.mDensity
+        && mFontScale == other.mFontScale
+        && mLocale.equals(other.mLocale)
+        && mWidthSpec == other.mWidthSpec
+        && mHeightSpec == other.mHeightSpec
+        && mWidth == other.mWidth
+        && mHeight == other.mHeight;
+  }
+}
@@ -35,6 +35,8 @@ import static com.facebook.litho.FrameworkLogEvents.EVENT_COLLECT_RESULTS;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_CREATE_LAYOUT;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_CSS_LAYOUT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_COMPONENT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DISPLAY_LISTS_CREATED_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DISPLAY_LISTS_REUSED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LAYOUT_STATE_SOURCE;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LOG_TAG;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_TREE_DIFF_ENABLED;
@@ -82,6 +84,7 @@ import com.facebook.yoga.YogaNode;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -152,6 +155,19 @@ class LayoutState {
         }
       };
 
+  static final Comparator<VisibilityOutput> sVisibilityOutputTopsComparator =
+      new Comparator<VisibilityOutput>() {
+        @Override
+        public int compare(VisibilityOutput lhs, VisibilityOutput rhs) {
+          final int lhsTop = lhs.getBounds().top;
+          final int rhsTop = rhs.getBounds().top;
+          return lhsTop < rhsTop ? -1 : lhsTop > rhsTop ? 1 : 0;
+        }
+      };
+
+  // Number of consecutive entries of mVisibilityOutputTops summarized by one max bottom.
+  private static final int VISIBILITY_OUTPUT_BLOCK_SIZE = 32;
+
   private final Map<String, Rect> mComponentKeyToBounds = new HashMap<>();
   private final List<Component> mComponents = new ArrayList<>();
 
@@ -174,9 +190,17 @@ class LayoutState {
 
   private final List<LayoutOutput> mMountableOutputs = new ArrayList<>(8);
   private final List<VisibilityOutput> mVisibilityOutputs = new ArrayList<>(8);
+  // The visibility outputs sorted by the top of their bounds, and the max bottom of each block of
+  // VISIBILITY_OUTPUT_BLOCK_SIZE of them, so that the outputs overlapping a horizontal band can be
+  // found without looking at every output.
+  private final ArrayList<VisibilityOutput> mVisibilityOutputTops = new ArrayList<>(8);
+  private int[] mVisibilityOutputBlockMaxBottoms = new int[1];
   private final LongSparseArray<Integer> mOutputsIdToPositionMap = new LongSparseArray<>(8);
   private final ArrayList<LayoutOutput> mMountableOutputTops = new ArrayList<>();
   private final ArrayList<LayoutOutput> mMountableOutputBottoms = new ArrayList<>();
+  // The positions of the mountable outputs which may differ from the output the previous
+  // LayoutState generated for the same node, or null if that isn't tracked.
+  @Nullable private BitSet mChangedOutputs;
   private final Queue<Integer> mDisplayListsToPrefetch = new LinkedList<>();
 
   @Nullable private LayoutStateOutputIdCalculator mLayoutStateOutputIdCalculator;
@@ -189,6 +213,12 @@ class LayoutState {
   // Reference count will be initialized to 1 in init().
   private final AtomicInteger mReferenceCount = new AtomicInteger(-1);
 
+  private static final AtomicInteger sIdGenerator = new AtomicInteger(1);
+
+  // Unique among all the LayoutStates calculated, even when they're recycled.
+  private int mId;
+  @Nullable private MountPlan mMountPlan;
+
   private int mWidth;
   private int mHeight;
 
@@ -213,11 +243,15 @@ class LayoutState {
   private StateHandler mStateHandler;
   private boolean mCanPrefetchDisplayLists;
   private boolean mCanCacheDrawingDisplayLists;
+  private int mDisplayListsReusedCount;
+  private int mDisplayListsCreatedCount;
   private boolean mClipChildren = true;
   private ArrayList<Component> mComponentsNeedingPreviousRenderData;
   private @Nullable OutputUnitsAffinityGroup<LayoutOutput> mCurrentLayoutOutputAffinityGroup;
   private final SimpleArrayMap<String, OutputUnitsAffinityGroup<LayoutOutput>>
       mTransitionKeyMapping = new SimpleArrayMap<>();
+  // Content hash of the LayoutOutputs of each transition key, indexed like mTransitionKeyMapping.
+  private @Nullable int[] mTransitionKeyContentHashes;
   private boolean mHasLithoViewWidthAnimation = false;
   private boolean mHasLithoViewHeightAnimation = false;
   long mCalculateLayoutDuration;
@@ -663,9 +697,13 @@ class LayoutState {
           isCachedOutputUpdated);
     }
 
-    // If we don't need to update this output we can safely re-use the display list from the
-    // previous output.
-    if (ThreadUtils.isMainThread() && isCachedOutputUpdated) {
+    if (ComponentsConfiguration.reuseDisplayListsAcrossLayoutStates) {
+      if (layoutOutput != null && shouldUseCachedOutputs) {
+        maybeReuseDisplayList(layoutState, layoutOutput, currentDiffNode.getContent());
+      }
+    } else if (ThreadUtils.isMainThread() && isCachedOutputUpdated) {
+      // If we don't need to update this output we can safely re-use the display list from the
+      // previous output.
       layoutOutput.setDisplayListContainer(currentDiffNode.getContent().getDisplayListContainer());
     }
 
@@ -697,13 +735,20 @@ class LayoutState {
     // 3. Now add the MountSpec (either View or Drawable) to the Outputs.
     if (isMountSpec(component)) {
       // Notify component about its final size.
+      final long profilerStart = ComponentProfiler.begin();
       component.onBoundsDefined(layoutState.mContext, node);
+      ComponentProfiler.end(component, ComponentProfiler.ON_BOUNDS_DEFINED, profilerStart);
 
       addMountableOutput(layoutState, layoutOutput);
       addLayoutOutputIdToPositionsMap(
           layoutState.mOutputsIdToPositionMap,
           layoutOutput,
           layoutState.mMountableOutputs.size() - 1);
+      if (layoutState.mChangedOutputs != null
+          && shouldUseCachedOutputs
+          && isUnchangedOutput(layoutOutput, currentDiffNode.getContent())) {
+        layoutState.mChangedOutputs.clear(layoutState.mMountableOutputs.size() - 1);
+      }
       maybeAddLayoutOutputToAffinityGroup(
           layoutState.mCurrentLayoutOutputAffinityGroup, OutputUnitType.CONTENT, layoutOutput);
 
@@ -818,6 +863,7 @@ class LayoutState {
 
       layoutState.calculateAndSetVisibilityOutputId(
           visibilityOutput, layoutState.mCurrentLevel, previousId);
+      visibilityOutput.setIndex(layoutState.mVisibilityOutputs.size());
       layoutState.mVisibilityOutputs.add(visibilityOutput);
 
       if (diffNode != null) {
@@ -1036,7 +1082,9 @@ class LayoutState {
       boolean isCachedOutputUpdated,
       boolean matchHostBoundsTransitions) {
 
+    final long profilerStart = ComponentProfiler.begin();
     drawableComponent.onBoundsDefined(layoutState.mContext, node);
+    ComponentProfiler.end(drawableComponent, ComponentProfiler.ON_BOUNDS_DEFINED, profilerStart);
 
     final LayoutOutput drawableLayoutOutput =
         createDrawableLayoutOutput(
@@ -1083,6 +1131,94 @@ class LayoutState {
     node.release();
   }
 
+  /**
+   * Detaches from the given tree the subtrees which the next layout calculation can reuse, see
+   * {@link ComponentLifecycle#canReuseLayout()}. The root of the tree itself is never reused.
+   */
+  @VisibleForTesting
+  @Nullable
+  static ReusableLayouts collectReusableLayouts(
+      InternalNode node, @Nullable ReusableLayouts reusableLayouts) {
+    for (int i = node.getChildCount() - 1; i >= 0; i--) {
+      final InternalNode child = node.getChildAt(i);
+      final Component reusableComponent = getReusableLayoutComponent(child);
+
+      if (reusableComponent != null) {
+        node.removeChildAt(i);
+        resetLayoutResults(child);
+        if (reusableLayouts == null) {
+          reusableLayouts = new ReusableLayouts();
+        }
+        reusableLayouts.put(reusableComponent.getGlobalKey(), child);
+      } else {
+        reusableLayouts = collectReusableLayouts(child, reusableLayouts);
+      }
+    }
+
+    return reusableLayouts;
+  }
+
+  /**
+   * @return the component whose props the subtree of this node depends on, or null if the subtree
+   *     can't be reused: if other components added their own props to the node, or if anything in
+   *     the subtree depends on more than those props, see {@link #isSubtreeReusable}.
+   */
+  @Nullable
+  private static Component getReusableLayoutComponent(InternalNode node) {
+    final Component component = node.getReusableLayoutComponent();
+    if (component == null || component.getGlobalKey() == null) {
+      return null;
+    }
+
+    final List<Component> components = node.getComponents();
+    if (components.get(components.size() - 1) != component || !isSubtreeReusable(node)) {
+      return null;
+    }
+
+    return component;
+  }
+
+  /**
+   * A reused subtree skips the per layout work of its components: state isn't transferred to the
+   * new StateHandler, transitions and working ranges aren't collected again and tree props aren't
+   * read. It is only reusable if no node in it has state, size dependent layouts, transitions,
+   * working ranges or tree props.
+   */
+  private static boolean isSubtreeReusable(InternalNode node) {
+    if (node.isNestedTreeHolder()
+        || node.hasTransitionKey()
+        || node.getTransitions() != null
+        || node.getComponentsNeedingPreviousRenderData() != null
+        || node.getWorkingRangeRegistrations() != null) {
+      return false;
+    }
+
+    final List<Component> components = node.getComponents();
+    for (int i = 0, size = components.size(); i < size; i++) {
+      final Component component = components.get(i);
+      final ComponentContext scopedContext = component.getScopedContext();
+      if (component.hasState()
+          || (scopedContext != null && scopedContext.getTreeProps() != null)) {
+        return false;
+      }
+    }
+
+    for (int i = 0, count = node.getChildCount(); i < count; i++) {
+      if (!isSubtreeReusable(node.getChildAt(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static void resetLayoutResults(InternalNode node) {
+    node.resetLayoutResults();
+    for (int i = 0, count = node.getChildCount(); i < count; i++) {
+      resetLayoutResults(node.getChildAt(i));
+    }
+  }
+
   /**
    * If we have an interactive LayoutSpec or a MountSpec Drawable, we need to insert an
    * HostComponent in the Outputs such as it will be used as a HostView at Mount time. View
@@ -1179,6 +1315,7 @@ class LayoutState {
     }
 
     final LayoutState layoutState;
+    ComponentProfiler.beginLayout();
     try {
       if (logger != null) {
         logLayoutState = logger.newPerformanceEvent(EVENT_CALCULATE_LAYOUT_STATE);
@@ -1193,6 +1330,7 @@ class LayoutState {
       layoutState.clearComponents();
       layoutState.mShouldGenerateDiffTree = shouldGenerateDiffTree;
       layoutState.mComponentTreeId = componentTreeId;
+      layoutState.mId = sIdGenerator.getAndIncrement();
       layoutState.mAccessibilityManager =
           (AccessibilityManager) c.getSystemService(ACCESSIBILITY_SERVICE);
       layoutState.mAccessibilityEnabled = isAccessibilityEnabled(layoutState.mAccessibilityManager);
@@ -1203,6 +1341,14 @@ class LayoutState {
       layoutState.mCanCacheDrawingDisplayLists = canCacheDrawingDisplayLists;
       layoutState.mClipChildren = clipChildren;
 
+      // A state update may target a component of a reusable subtree, or change what an ancestor
+      // passes down to it, so subtrees are only reused by layouts with no pending state updates.
+      final StateHandler stateHandler = c.getStateHandler();
+      if (previousDiffTreeRoot != null
+          && (stateHandler == null || !stateHandler.hasPendingUpdates())) {
+        c.setReusableLayouts(previousDiffTreeRoot.getReusableLayouts());
+      }
+
       final InternalNode root =
           component.mLayoutCreatedInWillRender == null
               ? createAndMeasureTreeForComponent(
@@ -1260,11 +1406,32 @@ class LayoutState {
         collectResultsEvent.addParam(PARAM_LOG_TAG, c.getLogTag());
       }
 
+      if (ComponentsConfiguration.skipRemountingUnchangedOutputs) {
+        layoutState.mChangedOutputs = new BitSet();
+      }
+
+      final long collectResultsStart = PerfEvents.start(c.getComponentTree());
+
       collectResults(root, layoutState, null);
 
       Collections.sort(layoutState.mMountableOutputTops, sTopsComparator);
       Collections.sort(layoutState.mMountableOutputBottoms, sBottomsComparator);
 
+      if (ComponentsConfiguration.processVisibilityOutputsIncrementally) {
+        layoutState.indexVisibilityOutputs();
+      }
+
+      if (ComponentsConfiguration.skipUnchangedTransitionKeys
+          && !layoutState.mTransitionKeyMapping.isEmpty()) {
+        computeTransitionKeyContentHashes(layoutState);
+      }
+
+      PerfEvents.end(
+          PerfEvents.LAYOUT_COLLECT_RESULTS,
+          c.getComponentTree(),
+          collectResultsStart,
+          layoutState.getMountableOutputCount());
+
       if (logger != null) {
         logger.log(collectResultsEvent);
       }
@@ -1276,6 +1443,11 @@ class LayoutState {
       if (!ComponentsConfiguration.isDebugModeEnabled
           && !ComponentsConfiguration.isEndToEndTestRun
           && layoutState.mLayoutRoot != null) {
+        if (ComponentsConfiguration.reusePureLayoutSpecSubtrees
+            && layoutState.mDiffTreeRoot != null) {
+          layoutState.mDiffTreeRoot.setReusableLayouts(
+              collectReusableLayouts(layoutState.mLayoutRoot, null));
+        }
         releaseNodeTree(layoutState.mLayoutRoot, false /* isNestedTree */);
         layoutState.mLayoutRoot = null;
       }
@@ -1293,12 +1465,22 @@ class LayoutState {
 
       layoutState.mCalculateLayoutDuration = System.nanoTime() - timestampStartLayout;
     } finally {
+      ComponentProfiler.endLayout();
+
       if (isTracing) {
         ComponentsSystrace.endSection();
       }
     }
 
     if (logger != null) {
+      if (ComponentsConfiguration.reuseDisplayListsAcrossLayoutStates) {
+        logLayoutState.addParam(
+            PARAM_DISPLAY_LISTS_REUSED_COUNT,
+            String.valueOf(layoutState.mDisplayListsReusedCount));
+        logLayoutState.addParam(
+            PARAM_DISPLAY_LISTS_CREATED_COUNT,
+            String.valueOf(layoutState.mDisplayListsCreatedCount));
+      }
       logger.log(logLayoutState);
     }
 
@@ -1405,6 +1587,40 @@ class LayoutState {
     return true;
   }
 
+  /**
+   * Hands the valid display list of the previous output matched through the diff tree over to
+   * {@code layoutOutput} if both draw equivalent components in the same mount bounds. Only the
+   * {@link DisplayList} is carried over: each output keeps its own {@link DisplayListContainer}, so
+   * releasing the previous LayoutState doesn't drop the display list the new one is now using.
+   *
+   * <p>Like the reuse of display list containers, this only happens on the main thread: platform
+   * display lists aren't thread safe, and the previous one may be drawn on the main thread while a
+   * layout thread checks or shares it.
+   */
+  @VisibleForTesting
+  static boolean maybeReuseDisplayList(
+      LayoutState layoutState, LayoutOutput layoutOutput, @Nullable LayoutOutput previousOutput) {
+    if (!ThreadUtils.isMainThread()
+        || previousOutput == null
+        || !layoutOutput.hasDisplayListContainer()
+        || !previousOutput.hasValidDisplayList()
+        || !layoutOutput.hasSameMountBounds(previousOutput)) {
+      return false;
+    }
+
+    final Component component = layoutOutput.getComponent();
+    final Component previousComponent = previousOutput.getComponent();
+    if (component == null
+        || previousComponent == null
+        || !component.isEquivalentTo(previousComponent)) {
+      return false;
+    }
+
+    layoutOutput.setDisplayList(previousOutput.getDisplayList());
+    layoutState.mDisplayListsReusedCount++;
+    return true;
+  }
+
   private static boolean canCollectDisplayListsSync(Activity activity) {
     // If we have no window or the hierarchy has never been drawn before we cannot guarantee that
     // a valid GL context exists. In this case just bail.
@@ -1514,6 +1730,7 @@ class LayoutState {
       displayList.setBounds(rect.left, rect.top, rect.right, rect.bottom);
 
       output.setDisplayList(displayList);
+      mDisplayListsCreatedCount++;
     } catch (DisplayListException e) {
       // Display list creation failed. Make sure the DisplayList for this output is set
       // to null.
@@ -1583,8 +1800,12 @@ class LayoutState {
       createLayoutEvent.addParam(PARAM_COMPONENT, component.getSimpleName());
     }
 
+    final long createTreeStart = PerfEvents.start(context.getComponentTree());
+
     final InternalNode root = component.createLayout(context, true /* resolveNestedTree */);
 
+    PerfEvents.end(PerfEvents.LAYOUT_CREATE_TREE, context.getComponentTree(), createTreeStart, 0);
+
     if (logger != null) {
       logger.log(createLayoutEvent);
     }
@@ -1627,6 +1848,8 @@ class LayoutState {
       layoutEvent.addParam(PARAM_TREE_DIFF_ENABLED, String.valueOf(previousDiffTreeRoot != null));
     }
 
+    final long measureStart = PerfEvents.start(context.getComponentTree());
+
     root.calculateLayout(
         SizeSpec.getMode(widthSpec) == SizeSpec.UNSPECIFIED
             ? YogaConstants.UNDEFINED
@@ -1635,6 +1858,8 @@ class LayoutState {
             ? YogaConstants.UNDEFINED
             : SizeSpec.getSize(heightSpec));
 
+    PerfEvents.end(PerfEvents.LAYOUT_MEASURE, context.getComponentTree(), measureStart, 0);
+
     if (logger != null) {
       logger.log(layoutEvent);
     }
@@ -1836,6 +2061,11 @@ class LayoutState {
     return widthIsCompatible && heightIsCompatible;
   }
 
+  /** @return whether accessibility was enabled when this LayoutState was calculated. */
+  boolean isAccessibilityEnabled() {
+    return mAccessibilityEnabled;
+  }
+
   boolean isCompatibleAccessibility() {
     return isAccessibilityEnabled(mAccessibilityManager) == mAccessibilityEnabled;
   }
@@ -1987,6 +2217,112 @@ class LayoutState {
     return mVisibilityOutputs.get(index);
   }
 
+  /** Whether {@link #collectVisibilityOutputsInBand} can be used for this LayoutState. */
+  boolean hasVisibilityOutputIndex() {
+    return mVisibilityOutputTops.size() == mVisibilityOutputs.size();
+  }
+
+  /**
+   * @return whether the mountable output at the given position may differ from the output which
+   *     was generated for the same node by the LayoutState this one was diffed against. Always true
+   *     unless {@link ComponentsConfiguration#skipRemountingUnchangedOutputs} is enabled.
+   */
+  boolean isMountableOutputChanged(int position) {
+    return mChangedOutputs == null || mChangedOutputs.get(position);
+  }
+
+  /**
+   * An output is unchanged when its id was reused from the previous output without needing an
+   * update, and the previous output was generated from the same component instance with the same
+   * bounds and flags in the same host. Outputs with a {@link ViewNodeInfo} are always treated as
+   * changed since it depends on the layout of the node rather than on the component.
+   *
+   * <p>Components are compared by identity rather than with isEquivalentTo since the mount item
+   * keeps the component it was bound with, and skipping the update would leave it bound to a stale
+   * instance. Outputs are therefore only reported as unchanged for subtrees reused via {@link
+   * ComponentsConfiguration#reusePureLayoutSpecSubtrees}, or for component instances which the
+   * caller passed again in the new root.
+   */
+  private static boolean isUnchangedOutput(LayoutOutput output, LayoutOutput previous) {
+    if (output.getUpdateState() != LayoutOutput.STATE_UPDATED
+        || output.getComponent() != previous.getComponent()
+        || output.getId() != previous.getId()
+        || output.getHostMarker() != previous.getHostMarker()
+        || output.getFlags() != previous.getFlags()
+        || output.getViewNodeInfo() != null
+        || previous.getViewNodeInfo() != null
+        || !output.getBounds().equals(previous.getBounds())) {
+      return false;
+    }
+
+    final NodeInfo nodeInfo = output.getNodeInfo();
+    final NodeInfo previousNodeInfo = previous.getNodeInfo();
+    if (nodeInfo == null || previousNodeInfo == null) {
+      return nodeInfo == previousNodeInfo;
+    }
+
+    return nodeInfo.getEnabledState() == previousNodeInfo.getEnabledState();
+  }
+
+  private void indexVisibilityOutputs() {
+    mVisibilityOutputTops.addAll(mVisibilityOutputs);
+    Collections.sort(mVisibilityOutputTops, sVisibilityOutputTopsComparator);
+
+    final int size = mVisibilityOutputTops.size();
+    final int blockCount = (size + VISIBILITY_OUTPUT_BLOCK_SIZE - 1) / VISIBILITY_OUTPUT_BLOCK_SIZE;
+    if (mVisibilityOutputBlockMaxBottoms.length < blockCount) {
+      mVisibilityOutputBlockMaxBottoms = new int[blockCount];
+    }
+
+    for (int i = 0; i < size; i++) {
+      final int block = i / VISIBILITY_OUTPUT_BLOCK_SIZE;
+      final int bottom = mVisibilityOutputTops.get(i).getBounds().bottom;
+      if (i % VISIBILITY_OUTPUT_BLOCK_SIZE == 0
+          || bottom > mVisibilityOutputBlockMaxBottoms[block]) {
+        mVisibilityOutputBlockMaxBottoms[block] = bottom;
+      }
+    }
+  }
+
+  /**
+   * Appends to indices, starting at count, the index of each visibility output whose bounds cross
+   * the band between top and bottom, i.e. start above bottom and end below top. An empty band
+   * finds the outputs crossing that line. The indices array must have room for every visibility
+   * output.
+   *
+   * @return the new number of indices in the array.
+   */
+  int collectVisibilityOutputsInBand(int top, int bottom, int[] indices, int count) {
+    // Only outputs which start above the bottom of the band can cross it.
+    int end = mVisibilityOutputTops.size();
+    int low = 0;
+    while (low < end) {
+      final int mid = (low + end) >>> 1;
+      if (mVisibilityOutputTops.get(mid).getBounds().top < bottom) {
+        low = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+
+    for (int blockStart = 0; blockStart < end; blockStart += VISIBILITY_OUTPUT_BLOCK_SIZE) {
+      if (mVisibilityOutputBlockMaxBottoms[blockStart / VISIBILITY_OUTPUT_BLOCK_SIZE] <= top) {
+        continue;
+      }
+
+      for (int i = blockStart, blockEnd = Math.min(end, blockStart + VISIBILITY_OUTPUT_BLOCK_SIZE);
+          i < blockEnd;
+          i++) {
+        final VisibilityOutput visibilityOutput = mVisibilityOutputTops.get(i);
+        if (visibilityOutput.getBounds().bottom > top) {
+          indices[count++] = visibilityOutput.getIndex();
+        }
+      }
+    }
+
+    return count;
+  }
+
   int getTestOutputCount() {
     return mTestOutputs == null ? 0 : mTestOutputs.size();
   }
@@ -2014,6 +2350,20 @@ class LayoutState {
     return mComponentTreeId;
   }
 
+  int getId() {
+    return mId;
+  }
+
+  /** @return the mount plan computed on the layout thread for this LayoutState, if any. */
+  @Nullable
+  MountPlan getMountPlan() {
+    return mMountPlan;
+  }
+
+  void setMountPlan(@Nullable MountPlan mountPlan) {
+    mMountPlan = mountPlan;
+  }
+
   /**
    * See {@link LayoutState#acquireRef} Call this when you are done using the reference to the
    * LayoutState.
@@ -2047,6 +2397,9 @@ class LayoutState {
       mMountableOutputTops.clear();
       mMountableOutputBottoms.clear();
       mOutputsIdToPositionMap.clear();
+      mChangedOutputs = null;
+      mId = 0;
+      mMountPlan = null;
       mDisplayListsToPrefetch.clear();
 
       for (Rect rect : mComponentKeyToBounds.values()) {
@@ -2058,6 +2411,7 @@ class LayoutState {
         ComponentsPools.release(mVisibilityOutputs.get(i));
       }
       mVisibilityOutputs.clear();
+      mVisibilityOutputTops.clear();
 
       if (mTestOutputs != null) {
         for (int i = 0, size = mTestOutputs.size(); i < size; i++) {
@@ -2067,6 +2421,8 @@ class LayoutState {
       }
 
       mShouldGenerateDiffTree = false;
+      mDisplayListsReusedCount = 0;
+      mDisplayListsCreatedCount = 0;
       mAccessibilityManager = null;
       mAccessibilityEnabled = false;
 
@@ -2095,6 +2451,7 @@ class LayoutState {
 
       mCurrentLayoutOutputAffinityGroup = null;
       mTransitionKeyMapping.clear();
+      mTransitionKeyContentHashes = null;
       mHasLithoViewWidthAnimation = false;
       mHasLithoViewHeightAnimation = false;
 
@@ -2233,7 +2590,115 @@ class LayoutState {
     return mTransitionKeyMapping.get(key);
   }
 
+  /**
+   * @return the number of display lists this LayoutState took over from the previous one instead
+   *     of recording them again.
+   */
+  int getDisplayListsReusedCount() {
+    return mDisplayListsReusedCount;
+  }
+
+  /** @return the number of display lists recorded for this LayoutState so far. */
+  int getDisplayListsCreatedCount() {
+    return mDisplayListsCreatedCount;
+  }
+
+  /**
+   * @return whether {@link #getTransitionKeyContentHashAt} can be used for the transition keys of
+   *     this LayoutState.
+   */
+  boolean hasTransitionKeyContentHashes() {
+    return mTransitionKeyContentHashes != null;
+  }
+
+  /**
+   * @return the content hash of the group of LayoutOutputs at the given index of {@link
+   *     #getTransitionKeyMapping()}. Groups with different hashes differ in their bounds, alpha,
+   *     scale or rotation; groups with the same hash must be compared with {@link
+   *     #hasSameTransitionContent}.
+   */
+  int getTransitionKeyContentHashAt(int index) {
+    return mTransitionKeyContentHashes[index];
+  }
+
+  private static void computeTransitionKeyContentHashes(LayoutState layoutState) {
+    final SimpleArrayMap<String, OutputUnitsAffinityGroup<LayoutOutput>> transitionKeyMapping =
+        layoutState.mTransitionKeyMapping;
+    final int size = transitionKeyMapping.size();
+    final int[] contentHashes = new int[size];
+    for (int i = 0; i < size; i++) {
+      contentHashes[i] = computeTransitionContentHash(transitionKeyMapping.valueAt(i));
+    }
+    layoutState.mTransitionKeyContentHashes = contentHashes;
+  }
+
+  /**
+   * Hashes the same values that {@link #hasSameTransitionContent} compares, so an unset alpha or
+   * scale hashes as {@code Float.floatToIntBits(1f)} and an unset rotation as {@code
+   * Float.floatToIntBits(0f)}, the same as when they're explicitly set to those values.
+   */
+  private static int computeTransitionContentHash(OutputUnitsAffinityGroup<LayoutOutput> group) {
+    int hash = 0;
+    for (int i = 0, size = group.size(); i < size; i++) {
+      final LayoutOutput layoutOutput = group.getAt(i);
+      final Rect bounds = layoutOutput.getBounds();
+      hash = 31 * hash + group.typeAt(i);
+      hash = 31 * hash + bounds.left;
+      hash = 31 * hash + bounds.top;
+      hash = 31 * hash + bounds.right;
+      hash = 31 * hash + bounds.bottom;
+      hash = 31 * hash + Float.floatToIntBits(getTransitionAlpha(layoutOutput));
+      hash = 31 * hash + Float.floatToIntBits(getTransitionScale(layoutOutput));
+      hash = 31 * hash + Float.floatToIntBits(getTransitionRotation(layoutOutput));
+    }
+    return hash;
+  }
+
+  /**
+   * @return whether the two groups of LayoutOutputs have the same types, bounds, alpha, scale and
+   *     rotation. Content hashes can collide, so this confirms that two groups with the same
+   *     {@link #getTransitionKeyContentHashAt} are really unchanged.
+   */
+  static boolean hasSameTransitionContent(
+      OutputUnitsAffinityGroup<LayoutOutput> current, OutputUnitsAffinityGroup<LayoutOutput> next) {
+    final int size = current.size();
+    if (size != next.size()) {
+      return false;
+    }
+
+    for (int i = 0; i < size; i++) {
+      final LayoutOutput currentOutput = current.getAt(i);
+      final LayoutOutput nextOutput = next.getAt(i);
+      if (current.typeAt(i) != next.typeAt(i)
+          || !currentOutput.getBounds().equals(nextOutput.getBounds())
+          || Float.compare(getTransitionAlpha(currentOutput), getTransitionAlpha(nextOutput)) != 0
+          || Float.compare(getTransitionScale(currentOutput), getTransitionScale(nextOutput)) != 0
+          || Float.compare(getTransitionRotation(currentOutput), getTransitionRotation(nextOutput))
+              != 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static float getTransitionAlpha(LayoutOutput layoutOutput) {
+    return layoutOutput.isAlphaSet() ? layoutOutput.getAlpha() : 1;
+  }
+
+  private static float getTransitionScale(LayoutOutput layoutOutput) {
+    return layoutOutput.isScaleSet() ? layoutOutput.getScale() : 1;
+  }
+
+  private static float getTransitionRotation(LayoutOutput layoutOutput) {
+    return layoutOutput.isRotationSet() ? layoutOutput.getRotation() : 0;
+  }
+
   private static void addMountableOutput(LayoutState layoutState, LayoutOutput layoutOutput) {
+    if (layoutState.mChangedOutputs != null) {
+      layoutState.mChangedOutputs.set(layoutState.mMountableOutputs.size());
+    }
+
     layoutState.mMountableOutputs.add(layoutOutput);
     layoutState.mMountableOutputTops.add(layoutOutput);
     layoutState.mMountableOutputBottoms.add(layoutOutput);
@@ -20,16 +20,30 @@ import android.content.res.Configuration;
 import android.support.v4.util.LruCache;
 import javax.annotation.Nullable;
 
+/**
+ * {@link ResourceCache} that keeps resolved objects (strings and arrays) in an LRU cache bounded
+ * by their estimated size in bytes, and primitive values in a separate {@link
+ * PrimitiveResourceCache} so that dimensions and colors are neither boxed nor evicted by large
+ * strings.
+ */
 class LruResourceCache extends ResourceCache {
-  private final LruCache<Integer, Object> mCache = new LruCache<Integer, Object>(500) {
-    @Override
-    protected int sizeOf(Integer key, Object value) {
-      if (value instanceof String) {
-        return ((String) value).length();
-      }
-      return 1;
-    }
-  };
+
+  private static final int OBJECTS_MAX_SIZE_BYTES = 128 * 1024;
+  private static final int PRIMITIVES_MAX_ENTRIES = 2048;
+
+  private static final int OBJECT_HEADER_BYTES = 16;
+  private static final int STRING_OVERHEAD_BYTES = 40;
+
+  private final LruCache<Integer, Object> mCache =
+      new LruCache<Integer, Object>(OBJECTS_MAX_SIZE_BYTES) {
+        @Override
+        protected int sizeOf(Integer key, Object value) {
+          return estimateSizeBytes(value);
+        }
+      };
+
+  private final PrimitiveResourceCache mPrimitiveCache =
+      new PrimitiveResourceCache(PRIMITIVES_MAX_ENTRIES);
 
   LruResourceCache(Configuration configuration) {
     super(configuration);
@@ -45,4 +59,56 @@ class LruResourceCache extends ResourceCache {
   void put(int key, Object object) {
     mCache.put(key, object);
   }
+
+  @Override
+  long getPrimitive(int key, int kind) {
+    return mPrimitiveCache.get(PrimitiveResourceCache.key(key, kind));
+  }
+
+  @Override
+  void putPrimitive(int key, int kind, int value) {
+    mPrimitiveCache.put(PrimitiveResourceCache.key(key, kind), value);
+  }
+
+  @Override
+  public int getSizeBytes() {
+    return mCache.size() + mPrimitiveCache.sizeBytes();
+  }
+
+  @Override
+  public int getHitCount() {
+    return mCache.hitCount() + mPrimitiveCache.hitCount();
+  }
+
+  @Override
+  public int getMissCount() {
+    return mCache.missCount() + mPrimitiveCache.missCount();
+  }
+
+  static int estimateSizeBytes(Object value) {
+    if (value instanceof String) {
+      return estimateStringSizeBytes((String) value);
+    }
+
+    if (value instanceof String[]) {
+      final String[] strings = (String[]) value;
+      int size = OBJECT_HEADER_BYTES + 4 * strings.length;
+      for (String string : strings) {
+        if (string != null) {
+          size += estimateStringSizeBytes(string);
+        }
+      }
+      return size;
+    }
+
+    if (value instanceof int[]) {
+      return OBJECT_HEADER_BYTES + 4 * ((int[]) value).length;
+    }
+
+    return OBJECT_HEADER_BYTES;
+  }
+
+  private static int estimateStringSizeBytes(String string) {
+    return STRING_OVERHEAD_BYTES + 2 * string.length();
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.IntDef;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Notified when {@link MountState} enters and exits its hot entry points, so that test harnesses
+ * can measure the work they do on each frame. Calls are only made on the main thread, and only
+ * while an audit is set with {@link MountState#setMountAudit(MountAudit)}.
+ */
+interface MountAudit {
+
+  @IntDef({MOUNT, INCREMENTAL_MOUNT, PROCESS_VISIBILITY_OUTPUTS})
+  @Retention(RetentionPolicy.SOURCE)
+  @interface EntryPoint {}
+
+  int MOUNT = 0;
+  int INCREMENTAL_MOUNT = 1;
+  int PROCESS_VISIBILITY_OUTPUTS = 2;
+
+  int ENTRY_POINT_COUNT = 3;
+
+  void onEnter(@EntryPoint int entryPoint);
+
+  void onExit(@EntryPoint int entryPoint);
+}
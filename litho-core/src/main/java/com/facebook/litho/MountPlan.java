@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.Nullable;
+import java.util.BitSet;
+
+/**
+ * The parts of mounting a {@link LayoutState} which don't touch Views: the ids of its outputs, the
+ * position of the host of each output and, if the LayoutState it replaces is known, where each of
+ * the previous outputs moved. It's computed on the layout thread so that {@link MountState} only
+ * has to mutate Views on the main thread.
+ */
+final class MountPlan {
+
+  private final long[] mOutputIds;
+  private final int[] mHostPositions;
+
+  // The diff against the LayoutState this one replaces, if any.
+  private final int mBaseLayoutStateId;
+  @Nullable private final int[] mNewPositions;
+  @Nullable private final BitSet mTransitionKeyChanges;
+
+  private MountPlan(
+      long[] outputIds,
+      int[] hostPositions,
+      int baseLayoutStateId,
+      @Nullable int[] newPositions,
+      @Nullable BitSet transitionKeyChanges) {
+    mOutputIds = outputIds;
+    mHostPositions = hostPositions;
+    mBaseLayoutStateId = baseLayoutStateId;
+    mNewPositions = newPositions;
+    mTransitionKeyChanges = transitionKeyChanges;
+  }
+
+  /**
+   * @param baseLayoutState the LayoutState which is expected to be mounted when layoutState is, or
+   *     null if unknown.
+   */
+  static MountPlan create(LayoutState layoutState, @Nullable LayoutState baseLayoutState) {
+    final int outputCount = layoutState.getMountableOutputCount();
+    final long[] outputIds = new long[outputCount];
+    final int[] hostPositions = new int[outputCount];
+    for (int i = 0; i < outputCount; i++) {
+      final LayoutOutput layoutOutput = layoutState.getMountableOutputAt(i);
+      outputIds[i] = layoutOutput.getId();
+      hostPositions[i] = layoutState.getLayoutOutputPositionForId(layoutOutput.getHostMarker());
+    }
+
+    if (baseLayoutState == null || baseLayoutState.getId() <= 0) {
+      return new MountPlan(outputIds, hostPositions, -1, null, null);
+    }
+
+    final int baseOutputCount = baseLayoutState.getMountableOutputCount();
+    final int[] newPositions = new int[baseOutputCount];
+    final BitSet transitionKeyChanges = new BitSet(baseOutputCount);
+    for (int i = 0; i < baseOutputCount; i++) {
+      final LayoutOutput baseOutput = baseLayoutState.getMountableOutputAt(i);
+      final int newPosition = layoutState.getLayoutOutputPositionForId(baseOutput.getId());
+      newPositions[i] = newPosition;
+
+      final String baseTransitionKey = baseOutput.getTransitionKey();
+      if (newPosition != -1
+          && baseTransitionKey != null
+          && !baseTransitionKey.equals(
+              layoutState.getMountableOutputAt(newPosition).getTransitionKey())) {
+        transitionKeyChanges.set(i);
+      }
+    }
+
+    return new MountPlan(
+        outputIds, hostPositions, baseLayoutState.getId(), newPositions, transitionKeyChanges);
+  }
+
+  int getOutputCount() {
+    return mOutputIds.length;
+  }
+
+  /** Copies the ids of the outputs, in mount order, into the given array. */
+  void copyOutputIds(long[] outputIds) {
+    System.arraycopy(mOutputIds, 0, outputIds, 0, mOutputIds.length);
+  }
+
+  /** @return the position of the host of the output at the given position, or -1. */
+  int getHostPosition(int position) {
+    return mHostPositions[position];
+  }
+
+  /**
+   * Whether this plan was diffed against the LayoutState with the given id, whose outputs have the
+   * given ids.
+   */
+  boolean isBasedOn(int layoutStateId, @Nullable long[] outputIds) {
+    return mNewPositions != null
+        && layoutStateId == mBaseLayoutStateId
+        && outputIds != null
+        && outputIds.length == mNewPositions.length;
+  }
+
+  /**
+   * @return the position in the new LayoutState of the output at the given position in the base
+   *     LayoutState, or -1 if it was removed.
+   */
+  int getNewPosition(int basePosition) {
+    return mNewPositions[basePosition];
+  }
+
+  /**
+   * Whether the output at the given position in the base LayoutState had a transition key which
+   * changed in the new one.
+   */
+  boolean hasTransitionKeyChanged(int basePosition) {
+    return mTransitionKeyChanges.get(basePosition);
+  }
+}
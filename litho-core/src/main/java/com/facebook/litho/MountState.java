@@ -21,6 +21,11 @@ import static com.facebook.litho.Component.isHostSpec;
 import static com.facebook.litho.Component.isMountViewSpec;
 import static com.facebook.litho.ComponentHostUtils.maybeInvalidateAccessibilityState;
 import static com.facebook.litho.ComponentHostUtils.maybeSetDrawableState;
+import static com.facebook.litho.DeferredVisibilityEvents.FOCUSED;
+import static com.facebook.litho.DeferredVisibilityEvents.FULL_IMPRESSION;
+import static com.facebook.litho.DeferredVisibilityEvents.INVISIBLE;
+import static com.facebook.litho.DeferredVisibilityEvents.UNFOCUSED;
+import static com.facebook.litho.DeferredVisibilityEvents.VISIBLE;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_MOUNT;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_PREPARE_MOUNT;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_SHOULD_UPDATE_REFERENCE_LAYOUT_MISMATCH;
@@ -32,6 +37,10 @@ import static com.facebook.litho.FrameworkLogEvents.PARAM_MOUNTED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_MOUNTED_TIME;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_MOVED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_NO_OP_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_PROCESSED_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_SKIPPED_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_TRANSITION_KEYS_DIFFED_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_TRANSITION_KEYS_SKIPPED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_UNCHANGED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_UNMOUNTED_CONTENT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_UNMOUNTED_COUNT;
@@ -42,6 +51,8 @@ import static com.facebook.litho.FrameworkLogEvents.PARAM_UPDATED_TIME;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_VISIBILITY_HANDLER;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_VISIBILITY_HANDLERS_TOTAL_TIME;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_VISIBILITY_HANDLER_TIME;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_VISIBILITY_OUTPUTS_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_VISIBILITY_OUTPUTS_EVALUATED_COUNT;
 import static com.facebook.litho.ThreadUtils.assertMainThread;
 
 import android.animation.AnimatorInflater;
@@ -63,6 +74,7 @@ import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.reference.Reference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -103,6 +115,8 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
   private final Map<String, Deque<TestItem>> mTestItemMap;
 
   private @Nullable long[] mLayoutOutputsIds;
+  // The id of the LayoutState mLayoutOutputsIds were taken from.
+  private int mLayoutOutputsIdsLayoutStateId;
 
   // True if we are receiving a new LayoutState and we need to completely
   // refresh the content of the HostComponent. Always set from the main thread.
@@ -116,9 +130,18 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
   private static final Rect sTempRect = new Rect();
 
+  // Only accessed on the main thread.
+  @Nullable private static MountAudit sMountAudit;
+
   private final ComponentContext mContext;
   private final LithoView mLithoView;
   private final Rect mPreviousLocalVisibleRect = new Rect();
+  // The visible rect and parent size the visibility outputs were last processed with.
+  private final Rect mPreviousVisibilityRect = new Rect();
+  private int mPreviousVisibilityParentWidth;
+  private int mPreviousVisibilityParentHeight;
+  private int[] mVisibilityOutputIndices = new int[0];
+  private @Nullable DeferredVisibilityEvents mDeferredVisibilityEvents;
   private final PrepareMountStats mPrepareMountStats = new PrepareMountStats();
   private final MountStats mMountStats = new MountStats();
   private int mPreviousTopsIndex;
@@ -136,6 +159,8 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       mDisappearingMountItems = new SimpleArrayMap<>();
   private @Nullable ArrayList<Transition> mMountTimeTransitions;
   private @Nullable List<Transition> mStateUpdateTransitions;
+  private int mTransitionKeysDiffedCount;
+  private int mTransitionKeysSkippedCount;
 
   public MountState(LithoView view) {
     mIndexToItemMap = new LongSparseArray<>();
@@ -167,6 +192,7 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
     mIsDirty = true;
     mPreviousLocalVisibleRect.setEmpty();
+    mPreviousVisibilityRect.setEmpty();
   }
 
   boolean isDirty() {
@@ -215,6 +241,10 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       throw new IllegalStateException("Trying to mount a null layoutState");
     }
 
+    if (sMountAudit != null) {
+      sMountAudit.onEnter(MountAudit.MOUNT);
+    }
+
     final ComponentTree componentTree = mLithoView.getComponentTree();
     final boolean isTracing = ComponentsSystrace.isTracing();
     if (isTracing) {
@@ -239,6 +269,11 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       mountEvent = logger.newPerformanceEvent(EVENT_MOUNT);
     }
 
+    final long mountStart = PerfEvents.start(componentTree);
+
+    mTransitionKeysDiffedCount = 0;
+    mTransitionKeysSkippedCount = 0;
+
     if (mIsDirty) {
       updateTransitions(layoutState, componentTree);
 
@@ -246,7 +281,13 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
       // Prepare the data structure for the new LayoutState and removes mountItems
       // that are not present anymore if isUpdateMountInPlace is enabled.
+      final long prepareMountStart = PerfEvents.start(componentTree);
       prepareMount(layoutState);
+      PerfEvents.end(
+          PerfEvents.MOUNT_PREPARE,
+          componentTreeId,
+          prepareMountStart,
+          layoutState.getMountableOutputCount());
     }
 
     mMountStats.reset();
@@ -256,8 +297,19 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
     final boolean isIncrementalMountEnabled = localVisibleRect != null;
 
-    if (!isIncrementalMountEnabled
-        || !performIncrementalMount(layoutState, localVisibleRect, processVisibilityOutputs)) {
+    boolean mountedIncrementally = false;
+    if (isIncrementalMountEnabled) {
+      if (sMountAudit != null) {
+        sMountAudit.onEnter(MountAudit.INCREMENTAL_MOUNT);
+      }
+      mountedIncrementally =
+          performIncrementalMount(layoutState, localVisibleRect, processVisibilityOutputs);
+      if (sMountAudit != null) {
+        sMountAudit.onExit(MountAudit.INCREMENTAL_MOUNT);
+      }
+    }
+
+    if (!mountedIncrementally) {
       final MountItem rootMountItem = mIndexToItemMap.get(ROOT_HOST_ID);
 
       for (int i = 0, size = layoutState.getMountableOutputCount(); i < size; i++) {
@@ -293,9 +345,16 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
         } else if (!isMountable && isMounted) {
           unmountItem(mContext, i, mHostsByMarker);
         } else if (isMounted) {
-          if (mIsDirty) {
-            final boolean useUpdateValueFromLayoutOutput =
-                (componentTreeId >= 0) && (componentTreeId == mLastMountedComponentTreeId);
+          final boolean useUpdateValueFromLayoutOutput =
+              (componentTreeId >= 0) && (componentTreeId == mLastMountedComponentTreeId);
+
+          if (mIsDirty
+              && useUpdateValueFromLayoutOutput
+              && !layoutState.isMountableOutputChanged(i)
+              && isMountItemUpToDate(layoutOutput, currentMountItem)) {
+            mMountStats.skippedCount++;
+          } else if (mIsDirty) {
+            mMountStats.processedCount++;
 
             final long startTime = System.nanoTime();
             final boolean itemUpdated = updateMountItemIfNeeded(
@@ -363,7 +422,19 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
     if (processVisibilityOutputs) {
       ComponentsSystrace.beginSection("processVisibilityOutputs");
+      final long visibilityStart = PerfEvents.start(componentTree);
+      if (sMountAudit != null) {
+        sMountAudit.onEnter(MountAudit.PROCESS_VISIBILITY_OUTPUTS);
+      }
       processVisibilityOutputs(layoutState, localVisibleRect);
+      if (sMountAudit != null) {
+        sMountAudit.onExit(MountAudit.PROCESS_VISIBILITY_OUTPUTS);
+      }
+      PerfEvents.end(
+          PerfEvents.MOUNT_VISIBILITY,
+          componentTreeId,
+          visibilityStart,
+          layoutState.getVisibilityOutputCount());
       ComponentsSystrace.endSection();
     }
 
@@ -389,13 +460,32 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
           PARAM_VISIBILITY_HANDLERS_TOTAL_TIME, mMountStats.visibilityHandlersTotalTime);
       mountEvent.addJsonParam(PARAM_VISIBILITY_HANDLER, mMountStats.visibilityHandlerNames);
       mountEvent.addJsonParam(PARAM_VISIBILITY_HANDLER_TIME, mMountStats.visibilityHandlerTimes);
+      mountEvent.addParam(
+          PARAM_VISIBILITY_OUTPUTS_COUNT, String.valueOf(mMountStats.visibilityOutputsCount));
+      mountEvent.addParam(
+          PARAM_VISIBILITY_OUTPUTS_EVALUATED_COUNT,
+          String.valueOf(mMountStats.visibilityOutputsEvaluatedCount));
 
       mountEvent.addParam(PARAM_NO_OP_COUNT, String.valueOf(mMountStats.noOpCount));
+      mountEvent.addParam(PARAM_PROCESSED_COUNT, String.valueOf(mMountStats.processedCount));
+      mountEvent.addParam(PARAM_SKIPPED_COUNT, String.valueOf(mMountStats.skippedCount));
       mountEvent.addParam(PARAM_IS_DIRTY, String.valueOf(mIsDirty));
 
+      mountEvent.addParam(
+          PARAM_TRANSITION_KEYS_DIFFED_COUNT, String.valueOf(mTransitionKeysDiffedCount));
+      mountEvent.addParam(
+          PARAM_TRANSITION_KEYS_SKIPPED_COUNT, String.valueOf(mTransitionKeysSkippedCount));
+
       logger.log(mountEvent);
     }
 
+    PerfEvents.end(
+        PerfEvents.MOUNT, componentTreeId, mountStart, layoutState.getMountableOutputCount());
+
+    if (sMountAudit != null) {
+      sMountAudit.onExit(MountAudit.MOUNT);
+    }
+
     if (isTracing) {
       ComponentsSystrace.endSection();
     }
@@ -466,129 +556,216 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     final boolean isDoingPerfLog = mMountStats.isLoggingEnabled;
     final boolean isTracing = ComponentsSystrace.isTracing();
     final long totalStartTime = isDoingPerfLog ? System.nanoTime() : 0;
-    for (int j = 0, size = layoutState.getVisibilityOutputCount(); j < size; j++) {
-      final VisibilityOutput visibilityOutput = layoutState.getVisibilityOutputAt(j);
-      if (isTracing) {
-        final String componentName =
-            visibilityOutput.getComponent() != null
-                ? visibilityOutput.getComponent().getSimpleName()
-                : "Unknown";
-        ComponentsSystrace.beginSection("visibilityHandlers:" + componentName);
-      }
-      final long handlerStartTime = isDoingPerfLog ? System.nanoTime() : 0;
-      final EventHandler<VisibleEvent> visibleHandler = visibilityOutput.getVisibleEventHandler();
-      final EventHandler<FocusedVisibleEvent> focusedHandler =
-          visibilityOutput.getFocusedEventHandler();
-      final EventHandler<UnfocusedVisibleEvent> unfocusedHandler =
-          visibilityOutput.getUnfocusedEventHandler();
-      final EventHandler<FullImpressionVisibleEvent> fullImpressionHandler =
-          visibilityOutput.getFullImpressionEventHandler();
-      final EventHandler<InvisibleEvent> invisibleHandler =
-          visibilityOutput.getInvisibleEventHandler();
-      final long visibilityOutputId = visibilityOutput.getId();
-      final Rect visibilityOutputBounds = visibilityOutput.getBounds();
-
-      boolean boundsIntersect = sTempRect.setIntersect(visibilityOutputBounds, localVisibleRect);
-      final boolean isCurrentlyVisible =
-          boundsIntersect && isInVisibleRange(visibilityOutput, visibilityOutputBounds, sTempRect);
-
-      VisibilityItem visibilityItem = mVisibilityIdToItemMap.get(visibilityOutputId);
-      if (visibilityItem != null) {
-        final String previousGlobalKey = visibilityItem.getGlobalKey();
-        final String currentGlobalKey =
-            visibilityOutput.getComponent() != null
-                ? visibilityOutput.getComponent().getGlobalKey()
-                : null;
-        final boolean hasGlobalKeyChanged =
-            previousGlobalKey != null && !previousGlobalKey.equals(currentGlobalKey);
-
-        if (!hasGlobalKeyChanged) {
-          // If we did a relayout due to e.g. a state update then the handlers will have changed,
-          // so we should keep them up to date.
-          visibilityItem.setUnfocusedHandler(unfocusedHandler);
-          visibilityItem.setInvisibleHandler(invisibleHandler);
+    final int visibilityOutputCount = layoutState.getVisibilityOutputCount();
+    mMountStats.visibilityOutputsCount = visibilityOutputCount;
+
+    if (canProcessVisibilityOutputsIncrementally(layoutState, localVisibleRect)) {
+      // Only the outputs crossing an edge of the visible rect which moved can have a different
+      // visible part than the last time they were processed.
+      if (mVisibilityOutputIndices.length < visibilityOutputCount * 2) {
+        mVisibilityOutputIndices = new int[visibilityOutputCount * 2];
+      }
+
+      int count = 0;
+      if (mPreviousVisibilityRect.top != localVisibleRect.top) {
+        count =
+            layoutState.collectVisibilityOutputsInBand(
+                Math.min(mPreviousVisibilityRect.top, localVisibleRect.top),
+                Math.max(mPreviousVisibilityRect.top, localVisibleRect.top),
+                mVisibilityOutputIndices,
+                count);
+      }
+      if (mPreviousVisibilityRect.bottom != localVisibleRect.bottom) {
+        count =
+            layoutState.collectVisibilityOutputsInBand(
+                Math.min(mPreviousVisibilityRect.bottom, localVisibleRect.bottom),
+                Math.max(mPreviousVisibilityRect.bottom, localVisibleRect.bottom),
+                mVisibilityOutputIndices,
+                count);
+      }
+
+      // Process the outputs in layout order, like a full pass would.
+      Arrays.sort(mVisibilityOutputIndices, 0, count);
+      for (int i = 0; i < count; i++) {
+        if (i > 0 && mVisibilityOutputIndices[i] == mVisibilityOutputIndices[i - 1]) {
+          continue;
         }
 
-        if (!isCurrentlyVisible || hasGlobalKeyChanged) {
-          // Either the component is invisible now, but used to be visible, or the key on the
-          // component has changed so we should generate new visibility events for the new
-          // component.
-          if (visibilityItem.getInvisibleHandler() != null) {
-            EventDispatcherUtils.dispatchOnInvisible(visibilityItem.getInvisibleHandler());
-          }
+        processVisibilityOutput(
+            layoutState.getVisibilityOutputAt(mVisibilityOutputIndices[i]),
+            localVisibleRect,
+            isDoingPerfLog,
+            isTracing);
+        mMountStats.visibilityOutputsEvaluatedCount++;
+      }
+    } else {
+      for (int j = 0; j < visibilityOutputCount; j++) {
+        processVisibilityOutput(
+            layoutState.getVisibilityOutputAt(j), localVisibleRect, isDoingPerfLog, isTracing);
+      }
+      mMountStats.visibilityOutputsEvaluatedCount = visibilityOutputCount;
+    }
 
-          if (visibilityItem.isInFocusedRange()) {
-            visibilityItem.setFocusedRange(false);
-            if (visibilityItem.getUnfocusedHandler() != null) {
-              EventDispatcherUtils.dispatchOnUnfocused(visibilityItem.getUnfocusedHandler());
-            }
-          }
+    mPreviousVisibilityRect.set(localVisibleRect);
+    final View parent = (View) mLithoView.getParent();
+    mPreviousVisibilityParentWidth = parent != null ? parent.getWidth() : 0;
+    mPreviousVisibilityParentHeight = parent != null ? parent.getHeight() : 0;
+
+    if (isDoingPerfLog) {
+      mMountStats.visibilityHandlersTotalTime = (System.nanoTime() - totalStartTime) / NS_IN_MS;
+    }
+  }
+
+  /**
+   * Whether only the visibility outputs crossing the edges which moved since the last time they
+   * were processed need to be processed again. This is the case if the LayoutState, the parent size
+   * and the horizontal bounds of the visible rect are unchanged, and neither rect is empty.
+   */
+  private boolean canProcessVisibilityOutputsIncrementally(
+      LayoutState layoutState, Rect localVisibleRect) {
+    if (!layoutState.hasVisibilityOutputIndex()
+        || mPreviousVisibilityRect.isEmpty()
+        || localVisibleRect.isEmpty()
+        || mPreviousVisibilityRect.left != localVisibleRect.left
+        || mPreviousVisibilityRect.right != localVisibleRect.right) {
+      return false;
+    }
+
+    final View parent = (View) mLithoView.getParent();
+    return parent != null
+        && parent.getWidth() == mPreviousVisibilityParentWidth
+        && parent.getHeight() == mPreviousVisibilityParentHeight;
+  }
+
+  private void processVisibilityOutput(
+      VisibilityOutput visibilityOutput,
+      Rect localVisibleRect,
+      boolean isDoingPerfLog,
+      boolean isTracing) {
+    if (isTracing) {
+      final String componentName =
+          visibilityOutput.getComponent() != null
+              ? visibilityOutput.getComponent().getSimpleName()
+              : "Unknown";
+      ComponentsSystrace.beginSection("visibilityHandlers:" + componentName);
+    }
+    final long handlerStartTime = isDoingPerfLog ? System.nanoTime() : 0;
+    final EventHandler<VisibleEvent> visibleHandler = visibilityOutput.getVisibleEventHandler();
+    final EventHandler<FocusedVisibleEvent> focusedHandler =
+        visibilityOutput.getFocusedEventHandler();
+    final EventHandler<UnfocusedVisibleEvent> unfocusedHandler =
+        visibilityOutput.getUnfocusedEventHandler();
+    final EventHandler<FullImpressionVisibleEvent> fullImpressionHandler =
+        visibilityOutput.getFullImpressionEventHandler();
+    final EventHandler<InvisibleEvent> invisibleHandler =
+        visibilityOutput.getInvisibleEventHandler();
+    final long visibilityOutputId = visibilityOutput.getId();
+    final Rect visibilityOutputBounds = visibilityOutput.getBounds();
+
+    boolean boundsIntersect = sTempRect.setIntersect(visibilityOutputBounds, localVisibleRect);
+    final boolean isCurrentlyVisible =
+        boundsIntersect && isInVisibleRange(visibilityOutput, visibilityOutputBounds, sTempRect);
+
+    VisibilityItem visibilityItem = mVisibilityIdToItemMap.get(visibilityOutputId);
+    // A new component with the same visibility output id must get its visible event even if the
+    // previous one's invisible event hasn't been dispatched yet.
+    boolean canCoalesceVisibleEvent = true;
+    if (visibilityItem != null) {
+      final String previousGlobalKey = visibilityItem.getGlobalKey();
+      final String currentGlobalKey =
+          visibilityOutput.getComponent() != null
+              ? visibilityOutput.getComponent().getGlobalKey()
+              : null;
+      final boolean hasGlobalKeyChanged =
+          previousGlobalKey != null && !previousGlobalKey.equals(currentGlobalKey);
+
+      canCoalesceVisibleEvent = !hasGlobalKeyChanged;
+
+      if (!hasGlobalKeyChanged) {
+        // If we did a relayout due to e.g. a state update then the handlers will have changed,
+        // so we should keep them up to date.
+        visibilityItem.setUnfocusedHandler(unfocusedHandler);
+        visibilityItem.setInvisibleHandler(invisibleHandler);
+      }
+
+      if (!isCurrentlyVisible || hasGlobalKeyChanged) {
+        // Either the component is invisible now, but used to be visible, or the key on the
+        // component has changed so we should generate new visibility events for the new
+        // component.
+        if (visibilityItem.getInvisibleHandler() != null) {
+          dispatchVisibilityEvent(
+              visibilityOutputId, INVISIBLE, visibilityItem.getInvisibleHandler());
+        }
 
-          mVisibilityIdToItemMap.remove(visibilityOutputId);
-          ComponentsPools.release(visibilityItem);
-          visibilityItem = null;
+        if (visibilityItem.isInFocusedRange()) {
+          visibilityItem.setFocusedRange(false);
+          if (visibilityItem.getUnfocusedHandler() != null) {
+            dispatchVisibilityEvent(
+                visibilityOutputId, UNFOCUSED, visibilityItem.getUnfocusedHandler());
+          }
         }
+
+        mVisibilityIdToItemMap.remove(visibilityOutputId);
+        ComponentsPools.release(visibilityItem);
+        visibilityItem = null;
       }
+    }
 
-      if (isCurrentlyVisible) {
-        // The component is visible now, but used to be outside the viewport.
-        if (visibilityItem == null) {
-          final String globalKey =
-              visibilityOutput.getComponent() != null
-                  ? visibilityOutput.getComponent().getGlobalKey()
-                  : null;
-          visibilityItem =
-              ComponentsPools.acquireVisibilityItem(globalKey, invisibleHandler, unfocusedHandler);
-          mVisibilityIdToItemMap.put(visibilityOutputId, visibilityItem);
+    if (isCurrentlyVisible) {
+      // The component is visible now, but used to be outside the viewport.
+      if (visibilityItem == null) {
+        final String globalKey =
+            visibilityOutput.getComponent() != null
+                ? visibilityOutput.getComponent().getGlobalKey()
+                : null;
+        visibilityItem =
+            ComponentsPools.acquireVisibilityItem(globalKey, invisibleHandler, unfocusedHandler);
+        mVisibilityIdToItemMap.put(visibilityOutputId, visibilityItem);
 
-          if (visibleHandler != null) {
-            EventDispatcherUtils.dispatchOnVisible(visibleHandler);
-          }
+        if (visibleHandler != null) {
+          dispatchVisibilityEvent(
+              visibilityOutputId, VISIBLE, visibleHandler, canCoalesceVisibleEvent);
         }
+      }
 
-        // Check if the component has entered or exited the focused range.
-        if (focusedHandler != null || unfocusedHandler != null) {
-          if (isInFocusedRange(visibilityOutputBounds, sTempRect)) {
-            if (!visibilityItem.isInFocusedRange()) {
-              visibilityItem.setFocusedRange(true);
-              if (focusedHandler != null) {
-                EventDispatcherUtils.dispatchOnFocused(focusedHandler);
-              }
+      // Check if the component has entered or exited the focused range.
+      if (focusedHandler != null || unfocusedHandler != null) {
+        if (isInFocusedRange(visibilityOutputBounds, sTempRect)) {
+          if (!visibilityItem.isInFocusedRange()) {
+            visibilityItem.setFocusedRange(true);
+            if (focusedHandler != null) {
+              dispatchVisibilityEvent(visibilityOutputId, FOCUSED, focusedHandler);
             }
-          } else {
-            if (visibilityItem.isInFocusedRange()) {
-              visibilityItem.setFocusedRange(false);
-              if (unfocusedHandler != null) {
-                EventDispatcherUtils.dispatchOnUnfocused(unfocusedHandler);
-              }
+          }
+        } else {
+          if (visibilityItem.isInFocusedRange()) {
+            visibilityItem.setFocusedRange(false);
+            if (unfocusedHandler != null) {
+              dispatchVisibilityEvent(visibilityOutputId, UNFOCUSED, unfocusedHandler);
             }
           }
         }
-        // If the component has not entered the full impression range yet, make sure to update the
-        // information about the visible edges.
-        if (fullImpressionHandler != null && !visibilityItem.isInFullImpressionRange()) {
-          visibilityItem.setVisibleEdges(visibilityOutputBounds, sTempRect);
+      }
+      // If the component has not entered the full impression range yet, make sure to update the
+      // information about the visible edges.
+      if (fullImpressionHandler != null && !visibilityItem.isInFullImpressionRange()) {
+        visibilityItem.setVisibleEdges(visibilityOutputBounds, sTempRect);
 
-          if (visibilityItem.isInFullImpressionRange()) {
-            EventDispatcherUtils.dispatchOnFullImpression(fullImpressionHandler);
-          }
+        if (visibilityItem.isInFullImpressionRange()) {
+          dispatchVisibilityEvent(visibilityOutputId, FULL_IMPRESSION, fullImpressionHandler);
         }
       }
-      if (isDoingPerfLog) {
-        final String componentName =
-            visibilityOutput.getComponent() != null
-                ? visibilityOutput.getComponent().getSimpleName()
-                : "Unknown";
-        mMountStats.visibilityHandlerTimes.add((System.nanoTime() - handlerStartTime) / NS_IN_MS);
-        mMountStats.visibilityHandlerNames.add(componentName);
-      }
-      if (isTracing) {
-        ComponentsSystrace.endSection();
-      }
     }
-
     if (isDoingPerfLog) {
-      mMountStats.visibilityHandlersTotalTime = (System.nanoTime() - totalStartTime) / NS_IN_MS;
+      final String componentName =
+          visibilityOutput.getComponent() != null
+              ? visibilityOutput.getComponent().getSimpleName()
+              : "Unknown";
+      mMountStats.visibilityHandlerTimes.add((System.nanoTime() - handlerStartTime) / NS_IN_MS);
+      mMountStats.visibilityHandlerNames.add(componentName);
+    }
+    if (isTracing) {
+      ComponentsSystrace.endSection();
     }
   }
 
@@ -668,20 +845,24 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
   }
 
   private void clearVisibilityItems() {
+    mPreviousVisibilityRect.setEmpty();
+
     for (int i = mVisibilityIdToItemMap.size() - 1; i >= 0; i--) {
       final VisibilityItem visibilityItem = mVisibilityIdToItemMap.valueAt(i);
       final EventHandler<InvisibleEvent> invisibleHandler = visibilityItem.getInvisibleHandler();
       final EventHandler<UnfocusedVisibleEvent> unfocusedHandler =
           visibilityItem.getUnfocusedHandler();
 
+      final long visibilityOutputId = mVisibilityIdToItemMap.keyAt(i);
+
       if (invisibleHandler != null) {
-        EventDispatcherUtils.dispatchOnInvisible(invisibleHandler);
+        dispatchVisibilityEvent(visibilityOutputId, INVISIBLE, invisibleHandler);
       }
 
       if (visibilityItem.isInFocusedRange()) {
         visibilityItem.setFocusedRange(false);
         if (unfocusedHandler != null) {
-          EventDispatcherUtils.dispatchOnUnfocused(unfocusedHandler);
+          dispatchVisibilityEvent(visibilityOutputId, UNFOCUSED, unfocusedHandler);
         }
       }
 
@@ -690,6 +871,31 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     }
   }
 
+  /**
+   * Dispatches a visibility event right away, or records it to be dispatched after the frame if
+   * {@link ComponentsConfiguration#deferVisibilityEventDispatch} is enabled.
+   */
+  private void dispatchVisibilityEvent(
+      long visibilityOutputId, @DeferredVisibilityEvents.Type int type, EventHandler handler) {
+    dispatchVisibilityEvent(visibilityOutputId, type, handler, true);
+  }
+
+  private void dispatchVisibilityEvent(
+      long visibilityOutputId,
+      @DeferredVisibilityEvents.Type int type,
+      EventHandler handler,
+      boolean canCoalesce) {
+    if (ComponentsConfiguration.deferVisibilityEventDispatch) {
+      if (mDeferredVisibilityEvents == null) {
+        mDeferredVisibilityEvents = new DeferredVisibilityEvents();
+      }
+      mDeferredVisibilityEvents.add(visibilityOutputId, type, handler, canCoalesce);
+      return;
+    }
+
+    DeferredVisibilityEvents.dispatchEvent(type, handler);
+  }
+
   private void registerHost(long id, ComponentHost host) {
     host.suppressInvalidations(true);
     mHostsByMarker.put(id, host);
@@ -917,6 +1123,28 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
         nextComponent);
   }
 
+  /**
+   * @return whether the mount item was mounted from the component of the given output, at its
+   *     bounds, in which case an output which LayoutState reports as unchanged needs no update.
+   */
+  private static boolean isMountItemUpToDate(LayoutOutput layoutOutput, MountItem item) {
+    if (item.getComponent() != layoutOutput.getComponent() || !item.isBound()) {
+      return false;
+    }
+
+    layoutOutput.getMountBounds(sTempRect);
+    final Object content = item.getContent();
+    if (content instanceof Drawable) {
+      return sTempRect.equals(((Drawable) content).getBounds());
+    }
+
+    final View view = (View) content;
+    return sTempRect.left == view.getLeft()
+        && sTempRect.top == view.getTop()
+        && sTempRect.right == view.getRight()
+        && sTempRect.bottom == view.getBottom();
+  }
+
   private static boolean sameSize(LayoutOutput layoutOutput, MountItem item) {
     final Rect layoutOutputBounds = layoutOutput.getBounds();
     final Object mountedContent = item.getContent();
@@ -994,9 +1222,15 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       mLayoutOutputsIds = new long[layoutState.getMountableOutputCount()];
     }
 
-    for (int i = 0; i < outputCount; i++) {
-      mLayoutOutputsIds[i] = layoutState.getMountableOutputAt(i).getId();
+    final MountPlan mountPlan = layoutState.getMountPlan();
+    if (mountPlan != null && mountPlan.getOutputCount() == outputCount) {
+      mountPlan.copyOutputIds(mLayoutOutputsIds);
+    } else {
+      for (int i = 0; i < outputCount; i++) {
+        mLayoutOutputsIds[i] = layoutState.getMountableOutputAt(i).getId();
+      }
     }
+    mLayoutOutputsIdsLayoutStateId = layoutState.getId();
 
     if (logger != null) {
       logger.log(prepareEvent);
@@ -1038,11 +1272,20 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       return mPrepareMountStats;
     }
 
+    // The diff computed on the layout thread only applies if it was made against what's mounted.
+    final MountPlan mountPlan = newLayoutState.getMountPlan();
+    final boolean useMountPlan =
+        mountPlan != null
+            && mountPlan.isBasedOn(mLayoutOutputsIdsLayoutStateId, mLayoutOutputsIds);
+
     // Traversing from the beginning since mLayoutOutputsIds unmounting won't remove entries there
     // but only from mIndexToItemMap. If an host changes we're going to unmount it and recursively
     // all its mounted children.
     for (int i = 0; i < mLayoutOutputsIds.length; i++) {
-      final int newPosition = newLayoutState.getLayoutOutputPositionForId(mLayoutOutputsIds[i]);
+      final int newPosition =
+          useMountPlan
+              ? mountPlan.getNewPosition(i)
+              : newLayoutState.getLayoutOutputPositionForId(mLayoutOutputsIds[i]);
       final MountItem oldItem = getItemAt(i);
 
       // If an item is being unmounted and is doing a disappearing animation, don't actually unmount
@@ -1086,8 +1329,10 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
           // This was previously unmounted.
           mPrepareMountStats.unmountedCount++;
         } else if (oldItem.getHost() != mHostsByMarker.get(newHostMarker)
-            || (oldItem.getTransitionKey() != null
-                && !oldItem.getTransitionKey().equals(newItem.getTransitionKey()))) {
+            || (useMountPlan
+                ? mountPlan.hasTransitionKeyChanged(i)
+                : oldItem.getTransitionKey() != null
+                    && !oldItem.getTransitionKey().equals(newItem.getTransitionKey()))) {
           // If the id is the same but the parent host is different we simply unmount the item and
           // re-mount it later. Also if transitionKeys are different we unmount them because
           // logically they represent different items.
@@ -1151,13 +1396,22 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
 
     if (host == null) {
       // Host has not yet been mounted - mount it now.
-      for (int hostMountIndex = 0, size = mLayoutOutputsIds.length;
-           hostMountIndex < size;
-           hostMountIndex++) {
-        if (mLayoutOutputsIds[hostMountIndex] == layoutOutput.getHostMarker()) {
-          final LayoutOutput hostLayoutOutput = layoutState.getMountableOutputAt(hostMountIndex);
-          mountLayoutOutput(hostMountIndex, hostLayoutOutput, layoutState);
-          break;
+      final MountPlan mountPlan = layoutState.getMountPlan();
+      if (mountPlan != null && mountPlan.getOutputCount() == mLayoutOutputsIds.length) {
+        final int hostMountIndex = mountPlan.getHostPosition(index);
+        if (hostMountIndex >= 0) {
+          mountLayoutOutput(
+              hostMountIndex, layoutState.getMountableOutputAt(hostMountIndex), layoutState);
+        }
+      } else {
+        for (int hostMountIndex = 0, size = mLayoutOutputsIds.length;
+            hostMountIndex < size;
+            hostMountIndex++) {
+          if (mLayoutOutputsIds[hostMountIndex] == layoutOutput.getHostMarker()) {
+            final LayoutOutput hostLayoutOutput = layoutState.getMountableOutputAt(hostMountIndex);
+            mountLayoutOutput(hostMountIndex, hostLayoutOutput, layoutState);
+            break;
+          }
         }
       }
 
@@ -1178,6 +1432,9 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       ComponentHost componentHost = (ComponentHost) content;
       componentHost.setParentHostMarker(layoutOutput.getHostMarker());
       registerHost(layoutOutput.getId(), componentHost);
+      if (ComponentsConfiguration.lazilyRefreshAccessibilityDelegates) {
+        componentHost.refreshAccessibilityDelegatesIfNeeded(layoutState.isAccessibilityEnabled());
+      }
     }
 
     // 4. Mount the content into the selected host.
@@ -2078,6 +2335,7 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       unmountItem(mContext, i, mHostsByMarker);
     }
     mPreviousLocalVisibleRect.setEmpty();
+    mPreviousVisibilityRect.setEmpty();
     mNeedsRemount = true;
   }
 
@@ -2333,6 +2591,8 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     prepareTransitionManager(newLayoutState);
 
     mTransitionManager.setupTransitions(mLastMountedLayoutState, newLayoutState, rootTransition);
+    mTransitionKeysDiffedCount = mTransitionManager.getDiffedTransitionKeysCount();
+    mTransitionKeysSkippedCount = mTransitionManager.getSkippedTransitionKeysCount();
 
     SimpleArrayMap<String, ?> nextTransitionKeys = newLayoutState.getTransitionKeyMapping();
     for (int i = 0, size = nextTransitionKeys.size(); i < size; i++) {
@@ -2520,6 +2780,10 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     private int noOpCount;
 
     private double visibilityHandlersTotalTime;
+    private int visibilityOutputsCount;
+    private int visibilityOutputsEvaluatedCount;
+    private int processedCount;
+    private int skippedCount;
 
     private boolean isLoggingEnabled;
     private boolean isInitialized;
@@ -2547,6 +2811,10 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
       updatedCount = 0;
       noOpCount = 0;
       visibilityHandlersTotalTime = 0;
+      visibilityOutputsCount = 0;
+      visibilityOutputsEvaluatedCount = 0;
+      processedCount = 0;
+      skippedCount = 0;
 
       if (isInitialized) {
         mountedNames.clear();
@@ -2588,6 +2856,10 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     }
 
     clearVisibilityItems();
+
+    if (mDeferredVisibilityEvents != null) {
+      mDeferredVisibilityEvents.flush();
+    }
   }
 
   void detach() {
@@ -2742,6 +3014,13 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     return mLithoView;
   }
 
+  /** Sets the audit notified around the entry points of all MountStates, or null to remove it. */
+  @VisibleForTesting
+  static void setMountAudit(@Nullable MountAudit mountAudit) {
+    assertMainThread();
+    sMountAudit = mountAudit;
+  }
+
   private void prepareTransitionManager(LayoutState layoutState) {
     if (mTransitionManager == null) {
       mTransitionManager = new TransitionManager(this, this);
@@ -2783,6 +3062,24 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     return result;
   }
 
+  /** @return how many visibility outputs the last mount processed. */
+  @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+  int getVisibilityOutputsEvaluatedCount() {
+    return mMountStats.visibilityOutputsEvaluatedCount;
+  }
+
+  /** @return how many mounted items the last mount checked for an update. */
+  @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+  int getProcessedMountItemsCount() {
+    return mMountStats.processedCount;
+  }
+
+  /** @return how many mounted items the last mount skipped because their output was unchanged. */
+  @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+  int getSkippedMountItemsCount() {
+    return mMountStats.skippedCount;
+  }
+
   /**
    * @see LithoViewTestHelper#findTestItems(LithoView, String)
    */
@@ -0,0 +1,850 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.animation.StateListAnimator;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.AttrRes;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.Nullable;
+import android.support.annotation.Px;
+import android.support.annotation.StyleRes;
+import com.facebook.infer.annotation.ThreadConfined;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.reference.Reference;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaDirection;
+import com.facebook.yoga.YogaEdge;
+import com.facebook.yoga.YogaPositionType;
+
+/**
+ * Internal class that holds props that are common to all {@link Component}s in a compact form. A
+ * bitmask records which props were set, and only the set props take up storage: numeric props are
+ * packed in an int array (floats as their raw bits, enums as their int value), the rare object
+ * props in an object array, and edge values as (prop and edge, value) pairs in another int array.
+ * Used instead of {@link CommonPropsHolder} when {@link
+ * ComponentsConfiguration#usePackedCommonProps} is enabled.
+ *
+ * <p>The bit of a prop also defines the position of its value in the arrays, and props are applied
+ * in bit order, which is the same order {@link CommonPropsHolder} applies them in.
+ */
+@ThreadConfined(ThreadConfined.ANY)
+class PackedCommonPropsHolder extends BaseCommonPropsHolder {
+
+  private static final int BACKGROUND = 0;
+  private static final int TEST_KEY = 1;
+  private static final int POSITION_TYPE = 2;
+  private static final int POSITION_PX = 3;
+  private static final int WIDTH_PX = 4;
+  private static final int HEIGHT_PX = 5;
+  private static final int WRAP_IN_VIEW = 6;
+  private static final int LAYOUT_DIRECTION = 7;
+  private static final int IMPORTANT_FOR_ACCESSIBILITY = 8;
+  private static final int DUPLICATE_PARENT_STATE = 9;
+  private static final int FOREGROUND = 10;
+  private static final int VISIBLE_HANDLER = 11;
+  private static final int FOCUSED_HANDLER = 12;
+  private static final int FULL_IMPRESSION_HANDLER = 13;
+  private static final int INVISIBLE_HANDLER = 14;
+  private static final int UNFOCUSED_HANDLER = 15;
+  private static final int TRANSITION_KEY = 16;
+  private static final int VISIBLE_HEIGHT_RATIO = 17;
+  private static final int VISIBLE_WIDTH_RATIO = 18;
+  private static final int ALIGN_SELF = 19;
+  private static final int POSITION_PERCENT = 20;
+  private static final int FLEX = 21;
+  private static final int FLEX_GROW = 22;
+  private static final int FLEX_SHRINK = 23;
+  private static final int FLEX_BASIS_PX = 24;
+  private static final int FLEX_BASIS_PERCENT = 25;
+  private static final int WIDTH_PERCENT = 26;
+  private static final int MIN_WIDTH_PX = 27;
+  private static final int MIN_WIDTH_PERCENT = 28;
+  private static final int MAX_WIDTH_PX = 29;
+  private static final int MAX_WIDTH_PERCENT = 30;
+  private static final int HEIGHT_PERCENT = 31;
+  private static final int MIN_HEIGHT_PX = 32;
+  private static final int MIN_HEIGHT_PERCENT = 33;
+  private static final int MAX_HEIGHT_PX = 34;
+  private static final int MAX_HEIGHT_PERCENT = 35;
+  private static final int ASPECT_RATIO = 36;
+  private static final int MARGIN_PX = 37;
+  private static final int MARGIN_PERCENT = 38;
+  private static final int MARGIN_AUTO = 39;
+  private static final int PADDING_PX = 40;
+  private static final int PADDING_PERCENT = 41;
+  private static final int TOUCH_EXPANSION_PX = 42;
+  private static final int BORDER = 43;
+  private static final int STATE_LIST_ANIMATOR = 44;
+  private static final int STATE_LIST_ANIMATOR_RES = 45;
+  private static final int DEF_STYLE_ATTR = 46;
+  private static final int DEF_STYLE_RES = 47;
+
+  // Props whose value is stored in mValues.
+  private static final long VALUE_PROPS =
+      flag(POSITION_TYPE)
+          | flag(WIDTH_PX)
+          | flag(HEIGHT_PX)
+          | flag(LAYOUT_DIRECTION)
+          | flag(IMPORTANT_FOR_ACCESSIBILITY)
+          | flag(DUPLICATE_PARENT_STATE)
+          | flag(VISIBLE_HEIGHT_RATIO)
+          | flag(VISIBLE_WIDTH_RATIO)
+          | flag(ALIGN_SELF)
+          | flag(FLEX)
+          | flag(FLEX_GROW)
+          | flag(FLEX_SHRINK)
+          | flag(FLEX_BASIS_PX)
+          | flag(FLEX_BASIS_PERCENT)
+          | flag(WIDTH_PERCENT)
+          | flag(MIN_WIDTH_PX)
+          | flag(MIN_WIDTH_PERCENT)
+          | flag(MAX_WIDTH_PX)
+          | flag(MAX_WIDTH_PERCENT)
+          | flag(HEIGHT_PERCENT)
+          | flag(MIN_HEIGHT_PX)
+          | flag(MIN_HEIGHT_PERCENT)
+          | flag(MAX_HEIGHT_PX)
+          | flag(MAX_HEIGHT_PERCENT)
+          | flag(ASPECT_RATIO)
+          | flag(STATE_LIST_ANIMATOR_RES)
+          | flag(DEF_STYLE_ATTR)
+          | flag(DEF_STYLE_RES);
+
+  // Props whose value is stored in mObjects.
+  private static final long OBJECT_PROPS =
+      flag(BACKGROUND)
+          | flag(TEST_KEY)
+          | flag(FOREGROUND)
+          | flag(VISIBLE_HANDLER)
+          | flag(FOCUSED_HANDLER)
+          | flag(FULL_IMPRESSION_HANDLER)
+          | flag(INVISIBLE_HANDLER)
+          | flag(UNFOCUSED_HANDLER)
+          | flag(TRANSITION_KEY)
+          | flag(BORDER)
+          | flag(STATE_LIST_ANIMATOR);
+
+  // Stored for a null enum value, since enums are stored as their int value.
+  private static final int NULL_ENUM = -1;
+
+  private static final int EDGE_BITS = 4;
+  private static final int EDGE_MASK = (1 << EDGE_BITS) - 1;
+
+  private long mSetProps;
+  @Nullable private int[] mValues;
+  @Nullable private Object[] mObjects;
+  @Nullable private int[] mEdges;
+  private int mEdgeCount;
+
+  private static long flag(int prop) {
+    return 1L << prop;
+  }
+
+  private boolean isSet(int prop) {
+    return (mSetProps & flag(prop)) != 0;
+  }
+
+  private void setValue(int prop, int value) {
+    final long flag = flag(prop);
+    final int index = Long.bitCount(mSetProps & VALUE_PROPS & (flag - 1));
+    if ((mSetProps & flag) == 0) {
+      mValues = insertSlot(mValues, index, Long.bitCount(mSetProps & VALUE_PROPS));
+      mSetProps |= flag;
+    }
+
+    mValues[index] = value;
+  }
+
+  private void setFloatValue(int prop, float value) {
+    setValue(prop, Float.floatToRawIntBits(value));
+  }
+
+  private int getValue(int prop) {
+    final long flag = flag(prop);
+    if ((mSetProps & flag) == 0) {
+      return 0;
+    }
+
+    return mValues[Long.bitCount(mSetProps & VALUE_PROPS & (flag - 1))];
+  }
+
+  private float getFloatValue(int prop) {
+    return Float.intBitsToFloat(getValue(prop));
+  }
+
+  private int getEnumValue(int prop) {
+    return isSet(prop) ? getValue(prop) : NULL_ENUM;
+  }
+
+  private void setObject(int prop, @Nullable Object value) {
+    final long flag = flag(prop);
+    final int index = Long.bitCount(mSetProps & OBJECT_PROPS & (flag - 1));
+    if ((mSetProps & flag) == 0) {
+      mObjects = insertSlot(mObjects, index, Long.bitCount(mSetProps & OBJECT_PROPS));
+      mSetProps |= flag;
+    }
+
+    mObjects[index] = value;
+  }
+
+  @Nullable
+  private Object getObject(int prop) {
+    final long flag = flag(prop);
+    if ((mSetProps & flag) == 0) {
+      return null;
+    }
+
+    return mObjects[Long.bitCount(mSetProps & OBJECT_PROPS & (flag - 1))];
+  }
+
+  private void addEdge(int prop, YogaEdge edge, int value) {
+    mSetProps |= flag(prop);
+
+    if (mEdges == null) {
+      mEdges = new int[4];
+    } else if (mEdgeCount * 2 == mEdges.length) {
+      final int[] oldEdges = mEdges;
+      mEdges = new int[oldEdges.length * 2];
+      System.arraycopy(oldEdges, 0, mEdges, 0, oldEdges.length);
+    }
+
+    mEdges[mEdgeCount * 2] = (prop << EDGE_BITS) | edge.intValue();
+    mEdges[mEdgeCount * 2 + 1] = value;
+    mEdgeCount++;
+  }
+
+  private static int[] insertSlot(@Nullable int[] array, int index, int size) {
+    if (array == null) {
+      return new int[2];
+    }
+
+    final int[] result = size == array.length ? new int[size * 2] : array;
+    if (result != array) {
+      System.arraycopy(array, 0, result, 0, index);
+    }
+    System.arraycopy(array, index, result, index + 1, size - index);
+
+    return result;
+  }
+
+  private static Object[] insertSlot(@Nullable Object[] array, int index, int size) {
+    if (array == null) {
+      return new Object[2];
+    }
+
+    final Object[] result = size == array.length ? new Object[size * 2] : array;
+    if (result != array) {
+      System.arraycopy(array, 0, result, 0, index);
+    }
+    System.arraycopy(array, index, result, index + 1, size - index);
+
+    return result;
+  }
+
+  @Override
+  void setStyle(@AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    setValue(DEF_STYLE_ATTR, defStyleAttr);
+    setValue(DEF_STYLE_RES, defStyleRes);
+  }
+
+  @Override
+  @AttrRes
+  public int getDefStyleAttr() {
+    return getValue(DEF_STYLE_ATTR);
+  }
+
+  @Override
+  @StyleRes
+  public int getDefStyleRes() {
+    return getValue(DEF_STYLE_RES);
+  }
+
+  @Override
+  void positionType(YogaPositionType positionType) {
+    setValue(POSITION_TYPE, positionType == null ? NULL_ENUM : positionType.intValue());
+  }
+
+  @Override
+  @Nullable
+  public YogaPositionType getPositionType() {
+    final int value = getEnumValue(POSITION_TYPE);
+    return value == NULL_ENUM ? null : YogaPositionType.fromInt(value);
+  }
+
+  @Override
+  void positionPx(YogaEdge edge, @Px int position) {
+    addEdge(POSITION_PX, edge, position);
+  }
+
+  @Override
+  void widthPx(@Px int width) {
+    setValue(WIDTH_PX, width);
+  }
+
+  @Override
+  public int getWidthPx() {
+    return getValue(WIDTH_PX);
+  }
+
+  @Override
+  void heightPx(@Px int height) {
+    setValue(HEIGHT_PX, height);
+  }
+
+  @Override
+  public int getHeightPx() {
+    return getValue(HEIGHT_PX);
+  }
+
+  @Override
+  void background(Reference<? extends Drawable> background) {
+    setObject(BACKGROUND, background);
+  }
+
+  @Override
+  @Nullable
+  public Reference<? extends Drawable> getBackground() {
+    return (Reference<? extends Drawable>) getObject(BACKGROUND);
+  }
+
+  @Override
+  void testKey(String testKey) {
+    setObject(TEST_KEY, testKey);
+  }
+
+  @Override
+  @Nullable
+  public String getTestKey() {
+    return (String) getObject(TEST_KEY);
+  }
+
+  @Override
+  void wrapInView() {
+    mSetProps |= flag(WRAP_IN_VIEW);
+  }
+
+  @Override
+  public boolean isWrapInView() {
+    return isSet(WRAP_IN_VIEW);
+  }
+
+  @Override
+  void layoutDirection(YogaDirection direction) {
+    setValue(LAYOUT_DIRECTION, direction == null ? NULL_ENUM : direction.intValue());
+  }
+
+  @Override
+  @Nullable
+  public YogaDirection getLayoutDirection() {
+    final int value = getEnumValue(LAYOUT_DIRECTION);
+    return value == NULL_ENUM ? null : YogaDirection.fromInt(value);
+  }
+
+  @Override
+  void alignSelf(YogaAlign alignSelf) {
+    setValue(ALIGN_SELF, alignSelf == null ? NULL_ENUM : alignSelf.intValue());
+  }
+
+  @Override
+  @Nullable
+  public YogaAlign getAlignSelf() {
+    final int value = getEnumValue(ALIGN_SELF);
+    return value == NULL_ENUM ? null : YogaAlign.fromInt(value);
+  }
+
+  @Override
+  void flex(float flex) {
+    setFloatValue(FLEX, flex);
+  }
+
+  @Override
+  public float getFlex() {
+    return getFloatValue(FLEX);
+  }
+
+  @Override
+  void flexGrow(float flexGrow) {
+    setFloatValue(FLEX_GROW, flexGrow);
+  }
+
+  @Override
+  public float getFlexGrow() {
+    return getFloatValue(FLEX_GROW);
+  }
+
+  @Override
+  void flexShrink(float flexShrink) {
+    setFloatValue(FLEX_SHRINK, flexShrink);
+  }
+
+  @Override
+  public float getFlexShrink() {
+    return getFloatValue(FLEX_SHRINK);
+  }
+
+  @Override
+  void flexBasisPx(@Px int flexBasis) {
+    setValue(FLEX_BASIS_PX, flexBasis);
+  }
+
+  @Override
+  @Px
+  public int getFlexBasisPx() {
+    return getValue(FLEX_BASIS_PX);
+  }
+
+  @Override
+  void flexBasisPercent(float percent) {
+    setFloatValue(FLEX_BASIS_PERCENT, percent);
+  }
+
+  @Override
+  public float getFlexBasisPercent() {
+    return getFloatValue(FLEX_BASIS_PERCENT);
+  }
+
+  @Override
+  void importantForAccessibility(int importantForAccessibility) {
+    setValue(IMPORTANT_FOR_ACCESSIBILITY, importantForAccessibility);
+  }
+
+  @Override
+  public int getImportantForAccessibility() {
+    return getValue(IMPORTANT_FOR_ACCESSIBILITY);
+  }
+
+  @Override
+  void duplicateParentState(boolean duplicateParentState) {
+    setValue(DUPLICATE_PARENT_STATE, duplicateParentState ? 1 : 0);
+  }
+
+  @Override
+  public boolean getDuplicateParentState() {
+    return getValue(DUPLICATE_PARENT_STATE) != 0;
+  }
+
+  @Override
+  void marginPx(YogaEdge edge, @Px int margin) {
+    addEdge(MARGIN_PX, edge, margin);
+  }
+
+  @Override
+  void marginPercent(YogaEdge edge, float percent) {
+    addEdge(MARGIN_PERCENT, edge, Float.floatToRawIntBits(percent));
+  }
+
+  @Override
+  void marginAuto(YogaEdge edge) {
+    addEdge(MARGIN_AUTO, edge, 0);
+  }
+
+  @Override
+  void paddingPx(YogaEdge edge, @Px int padding) {
+    addEdge(PADDING_PX, edge, padding);
+  }
+
+  @Override
+  void paddingPercent(YogaEdge edge, float percent) {
+    addEdge(PADDING_PERCENT, edge, Float.floatToRawIntBits(percent));
+  }
+
+  @Override
+  void border(Border border) {
+    setObject(BORDER, border);
+  }
+
+  @Override
+  @Nullable
+  public Border getBorder() {
+    return (Border) getObject(BORDER);
+  }
+
+  @Override
+  void stateListAnimator(StateListAnimator stateListAnimator) {
+    setObject(STATE_LIST_ANIMATOR, stateListAnimator);
+  }
+
+  @Override
+  @Nullable
+  public StateListAnimator getStateListAnimator() {
+    return (StateListAnimator) getObject(STATE_LIST_ANIMATOR);
+  }
+
+  @Override
+  void stateListAnimatorRes(@DrawableRes int resId) {
+    setValue(STATE_LIST_ANIMATOR_RES, resId);
+  }
+
+  @Override
+  @DrawableRes
+  public int getStateListAnimatorRes() {
+    return getValue(STATE_LIST_ANIMATOR_RES);
+  }
+
+  @Override
+  void positionPercent(YogaEdge edge, float percent) {
+    addEdge(POSITION_PERCENT, edge, Float.floatToRawIntBits(percent));
+  }
+
+  @Override
+  void widthPercent(float percent) {
+    setFloatValue(WIDTH_PERCENT, percent);
+  }
+
+  @Override
+  void minWidthPx(@Px int minWidth) {
+    setValue(MIN_WIDTH_PX, minWidth);
+  }
+
+  @Override
+  void minWidthPercent(float percent) {
+    setFloatValue(MIN_WIDTH_PERCENT, percent);
+  }
+
+  @Override
+  void maxWidthPx(@Px int maxWidth) {
+    setValue(MAX_WIDTH_PX, maxWidth);
+  }
+
+  @Override
+  void maxWidthPercent(float percent) {
+    setFloatValue(MAX_WIDTH_PERCENT, percent);
+  }
+
+  @Override
+  void heightPercent(float percent) {
+    setFloatValue(HEIGHT_PERCENT, percent);
+  }
+
+  @Override
+  void minHeightPx(@Px int minHeight) {
+    setValue(MIN_HEIGHT_PX, minHeight);
+  }
+
+  @Override
+  void minHeightPercent(float percent) {
+    setFloatValue(MIN_HEIGHT_PERCENT, percent);
+  }
+
+  @Override
+  void maxHeightPx(@Px int maxHeight) {
+    setValue(MAX_HEIGHT_PX, maxHeight);
+  }
+
+  @Override
+  void maxHeightPercent(float percent) {
+    setFloatValue(MAX_HEIGHT_PERCENT, percent);
+  }
+
+  @Override
+  void aspectRatio(float aspectRatio) {
+    setFloatValue(ASPECT_RATIO, aspectRatio);
+  }
+
+  @Override
+  public float getAspectRatio() {
+    return getFloatValue(ASPECT_RATIO);
+  }
+
+  @Override
+  void touchExpansionPx(YogaEdge edge, @Px int touchExpansion) {
+    addEdge(TOUCH_EXPANSION_PX, edge, touchExpansion);
+  }
+
+  @Override
+  void foreground(Drawable foreground) {
+    setObject(FOREGROUND, foreground);
+  }
+
+  @Override
+  @Nullable
+  public Drawable getForeground() {
+    return (Drawable) getObject(FOREGROUND);
+  }
+
+  @Override
+  void visibleHeightRatio(float visibleHeightRatio) {
+    setFloatValue(VISIBLE_HEIGHT_RATIO, visibleHeightRatio);
+  }
+
+  @Override
+  public float getVisibleHeightRatio() {
+    return getFloatValue(VISIBLE_HEIGHT_RATIO);
+  }
+
+  @Override
+  void visibleWidthRatio(float visibleWidthRatio) {
+    setFloatValue(VISIBLE_WIDTH_RATIO, visibleWidthRatio);
+  }
+
+  @Override
+  public float getVisibleWidthRatio() {
+    return getFloatValue(VISIBLE_WIDTH_RATIO);
+  }
+
+  @Override
+  void visibleHandler(EventHandler<VisibleEvent> visibleHandler) {
+    setObject(VISIBLE_HANDLER, visibleHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<VisibleEvent> getVisibleHandler() {
+    return (EventHandler<VisibleEvent>) getObject(VISIBLE_HANDLER);
+  }
+
+  @Override
+  void focusedHandler(EventHandler<FocusedVisibleEvent> focusedHandler) {
+    setObject(FOCUSED_HANDLER, focusedHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<FocusedVisibleEvent> getFocusedHandler() {
+    return (EventHandler<FocusedVisibleEvent>) getObject(FOCUSED_HANDLER);
+  }
+
+  @Override
+  void unfocusedHandler(EventHandler<UnfocusedVisibleEvent> unfocusedHandler) {
+    setObject(UNFOCUSED_HANDLER, unfocusedHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<UnfocusedVisibleEvent> getUnfocusedHandler() {
+    return (EventHandler<UnfocusedVisibleEvent>) getObject(UNFOCUSED_HANDLER);
+  }
+
+  @Override
+  void fullImpressionHandler(EventHandler<FullImpressionVisibleEvent> fullImpressionHandler) {
+    setObject(FULL_IMPRESSION_HANDLER, fullImpressionHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<FullImpressionVisibleEvent> getFullImpressionHandler() {
+    return (EventHandler<FullImpressionVisibleEvent>) getObject(FULL_IMPRESSION_HANDLER);
+  }
+
+  @Override
+  void invisibleHandler(EventHandler<InvisibleEvent> invisibleHandler) {
+    setObject(INVISIBLE_HANDLER, invisibleHandler);
+  }
+
+  @Override
+  @Nullable
+  public EventHandler<InvisibleEvent> getInvisibleHandler() {
+    return (EventHandler<InvisibleEvent>) getObject(INVISIBLE_HANDLER);
+  }
+
+  @Override
+  void transitionKey(String key) {
+    setObject(TRANSITION_KEY, key);
+  }
+
+  @Override
+  @Nullable
+  public String getTransitionKey() {
+    return (String) getObject(TRANSITION_KEY);
+  }
+
+  @Override
+  public void copyInto(ComponentContext c, InternalNode node) {
+    c.applyStyle(node, getValue(DEF_STYLE_ATTR), getValue(DEF_STYLE_RES));
+
+    copyNodeInfoInto(node);
+
+    int valueIndex = 0;
+    int objectIndex = 0;
+
+    // Visit the set props only, lowest bit first.
+    for (long remaining = mSetProps; remaining != 0; remaining &= remaining - 1) {
+      final int prop = Long.numberOfTrailingZeros(remaining);
+      final int value = (VALUE_PROPS & flag(prop)) != 0 ? mValues[valueIndex++] : 0;
+      final Object object = (OBJECT_PROPS & flag(prop)) != 0 ? mObjects[objectIndex++] : null;
+
+      switch (prop) {
+        case BACKGROUND:
+          node.background((Reference<? extends Drawable>) object);
+          break;
+        case TEST_KEY:
+          node.testKey((String) object);
+          break;
+        case POSITION_TYPE:
+          node.positionType(value == NULL_ENUM ? null : YogaPositionType.fromInt(value));
+          break;
+        case WIDTH_PX:
+          node.widthPx(value);
+          break;
+        case HEIGHT_PX:
+          node.heightPx(value);
+          break;
+        case WRAP_IN_VIEW:
+          node.wrapInView();
+          break;
+        case LAYOUT_DIRECTION:
+          node.layoutDirection(value == NULL_ENUM ? null : YogaDirection.fromInt(value));
+          break;
+        case IMPORTANT_FOR_ACCESSIBILITY:
+          node.importantForAccessibility(value);
+          break;
+        case DUPLICATE_PARENT_STATE:
+          node.duplicateParentState(value != 0);
+          break;
+        case FOREGROUND:
+          node.foreground((Drawable) object);
+          break;
+        case VISIBLE_HANDLER:
+          node.visibleHandler((EventHandler<VisibleEvent>) object);
+          break;
+        case FOCUSED_HANDLER:
+          node.focusedHandler((EventHandler<FocusedVisibleEvent>) object);
+          break;
+        case FULL_IMPRESSION_HANDLER:
+          node.fullImpressionHandler((EventHandler<FullImpressionVisibleEvent>) object);
+          break;
+        case INVISIBLE_HANDLER:
+          node.invisibleHandler((EventHandler<InvisibleEvent>) object);
+          break;
+        case UNFOCUSED_HANDLER:
+          node.unfocusedHandler((EventHandler<UnfocusedVisibleEvent>) object);
+          break;
+        case TRANSITION_KEY:
+          node.transitionKey((String) object);
+          break;
+        case VISIBLE_HEIGHT_RATIO:
+          node.visibleHeightRatio(Float.intBitsToFloat(value));
+          break;
+        case VISIBLE_WIDTH_RATIO:
+          node.visibleWidthRatio(Float.intBitsToFloat(value));
+          break;
+        case ALIGN_SELF:
+          node.alignSelf(value == NULL_ENUM ? null : YogaAlign.fromInt(value));
+          break;
+        case FLEX:
+          node.flex(Float.intBitsToFloat(value));
+          break;
+        case FLEX_GROW:
+          node.flexGrow(Float.intBitsToFloat(value));
+          break;
+        case FLEX_SHRINK:
+          node.flexShrink(Float.intBitsToFloat(value));
+          break;
+        case FLEX_BASIS_PX:
+          node.flexBasisPx(value);
+          break;
+        case FLEX_BASIS_PERCENT:
+          node.flexBasisPercent(Float.intBitsToFloat(value));
+          break;
+        case WIDTH_PERCENT:
+          node.widthPercent(Float.intBitsToFloat(value));
+          break;
+        case MIN_WIDTH_PX:
+          node.minWidthPx(value);
+          break;
+        case MIN_WIDTH_PERCENT:
+          node.minWidthPercent(Float.intBitsToFloat(value));
+          break;
+        case MAX_WIDTH_PX:
+          node.maxWidthPx(value);
+          break;
+        case MAX_WIDTH_PERCENT:
+          node.maxWidthPercent(Float.intBitsToFloat(value));
+          break;
+        case HEIGHT_PERCENT:
+          node.heightPercent(Float.intBitsToFloat(value));
+          break;
+        case MIN_HEIGHT_PX:
+          node.minHeightPx(value);
+          break;
+        case MIN_HEIGHT_PERCENT:
+          node.minHeightPercent(Float.intBitsToFloat(value));
+          break;
+        case MAX_HEIGHT_PX:
+          node.maxHeightPx(value);
+          break;
+        case MAX_HEIGHT_PERCENT:
+          node.maxHeightPercent(Float.intBitsToFloat(value));
+          break;
+        case ASPECT_RATIO:
+          node.aspectRatio(Float.intBitsToFloat(value));
+          break;
+        case POSITION_PX:
+        case POSITION_PERCENT:
+        case MARGIN_PX:
+        case MARGIN_PERCENT:
+        case MARGIN_AUTO:
+        case PADDING_PX:
+        case PADDING_PERCENT:
+        case TOUCH_EXPANSION_PX:
+          copyEdgesInto(prop, node);
+          break;
+        case BORDER:
+          node.border((Border) object);
+          break;
+        case STATE_LIST_ANIMATOR:
+          node.stateListAnimator((StateListAnimator) object);
+          break;
+        case STATE_LIST_ANIMATOR_RES:
+          node.stateListAnimatorRes(value);
+          break;
+        default:
+          // The style was applied first.
+          break;
+      }
+    }
+  }
+
+  private void copyEdgesInto(int prop, InternalNode node) {
+    for (int i = 0; i < mEdgeCount; i++) {
+      final int key = mEdges[i * 2];
+      if ((key >> EDGE_BITS) != prop) {
+        continue;
+      }
+
+      final YogaEdge edge = YogaEdge.fromInt(key & EDGE_MASK);
+      final int value = mEdges[i * 2 + 1];
+      switch (prop) {
+        case POSITION_PX:
+          node.positionPx(edge, value);
+          break;
+        case POSITION_PERCENT:
+          node.positionPercent(edge, Float.intBitsToFloat(value));
+          break;
+        case MARGIN_PX:
+          node.marginPx(edge, value);
+          break;
+        case MARGIN_PERCENT:
+          node.marginPercent(edge, Float.intBitsToFloat(value));
+          break;
+        case MARGIN_AUTO:
+          node.marginAuto(edge);
+          break;
+        case PADDING_PX:
+          node.paddingPx(edge, value);
+          break;
+        case PADDING_PERCENT:
+          node.paddingPercent(edge, Float.intBitsToFloat(value));
+          break;
+        case TOUCH_EXPANSION_PX:
+          node.touchExpansionPx(edge, value);
+          break;
+      }
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size buffer of {@link PerfEvents}, stored in primitive arrays, which keeps the most
+ * recent events. Recording never blocks or allocates: concurrent writers claim slots with an atomic
+ * sequence, and an event whose slot is claimed again before it's read is dropped. An event can only
+ * be garbled if the buffer wraps around while it's being written, so the capacity should be well
+ * above the number of events recorded between two drains.
+ *
+ * <p>Events are read by a single consumer with {@link #drain(Reader)}. The fields of an event are
+ * stored in atomic arrays, so that reading them can't be reordered after the check of the slot's
+ * sequence which tells whether a writer claimed the slot again in the meantime.
+ */
+public final class PerfEventRingBuffer {
+
+  /** Receives the events read from the buffer. */
+  public interface Reader {
+    void onPerfEvent(
+        @PerfEvents.Type int type, int treeId, long startNanos, long durationNanos, int count);
+  }
+
+  private final int mMask;
+  private final AtomicIntegerArray mTypes;
+  private final AtomicIntegerArray mTreeIds;
+  private final AtomicLongArray mStartNanos;
+  private final AtomicLongArray mDurationNanos;
+  private final AtomicIntegerArray mCounts;
+
+  // For each slot, sequence + 1 of the event stored in it, negated while it's being written.
+  private final AtomicLongArray mPublishedSequences;
+  private final AtomicLong mNextSequence = new AtomicLong(0);
+
+  private long mReadSequence;
+  private long mDroppedCount;
+
+  /** @param capacity the number of events kept, rounded up to a power of two. */
+  public PerfEventRingBuffer(int capacity) {
+    int size = 1;
+    while (size < capacity) {
+      size <<= 1;
+    }
+
+    mMask = size - 1;
+    mTypes = new AtomicIntegerArray(size);
+    mTreeIds = new AtomicIntegerArray(size);
+    mStartNanos = new AtomicLongArray(size);
+    mDurationNanos = new AtomicLongArray(size);
+    mCounts = new AtomicIntegerArray(size);
+    mPublishedSequences = new AtomicLongArray(size);
+  }
+
+  void add(@PerfEvents.Type int type, int treeId, long startNanos, long durationNanos, int count) {
+    final long sequence = mNextSequence.getAndIncrement();
+    final int slot = (int) sequence & mMask;
+    final long published = sequence + 1;
+
+    long current;
+    do {
+      current = mPublishedSequences.get(slot);
+      if (Math.abs(current) >= published) {
+        // A more recent event already claimed this slot.
+        return;
+      }
+    } while (!mPublishedSequences.compareAndSet(slot, current, -published));
+
+    mTypes.set(slot, type);
+    mTreeIds.set(slot, treeId);
+    mStartNanos.set(slot, startNanos);
+    mDurationNanos.set(slot, durationNanos);
+    mCounts.set(slot, count);
+
+    mPublishedSequences.compareAndSet(slot, -published, published);
+  }
+
+  /**
+   * Passes the events recorded since the last call to the reader, oldest first, and stops at the
+   * first event which is still being written.
+   *
+   * @return the number of events read.
+   */
+  public synchronized int drain(Reader reader) {
+    final long end = mNextSequence.get();
+    final long oldest = Math.max(0, end - mMask - 1);
+    if (mReadSequence < oldest) {
+      mDroppedCount += oldest - mReadSequence;
+      mReadSequence = oldest;
+    }
+
+    int readCount = 0;
+    while (mReadSequence < end) {
+      final int slot = (int) mReadSequence & mMask;
+      final long published = mReadSequence + 1;
+      final long current = mPublishedSequences.get(slot);
+
+      if (Math.abs(current) < published || current == -published) {
+        // Claimed but not written yet.
+        break;
+      }
+
+      if (current == published) {
+        final int type = mTypes.get(slot);
+        final int treeId = mTreeIds.get(slot);
+        final long startNanos = mStartNanos.get(slot);
+        final long durationNanos = mDurationNanos.get(slot);
+        final int count = mCounts.get(slot);
+
+        // If any of the reads above saw a field from a newer writer, this sees its claim.
+        if (mPublishedSequences.get(slot) == published) {
+          reader.onPerfEvent(type, treeId, startNanos, durationNanos, count);
+          readCount++;
+        } else {
+          mDroppedCount++;
+        }
+      } else {
+        mDroppedCount++;
+      }
+
+      mReadSequence++;
+    }
+
+    return readCount;
+  }
+
+  /** @return the number of events which were overwritten before they could be read. */
+  public synchronized long getDroppedCount() {
+    return mDroppedCount;
+  }
+
+  public int getCapacity() {
+    return mMask + 1;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.IntDef;
+import android.support.annotation.Nullable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records sampled, structured performance events for the main phases of layout, mount, sections
+ * and RecyclerBinder into a {@link PerfEventRingBuffer}.
+ *
+ * <p>Unlike {@link ComponentsLogger} performance events, recording an event doesn't allocate and
+ * only happens for the trees picked by their sampling rate, so it can stay enabled in production.
+ * Nothing is recorded until a sink is set with {@link #setSink(PerfEventRingBuffer)}.
+ */
+public final class PerfEvents {
+
+  @IntDef({
+    LAYOUT_CREATE_TREE,
+    LAYOUT_MEASURE,
+    LAYOUT_COLLECT_RESULTS,
+    MOUNT_PREPARE,
+    MOUNT,
+    MOUNT_VISIBILITY,
+    SECTIONS_CHANGESET,
+    RECYCLER_RANGE
+  })
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface Type {}
+
+  /** Creating the InternalNode tree of a root or nested tree. Count is unused. */
+  public static final int LAYOUT_CREATE_TREE = 1;
+  /** Measuring a root or nested tree with Yoga. Count is unused. */
+  public static final int LAYOUT_MEASURE = 2;
+  /** Collecting the outputs of a layout. Count is the number of mountable outputs. */
+  public static final int LAYOUT_COLLECT_RESULTS = 3;
+  /** Preparing a mount for a new LayoutState. Count is the number of mountable outputs. */
+  public static final int MOUNT_PREPARE = 4;
+  /** A whole mount, including prepare and visibility. Count is the number of mountable outputs. */
+  public static final int MOUNT = 5;
+  /** Processing the visibility outputs of a mount. Count is the number of visibility outputs. */
+  public static final int MOUNT_VISIBILITY = 6;
+  /** Calculating a sections ChangeSet. Count is the number of changes. */
+  public static final int SECTIONS_CHANGESET = 7;
+  /** Computing the range of a RecyclerBinder. Count is the size of the range. */
+  public static final int RECYCLER_RANGE = 8;
+
+  private static final AtomicInteger sSampledTreeCounter = new AtomicInteger(0);
+
+  @Nullable private static volatile PerfEventRingBuffer sSink;
+
+  private PerfEvents() {}
+
+  /** Sets the buffer events are recorded into, or null to stop recording. */
+  public static void setSink(@Nullable PerfEventRingBuffer sink) {
+    sSink = sink;
+  }
+
+  @Nullable
+  public static PerfEventRingBuffer getSink() {
+    return sSink;
+  }
+
+  /**
+   * Decides whether a newly created tree records events, given its sampling rate: 0 never records,
+   * 1 always records and N records for one tree out of N.
+   */
+  public static boolean shouldSample(int sampleRate) {
+    if (sampleRate <= 0) {
+      return false;
+    }
+
+    return sampleRate == 1 || sSampledTreeCounter.getAndIncrement() % sampleRate == 0;
+  }
+
+  /**
+   * @return the start time of an event for a tree which is sampled or not, to be passed to {@link
+   *     #end(int, int, long, int)}, or -1 if the event won't be recorded.
+   */
+  public static long start(boolean isSampled) {
+    return isSampled && sSink != null ? System.nanoTime() : -1;
+  }
+
+  static long start(@Nullable ComponentTree componentTree) {
+    return start(componentTree != null && componentTree.isPerfEventSampled());
+  }
+
+  /** Records an event started with {@link #start(boolean)}, unless its start time is -1. */
+  public static void end(@Type int type, int treeId, long startNanos, int count) {
+    if (startNanos < 0) {
+      return;
+    }
+
+    final PerfEventRingBuffer sink = sSink;
+    if (sink != null) {
+      sink.add(type, treeId, startNanos, System.nanoTime() - startNanos, count);
+    }
+  }
+
+  static void end(
+      @Type int type, @Nullable ComponentTree componentTree, long startNanos, int count) {
+    end(type, componentTree != null ? componentTree.mId : -1, startNanos, count);
+  }
+
+  public static String getTypeName(@Type int type) {
+    switch (type) {
+      case LAYOUT_CREATE_TREE:
+        return "layout_create_tree";
+      case LAYOUT_MEASURE:
+        return "layout_measure";
+      case LAYOUT_COLLECT_RESULTS:
+        return "layout_collect_results";
+      case MOUNT_PREPARE:
+        return "mount_prepare";
+      case MOUNT:
+        return "mount";
+      case MOUNT_VISIBILITY:
+        return "mount_visibility";
+      case SECTIONS_CHANGESET:
+        return "sections_changeset";
+      case RECYCLER_RANGE:
+        return "recycler_range";
+      default:
+        return "unknown";
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.VisibleForTesting;
+import java.util.Arrays;
+
+/**
+ * Cache for primitive resource values (dimensions, colors, integers, booleans and floats stored
+ * as their int bits) that keeps keys and values in sorted primitive arrays instead of boxing them
+ * into an {@link android.support.v4.util.LruCache}.
+ *
+ * <p>Keys are longs combining the resource id with the kind of value resolved from it, since the
+ * same dimension resource can be resolved as a pixel size, a pixel offset or a float. When the
+ * cache is full an entry is evicted with the CLOCK (second chance) policy, which approximates LRU
+ * without reordering the arrays on every hit.
+ */
+class PrimitiveResourceCache {
+
+  static final long MISSING = Long.MIN_VALUE;
+
+  /** Approximate retained size of an entry: a long key, an int value and a reference bit. */
+  static final int ENTRY_SIZE_BYTES = 8 + 4 + 1;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int mMaxEntries;
+
+  private long[] mKeys;
+  private int[] mValues;
+  private boolean[] mReferenced;
+  private int mSize;
+  private int mClockHand;
+
+  private int mHitCount;
+  private int mMissCount;
+  private int mEvictionCount;
+
+  PrimitiveResourceCache(int maxEntries) {
+    mMaxEntries = maxEntries;
+    final int capacity = Math.min(INITIAL_CAPACITY, maxEntries);
+    mKeys = new long[capacity];
+    mValues = new int[capacity];
+    mReferenced = new boolean[capacity];
+  }
+
+  static long key(int resId, int kind) {
+    return ((long) kind << 32) | (resId & 0xFFFFFFFFL);
+  }
+
+  /** @return the value cached for key, or {@link #MISSING} if there is none. */
+  synchronized long get(long key) {
+    final int index = Arrays.binarySearch(mKeys, 0, mSize, key);
+    if (index < 0) {
+      mMissCount++;
+      return MISSING;
+    }
+
+    mHitCount++;
+    mReferenced[index] = true;
+    return mValues[index];
+  }
+
+  synchronized void put(long key, int value) {
+    int index = Arrays.binarySearch(mKeys, 0, mSize, key);
+    if (index >= 0) {
+      mValues[index] = value;
+      mReferenced[index] = true;
+      return;
+    }
+
+    if (mSize == mMaxEntries) {
+      evictOne();
+      index = Arrays.binarySearch(mKeys, 0, mSize, key);
+    } else if (mSize == mKeys.length) {
+      final int capacity = Math.min(mKeys.length * 2, mMaxEntries);
+      mKeys = Arrays.copyOf(mKeys, capacity);
+      mValues = Arrays.copyOf(mValues, capacity);
+      mReferenced = Arrays.copyOf(mReferenced, capacity);
+    }
+
+    index = ~index;
+    final int moved = mSize - index;
+    System.arraycopy(mKeys, index, mKeys, index + 1, moved);
+    System.arraycopy(mValues, index, mValues, index + 1, moved);
+    System.arraycopy(mReferenced, index, mReferenced, index + 1, moved);
+    mKeys[index] = key;
+    mValues[index] = value;
+    mReferenced[index] = false;
+    mSize++;
+
+    if (index < mClockHand) {
+      mClockHand++;
+    }
+  }
+
+  private void evictOne() {
+    while (true) {
+      if (mClockHand >= mSize) {
+        mClockHand = 0;
+      }
+
+      if (mReferenced[mClockHand]) {
+        mReferenced[mClockHand] = false;
+        mClockHand++;
+        continue;
+      }
+
+      final int moved = mSize - mClockHand - 1;
+      System.arraycopy(mKeys, mClockHand + 1, mKeys, mClockHand, moved);
+      System.arraycopy(mValues, mClockHand + 1, mValues, mClockHand, moved);
+      System.arraycopy(mReferenced, mClockHand + 1, mReferenced, mClockHand, moved);
+      mSize--;
+      mEvictionCount++;
+      return;
+    }
+  }
+
+  synchronized int size() {
+    return mSize;
+  }
+
+  synchronized int sizeBytes() {
+    return mSize * ENTRY_SIZE_BYTES;
+  }
+
+  synchronized int hitCount() {
+    return mHitCount;
+  }
+
+  synchronized int missCount() {
+    return mMissCount;
+  }
+
+  @VisibleForTesting
+  synchronized int evictionCount() {
+    return mEvictionCount;
+  }
+}
@@ -39,4 +39,35 @@ public abstract class ResourceCache {
   abstract <T> T get(int key);
 
   abstract void put(int key, Object object);
+
+  /**
+   * @return the primitive value cached for the given resource id and {@link PrimitiveKind}, or
+   *     {@link PrimitiveResourceCache#MISSING} if it isn't cached.
+   */
+  abstract long getPrimitive(int key, int kind);
+
+  /** Caches a primitive value (floats are stored as their int bits) without boxing it. */
+  abstract void putPrimitive(int key, int kind, int value);
+
+  /** @return an estimate in bytes of the memory retained by this cache. */
+  public abstract int getSizeBytes();
+
+  /** @return the number of lookups, object and primitive, that were served from this cache. */
+  public abstract int getHitCount();
+
+  /** @return the number of lookups, object and primitive, that missed this cache. */
+  public abstract int getMissCount();
+
+  /**
+   * Kinds of primitive values that can be resolved from a resource. A dimension resource can be
+   * resolved in several ways, so the kind is part of the cache key.
+   */
+  static final class PrimitiveKind {
+    static final int VALUE = 0;
+    static final int DIMEN_SIZE = 1;
+    static final int DIMEN_OFFSET = 2;
+    static final int DIMEN_FLOAT = 3;
+
+    private PrimitiveKind() {}
+  }
 }
@@ -16,6 +16,12 @@
 
 package com.facebook.litho;
 
+import static com.facebook.litho.PrimitiveResourceCache.MISSING;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.DIMEN_FLOAT;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.DIMEN_OFFSET;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.DIMEN_SIZE;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.VALUE;
+
 import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
@@ -93,13 +99,13 @@ public class ResourceResolver {
 
   protected final int resolveIntRes(@IntegerRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, VALUE);
+      if (cached != MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getInteger(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, VALUE, result);
 
       return result;
     }
@@ -137,13 +143,13 @@ public class ResourceResolver {
 
   protected final boolean resolveBoolRes(@BoolRes int resId) {
     if (resId != 0) {
-      Boolean cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, VALUE);
+      if (cached != MISSING) {
+        return cached != 0;
       }
 
       boolean result = mResources.getBoolean(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, VALUE, result ? 1 : 0);
 
       return result;
     }
@@ -153,13 +159,13 @@ public class ResourceResolver {
 
   protected final int resolveColorRes(@ColorRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, VALUE);
+      if (cached != MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getColor(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, VALUE, result);
 
       return result;
     }
@@ -169,13 +175,13 @@ public class ResourceResolver {
 
   protected final int resolveDimenSizeRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, DIMEN_SIZE);
+      if (cached != MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelSize(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, DIMEN_SIZE, result);
 
       return result;
     }
@@ -185,13 +191,13 @@ public class ResourceResolver {
 
   protected final int resolveDimenOffsetRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, DIMEN_OFFSET);
+      if (cached != MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelOffset(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, DIMEN_OFFSET, result);
 
       return result;
     }
@@ -201,13 +207,13 @@ public class ResourceResolver {
 
   protected final float resolveFloatRes(@DimenRes int resId) {
     if (resId != 0) {
-      Float cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, DIMEN_FLOAT);
+      if (cached != MISSING) {
+        return Float.intBitsToFloat((int) cached);
       }
 
       float result = mResources.getDimension(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, DIMEN_FLOAT, Float.floatToRawIntBits(result));
 
       return result;
     }
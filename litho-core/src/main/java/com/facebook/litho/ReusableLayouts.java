@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the resolved and measured layout subtrees of pure LayoutSpecs from a previous layout
+ * calculation, keyed by the global key of the component which created them. A following layout
+ * calculation can claim a subtree for an equivalent component instead of calling onCreateLayout
+ * and measuring it again. See {@link ComponentsConfiguration#reusePureLayoutSpecSubtrees}.
+ *
+ * <p>Subtrees are detached from their tree, so they are owned by this object until they are
+ * claimed, or until it is released together with the diff tree it belongs to.
+ */
+class ReusableLayouts {
+
+  private final Map<String, InternalNode> mLayouts = new HashMap<>();
+
+  synchronized void put(String globalKey, InternalNode node) {
+    final InternalNode previous = mLayouts.put(globalKey, node);
+    if (previous != null) {
+      LayoutState.releaseNodeTree(previous, false /* isNestedTree */);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return mLayouts.size();
+  }
+
+  /**
+   * @return the subtree created for a component equivalent to the given one, or null if there is
+   *     none or if it can't be used in the given context. A subtree can only be claimed once.
+   */
+  @Nullable
+  InternalNode claim(Component component, @Nullable TreeProps treeProps) {
+    final String globalKey = component.getGlobalKey();
+    if (globalKey == null) {
+      return null;
+    }
+
+    final InternalNode node;
+    synchronized (this) {
+      node = mLayouts.remove(globalKey);
+    }
+
+    if (node == null) {
+      return null;
+    }
+
+    final List<Component> components = node.getComponents();
+    final Component previous = components.get(components.size() - 1);
+    if (treeProps != null
+        || component.getCommonPropsCopyable() != null
+        || previous.getClass() != component.getClass()
+        || !component.isEquivalentTo(previous)) {
+      LayoutState.releaseNodeTree(node, false /* isNestedTree */);
+      return null;
+    }
+
+    return node;
+  }
+
+  synchronized void release() {
+    for (Iterator<InternalNode> it = mLayouts.values().iterator(); it.hasNext(); ) {
+      LayoutState.releaseNodeTree(it.next(), false /* isNestedTree */);
+      it.remove();
+    }
+  }
+}
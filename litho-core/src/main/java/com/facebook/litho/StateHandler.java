@@ -83,6 +83,11 @@ public class StateHandler {
     return mStateContainers == null || mStateContainers.isEmpty();
   }
 
+  /** @return whether there are state updates waiting to be applied during the next layout. */
+  synchronized boolean hasPendingUpdates() {
+    return mPendingStateUpdates != null && !mPendingStateUpdates.isEmpty();
+  }
+
   /**
    * Adds a state update to the list of the state updates that will be applied for the given
    * component key during the next layout pass.
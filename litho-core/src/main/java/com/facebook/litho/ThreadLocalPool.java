@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.support.v4.util.Pools;
+import javax.annotation.Nullable;
+
+/**
+ * A pool which keeps one instance per thread without any locking, and overflows to a {@link
+ * Pools.SynchronizedPool} shared by all threads. Builders are usually acquired and released on the
+ * same thread one at a time, so most acquisitions never contend with other layout threads.
+ */
+public class ThreadLocalPool<T> implements Pools.Pool<T> {
+
+  private final ThreadLocal<T> mThreadLocalInstance = new ThreadLocal<>();
+  private final Pools.SynchronizedPool<T> mSharedPool;
+
+  /** @param maxSharedPoolSize the max number of instances shared by all threads. */
+  public ThreadLocalPool(int maxSharedPoolSize) {
+    mSharedPool = new Pools.SynchronizedPool<>(maxSharedPoolSize);
+  }
+
+  @Override
+  @Nullable
+  public T acquire() {
+    final T instance = mThreadLocalInstance.get();
+    if (instance != null) {
+      mThreadLocalInstance.set(null);
+      return instance;
+    }
+
+    return mSharedPool.acquire();
+  }
+
+  @Override
+  public boolean release(T instance) {
+    final T threadLocalInstance = mThreadLocalInstance.get();
+    if (threadLocalInstance == null) {
+      mThreadLocalInstance.set(instance);
+      return true;
+    }
+
+    if (threadLocalInstance == instance) {
+      throw new IllegalStateException("Already in the pool!");
+    }
+
+    return mSharedPool.release(instance);
+  }
+}
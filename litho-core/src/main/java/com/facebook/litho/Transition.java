@@ -20,6 +20,8 @@ import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.animation.AnimatedProperties;
 import com.facebook.litho.animation.AnimatedProperty;
 import com.facebook.litho.animation.AnimationBinding;
+import com.facebook.litho.animation.BatchedSpringTransition;
+import com.facebook.litho.animation.BatchedTimingTransition;
 import com.facebook.litho.animation.DimensionValue;
 import com.facebook.litho.animation.FloatValue;
 import com.facebook.litho.animation.PropertyAnimation;
@@ -28,6 +30,7 @@ import com.facebook.litho.animation.RuntimeValue;
 import com.facebook.litho.animation.SpringTransition;
 import com.facebook.litho.animation.TimingTransition;
 import com.facebook.litho.animation.TransitionAnimationBinding;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.dataflow.springs.SpringConfig;
 import java.util.ArrayList;
 import javax.annotation.Nullable;
@@ -150,6 +153,20 @@ public abstract class Transition {
     TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation);
   }
 
+  /**
+   * A {@link TransitionAnimator} which can also create animations driven by the {@link
+   * com.facebook.litho.animation.BatchedAnimationEngine}. These are used instead of the ones from
+   * {@link #createAnimation} when {@link ComponentsConfiguration#useBatchedAnimationEngine} is on.
+   */
+  interface BatchedTransitionAnimator extends TransitionAnimator {
+
+    /**
+     * @return an {@link AnimationBinding} driven by the batched engine for the given {@link
+     *     PropertyAnimation} that will animate the change in value on this property.
+     */
+    AnimationBinding createBatchedAnimation(PropertyAnimation propertyAnimation);
+  }
+
   public static ComponentTarget allKeys() {
     return new ComponentTarget(ComponentTargetType.ALL, null);
   }
@@ -264,6 +281,11 @@ public abstract class Transition {
     AnimationBinding createAnimation(PropertyHandle propertyHandle, float targetValue) {
       final PropertyAnimation propertyAnimation =
           new PropertyAnimation(propertyHandle, targetValue);
+      if (ComponentsConfiguration.useBatchedAnimationEngine
+          && mTransitionAnimator instanceof BatchedTransitionAnimator) {
+        return ((BatchedTransitionAnimator) mTransitionAnimator)
+            .createBatchedAnimation(propertyAnimation);
+      }
       return mTransitionAnimator.createAnimation(propertyAnimation);
     }
 
@@ -482,7 +504,7 @@ public abstract class Transition {
   /**
    * Creates spring-driven animations.
    */
-  public static class SpringTransitionAnimator implements TransitionAnimator {
+  public static class SpringTransitionAnimator implements BatchedTransitionAnimator {
 
     @Nullable SpringConfig mSpringConfig;
 
@@ -511,12 +533,17 @@ public abstract class Transition {
     public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
       return new SpringTransition(propertyAnimation, mSpringConfig);
     }
+
+    @Override
+    public AnimationBinding createBatchedAnimation(PropertyAnimation propertyAnimation) {
+      return new BatchedSpringTransition(propertyAnimation, mSpringConfig);
+    }
   }
 
   /**
    * Creates timing-driven animations with the given duration.
    */
-  public static class TimingTransitionAnimator implements Transition.TransitionAnimator {
+  public static class TimingTransitionAnimator implements BatchedTransitionAnimator {
 
     final int mDurationMs;
     final Interpolator mInterpolator;
@@ -536,5 +563,10 @@ public abstract class Transition {
     public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
       return new TimingTransition(mDurationMs, propertyAnimation, mInterpolator);
     }
+
+    @Override
+    public AnimationBinding createBatchedAnimation(PropertyAnimation propertyAnimation) {
+      return new BatchedTimingTransition(mDurationMs, propertyAnimation, mInterpolator);
+    }
   }
 }
@@ -198,6 +198,8 @@ public class TransitionManager {
   private final OnAnimationCompleteListener mOnAnimationCompleteListener;
   private final MountState mMountState;
   private AnimationBinding mRootAnimationToRun;
+  private int mDiffedTransitionKeysCount;
+  private int mSkippedTransitionKeysCount;
 
   public TransitionManager(
       OnAnimationCompleteListener onAnimationCompleteListener, MountState mountState) {
@@ -219,6 +221,8 @@ public class TransitionManager {
     for (int i = 0, size = mAnimationStates.size(); i < size; i++) {
       mAnimationStates.valueAt(i).seenInLastTransition = false;
     }
+    mDiffedTransitionKeysCount = 0;
+    mSkippedTransitionKeysCount = 0;
 
     final SimpleArrayMap<String, OutputUnitsAffinityGroup<LayoutOutput>> nextTransitionKeys =
         nextLayoutState.getTransitionKeyMapping();
@@ -228,10 +232,14 @@ public class TransitionManager {
         final OutputUnitsAffinityGroup<LayoutOutput> nextLayoutOutputsGroup =
             nextTransitionKeys.valueAt(i);
         recordLayoutOutputsGroupDiff(transitionKey, null, nextLayoutOutputsGroup);
+        mDiffedTransitionKeysCount++;
       }
     } else {
       final SimpleArrayMap<String, OutputUnitsAffinityGroup<LayoutOutput>> currentTransitionKeys =
           currentLayoutState.getTransitionKeyMapping();
+      final boolean canCompareContentHashes =
+          currentLayoutState.hasTransitionKeyContentHashes()
+              && nextLayoutState.hasTransitionKeyContentHashes();
       final boolean[] seenIndicesInNewLayout = new boolean[currentTransitionKeys.size()];
       for (int i = 0, size = nextTransitionKeys.size(); i < size; i++) {
         final String transitionKey = nextTransitionKeys.keyAt(i);
@@ -244,10 +252,24 @@ public class TransitionManager {
         if (currentIndex >= 0) {
           currentLayoutOutputsGroup = currentTransitionKeys.valueAt(currentIndex);
           seenIndicesInNewLayout[currentIndex] = true;
+
+          // A key whose content didn't change and that isn't already animating can't produce an
+          // animation, so there's no need to record its diff. Hashes can collide, so a match is
+          // confirmed against the LayoutOutputs themselves.
+          if (canCompareContentHashes
+              && !mAnimationStates.containsKey(transitionKey)
+              && currentLayoutState.getTransitionKeyContentHashAt(currentIndex)
+                  == nextLayoutState.getTransitionKeyContentHashAt(i)
+              && LayoutState.hasSameTransitionContent(
+                  currentLayoutOutputsGroup, nextLayoutOutputsGroup)) {
+            mSkippedTransitionKeysCount++;
+            continue;
+          }
         }
 
         recordLayoutOutputsGroupDiff(
             transitionKey, currentLayoutOutputsGroup, nextLayoutOutputsGroup);
+        mDiffedTransitionKeysCount++;
       }
 
       for (int i = 0, size = currentTransitionKeys.size(); i < size; i++) {
@@ -256,6 +278,7 @@ public class TransitionManager {
         }
         recordLayoutOutputsGroupDiff(
             currentTransitionKeys.keyAt(i), currentTransitionKeys.valueAt(i), null);
+        mDiffedTransitionKeysCount++;
       }
     }
 
@@ -266,6 +289,22 @@ public class TransitionManager {
     cleanupNonAnimatingAnimationStates();
   }
 
+  /**
+   * @return how many transition keys had their current and next LayoutOutputs diffed during the
+   *     last call to {@link #setupTransitions}.
+   */
+  int getDiffedTransitionKeysCount() {
+    return mDiffedTransitionKeysCount;
+  }
+
+  /**
+   * @return how many transition keys were skipped during the last call to {@link
+   *     #setupTransitions} because their content didn't change.
+   */
+  int getSkippedTransitionKeysCount() {
+    return mSkippedTransitionKeysCount;
+  }
+
   /**
    * Called after {@link #setupTransitions} has been called and the new layout has been mounted.
    * This restores the state of the previous layout for content that will animate and then starts
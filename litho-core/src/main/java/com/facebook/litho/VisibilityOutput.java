@@ -26,6 +26,7 @@ import android.graphics.Rect;
 class VisibilityOutput {
 
   private long mId;
+  private int mIndex;
   private Component mComponent;
   private final Rect mBounds = new Rect();
   private float mVisibleHeightRatio;
@@ -44,6 +45,15 @@ class VisibilityOutput {
     mId = id;
   }
 
+  /** @return the position of this output in the visibility outputs of its {@link LayoutState}. */
+  int getIndex() {
+    return mIndex;
+  }
+
+  void setIndex(int index) {
+    mIndex = index;
+  }
+
   Component getComponent() {
     return mComponent;
   }
@@ -122,6 +132,7 @@ class VisibilityOutput {
   }
 
   void release() {
+    mIndex = 0;
     mVisibleHeightRatio = 0;
     mVisibleWidthRatio = 0;
     mComponent = null;
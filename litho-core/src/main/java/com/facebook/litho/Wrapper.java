@@ -16,9 +16,7 @@
 
 package com.facebook.litho;
 
-import android.support.v4.util.Pools;
 import com.facebook.litho.annotations.Prop;
-import java.util.BitSet;
 import javax.annotation.Nullable;
 
 /**
@@ -29,8 +27,7 @@ public final class Wrapper extends Component {
 
   @Nullable @Prop Component delegate;
 
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool =
-      new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<>(2);
 
   private Wrapper() {
     super("Wrapper");
@@ -90,17 +87,18 @@ public final class Wrapper extends Component {
     private static final String[] REQUIRED_PROPS_NAMES = new String[] {"delegate"};
     private static final int REQUIRED_PROPS_COUNT = 1;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
     private Wrapper mWrapper;
 
     private void init(
         ComponentContext context, int defStyleAttr, int defStyleRes, Wrapper wrapper) {
       super.init(context, defStyleAttr, defStyleRes, wrapper);
       mWrapper = wrapper;
+      mRequired = 0;
     }
 
     public Builder delegate(Component delegate) {
-      mRequired.set(0);
+      mRequired |= 1L;
       this.mWrapper.delegate = delegate;
       return this;
     }
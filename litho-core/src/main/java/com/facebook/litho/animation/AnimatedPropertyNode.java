@@ -54,6 +54,22 @@ public class AnimatedPropertyNode extends ValueNode {
     setValueInner(value);
   }
 
+  /**
+   * @return whether a {@link com.facebook.litho.dataflow.GraphBinding} currently drives the value
+   *     of this node.
+   */
+  boolean isBoundInGraph() {
+    return hasInput(DEFAULT_INPUT);
+  }
+
+  /**
+   * Disconnects this node from the {@link com.facebook.litho.dataflow.GraphBinding} driving it, if
+   * any, so that its value can be set directly without the graph overwriting it on the next frame.
+   */
+  void detachFromGraph() {
+    detachInput(DEFAULT_INPUT);
+  }
+
   @Override
   public float calculateValue(long frameTimeNanos) {
     boolean hasInput = hasInput();
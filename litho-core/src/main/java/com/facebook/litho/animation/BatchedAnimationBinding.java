@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Base class for transition animations of a single {@link PropertyAnimation} that are driven by
+ * the {@link BatchedAnimationEngine} instead of a {@link
+ * com.facebook.litho.dataflow.GraphBinding}. Subclasses add their animation to the engine in
+ * {@link #addToEngine}.
+ */
+public abstract class BatchedAnimationBinding implements AnimationBinding {
+
+  private final BatchedAnimationEngine mEngine;
+  private final CopyOnWriteArrayList<AnimationBindingListener> mListeners =
+      new CopyOnWriteArrayList<>();
+  protected final PropertyAnimation mPropertyAnimation;
+
+  /** The slot of this animation in the {@link BatchedAnimationEngine}, or -1 if not running. */
+  int mSlot = -1;
+
+  public BatchedAnimationBinding(PropertyAnimation propertyAnimation) {
+    this(BatchedAnimationEngine.getInstance(), propertyAnimation);
+  }
+
+  BatchedAnimationBinding(BatchedAnimationEngine engine, PropertyAnimation propertyAnimation) {
+    mEngine = engine;
+    mPropertyAnimation = propertyAnimation;
+  }
+
+  @Override
+  public void start(Resolver resolver) {
+    for (AnimationBindingListener listener : mListeners) {
+      if (!listener.shouldStart(this)) {
+        notifyCanceledBeforeStart();
+        return;
+      }
+    }
+    for (AnimationBindingListener listener : mListeners) {
+      listener.onWillStart(this);
+    }
+
+    final PropertyHandle propertyHandle = mPropertyAnimation.getPropertyHandle();
+    addToEngine(
+        mEngine,
+        resolver.getAnimatedPropertyNode(propertyHandle),
+        resolver.getCurrentState(propertyHandle),
+        mPropertyAnimation.getTargetValue());
+  }
+
+  /**
+   * Subclasses should add their animation for the given target node to the engine, using this
+   * binding as the owner.
+   */
+  protected abstract void addToEngine(
+      BatchedAnimationEngine engine,
+      AnimatedPropertyNode target,
+      float initialValue,
+      float endValue);
+
+  @Override
+  public void stop() {
+    if (!isActive()) {
+      return;
+    }
+    mEngine.remove(this);
+  }
+
+  @Override
+  public boolean isActive() {
+    return mSlot >= 0;
+  }
+
+  @Override
+  public void collectTransitioningProperties(ArrayList<PropertyAnimation> outList) {
+    outList.add(mPropertyAnimation);
+  }
+
+  /** Called by the {@link BatchedAnimationEngine} once it has removed this finished animation. */
+  void onAnimationFinished() {
+    for (AnimationBindingListener listener : mListeners) {
+      listener.onFinish(this);
+    }
+  }
+
+  private void notifyCanceledBeforeStart() {
+    for (AnimationBindingListener listener : mListeners) {
+      listener.onCanceledBeforeStart(this);
+    }
+  }
+
+  @Override
+  public void addListener(AnimationBindingListener animationBindingListener) {
+    mListeners.add(animationBindingListener);
+  }
+
+  @Override
+  public void removeListener(AnimationBindingListener animationBindingListener) {
+    mListeners.remove(animationBindingListener);
+  }
+}
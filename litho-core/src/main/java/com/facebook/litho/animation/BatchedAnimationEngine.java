@@ -0,0 +1,488 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v4.util.SimpleArrayMap;
+import android.view.animation.Interpolator;
+import com.facebook.litho.dataflow.ChoreographerCompat;
+import com.facebook.litho.dataflow.ChoreographerCompatImpl;
+import java.util.ArrayList;
+
+/**
+ * Drives spring and timing animations for many properties at once without building a {@link
+ * com.facebook.litho.dataflow.DataFlowGraph} per animation.
+ *
+ * <p>The state of every active animation is stored in parallel primitive arrays indexed by slot,
+ * and all slots are advanced in a single loop on each frame. Finished slots are removed by swapping
+ * the last slot into their place, so the arrays always stay dense. The spring math is the same RK4
+ * integration used by {@link com.facebook.litho.dataflow.springs.Spring}, inlined over the arrays.
+ *
+ * <p>Animations are added through {@link BatchedAnimationBinding}s, and the computed values are
+ * written to the {@link AnimatedPropertyNode} provided by the {@link Resolver}. Starting an
+ * animation on a node detaches any DataFlowGraph animation driving it, and a DataFlowGraph
+ * animation started later on the same node takes it over. This class is not thread safe and should
+ * only be used from the main thread.
+ */
+public class BatchedAnimationEngine {
+
+  static final int TYPE_SPRING = 0;
+  static final int TYPE_TIMING = 1;
+
+  private static final double NS_PER_SECOND = 1000_000_000.;
+  private static final long NS_PER_MS = 1000_000;
+  private static final int INITIAL_CAPACITY = 16;
+
+  // Same constants as the ones used by Spring.
+  private static final double MAX_DELTA_TIME_SEC = 0.064;
+  private static final double SOLVER_TIMESTEP_SEC = 0.001;
+  private static final double REST_SPEED_THRESHOLD = 0.005;
+  private static final double REST_DISPLACEMENT_THRESHOLD = 0.005;
+
+  private static BatchedAnimationEngine sInstance;
+
+  public static BatchedAnimationEngine getInstance() {
+    if (sInstance == null) {
+      sInstance = new BatchedAnimationEngine(ChoreographerCompatImpl.getInstance());
+    }
+    return sInstance;
+  }
+
+  /**
+   * For tests, lets the testing environment explicitly provide a specific engine instance that
+   * can, for example, be driven by a mocked {@link ChoreographerCompat}.
+   */
+  @VisibleForTesting
+  public static void setInstance(BatchedAnimationEngine engine) {
+    sInstance = engine;
+  }
+
+  @VisibleForTesting
+  public static BatchedAnimationEngine create(ChoreographerCompat choreographerCompat) {
+    return new BatchedAnimationEngine(choreographerCompat);
+  }
+
+  private final ChoreographerCompat mChoreographerCompat;
+  private final ChoreographerCompat.FrameCallback mFrameCallback;
+  private final SimpleArrayMap<AnimatedPropertyNode, BatchedAnimationBinding> mTargetOwners =
+      new SimpleArrayMap<>();
+  private final ArrayList<BatchedAnimationBinding> mFinishedBindings = new ArrayList<>();
+
+  private int mSize;
+  private int[] mTypes = new int[INITIAL_CAPACITY];
+  private long[] mStartTimesNs = new long[INITIAL_CAPACITY];
+  private long[] mLastFrameTimesNs = new long[INITIAL_CAPACITY];
+  private long[] mDurationsNs = new long[INITIAL_CAPACITY];
+  private double[] mStartValues = new double[INITIAL_CAPACITY];
+  private double[] mEndValues = new double[INITIAL_CAPACITY];
+  private double[] mPositions = new double[INITIAL_CAPACITY];
+  private double[] mVelocities = new double[INITIAL_CAPACITY];
+  private double[] mTempPositions = new double[INITIAL_CAPACITY];
+  private double[] mTimeAccumulators = new double[INITIAL_CAPACITY];
+  private double[] mTensions = new double[INITIAL_CAPACITY];
+  private double[] mFrictions = new double[INITIAL_CAPACITY];
+  private boolean[] mFinished = new boolean[INITIAL_CAPACITY];
+  private Interpolator[] mInterpolators = new Interpolator[INITIAL_CAPACITY];
+  private AnimatedPropertyNode[] mTargets = new AnimatedPropertyNode[INITIAL_CAPACITY];
+  private BatchedAnimationBinding[] mOwners = new BatchedAnimationBinding[INITIAL_CAPACITY];
+
+  private boolean mHasPostedFrameCallback = false;
+  private long mLastFrameTimeNs = Long.MIN_VALUE;
+
+  private BatchedAnimationEngine(ChoreographerCompat choreographerCompat) {
+    mChoreographerCompat = choreographerCompat;
+    mFrameCallback =
+        new ChoreographerCompat.FrameCallback() {
+          @Override
+          public void doFrame(long frameTimeNanos) {
+            BatchedAnimationEngine.this.doFrame(frameTimeNanos);
+          }
+        };
+  }
+
+  /** Adds a spring animation from initialValue to endValue driving the given target. */
+  void addSpring(
+      BatchedAnimationBinding owner,
+      AnimatedPropertyNode target,
+      float initialValue,
+      float endValue,
+      double tension,
+      double friction) {
+    final int slot = addSlot(owner, target, TYPE_SPRING, initialValue, endValue);
+    mTensions[slot] = tension;
+    mFrictions[slot] = friction;
+  }
+
+  /**
+   * Adds an animation that moves from initialValue to endValue over the given duration, optionally
+   * applying an {@link Interpolator} to the progress.
+   */
+  void addTiming(
+      BatchedAnimationBinding owner,
+      AnimatedPropertyNode target,
+      float initialValue,
+      float endValue,
+      int durationMs,
+      @Nullable Interpolator interpolator) {
+    final int slot = addSlot(owner, target, TYPE_TIMING, initialValue, endValue);
+    mDurationsNs[slot] = durationMs * NS_PER_MS;
+    mInterpolators[slot] = interpolator;
+  }
+
+  /** Removes the animation owned by the given binding without notifying it. */
+  void remove(BatchedAnimationBinding owner) {
+    final int slot = owner.mSlot;
+    if (slot < 0 || slot >= mSize || mOwners[slot] != owner) {
+      throw new RuntimeException("Tried to remove an animation that isn't running: " + owner);
+    }
+    removeSlot(slot);
+    if (mSize == 0) {
+      stopFrameCallback();
+    }
+  }
+
+  /** @return the number of animations currently being driven by this engine. */
+  public int getActiveAnimationCount() {
+    return mSize;
+  }
+
+  private int addSlot(
+      BatchedAnimationBinding owner,
+      AnimatedPropertyNode target,
+      int type,
+      float initialValue,
+      float endValue) {
+    if (owner.mSlot >= 0) {
+      throw new RuntimeException("Animation was already added: " + owner);
+    }
+    ensureCapacity(mSize + 1);
+
+    final int slot = mSize++;
+    mTypes[slot] = type;
+    mStartTimesNs[slot] = Long.MIN_VALUE;
+    mLastFrameTimesNs[slot] = Long.MIN_VALUE;
+    mDurationsNs[slot] = 0;
+    mStartValues[slot] = initialValue;
+    mEndValues[slot] = endValue;
+    mPositions[slot] = initialValue;
+    mVelocities[slot] = 0;
+    mTempPositions[slot] = initialValue;
+    mTimeAccumulators[slot] = 0;
+    mTensions[slot] = 0;
+    mFrictions[slot] = 0;
+    mFinished[slot] = false;
+    mInterpolators[slot] = null;
+    mOwners[slot] = owner;
+    owner.mSlot = slot;
+
+    // Like a GraphBinding replacing the input of an AnimatedPropertyNode, a newer animation on the
+    // same property takes over from the older one, which keeps running only so that it finishes.
+    // That includes an animation running in the DataFlowGraph, which would otherwise keep writing
+    // its own values to the node.
+    target.detachFromGraph();
+    final BatchedAnimationBinding previousOwner = mTargetOwners.put(target, owner);
+    if (previousOwner != null && previousOwner.mSlot >= 0) {
+      mTargets[previousOwner.mSlot] = null;
+    }
+    mTargets[slot] = target;
+
+    postFrameCallback();
+    return slot;
+  }
+
+  private void releaseTarget(int slot) {
+    final AnimatedPropertyNode target = mTargets[slot];
+    if (target != null && mTargetOwners.get(target) == mOwners[slot]) {
+      mTargetOwners.remove(target);
+    }
+    mTargets[slot] = null;
+  }
+
+  private void removeSlot(int slot) {
+    final BatchedAnimationBinding owner = mOwners[slot];
+    releaseTarget(slot);
+    owner.mSlot = -1;
+
+    final int last = --mSize;
+    if (slot != last) {
+      mTypes[slot] = mTypes[last];
+      mStartTimesNs[slot] = mStartTimesNs[last];
+      mLastFrameTimesNs[slot] = mLastFrameTimesNs[last];
+      mDurationsNs[slot] = mDurationsNs[last];
+      mStartValues[slot] = mStartValues[last];
+      mEndValues[slot] = mEndValues[last];
+      mPositions[slot] = mPositions[last];
+      mVelocities[slot] = mVelocities[last];
+      mTempPositions[slot] = mTempPositions[last];
+      mTimeAccumulators[slot] = mTimeAccumulators[last];
+      mTensions[slot] = mTensions[last];
+      mFrictions[slot] = mFrictions[last];
+      mFinished[slot] = mFinished[last];
+      mInterpolators[slot] = mInterpolators[last];
+      mTargets[slot] = mTargets[last];
+      mOwners[slot] = mOwners[last];
+      mOwners[slot].mSlot = slot;
+    }
+
+    mInterpolators[last] = null;
+    mTargets[last] = null;
+    mOwners[last] = null;
+  }
+
+  @VisibleForTesting
+  void doFrame(long frameTimeNanos) {
+    mHasPostedFrameCallback = false;
+
+    // Choreographer can call doFrame multiple times with the same frame time, de-bounce it here.
+    if (frameTimeNanos != mLastFrameTimeNs) {
+      mLastFrameTimeNs = frameTimeNanos;
+      step(frameTimeNanos);
+    }
+
+    if (mSize > 0) {
+      postFrameCallback();
+    }
+  }
+
+  private void step(long frameTimeNanos) {
+    final int size = mSize;
+    for (int i = 0; i < size; i++) {
+      final long lastFrameTimeNs = mLastFrameTimesNs[i];
+      mLastFrameTimesNs[i] = frameTimeNanos;
+
+      if (lastFrameTimeNs == Long.MIN_VALUE) {
+        // First frame for this animation: output the initial value.
+        mStartTimesNs[i] = frameTimeNanos;
+      } else if (mTypes[i] == TYPE_SPRING) {
+        mFinished[i] = advanceSpring(i, (frameTimeNanos - lastFrameTimeNs) / NS_PER_SECOND);
+      } else {
+        mFinished[i] = advanceTiming(i, frameTimeNanos);
+      }
+
+      final AnimatedPropertyNode target = mTargets[i];
+      if (target == null) {
+        continue;
+      }
+
+      if (target.isBoundInGraph()) {
+        // An animation in the DataFlowGraph started on this property after this one and took it
+        // over, so this one keeps running only so that it finishes.
+        releaseTarget(i);
+      } else {
+        target.setValue((float) mPositions[i]);
+      }
+    }
+
+    // Iterate in reverse order since removing a slot moves the last slot into its place.
+    for (int i = mSize - 1; i >= 0; i--) {
+      if (mFinished[i]) {
+        mFinishedBindings.add(mOwners[i]);
+        removeSlot(i);
+      }
+    }
+
+    // Notify after all bookkeeping is done: finishing an animation may start new ones (e.g. the
+    // next animation in a sequence) which will be appended to the arrays.
+    for (int i = 0, count = mFinishedBindings.size(); i < count; i++) {
+      mFinishedBindings.get(i).onAnimationFinished();
+    }
+    mFinishedBindings.clear();
+
+    if (mSize == 0) {
+      stopFrameCallback();
+    }
+  }
+
+  /**
+   * Advances the spring in the given slot. The math is the same as {@link
+   * com.facebook.litho.dataflow.springs.Spring#advance}, inlined for a single slot.
+   *
+   * @return whether the spring has come to rest.
+   */
+  private boolean advanceSpring(int slot, double realDeltaTime) {
+    final double tension = mTensions[slot];
+    final double friction = mFrictions[slot];
+    final double endValue = mEndValues[slot];
+
+    double position = mPositions[slot];
+    double velocity = mVelocities[slot];
+
+    if (isAtRest(position, velocity, endValue, tension)) {
+      mPositions[slot] = endValue;
+      mVelocities[slot] = 0;
+      return true;
+    }
+
+    final double adjustedDeltaTime = Math.min(realDeltaTime, MAX_DELTA_TIME_SEC);
+    double timeAccumulator = mTimeAccumulators[slot] + adjustedDeltaTime;
+    double tempPosition = mTempPositions[slot];
+    double tempVelocity;
+    double previousPosition = position;
+    double previousVelocity = velocity;
+
+    double aVelocity, aAcceleration;
+    double bVelocity, bAcceleration;
+    double cVelocity, cAcceleration;
+    double dVelocity, dAcceleration;
+
+    while (timeAccumulator >= SOLVER_TIMESTEP_SEC) {
+      timeAccumulator -= SOLVER_TIMESTEP_SEC;
+
+      if (timeAccumulator < SOLVER_TIMESTEP_SEC) {
+        previousPosition = position;
+        previousVelocity = velocity;
+      }
+
+      aVelocity = velocity;
+      aAcceleration = (tension * (endValue - tempPosition)) - friction * velocity;
+
+      tempPosition = position + aVelocity * SOLVER_TIMESTEP_SEC * 0.5;
+      tempVelocity = velocity + aAcceleration * SOLVER_TIMESTEP_SEC * 0.5;
+      bVelocity = tempVelocity;
+      bAcceleration = (tension * (endValue - tempPosition)) - friction * tempVelocity;
+
+      tempPosition = position + bVelocity * SOLVER_TIMESTEP_SEC * 0.5;
+      tempVelocity = velocity + bAcceleration * SOLVER_TIMESTEP_SEC * 0.5;
+      cVelocity = tempVelocity;
+      cAcceleration = (tension * (endValue - tempPosition)) - friction * tempVelocity;
+
+      tempPosition = position + cVelocity * SOLVER_TIMESTEP_SEC;
+      tempVelocity = velocity + cAcceleration * SOLVER_TIMESTEP_SEC;
+      dVelocity = tempVelocity;
+      dAcceleration = (tension * (endValue - tempPosition)) - friction * tempVelocity;
+
+      position +=
+          1.0 / 6.0 * (aVelocity + 2.0 * (bVelocity + cVelocity) + dVelocity)
+              * SOLVER_TIMESTEP_SEC;
+      velocity +=
+          1.0 / 6.0 * (aAcceleration + 2.0 * (bAcceleration + cAcceleration) + dAcceleration)
+              * SOLVER_TIMESTEP_SEC;
+    }
+
+    if (timeAccumulator > 0) {
+      final double alpha = timeAccumulator / SOLVER_TIMESTEP_SEC;
+      position = position * alpha + previousPosition * (1 - alpha);
+      velocity = velocity * alpha + previousVelocity * (1 - alpha);
+    }
+
+    mTimeAccumulators[slot] = timeAccumulator;
+    mTempPositions[slot] = tempPosition;
+
+    if (isAtRest(position, velocity, endValue, tension)) {
+      mPositions[slot] = tension > 0 ? endValue : position;
+      mVelocities[slot] = 0;
+      return true;
+    }
+
+    mPositions[slot] = position;
+    mVelocities[slot] = velocity;
+    return false;
+  }
+
+  /** @return whether the timing animation in the given slot has reached its duration. */
+  private boolean advanceTiming(int slot, long frameTimeNanos) {
+    final long elapsedNs = frameTimeNanos - mStartTimesNs[slot];
+    final long durationNs = mDurationsNs[slot];
+    final boolean isFinished = elapsedNs >= durationNs;
+
+    float fraction = isFinished ? 1f : (float) elapsedNs / durationNs;
+    final Interpolator interpolator = mInterpolators[slot];
+    if (interpolator != null) {
+      fraction = interpolator.getInterpolation(fraction);
+    }
+
+    final double startValue = mStartValues[slot];
+    mPositions[slot] = startValue + fraction * (mEndValues[slot] - startValue);
+    return isFinished;
+  }
+
+  private static boolean isAtRest(
+      double position, double velocity, double endValue, double tension) {
+    return Math.abs(velocity) <= REST_SPEED_THRESHOLD
+        && (Math.abs(endValue - position) <= REST_DISPLACEMENT_THRESHOLD || tension == 0);
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= mTypes.length) {
+      return;
+    }
+    final int newCapacity = Math.max(capacity, mTypes.length * 2);
+    mTypes = grow(mTypes, newCapacity);
+    mStartTimesNs = grow(mStartTimesNs, newCapacity);
+    mLastFrameTimesNs = grow(mLastFrameTimesNs, newCapacity);
+    mDurationsNs = grow(mDurationsNs, newCapacity);
+    mStartValues = grow(mStartValues, newCapacity);
+    mEndValues = grow(mEndValues, newCapacity);
+    mPositions = grow(mPositions, newCapacity);
+    mVelocities = grow(mVelocities, newCapacity);
+    mTempPositions = grow(mTempPositions, newCapacity);
+    mTimeAccumulators = grow(mTimeAccumulators, newCapacity);
+    mTensions = grow(mTensions, newCapacity);
+    mFrictions = grow(mFrictions, newCapacity);
+
+    final boolean[] finished = new boolean[newCapacity];
+    System.arraycopy(mFinished, 0, finished, 0, mSize);
+    mFinished = finished;
+
+    final Interpolator[] interpolators = new Interpolator[newCapacity];
+    System.arraycopy(mInterpolators, 0, interpolators, 0, mSize);
+    mInterpolators = interpolators;
+
+    final AnimatedPropertyNode[] targets = new AnimatedPropertyNode[newCapacity];
+    System.arraycopy(mTargets, 0, targets, 0, mSize);
+    mTargets = targets;
+
+    final BatchedAnimationBinding[] owners = new BatchedAnimationBinding[newCapacity];
+    System.arraycopy(mOwners, 0, owners, 0, mSize);
+    mOwners = owners;
+  }
+
+  private int[] grow(int[] array, int newCapacity) {
+    final int[] grown = new int[newCapacity];
+    System.arraycopy(array, 0, grown, 0, mSize);
+    return grown;
+  }
+
+  private long[] grow(long[] array, int newCapacity) {
+    final long[] grown = new long[newCapacity];
+    System.arraycopy(array, 0, grown, 0, mSize);
+    return grown;
+  }
+
+  private double[] grow(double[] array, int newCapacity) {
+    final double[] grown = new double[newCapacity];
+    System.arraycopy(array, 0, grown, 0, mSize);
+    return grown;
+  }
+
+  private void postFrameCallback() {
+    if (mHasPostedFrameCallback) {
+      return;
+    }
+    mChoreographerCompat.postFrameCallback(mFrameCallback);
+    mHasPostedFrameCallback = true;
+  }
+
+  private void stopFrameCallback() {
+    if (!mHasPostedFrameCallback) {
+      return;
+    }
+    mChoreographerCompat.removeFrameCallback(mFrameCallback);
+    mHasPostedFrameCallback = false;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.support.annotation.VisibleForTesting;
+import com.facebook.litho.dataflow.springs.SpringConfig;
+import javax.annotation.Nullable;
+
+/**
+ * Animation for the transition of a single {@link PropertyAnimation} on a spring, driven by the
+ * {@link BatchedAnimationEngine}. Behaves like {@link SpringTransition}.
+ */
+public class BatchedSpringTransition extends BatchedAnimationBinding {
+
+  private final SpringConfig mSpringConfig;
+
+  public BatchedSpringTransition(
+      PropertyAnimation propertyAnimation, @Nullable SpringConfig springConfig) {
+    super(propertyAnimation);
+    mSpringConfig = springConfig != null ? springConfig : SpringConfig.defaultConfig;
+  }
+
+  @VisibleForTesting
+  BatchedSpringTransition(
+      BatchedAnimationEngine engine,
+      PropertyAnimation propertyAnimation,
+      @Nullable SpringConfig springConfig) {
+    super(engine, propertyAnimation);
+    mSpringConfig = springConfig != null ? springConfig : SpringConfig.defaultConfig;
+  }
+
+  @Override
+  protected void addToEngine(
+      BatchedAnimationEngine engine,
+      AnimatedPropertyNode target,
+      float initialValue,
+      float endValue) {
+    engine.addSpring(
+        this, target, initialValue, endValue, mSpringConfig.tension, mSpringConfig.friction);
+  }
+}
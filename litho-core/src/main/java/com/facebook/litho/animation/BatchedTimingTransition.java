@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.view.animation.Interpolator;
+
+/**
+ * Animation for the transition of a single {@link PropertyAnimation} over a fixed amount of time,
+ * driven by the {@link BatchedAnimationEngine}. Behaves like {@link TimingTransition}.
+ */
+public class BatchedTimingTransition extends BatchedAnimationBinding {
+
+  private final int mDurationMs;
+  private final @Nullable Interpolator mInterpolator;
+
+  public BatchedTimingTransition(
+      int durationMs, PropertyAnimation propertyAnimation, @Nullable Interpolator interpolator) {
+    super(propertyAnimation);
+    mDurationMs = durationMs;
+    mInterpolator = interpolator;
+  }
+
+  @VisibleForTesting
+  BatchedTimingTransition(
+      BatchedAnimationEngine engine,
+      int durationMs,
+      PropertyAnimation propertyAnimation,
+      @Nullable Interpolator interpolator) {
+    super(engine, propertyAnimation);
+    mDurationMs = durationMs;
+    mInterpolator = interpolator;
+  }
+
+  @Override
+  protected void addToEngine(
+      BatchedAnimationEngine engine,
+      AnimatedPropertyNode target,
+      float initialValue,
+      float endValue) {
+    engine.addTiming(this, target, initialValue, endValue, mDurationMs, mInterpolator);
+  }
+}
@@ -120,6 +120,12 @@ public class ComponentsConfiguration {
   /** If true then the new version of the YogaEdgeWithInts will be used. */
   public static boolean useNewYogaEdge = false;
 
+  /**
+   * If true then the common props of components are stored in a bit-packed holder, which only
+   * allocates storage for the props that are set.
+   */
+  public static boolean usePackedCommonProps = false;
+
   /**
    * Used to simulate the impact of longer layout calculations for state updates by delaying the
    * estimated time with this percentage.
@@ -172,6 +178,123 @@ public class ComponentsConfiguration {
   /** Whether to fill list viewports in RecyclerBinder from measure(), but only for HScrolls. */
   public static boolean fillListViewportHScrollOnly = false;
 
+  /**
+   * If true, spring and timing transitions are driven by the {@link
+   * com.facebook.litho.animation.BatchedAnimationEngine}, which steps all running animations in a
+   * single loop over primitive arrays instead of building a DataFlowGraph per animation.
+   */
+  public static boolean useBatchedAnimationEngine = false;
+
+  /**
+   * If true, LayoutState computes a content hash for each transition key and TransitionManager only
+   * diffs the keys whose content changed between the current and next LayoutState.
+   */
+  public static boolean skipUnchangedTransitionKeys = false;
+
+  /**
+   * If true, a LayoutOutput whose component is equivalent to the one matched by the diff tree and
+   * whose mount bounds are unchanged takes over the previous LayoutState's display list instead of
+   * re-recording it. This only happens for layouts calculated on the main thread.
+   */
+  public static boolean reuseDisplayListsAcrossLayoutStates = false;
+
+  /**
+   * If true, generated components count, per component type, how many times isEquivalentTo did a
+   * props comparison and how many of those were rejected by the props hash alone.
+   */
+  public static boolean collectIsEquivalentToStats = false;
+
+  /**
+   * If true, the layout subtree of a pure LayoutSpec is kept with the diff tree after a layout
+   * calculation, and reused as-is by the next calculation when the component is equivalent.
+   * Subtrees with state, transitions, working ranges or tree props are never kept, and nothing is
+   * reused by a calculation which applies state updates. Requires {@link #useGlobalKeys}.
+   */
+  public static boolean reusePureLayoutSpecSubtrees = false;
+
+  /**
+   * If true, LayoutState indexes its visibility outputs by their bounds, and a mount which only
+   * scrolls vertically processes the visibility outputs crossing the edges of the previous or new
+   * visible rect, instead of all of them.
+   */
+  public static boolean processVisibilityOutputsIncrementally = false;
+
+  /**
+   * If true, MountState records visibility events during a mount and dispatches them in a batch
+   * after the frame, in the same order, dropping the pairs of events which cancel each other out.
+   */
+  public static boolean deferVisibilityEventDispatch = false;
+
+  /**
+   * How long deferred visibility events are held before being dispatched. An output which becomes
+   * visible and then invisible again (or the reverse) within that window dispatches nothing.
+   */
+  public static long deferredVisibilityEventsWindowMs = 0;
+
+  /**
+   * If true, deferred visibility events without a coalescing window are dispatched when the main
+   * thread is idle, rather than with the next message.
+   */
+  public static boolean dispatchDeferredVisibilityEventsWhenIdle = false;
+
+  /**
+   * If true, ComponentHost stores its mount items in index-ordered dense arrays, which append and
+   * move items in constant time when they're mounted in the same order as the LayoutState.
+   */
+  public static boolean useDenseMountItemStorage = false;
+
+  /**
+   * If true, LayoutState tracks which mountable outputs changed since the LayoutState it was diffed
+   * against, and a dirty mount skips updating the mount items of the unchanged ones. An output only
+   * counts as unchanged when it comes from the very same component instance, so this is meant to
+   * be used with {@link #reusePureLayoutSpecSubtrees}, and otherwise only has an effect on
+   * component instances that the caller passes again in the new root.
+   */
+  public static boolean skipRemountingUnchangedOutputs = false;
+
+  /**
+   * If true, the mount content of components which declare it context independent is recycled
+   * through process-level pools shared by all Activities. Its Context is rebound to the Context
+   * it's acquired with, and to the application Context while it sits in the pools.
+   */
+  public static boolean shareMountContentAcrossContexts = false;
+
+  /** The max number of mount content items held by the process-level pools. */
+  public static int maxSharedMountContentCount = 64;
+
+  /**
+   * If true, ComponentHosts don't query the AccessibilityManager when they're created or get a
+   * NodeInfo. MountState sets their accessibility delegate according to the accessibility state
+   * the LayoutState was calculated with instead.
+   */
+  public static boolean lazilyRefreshAccessibilityDelegates = false;
+
+  /**
+   * Default sampling rate of {@link com.facebook.litho.PerfEvents}: ComponentTrees, SectionTrees
+   * and RecyclerBinders record events one time out of this many, or never if 0.
+   */
+  public static int perfEventSampleRate = 0;
+
+  /**
+   * If above 0, {@link com.facebook.litho.ComponentProfiler} profiles the lifecycle methods of the
+   * components of one layout out of this many.
+   */
+  public static int componentProfilerSampleRate = 0;
+
+  /**
+   * Whether {@link com.facebook.litho.ComponentProfiler} also counts allocations. Allocation
+   * counting slows down every thread of the process while a profiled layout runs, so this is only
+   * meant for debug builds.
+   */
+  public static boolean componentProfilerCountsAllocations = false;
+
+  /**
+   * If true, ComponentTree diffs each new LayoutState against the one on the main thread on the
+   * layout thread, and MountState uses the resulting {@link com.facebook.litho.MountPlan} instead
+   * of diffing the outputs itself while mounting.
+   */
+  public static boolean computeMountPlanOnLayoutThread = false;
+
   /** Configuration for updating state asynchronously in Recycler when receiving remeasure event */
   public static boolean updateMeasureAsync = false;
 }
@@ -107,6 +107,18 @@ public abstract class ValueNode {
     return hasInput(DEFAULT_INPUT);
   }
 
+  /**
+   * Disconnects the input with the given name from this node, if there is one, in the same way
+   * {@link GraphBinding} does when it binds a new input to this node.
+   */
+  protected void detachInput(String name) {
+    final ValueNode input = getInputUnsafe(name);
+    if (input != null) {
+      input.removeOutput(this);
+      removeInput(name);
+    }
+  }
+
   private String buildDebugInputsString() {
     if (mInputs == null) {
       return "[]";
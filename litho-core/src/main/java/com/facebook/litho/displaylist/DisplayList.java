@@ -75,6 +75,15 @@ public class DisplayList {
     return new DisplayList(platformDisplayList);
   }
 
+  /**
+   * Creates a new DisplayList backed by {@link DisplayListRecording}, which records drawing
+   * commands in Java rather than through the platform. Mostly useful to test and benchmark display
+   * list behavior off-device.
+   */
+  public static DisplayList createRecordingDisplayList(String name) {
+    return new DisplayList(DisplayListRecording.createDisplayList(name));
+  }
+
   /**
    * Starts recording a DisplayList with size of width-height.
    * @return a {@link Canvas} on which drawing commands can be recorded
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.displaylist;
+
+import android.graphics.Canvas;
+
+/**
+ * Implementation of {@link PlatformDisplayList} that records drawing commands in plain Java
+ * through a {@link RecordingCanvas} instead of going through the hidden platform display list
+ * APIs. It works on any API level and outside of a device (e.g. Robolectric), which makes it
+ * suitable to test and benchmark display list recording and replay.
+ */
+public class DisplayListRecording implements PlatformDisplayList {
+
+  private final String mName;
+  private final RecordingCanvas mCanvas = new RecordingCanvas();
+  private boolean mIsValid;
+  private int mLeft;
+  private int mTop;
+  private int mRight;
+  private int mBottom;
+
+  static PlatformDisplayList createDisplayList(String debugName) {
+    return new DisplayListRecording(debugName);
+  }
+
+  private DisplayListRecording(String name) {
+    mName = name;
+  }
+
+  @Override
+  public Canvas start(int width, int height) {
+    mCanvas.reset(width, height);
+    mIsValid = false;
+    return mCanvas;
+  }
+
+  @Override
+  public void end(Canvas canvas) throws DisplayListException {
+    if (canvas != mCanvas) {
+      throw new DisplayListException(
+          new IllegalArgumentException("Ending " + mName + " with a foreign canvas"));
+    }
+    // A recording missing some commands would draw something else than the content, so it's left
+    // invalid and the content is drawn directly instead.
+    mIsValid = !mCanvas.hasUnsupportedOps();
+  }
+
+  @Override
+  public void clear() {
+    mCanvas.reset(0, 0);
+    mIsValid = false;
+  }
+
+  @Override
+  public void print(Canvas canvas) {
+    // Nothing to output, the recorded commands are not inspectable on the platform side.
+  }
+
+  @Override
+  public void draw(Canvas canvas) throws DisplayListException {
+    if (!mIsValid) {
+      throw new DisplayListException(
+          new IllegalStateException("Drawing " + mName + " which has no valid recording"));
+    }
+
+    final int saveCount = canvas.save();
+    canvas.translate(mLeft, mTop);
+    canvas.clipRect(0, 0, mRight - mLeft, mBottom - mTop);
+    mCanvas.replay(canvas);
+    canvas.restoreToCount(saveCount);
+  }
+
+  @Override
+  public void setBounds(int left, int top, int right, int bottom) {
+    mLeft = left;
+    mTop = top;
+    mRight = right;
+    mBottom = bottom;
+  }
+
+  @Override
+  public boolean isValid() {
+    return mIsValid;
+  }
+
+  int getRecordedOpCount() {
+    return mCanvas.getRecordedOpCount();
+  }
+}
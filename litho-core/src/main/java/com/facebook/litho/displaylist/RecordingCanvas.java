@@ -0,0 +1,808 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.displaylist;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import android.support.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A {@link Canvas} that doesn't draw anything but records the drawing commands issued on it so
+ * that they can be replayed later on another Canvas through {@link #replay(Canvas)}.
+ *
+ * <p>Commands are stored in parallel arrays (op codes, float, int and object arguments) rather
+ * than as a command object each. Arguments which Drawables commonly mutate and reuse between draw
+ * calls are still copied when recorded, so a command taking a {@link Paint}, {@link Path}, {@link
+ * Matrix}, {@link Rect} or {@link RectF} allocates a copy of it.
+ *
+ * <p>Commands which can't be recorded mark the recording as unsupported, see {@link
+ * #hasUnsupportedOps()}, so that the caller draws directly instead of replaying an incomplete
+ * recording.
+ */
+class RecordingCanvas extends Canvas {
+
+  private static final int OP_SAVE = 0;
+  private static final int OP_RESTORE = 1;
+  private static final int OP_RESTORE_TO_COUNT = 2;
+  private static final int OP_TRANSLATE = 3;
+  private static final int OP_SCALE = 4;
+  private static final int OP_ROTATE = 5;
+  private static final int OP_CONCAT = 6;
+  private static final int OP_CLIP_RECT = 7;
+  private static final int OP_DRAW_COLOR = 8;
+  private static final int OP_DRAW_COLOR_MODE = 9;
+  private static final int OP_DRAW_RECT = 10;
+  private static final int OP_DRAW_ROUND_RECT = 11;
+  private static final int OP_DRAW_OVAL = 12;
+  private static final int OP_DRAW_CIRCLE = 13;
+  private static final int OP_DRAW_LINE = 14;
+  private static final int OP_DRAW_PATH = 15;
+  private static final int OP_DRAW_BITMAP = 16;
+  private static final int OP_DRAW_BITMAP_RECT = 17;
+  private static final int OP_DRAW_TEXT = 18;
+  private static final int OP_SAVE_FLAGS = 19;
+  private static final int OP_SAVE_LAYER = 20;
+  private static final int OP_SAVE_LAYER_ALPHA = 21;
+  private static final int OP_DRAW_PAINT = 22;
+  private static final int OP_DRAW_ARC = 23;
+  private static final int OP_DRAW_BITMAP_MATRIX = 24;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] mOps = new int[INITIAL_CAPACITY];
+  private float[] mFloats = new float[INITIAL_CAPACITY * 4];
+  private int[] mInts = new int[INITIAL_CAPACITY];
+  private Object[] mObjects = new Object[INITIAL_CAPACITY * 2];
+  private int mOpCount;
+  private int mFloatCount;
+  private int mIntCount;
+  private int mObjectCount;
+
+  private int mWidth;
+  private int mHeight;
+  private int mSaveCount = 1;
+  private boolean mHasUnsupportedOps;
+
+  /** Clears all the recorded commands and prepares this canvas for a new recording. */
+  void reset(int width, int height) {
+    Arrays.fill(mObjects, 0, mObjectCount, null);
+    mOpCount = 0;
+    mFloatCount = 0;
+    mIntCount = 0;
+    mObjectCount = 0;
+    mWidth = width;
+    mHeight = height;
+    mSaveCount = 1;
+    mHasUnsupportedOps = false;
+  }
+
+  int getRecordedOpCount() {
+    return mOpCount;
+  }
+
+  /**
+   * @return whether a command which can't be recorded was issued since the last {@link #reset},
+   *     in which case replaying the recording wouldn't draw the same thing.
+   */
+  boolean hasUnsupportedOps() {
+    return mHasUnsupportedOps;
+  }
+
+  /**
+   * Replays the recorded commands on the given canvas. The canvas save count is restored to what
+   * it was before this call, even if the recording has unbalanced save/restore calls.
+   */
+  @SuppressWarnings("deprecation")
+  void replay(Canvas canvas) {
+    final int offset = canvas.save();
+    int f = 0;
+    int n = 0;
+    int o = 0;
+
+    for (int i = 0; i < mOpCount; i++) {
+      switch (mOps[i]) {
+        case OP_SAVE:
+          canvas.save();
+          break;
+        case OP_SAVE_FLAGS:
+          canvas.save(mInts[n++]);
+          break;
+        case OP_SAVE_LAYER:
+          canvas.saveLayer((RectF) mObjects[o++], (Paint) mObjects[o++], mInts[n++]);
+          break;
+        case OP_SAVE_LAYER_ALPHA:
+          canvas.saveLayerAlpha((RectF) mObjects[o++], mInts[n++], mInts[n++]);
+          break;
+        case OP_RESTORE:
+          canvas.restore();
+          break;
+        case OP_RESTORE_TO_COUNT:
+          canvas.restoreToCount(offset + mInts[n++]);
+          break;
+        case OP_TRANSLATE:
+          canvas.translate(mFloats[f++], mFloats[f++]);
+          break;
+        case OP_SCALE:
+          canvas.scale(mFloats[f++], mFloats[f++]);
+          break;
+        case OP_ROTATE:
+          canvas.rotate(mFloats[f++]);
+          break;
+        case OP_CONCAT:
+          canvas.concat((Matrix) mObjects[o++]);
+          break;
+        case OP_CLIP_RECT:
+          canvas.clipRect(mFloats[f++], mFloats[f++], mFloats[f++], mFloats[f++]);
+          break;
+        case OP_DRAW_COLOR:
+          canvas.drawColor(mInts[n++]);
+          break;
+        case OP_DRAW_COLOR_MODE:
+          canvas.drawColor(mInts[n++], (PorterDuff.Mode) mObjects[o++]);
+          break;
+        case OP_DRAW_RECT:
+          canvas.drawRect(
+              mFloats[f++], mFloats[f++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_ROUND_RECT:
+          canvas.drawRoundRect(
+              (RectF) mObjects[o++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_OVAL:
+          canvas.drawOval((RectF) mObjects[o++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_CIRCLE:
+          canvas.drawCircle(mFloats[f++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_LINE:
+          canvas.drawLine(
+              mFloats[f++], mFloats[f++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_PATH:
+          canvas.drawPath((Path) mObjects[o++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_BITMAP:
+          canvas.drawBitmap(
+              (Bitmap) mObjects[o++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_BITMAP_RECT:
+          canvas.drawBitmap(
+              (Bitmap) mObjects[o++],
+              (Rect) mObjects[o++],
+              (RectF) mObjects[o++],
+              (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_TEXT:
+          canvas.drawText(
+              (String) mObjects[o++], mFloats[f++], mFloats[f++], (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_PAINT:
+          canvas.drawPaint((Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_ARC:
+          canvas.drawArc(
+              (RectF) mObjects[o++],
+              mFloats[f++],
+              mFloats[f++],
+              mInts[n++] != 0,
+              (Paint) mObjects[o++]);
+          break;
+        case OP_DRAW_BITMAP_MATRIX:
+          canvas.drawBitmap((Bitmap) mObjects[o++], (Matrix) mObjects[o++], (Paint) mObjects[o++]);
+          break;
+        default:
+          throw new IllegalStateException("Unknown recorded op: " + mOps[i]);
+      }
+    }
+
+    canvas.restoreToCount(offset);
+  }
+
+  @Override
+  public int getWidth() {
+    return mWidth;
+  }
+
+  @Override
+  public int getHeight() {
+    return mHeight;
+  }
+
+  @Override
+  public boolean isHardwareAccelerated() {
+    return false;
+  }
+
+  @Override
+  public int getSaveCount() {
+    return mSaveCount;
+  }
+
+  @Override
+  public int save() {
+    addOp(OP_SAVE);
+    return mSaveCount++;
+  }
+
+  @Override
+  public int save(int saveFlags) {
+    addOp(OP_SAVE_FLAGS);
+    addInt(saveFlags);
+    return mSaveCount++;
+  }
+
+  @Override
+  public int saveLayer(@Nullable RectF bounds, @Nullable Paint paint, int saveFlags) {
+    addOp(OP_SAVE_LAYER);
+    addObject(bounds != null ? new RectF(bounds) : null);
+    addPaint(paint);
+    addInt(saveFlags);
+    return mSaveCount++;
+  }
+
+  @Override
+  public int saveLayer(@Nullable RectF bounds, @Nullable Paint paint) {
+    return saveLayer(bounds, paint, ALL_SAVE_FLAG);
+  }
+
+  @Override
+  public int saveLayer(
+      float left, float top, float right, float bottom, @Nullable Paint paint, int saveFlags) {
+    return saveLayer(new RectF(left, top, right, bottom), paint, saveFlags);
+  }
+
+  @Override
+  public int saveLayer(float left, float top, float right, float bottom, @Nullable Paint paint) {
+    return saveLayer(left, top, right, bottom, paint, ALL_SAVE_FLAG);
+  }
+
+  @Override
+  public int saveLayerAlpha(@Nullable RectF bounds, int alpha, int saveFlags) {
+    addOp(OP_SAVE_LAYER_ALPHA);
+    addObject(bounds != null ? new RectF(bounds) : null);
+    addInt(alpha);
+    addInt(saveFlags);
+    return mSaveCount++;
+  }
+
+  @Override
+  public int saveLayerAlpha(@Nullable RectF bounds, int alpha) {
+    return saveLayerAlpha(bounds, alpha, ALL_SAVE_FLAG);
+  }
+
+  @Override
+  public int saveLayerAlpha(
+      float left, float top, float right, float bottom, int alpha, int saveFlags) {
+    return saveLayerAlpha(new RectF(left, top, right, bottom), alpha, saveFlags);
+  }
+
+  @Override
+  public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha) {
+    return saveLayerAlpha(left, top, right, bottom, alpha, ALL_SAVE_FLAG);
+  }
+
+  @Override
+  public void restore() {
+    if (mSaveCount <= 1) {
+      throw new IllegalStateException("Underflow in restore");
+    }
+    addOp(OP_RESTORE);
+    mSaveCount--;
+  }
+
+  @Override
+  public void restoreToCount(int saveCount) {
+    if (saveCount < 1) {
+      throw new IllegalArgumentException("Underflow in restoreToCount");
+    }
+    if (saveCount >= mSaveCount) {
+      return;
+    }
+    addOp(OP_RESTORE_TO_COUNT);
+    addInt(saveCount);
+    mSaveCount = saveCount;
+  }
+
+  @Override
+  public void translate(float dx, float dy) {
+    addOp(OP_TRANSLATE);
+    addFloat(dx);
+    addFloat(dy);
+  }
+
+  @Override
+  public void scale(float sx, float sy) {
+    addOp(OP_SCALE);
+    addFloat(sx);
+    addFloat(sy);
+  }
+
+  @Override
+  public void rotate(float degrees) {
+    addOp(OP_ROTATE);
+    addFloat(degrees);
+  }
+
+  @Override
+  public void concat(@Nullable Matrix matrix) {
+    if (matrix == null) {
+      return;
+    }
+    addOp(OP_CONCAT);
+    addObject(new Matrix(matrix));
+  }
+
+  @Override
+  public boolean clipRect(float left, float top, float right, float bottom) {
+    addOp(OP_CLIP_RECT);
+    addFloat(left);
+    addFloat(top);
+    addFloat(right);
+    addFloat(bottom);
+    return true;
+  }
+
+  @Override
+  public boolean clipRect(int left, int top, int right, int bottom) {
+    return clipRect((float) left, (float) top, (float) right, (float) bottom);
+  }
+
+  @Override
+  public boolean clipRect(Rect rect) {
+    return clipRect(rect.left, rect.top, rect.right, rect.bottom);
+  }
+
+  @Override
+  public boolean clipRect(RectF rect) {
+    return clipRect(rect.left, rect.top, rect.right, rect.bottom);
+  }
+
+  @Override
+  public boolean clipRect(float left, float top, float right, float bottom, Region.Op op) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipRect(Rect rect, Region.Op op) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipRect(RectF rect, Region.Op op) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipOutRect(float left, float top, float right, float bottom) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipOutRect(int left, int top, int right, int bottom) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipOutRect(Rect rect) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipOutRect(RectF rect) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipPath(Path path, Region.Op op) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipPath(Path path) {
+    return markUnsupported();
+  }
+
+  @Override
+  public boolean clipOutPath(Path path) {
+    return markUnsupported();
+  }
+
+  @Override
+  public void skew(float sx, float sy) {
+    markUnsupported();
+  }
+
+  @Override
+  public void setMatrix(@Nullable Matrix matrix) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawARGB(int a, int r, int g, int b) {
+    drawColor(Color.argb(a, r, g, b));
+  }
+
+  @Override
+  public void drawRGB(int r, int g, int b) {
+    drawColor(Color.rgb(r, g, b));
+  }
+
+  @Override
+  public void drawPaint(Paint paint) {
+    addOp(OP_DRAW_PAINT);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawColor(int color) {
+    addOp(OP_DRAW_COLOR);
+    addInt(color);
+  }
+
+  @Override
+  public void drawColor(int color, PorterDuff.Mode mode) {
+    addOp(OP_DRAW_COLOR_MODE);
+    addInt(color);
+    addObject(mode);
+  }
+
+  @Override
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+    addOp(OP_DRAW_RECT);
+    addFloat(left);
+    addFloat(top);
+    addFloat(right);
+    addFloat(bottom);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawRect(Rect rect, Paint paint) {
+    drawRect(rect.left, rect.top, rect.right, rect.bottom, paint);
+  }
+
+  @Override
+  public void drawRect(RectF rect, Paint paint) {
+    drawRect(rect.left, rect.top, rect.right, rect.bottom, paint);
+  }
+
+  @Override
+  public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+    addOp(OP_DRAW_ROUND_RECT);
+    addObject(new RectF(rect));
+    addFloat(rx);
+    addFloat(ry);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawRoundRect(
+      float left, float top, float right, float bottom, float rx, float ry, Paint paint) {
+    drawRoundRect(new RectF(left, top, right, bottom), rx, ry, paint);
+  }
+
+  @Override
+  public void drawOval(float left, float top, float right, float bottom, Paint paint) {
+    drawOval(new RectF(left, top, right, bottom), paint);
+  }
+
+  @Override
+  public void drawArc(
+      RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+    addOp(OP_DRAW_ARC);
+    addObject(new RectF(oval));
+    addFloat(startAngle);
+    addFloat(sweepAngle);
+    addInt(useCenter ? 1 : 0);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawArc(
+      float left,
+      float top,
+      float right,
+      float bottom,
+      float startAngle,
+      float sweepAngle,
+      boolean useCenter,
+      Paint paint) {
+    drawArc(new RectF(left, top, right, bottom), startAngle, sweepAngle, useCenter, paint);
+  }
+
+  @Override
+  public void drawOval(RectF oval, Paint paint) {
+    addOp(OP_DRAW_OVAL);
+    addObject(new RectF(oval));
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawCircle(float cx, float cy, float radius, Paint paint) {
+    addOp(OP_DRAW_CIRCLE);
+    addFloat(cx);
+    addFloat(cy);
+    addFloat(radius);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+    addOp(OP_DRAW_LINE);
+    addFloat(startX);
+    addFloat(startY);
+    addFloat(stopX);
+    addFloat(stopY);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawPath(Path path, Paint paint) {
+    addOp(OP_DRAW_PATH);
+    addObject(new Path(path));
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawBitmap(Bitmap bitmap, float left, float top, @Nullable Paint paint) {
+    addOp(OP_DRAW_BITMAP);
+    addObject(bitmap);
+    addFloat(left);
+    addFloat(top);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawBitmap(Bitmap bitmap, @Nullable Rect src, RectF dst, @Nullable Paint paint) {
+    addOp(OP_DRAW_BITMAP_RECT);
+    addObject(bitmap);
+    addObject(src != null ? new Rect(src) : null);
+    addObject(new RectF(dst));
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawBitmap(Bitmap bitmap, @Nullable Rect src, Rect dst, @Nullable Paint paint) {
+    drawBitmap(bitmap, src, new RectF(dst), paint);
+  }
+
+  @Override
+  public void drawBitmap(Bitmap bitmap, Matrix matrix, @Nullable Paint paint) {
+    addOp(OP_DRAW_BITMAP_MATRIX);
+    addObject(bitmap);
+    addObject(new Matrix(matrix));
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawBitmap(
+      int[] colors,
+      int offset,
+      int stride,
+      float x,
+      float y,
+      int width,
+      int height,
+      boolean hasAlpha,
+      @Nullable Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawBitmap(
+      int[] colors,
+      int offset,
+      int stride,
+      int x,
+      int y,
+      int width,
+      int height,
+      boolean hasAlpha,
+      @Nullable Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawBitmapMesh(
+      Bitmap bitmap,
+      int meshWidth,
+      int meshHeight,
+      float[] verts,
+      int vertOffset,
+      @Nullable int[] colors,
+      int colorOffset,
+      @Nullable Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawVertices(
+      VertexMode mode,
+      int vertexCount,
+      float[] verts,
+      int vertOffset,
+      @Nullable float[] texs,
+      int texOffset,
+      @Nullable int[] colors,
+      int colorOffset,
+      @Nullable short[] indices,
+      int indexOffset,
+      int indexCount,
+      Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPoint(float x, float y, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPoints(float[] pts, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawLines(float[] pts, int offset, int count, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawLines(float[] pts, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPicture(Picture picture) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPicture(Picture picture, RectF dst) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPicture(Picture picture, Rect dst) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawText(String text, float x, float y, Paint paint) {
+    addOp(OP_DRAW_TEXT);
+    addObject(text);
+    addFloat(x);
+    addFloat(y);
+    addPaint(paint);
+  }
+
+  @Override
+  public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+    drawText(text.substring(start, end), x, y, paint);
+  }
+
+  @Override
+  public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+    drawText(text.subSequence(start, end).toString(), x, y, paint);
+  }
+
+  @Override
+  public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+    drawText(new String(text, index, count), x, y, paint);
+  }
+
+  @Override
+  public void drawTextRun(
+      char[] text,
+      int index,
+      int count,
+      int contextIndex,
+      int contextCount,
+      float x,
+      float y,
+      boolean isRtl,
+      Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawTextRun(
+      CharSequence text,
+      int start,
+      int end,
+      int contextStart,
+      int contextEnd,
+      float x,
+      float y,
+      boolean isRtl,
+      Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPosText(char[] text, int index, int count, float[] pos, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawPosText(String text, float[] pos, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawTextOnPath(
+      char[] text, int index, int count, Path path, float hOffset, float vOffset, Paint paint) {
+    markUnsupported();
+  }
+
+  @Override
+  public void drawTextOnPath(String text, Path path, float hOffset, float vOffset, Paint paint) {
+    markUnsupported();
+  }
+
+  private boolean markUnsupported() {
+    mHasUnsupportedOps = true;
+    return true;
+  }
+
+  private void addOp(int op) {
+    if (mOpCount == mOps.length) {
+      mOps = Arrays.copyOf(mOps, mOpCount * 2);
+    }
+    mOps[mOpCount++] = op;
+  }
+
+  private void addFloat(float value) {
+    if (mFloatCount == mFloats.length) {
+      mFloats = Arrays.copyOf(mFloats, mFloatCount * 2);
+    }
+    mFloats[mFloatCount++] = value;
+  }
+
+  private void addInt(int value) {
+    if (mIntCount == mInts.length) {
+      mInts = Arrays.copyOf(mInts, mIntCount * 2);
+    }
+    mInts[mIntCount++] = value;
+  }
+
+  private void addObject(@Nullable Object value) {
+    if (mObjectCount == mObjects.length) {
+      mObjects = Arrays.copyOf(mObjects, mObjectCount * 2);
+    }
+    mObjects[mObjectCount++] = value;
+  }
+
+  private void addPaint(@Nullable Paint paint) {
+    addObject(paint != null ? new Paint(paint) : null);
+  }
+}
@@ -20,8 +20,11 @@ import static android.os.Build.VERSION.SDK_INT;
 import static android.os.Build.VERSION_CODES.HONEYCOMB;
 
 import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 import android.support.v4.content.res.ResourcesCompat;
 import android.support.v4.util.LruCache;
 import android.support.v4.util.Pools;
@@ -31,21 +34,36 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * A cache that holds Drawables retreived from Android {@link android.content.res.Resources} for
  * each resId this class keeps a {@link android.support.v4.util.Pools.SynchronizedPool} of
- * DRAWABLES_POOL_MAX_ITEMS. The cache has a maximum capacity of DRAWABLES_MAX_ENTRIES. When the
- * cache is full it starts clearing memory deleting the less recently used pool of resources
+ * DRAWABLES_POOL_MAX_ITEMS. The cache is bounded by the estimated memory retained by the pools,
+ * DRAWABLES_MAX_SIZE_BYTES. When the cache is full it starts clearing memory deleting the less
+ * recently used pool of resources.
+ *
+ * <p>Drawables in the same pool are created from the same {@link Drawable.ConstantState}, so the
+ * memory they share (e.g. the Bitmap of a BitmapDrawable) is only accounted for once per pool.
  */
 class DrawableResourcesCache {
 
-  private static final int DRAWABLES_MAX_ENTRIES = 200;
+  private static final int DRAWABLES_MAX_SIZE_BYTES = 4 * 1024 * 1024;
   private static final int DRAWABLES_POOL_MAX_ITEMS = 10;
 
+  /** Estimated size of a single Drawable instance, excluding its shared constant state. */
+  private static final int DRAWABLE_INSTANCE_SIZE_BYTES = 128;
+
   private final LruCache<Integer, SimplePoolWithCount<Drawable>> mDrawableCache;
+  private final AtomicInteger mHitCount = new AtomicInteger(0);
+  private final AtomicInteger mMissCount = new AtomicInteger(0);
 
   DrawableResourcesCache() {
-    mDrawableCache = new LruCache<Integer, SimplePoolWithCount<Drawable>>(DRAWABLES_MAX_ENTRIES) {
+    this(DRAWABLES_MAX_SIZE_BYTES);
+  }
+
+  @VisibleForTesting
+  DrawableResourcesCache(int maxSizeBytes) {
+    mDrawableCache = new LruCache<Integer, SimplePoolWithCount<Drawable>>(maxSizeBytes) {
       @Override
       protected int sizeOf(Integer key, SimplePoolWithCount<Drawable> value) {
-        return value.getPoolSize();
+        // Must stay constant while the pool is in the cache, see updateSize.
+        return value.mAccountedSizeBytes;
       }
     };
   }
@@ -71,7 +89,10 @@ class DrawableResourcesCache {
     Drawable drawable = drawablesPool.acquire();
 
     if (drawable == null) {
+      mMissCount.incrementAndGet();
       drawable = ResourcesCompat.getDrawable(resources, resId, theme);
+    } else {
+      mHitCount.incrementAndGet();
     }
 
     // We never want this pool to remain empty otherwise we would risk to resolve a new drawable
@@ -81,6 +102,8 @@ class DrawableResourcesCache {
       drawablesPool.release(drawable.getConstantState().newDrawable());
     }
 
+    updateSize(resId, drawablesPool);
+
     return drawable;
   }
 
@@ -101,11 +124,58 @@ class DrawableResourcesCache {
     }
 
     drawablesPool.release(drawable);
+    updateSize(resId, drawablesPool);
   }
 
-  private static class SimplePoolWithCount<T> extends Pools.SynchronizedPool<T> {
+  /** @return an estimate in bytes of the memory retained by the pooled Drawables. */
+  public int getSizeBytes() {
+    return mDrawableCache.size();
+  }
+
+  /** @return the number of lookups that were served from a pooled Drawable. */
+  public int getHitCount() {
+    return mHitCount.get();
+  }
+
+  /** @return the number of lookups that had to load the Drawable from Resources. */
+  public int getMissCount() {
+    return mMissCount.get();
+  }
+
+  /**
+   * {@link LruCache} requires the size of an entry not to change while it's cached, so a pool whose
+   * content changed is removed with its old size and put again with its new one, which also
+   * triggers evictions.
+   */
+  private void updateSize(int resId, SimplePoolWithCount<Drawable> drawablesPool) {
+    synchronized (mDrawableCache) {
+      final int sizeBytes = drawablesPool.getSizeBytes();
+      if (sizeBytes != drawablesPool.mAccountedSizeBytes) {
+        mDrawableCache.remove(resId);
+        drawablesPool.mAccountedSizeBytes = sizeBytes;
+        mDrawableCache.put(resId, drawablesPool);
+      }
+    }
+  }
+
+  private static int estimateSharedSizeBytes(Drawable drawable) {
+    if (drawable instanceof BitmapDrawable) {
+      final Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+      if (bitmap != null) {
+        return bitmap.getRowBytes() * bitmap.getHeight();
+      }
+    }
+
+    return 0;
+  }
+
+  private static class SimplePoolWithCount<T extends Drawable> extends Pools.SynchronizedPool<T> {
 
     private final AtomicInteger mPoolSize;
+    private volatile int mSharedSizeBytes;
+
+    /** The size the LruCache accounts for this pool, only changed while it's not cached. */
+    private volatile int mAccountedSizeBytes;
 
     public SimplePoolWithCount(int maxPoolSize) {
       super(maxPoolSize);
@@ -127,6 +197,9 @@ class DrawableResourcesCache {
       boolean added = super.release(instance);
       if (added) {
         mPoolSize.incrementAndGet();
+        if (mSharedSizeBytes == 0) {
+          mSharedSizeBytes = estimateSharedSizeBytes(instance);
+        }
       }
 
       return added;
@@ -135,5 +208,10 @@ class DrawableResourcesCache {
     public int getPoolSize() {
       return mPoolSize.get();
     }
+
+    int getSizeBytes() {
+      final int poolSize = mPoolSize.get();
+      return poolSize == 0 ? 0 : mSharedSizeBytes + poolSize * DRAWABLE_INSTANCE_SIZE_BYTES;
+    }
   }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.drawable.Drawable;
+import com.facebook.litho.reference.DrawableReference;
+import com.facebook.litho.reference.Reference;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaEdge;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link PackedCommonPropsHolder} retains less memory than {@link CommonPropsHolder}
+ * for a few typical sets of common props.
+ *
+ * <p>Measuring the heap is too noisy for a unit test, so the retained size is estimated by walking
+ * the holder with reflection and applying the object layout of a 64-bit VM with compressed
+ * references. Only the objects owned by the holder are counted: arrays and Litho internals such as
+ * {@link Edges}. Shared objects like {@link Reference}s, strings and enums are not.
+ */
+@RunWith(ComponentsTestRunner.class)
+public class CommonPropsMemoryTest {
+
+  private static final int OBJECT_HEADER_BYTES = 12;
+  private static final int ARRAY_HEADER_BYTES = 16;
+  private static final int REFERENCE_BYTES = 4;
+  private static final int ALIGNMENT_BYTES = 8;
+
+  private final Reference<Drawable> mBackground = DrawableReference.create().build();
+
+  @Test
+  public void testPackedHolderIsSmallerForPaddingOnly() {
+    final CommonPropsHolder holder = new CommonPropsHolder();
+    final PackedCommonPropsHolder packedHolder = new PackedCommonPropsHolder();
+    setPaddingOnly(holder);
+    setPaddingOnly(packedHolder);
+
+    assertThat(estimateRetainedSize(packedHolder)).isLessThan(estimateRetainedSize(holder));
+  }
+
+  @Test
+  public void testPackedHolderIsSmallerForTypicalRow() {
+    final CommonPropsHolder holder = new CommonPropsHolder();
+    final PackedCommonPropsHolder packedHolder = new PackedCommonPropsHolder();
+    setTypicalRow(holder);
+    setTypicalRow(packedHolder);
+
+    assertThat(estimateRetainedSize(packedHolder)).isLessThan(estimateRetainedSize(holder));
+  }
+
+  @Test
+  public void testEmptyPackedHolderIsNotLargerThanEmptyHolder() {
+    assertThat(estimateRetainedSize(new PackedCommonPropsHolder()))
+        .isLessThanOrEqualTo(estimateRetainedSize(new CommonPropsHolder()));
+  }
+
+  private static void setPaddingOnly(BaseCommonPropsHolder holder) {
+    holder.paddingPx(YogaEdge.ALL, 8);
+  }
+
+  private void setTypicalRow(BaseCommonPropsHolder holder) {
+    holder.widthPx(100);
+    holder.heightPx(48);
+    holder.paddingPx(YogaEdge.HORIZONTAL, 16);
+    holder.marginPx(YogaEdge.TOP, 4);
+    holder.flexGrow(1);
+    holder.alignSelf(YogaAlign.CENTER);
+    holder.background(mBackground);
+  }
+
+  private static long estimateRetainedSize(Object holder) {
+    return estimateRetainedSize(holder, new IdentityHashMap<Object, Boolean>());
+  }
+
+  private static long estimateRetainedSize(Object object, Map<Object, Boolean> visited) {
+    if (visited.put(object, Boolean.TRUE) != null) {
+      return 0;
+    }
+
+    final Class<?> type = object.getClass();
+    if (type.isArray()) {
+      final Class<?> componentType = type.getComponentType();
+      final int length = Array.getLength(object);
+      long size = align(ARRAY_HEADER_BYTES + (long) length * sizeOf(componentType));
+      if (!componentType.isPrimitive()) {
+        for (int i = 0; i < length; i++) {
+          size += estimateOwnedSize(Array.get(object, i), visited);
+        }
+      }
+      return size;
+    }
+
+    long shallowSize = OBJECT_HEADER_BYTES;
+    long retainedSize = 0;
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+
+        shallowSize += sizeOf(field.getType());
+        if (!field.getType().isPrimitive()) {
+          field.setAccessible(true);
+          try {
+            retainedSize += estimateOwnedSize(field.get(object), visited);
+          } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      }
+    }
+
+    return align(shallowSize) + retainedSize;
+  }
+
+  private static long estimateOwnedSize(Object object, Map<Object, Boolean> visited) {
+    if (object == null || object.getClass().isEnum()) {
+      return 0;
+    }
+
+    final Class<?> type = object.getClass();
+    final boolean isOwned =
+        type.isArray()
+            || (type.getPackage() != null
+                && Edges.class.getPackage().getName().equals(type.getPackage().getName()));
+    return isOwned ? estimateRetainedSize(object, visited) : 0;
+  }
+
+  private static int sizeOf(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    }
+    return REFERENCE_BYTES;
+  }
+
+  private static long align(long size) {
+    return (size + ALIGNMENT_BYTES - 1) / ALIGNMENT_BYTES * ALIGNMENT_BYTES;
+  }
+}
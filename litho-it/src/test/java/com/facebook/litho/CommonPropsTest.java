@@ -44,16 +44,20 @@ import org.robolectric.RuntimeEnvironment;
 public class CommonPropsTest {
 
   private InternalNode mNode;
-  private CommonPropsHolder mCommonProps;
+  private BaseCommonPropsHolder mCommonProps;
   private ComponentContext mComponentContext;
 
   @Before
   public void setup() {
     mNode = mock(InternalNode.class);
-    mCommonProps = new CommonPropsHolder();
+    mCommonProps = createCommonProps();
     mComponentContext = new ComponentContext(RuntimeEnvironment.application);
   }
 
+  BaseCommonPropsHolder createCommonProps() {
+    return new CommonPropsHolder();
+  }
+
   @Test
   @TargetApi(Build.VERSION_CODES.LOLLIPOP)
   public void testSetPropsAndBuild() {
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static android.view.View.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Tests the dense mount item storage enabled by {@link
+ * ComponentsConfiguration#useDenseMountItemStorage} against the default sparse storage.
+ */
+@RunWith(ComponentsTestRunner.class)
+public class ComponentHostStorageTest {
+
+  private static final int ITEM_COUNT = 50;
+
+  private final boolean mDefaultUseDenseMountItemStorage =
+      ComponentsConfiguration.useDenseMountItemStorage;
+
+  private ComponentContext mContext;
+  private Component mComponent;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mComponent = TestDrawableComponent.create(mContext).build();
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.useDenseMountItemStorage = mDefaultUseDenseMountItemStorage;
+  }
+
+  @Test
+  public void testMovesKeepingOrderRewriteKeysInPlace() {
+    final CountingDenseSparseArray<String> items = createItems();
+
+    // Shift every item down by one, as when an item is inserted at the top.
+    for (int i = ITEM_COUNT - 1; i >= 0; i--) {
+      ComponentHostUtils.moveItem(i, i + 1, items, null);
+    }
+
+    assertThat(items.mShiftingOperationsCount).isEqualTo(0);
+    assertThat(items.size()).isEqualTo(ITEM_COUNT);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      assertThat(items.keyAt(i)).isEqualTo(i + 1);
+      assertThat(items.valueAt(i)).isEqualTo(String.valueOf(i));
+    }
+  }
+
+  @Test
+  public void testMovesChangingOrderRemoveAndPutItems() {
+    final CountingDenseSparseArray<String> items = createItems();
+
+    ComponentHostUtils.moveItem(0, ITEM_COUNT, items, null);
+
+    assertThat(items.mShiftingOperationsCount).isEqualTo(2);
+    assertThat(items.keyAt(0)).isEqualTo(1);
+    assertThat(items.keyAt(ITEM_COUNT - 1)).isEqualTo(ITEM_COUNT);
+    assertThat(items.valueAt(ITEM_COUNT - 1)).isEqualTo("0");
+  }
+
+  @Test
+  public void testMovesOfScrapItemsAreNotRewrittenInPlace() {
+    final CountingDenseSparseArray<String> items = createItems();
+    final DenseSparseArray<String> scrapItems = new DenseSparseArray<>();
+    scrapItems.put(3, "scrap");
+    items.remove(ITEM_COUNT - 1);
+    items.mShiftingOperationsCount = 0;
+
+    ComponentHostUtils.moveItem(3, ITEM_COUNT - 1, items, scrapItems);
+
+    assertThat(items.mShiftingOperationsCount).isEqualTo(1);
+    assertThat(items.get(3)).isEqualTo("3");
+    assertThat(items.get(ITEM_COUNT - 1)).isEqualTo("scrap");
+    assertThat(scrapItems.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSparseStorageMountsMovesAndUnmounts() {
+    ComponentsConfiguration.useDenseMountItemStorage = false;
+    assertMountsMovesAndUnmounts();
+  }
+
+  @Test
+  public void testDenseStorageMountsMovesAndUnmounts() {
+    ComponentsConfiguration.useDenseMountItemStorage = true;
+    assertMountsMovesAndUnmounts();
+  }
+
+  private void assertMountsMovesAndUnmounts() {
+    final ComponentHost host = new ComponentHost(mContext);
+    final MountItem[] items = new MountItem[ITEM_COUNT];
+    final Rect bounds = new Rect(0, 0, 10, 10);
+
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      items[i] = createMountItem();
+      host.mount(i, items[i], bounds);
+    }
+
+    for (int i = ITEM_COUNT - 1; i >= 0; i--) {
+      host.moveItem(items[i], i, i + 1);
+    }
+
+    assertThat(host.getMountItemCount()).isEqualTo(ITEM_COUNT);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      assertThat(host.getMountItemAt(i)).isSameAs(items[i]);
+    }
+
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      host.unmount(i + 1, items[i]);
+    }
+
+    assertThat(host.getMountItemCount()).isEqualTo(0);
+  }
+
+  private static CountingDenseSparseArray<String> createItems() {
+    final CountingDenseSparseArray<String> items = new CountingDenseSparseArray<>();
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      items.put(i, String.valueOf(i));
+    }
+    items.mShiftingOperationsCount = 0;
+    return items;
+  }
+
+  private MountItem createMountItem() {
+    final MountItem mountItem = new MountItem();
+    mountItem.init(
+        mComponent,
+        null,
+        new ColorDrawable(),
+        null,
+        null,
+        null,
+        0,
+        IMPORTANT_FOR_ACCESSIBILITY_AUTO,
+        null);
+    return mountItem;
+  }
+
+  /** Counts the operations which may copy the keys and values of the array to shift them. */
+  private static class CountingDenseSparseArray<E> extends DenseSparseArray<E> {
+
+    int mShiftingOperationsCount;
+
+    @Override
+    public void put(int key, E value) {
+      mShiftingOperationsCount++;
+      super.put(key, value);
+    }
+
+    @Override
+    public void removeAt(int index) {
+      mShiftingOperationsCount++;
+      super.removeAt(index);
+    }
+  }
+}
@@ -583,6 +583,34 @@ public class ComponentHostTest {
     assertThat(mHost.getContentDescriptions()).doesNotContain(viewContentDescription);
   }
 
+  @Test
+  public void testContentDescriptionsAreCachedUntilDrawablesChange() {
+    mHost.setContentDescription("hostContentDescription");
+
+    final List<CharSequence> contentDescriptions = mHost.getCachedContentDescriptions();
+    assertThat(mHost.getCachedContentDescriptions()).isSameAs(contentDescriptions);
+
+    final MountItem mountItem = mount(0, new ColorDrawable(), 0, "drawableContentDescription");
+    assertThat(mHost.getCachedContentDescriptions())
+        .isNotSameAs(contentDescriptions)
+        .containsExactly("drawableContentDescription", "hostContentDescription");
+
+    mHost.moveItem(mountItem, 0, 1);
+    mHost.setContentDescription(null);
+    assertThat(mHost.getContentDescriptions()).containsExactly("drawableContentDescription");
+  }
+
+  @Test
+  public void testContentDescriptionsAreReturnedInAMutableCopy() {
+    mHost.setContentDescription("hostContentDescription");
+
+    final List<CharSequence> contentDescriptions = mHost.getContentDescriptions();
+    assertThat(contentDescriptions).isNotSameAs(mHost.getCachedContentDescriptions());
+
+    contentDescriptions.add("added");
+    assertThat(mHost.getContentDescriptions()).containsExactly("hostContentDescription");
+  }
+
   @Test
   public void testGetChildDrawingOrder() {
     View v1 = new View(mContext);
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class ComponentProfilerTest {
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private ComponentContext mContext;
+  private Component mDrawable;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mDrawable = TestDrawableComponent.create(mContext).build();
+    ComponentProfiler.reset();
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.componentProfilerSampleRate = 0;
+    ComponentProfiler.reset();
+  }
+
+  @Test
+  public void testNothingIsProfiledByDefault() {
+    calculateLayout();
+
+    assertThat(ComponentProfiler.getProfiledLayoutsCount()).isEqualTo(0);
+    assertThat(ComponentProfiler.getCallCount(mDrawable, ComponentProfiler.ON_PREPARE))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void testLifecycleMethodsAreAttributedToComponentType() {
+    ComponentsConfiguration.componentProfilerSampleRate = 1;
+
+    calculateLayout();
+    calculateLayout();
+
+    assertThat(ComponentProfiler.getProfiledLayoutsCount()).isEqualTo(2);
+    assertThat(ComponentProfiler.getCallCount(mDrawable, ComponentProfiler.ON_PREPARE))
+        .isEqualTo(4);
+    assertThat(ComponentProfiler.getCallCount(mDrawable, ComponentProfiler.ON_BOUNDS_DEFINED))
+        .isEqualTo(4);
+    assertThat(ComponentProfiler.dumpReport()).contains("TestDrawableComponent");
+  }
+
+  @Test
+  public void testOneLayoutOutOfSampleRateIsProfiled() {
+    ComponentsConfiguration.componentProfilerSampleRate = 2;
+
+    for (int i = 0; i < 4; i++) {
+      calculateLayout();
+    }
+
+    assertThat(ComponentProfiler.getProfiledLayoutsCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testLayoutEndedAfterDisablingProfilingIsClosed() {
+    ComponentsConfiguration.componentProfilerSampleRate = 1;
+    ComponentProfiler.beginLayout();
+    ComponentsConfiguration.componentProfilerSampleRate = 0;
+    ComponentProfiler.endLayout();
+
+    ComponentsConfiguration.componentProfilerSampleRate = 1;
+    calculateLayout();
+
+    // The second layout would be treated as nested in the first one if it wasn't closed.
+    assertThat(ComponentProfiler.getProfiledLayoutsCount()).isEqualTo(2);
+    assertThat(ComponentProfiler.getCallCount(mDrawable, ComponentProfiler.ON_PREPARE))
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void testWrittenReportHasOneLinePerMethod() throws IOException {
+    ComponentsConfiguration.componentProfilerSampleRate = 1;
+    calculateLayout();
+
+    final File file = mTemporaryFolder.newFile();
+    ComponentProfiler.writeReport(file);
+
+    final BufferedReader reader = new BufferedReader(new FileReader(file));
+    try {
+      assertThat(reader.readLine()).isEqualTo("component\tmethod\tcalls\tself_nanos\tallocations");
+      String line;
+      int drawableLines = 0;
+      while ((line = reader.readLine()) != null) {
+        assertThat(line.split("\t")).hasSize(5);
+        if (line.startsWith("TestDrawableComponent\t")) {
+          drawableLines++;
+        }
+      }
+      assertThat(drawableLines).isGreaterThanOrEqualTo(2);
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void calculateLayout() {
+    final Component root =
+        Column.create(mContext)
+            .child(TestDrawableComponent.create(mContext))
+            .child(TestDrawableComponent.create(mContext))
+            .build();
+
+    LayoutState.calculate(
+        mContext,
+        root,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY),
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class ComponentPropsHashTest {
+
+  @Test
+  public void testZeroPropsHashIsOnlyComputedOnce() {
+    final HashingComponent component = new HashingComponent(0);
+    final HashingComponent other = new HashingComponent(0);
+
+    assertThat(component.isPropsHashMatching(other)).isTrue();
+    assertThat(component.isPropsHashMatching(other)).isTrue();
+
+    assertThat(component.mComputeCount).isEqualTo(1);
+    assertThat(other.mComputeCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testDifferentPropsHashDoesNotMatch() {
+    assertThat(new HashingComponent(1).isPropsHashMatching(new HashingComponent(2))).isFalse();
+  }
+
+  private static class HashingComponent extends Component {
+
+    private final int mHash;
+    private int mComputeCount;
+
+    HashingComponent(int hash) {
+      super("HashingComponent");
+      mHash = hash;
+    }
+
+    @Override
+    protected int computePropsHash() {
+      mComputeCount++;
+      return mHash;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import android.content.ContextWrapper;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
 import org.junit.After;
 import org.junit.Before;
@@ -75,6 +76,29 @@ public class ComponentsPoolsTest {
         }
       };
 
+  private final ComponentLifecycle mSharedLifecycle =
+      new ComponentLifecycle() {
+        @Override
+        int getTypeId() {
+          return 3;
+        }
+
+        @Override
+        protected int poolSize() {
+          return POOL_SIZE;
+        }
+
+        @Override
+        protected boolean canShareMountContentAcrossContexts() {
+          return true;
+        }
+
+        @Override
+        public View onCreateMountContent(ComponentContext context) {
+          return new View(context);
+        }
+      };
+
   private ComponentContext mContext1;
   private ComponentContext mContext2;
   private ComponentContext mContext3;
@@ -83,6 +107,7 @@ public class ComponentsPoolsTest {
   private ComponentContext mActivityComponentContext;
   private ColorDrawable mMountContent;
   private View mNewMountContent;
+  private int mDefaultMaxSharedMountContentCount;
 
   @Before
   public void setup() {
@@ -94,11 +119,14 @@ public class ComponentsPoolsTest {
     mActivityComponentContext = new ComponentContext(mActivity);
     mMountContent = new ColorDrawable(Color.RED);
     mNewMountContent = new View(mContext1);
+    mDefaultMaxSharedMountContentCount = ComponentsConfiguration.maxSharedMountContentCount;
   }
 
   @After
   public void tearDown() {
     ComponentsPools.clearActivityCallbacks();
+    ComponentsConfiguration.shareMountContentAcrossContexts = false;
+    ComponentsConfiguration.maxSharedMountContentCount = mDefaultMaxSharedMountContentCount;
   }
 
   @Test
@@ -211,4 +239,72 @@ public class ComponentsPoolsTest {
     assertThat(acquireMountContent(mContext1, mLifecycleWithEmptyPoolSize))
         .isSameAs(mNewMountContent);
   }
+
+  @Test
+  public void testSharedMountContentIsRecycledAcrossContexts() {
+    ComponentsConfiguration.shareMountContentAcrossContexts = true;
+    ComponentsPools.clearMountContentPools();
+
+    final View content = (View) acquireMountContent(mActivityComponentContext, mSharedLifecycle);
+    assertThat(ContextUtils.getRootContext(content.getContext())).isSameAs(mActivity);
+
+    release(mActivityComponentContext, mSharedLifecycle, content);
+    assertThat(ContextUtils.getRootContext(content.getContext()))
+        .isSameAs(RuntimeEnvironment.application);
+
+    mActivityController.destroy();
+    ComponentsPools.onContextDestroyed(mActivity);
+
+    assertThat(acquireMountContent(mContext3, mSharedLifecycle)).isSameAs(content);
+    assertThat(ContextUtils.getRootContext(content.getContext()))
+        .isSameAs(RuntimeEnvironment.application);
+    assertThat(ComponentsPools.getSharedMountContentMissCount()).isEqualTo(1);
+    assertThat(ComponentsPools.getSharedMountContentHitCount()).isEqualTo(1);
+    assertThat(ComponentsPools.getSharedMountContentCrossContextHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testViewCreatedWithActivityIsNotShared() {
+    ComponentsConfiguration.shareMountContentAcrossContexts = true;
+    ComponentsPools.clearMountContentPools();
+
+    final View activityView = new View(mActivity);
+    release(mActivityComponentContext, mSharedLifecycle, activityView);
+
+    assertThat(acquireMountContent(mContext1, mSharedLifecycle)).isNotSameAs(activityView);
+    assertThat(ComponentsPools.getSharedMountContentHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSharedMountContentIsReboundToAcquiringContext() {
+    ComponentsConfiguration.shareMountContentAcrossContexts = true;
+    ComponentsPools.clearMountContentPools();
+
+    final View content = (View) acquireMountContent(mContext1, mSharedLifecycle);
+    release(mContext1, mSharedLifecycle, content);
+
+    assertThat(acquireMountContent(mActivityComponentContext, mSharedLifecycle))
+        .isSameAs(content);
+    assertThat(content.getContext()).isInstanceOf(ComponentContext.class);
+    assertThat(ContextUtils.getRootContext(content.getContext())).isSameAs(mActivity);
+    assertThat(content.getContext().getTheme()).isSameAs(mActivity.getTheme());
+  }
+
+  @Test
+  public void testSharedMountContentCountIsCapped() {
+    ComponentsConfiguration.shareMountContentAcrossContexts = true;
+    ComponentsConfiguration.maxSharedMountContentCount = 1;
+    ComponentsPools.clearMountContentPools();
+
+    final Object content1 = acquireMountContent(mContext1, mSharedLifecycle);
+    final Object content2 = acquireMountContent(mContext1, mSharedLifecycle);
+    release(mContext1, mSharedLifecycle, content1);
+    release(mContext1, mSharedLifecycle, content2);
+
+    assertThat(acquireMountContent(mContext1, mSharedLifecycle)).isSameAs(content1);
+    assertThat(acquireMountContent(mContext1, mSharedLifecycle))
+        .isNotSameAs(content1)
+        .isNotSameAs(content2);
+    assertThat(ComponentsPools.getSharedMountContentCrossContextHitCount()).isEqualTo(0);
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.DeferredVisibilityEvents.FOCUSED;
+import static com.facebook.litho.DeferredVisibilityEvents.FULL_IMPRESSION;
+import static com.facebook.litho.DeferredVisibilityEvents.INVISIBLE;
+import static com.facebook.litho.DeferredVisibilityEvents.UNFOCUSED;
+import static com.facebook.litho.DeferredVisibilityEvents.VISIBLE;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestComponent;
+import com.facebook.litho.testing.TestViewComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(ComponentsTestRunner.class)
+public class DeferredVisibilityEventsTest {
+  private static final long FIRST_ID = 1;
+  private static final long SECOND_ID = 2;
+
+  private final DeferredVisibilityEvents mEvents = new DeferredVisibilityEvents();
+  private TestComponent mComponent;
+  private EventHandler mVisibleHandler;
+  private EventHandler mInvisibleHandler;
+  private EventHandler mFocusedHandler;
+  private EventHandler mUnfocusedHandler;
+  private EventHandler mFullImpressionHandler;
+
+  @Before
+  public void setup() {
+    mComponent =
+        TestViewComponent.create(new ComponentContext(RuntimeEnvironment.application)).build();
+    mVisibleHandler = new EventHandler<>(mComponent, 1);
+    mInvisibleHandler = new EventHandler<>(mComponent, 2);
+    mFocusedHandler = new EventHandler<>(mComponent, 3);
+    mUnfocusedHandler = new EventHandler<>(mComponent, 4);
+    mFullImpressionHandler = new EventHandler<>(mComponent, 5);
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.deferredVisibilityEventsWindowMs = 0;
+  }
+
+  @Test
+  public void testEventsAreDispatchedAfterTheFrameInOrder() {
+    mEvents.add(FIRST_ID, VISIBLE, mVisibleHandler, true);
+    mEvents.add(SECOND_ID, INVISIBLE, mInvisibleHandler, true);
+    mEvents.add(FIRST_ID, FULL_IMPRESSION, mFullImpressionHandler, true);
+    assertThat(mComponent.getDispatchedEventHandlers()).isEmpty();
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mComponent.getDispatchedEventHandlers())
+        .containsExactly(mVisibleHandler, mInvisibleHandler, mFullImpressionHandler);
+    assertThat(mEvents.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testFlickerIsCoalesced() {
+    mEvents.add(FIRST_ID, VISIBLE, mVisibleHandler, true);
+    mEvents.add(FIRST_ID, FOCUSED, mFocusedHandler, true);
+    mEvents.add(FIRST_ID, FULL_IMPRESSION, mFullImpressionHandler, true);
+    mEvents.add(SECOND_ID, VISIBLE, mVisibleHandler, true);
+    mEvents.add(FIRST_ID, INVISIBLE, mInvisibleHandler, true);
+    mEvents.add(FIRST_ID, UNFOCUSED, mUnfocusedHandler, true);
+    assertThat(mEvents.getPendingCount()).isEqualTo(1);
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mComponent.getDispatchedEventHandlers()).containsExactly(mVisibleHandler);
+  }
+
+  @Test
+  public void testEventWhichCannotCoalesceIsKept() {
+    mEvents.add(FIRST_ID, INVISIBLE, mInvisibleHandler, true);
+    mEvents.add(FIRST_ID, VISIBLE, mVisibleHandler, false);
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mComponent.getDispatchedEventHandlers())
+        .containsExactly(mInvisibleHandler, mVisibleHandler);
+  }
+
+  @Test
+  public void testFlickerWithinWindowIsCoalesced() {
+    ComponentsConfiguration.deferredVisibilityEventsWindowMs = 100;
+
+    mEvents.add(FIRST_ID, VISIBLE, mVisibleHandler, true);
+    Robolectric.getForegroundThreadScheduler().advanceBy(50);
+    assertThat(mComponent.getDispatchedEventHandlers()).isEmpty();
+
+    mEvents.add(FIRST_ID, INVISIBLE, mInvisibleHandler, true);
+    mEvents.add(SECOND_ID, VISIBLE, mVisibleHandler, true);
+    Robolectric.getForegroundThreadScheduler().advanceBy(100);
+    assertThat(mComponent.getDispatchedEventHandlers()).containsExactly(mVisibleHandler);
+  }
+
+  @Test
+  public void testFlushDispatchesPendingEvents() {
+    ComponentsConfiguration.deferredVisibilityEventsWindowMs = 100;
+
+    mEvents.add(FIRST_ID, VISIBLE, mVisibleHandler, true);
+    mEvents.flush();
+    assertThat(mComponent.getDispatchedEventHandlers()).containsExactly(mVisibleHandler);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.support.v4.util.SparseArrayCompat;
+import java.util.Random;
+import org.junit.Test;
+
+public class DenseSparseArrayTest {
+
+  @Test
+  public void testAppendedAndInsertedKeysAreSorted() {
+    final DenseSparseArray<String> array = new DenseSparseArray<>(1);
+    array.put(2, "2");
+    array.put(5, "5");
+    array.put(0, "0");
+    array.put(3, "3");
+    array.put(5, "five");
+
+    assertThat(array.size()).isEqualTo(4);
+    assertThat(array.keyAt(0)).isEqualTo(0);
+    assertThat(array.keyAt(1)).isEqualTo(2);
+    assertThat(array.keyAt(2)).isEqualTo(3);
+    assertThat(array.keyAt(3)).isEqualTo(5);
+    assertThat(array.get(5)).isEqualTo("five");
+    assertThat(array.get(4)).isNull();
+    assertThat(array.get(4, "default")).isEqualTo("default");
+    assertThat(array.toString()).isEqualTo("{0=0, 2=2, 3=3, 5=five}");
+  }
+
+  @Test
+  public void testRemovedKeysAreCompacted() {
+    final DenseSparseArray<String> array = new DenseSparseArray<>();
+    for (int i = 0; i < 6; i++) {
+      array.put(i, String.valueOf(i));
+    }
+
+    array.remove(5);
+    array.remove(1);
+    array.delete(42);
+    array.removeAtRange(1, 2);
+
+    assertThat(array.size()).isEqualTo(2);
+    assertThat(array.keyAt(0)).isEqualTo(0);
+    assertThat(array.keyAt(1)).isEqualTo(4);
+    assertThat(array.indexOfKey(4)).isEqualTo(1);
+    assertThat(array.indexOfKey(2)).isEqualTo(-1);
+
+    array.clear();
+    assertThat(array.size()).isEqualTo(0);
+    assertThat(array.get(0)).isNull();
+  }
+
+  @Test
+  public void testMoveKeyKeepsOrder() {
+    final DenseSparseArray<String> array = new DenseSparseArray<>();
+    array.put(1, "a");
+    array.put(4, "b");
+    array.put(8, "c");
+
+    assertThat(array.moveKey(4, 6)).isTrue();
+    assertThat(array.get(6)).isEqualTo("b");
+    assertThat(array.get(4)).isNull();
+    assertThat(array.indexOfKey(6)).isEqualTo(1);
+
+    assertThat(array.moveKey(6, 9)).isFalse();
+    assertThat(array.moveKey(6, 8)).isFalse();
+    assertThat(array.moveKey(5, 7)).isFalse();
+    assertThat(array.get(6)).isEqualTo("b");
+  }
+
+  @Test
+  public void testCloneIsIndependent() {
+    final DenseSparseArray<String> array = new DenseSparseArray<>();
+    array.put(1, "a");
+
+    final DenseSparseArray<String> clone = array.clone();
+    clone.put(2, "b");
+
+    assertThat(array.size()).isEqualTo(1);
+    assertThat(clone.size()).isEqualTo(2);
+    assertThat(clone.get(1)).isEqualTo("a");
+  }
+
+  @Test
+  public void testBehavesLikeSparseArrayCompat() {
+    final SparseArrayCompat<Integer> expected = new SparseArrayCompat<>();
+    final DenseSparseArray<Integer> actual = new DenseSparseArray<>();
+    final Random random = new Random(42);
+
+    for (int i = 0; i < 1000; i++) {
+      final int key = random.nextInt(64);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        actual.remove(key);
+      } else {
+        expected.put(key, i);
+        actual.put(key, i);
+      }
+    }
+
+    assertThat(actual.size()).isEqualTo(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.keyAt(i)).isEqualTo(expected.keyAt(i));
+      assertThat(actual.valueAt(i)).isEqualTo(expected.valueAt(i));
+    }
+  }
+}
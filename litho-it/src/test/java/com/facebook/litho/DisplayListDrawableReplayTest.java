@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import com.facebook.litho.displaylist.DisplayList;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Draws a drawable through a {@link DisplayListDrawable} backed by a recording {@link
+ * DisplayList}, and checks that replaying the recording draws the same as drawing the drawable
+ * directly.
+ */
+@RunWith(ComponentsTestRunner.class)
+public class DisplayListDrawableReplayTest {
+
+  @Test
+  public void testReplayDrawsLikeDirectDrawing() {
+    final TestDrawable drawable = new TestDrawable(false);
+    final DisplayListContainer displayListContainer = createDisplayListContainer();
+    final DisplayListDrawable displayListDrawable =
+        new DisplayListDrawable(drawable, displayListContainer);
+    displayListDrawable.setBounds(10, 20, 110, 70);
+
+    final DrawCallsCanvas directCanvas = new DrawCallsCanvas();
+    drawable.draw(directCanvas);
+
+    final DrawCallsCanvas replayCanvas = new DrawCallsCanvas();
+    displayListDrawable.draw(replayCanvas);
+
+    assertThat(displayListContainer.hasValidDisplayList()).isTrue();
+    assertThat(replayCanvas.mDrawCalls).isNotEmpty().isEqualTo(directCanvas.mDrawCalls);
+
+    // Drawing again replays the same recording.
+    final DrawCallsCanvas secondReplayCanvas = new DrawCallsCanvas();
+    displayListDrawable.draw(secondReplayCanvas);
+    assertThat(secondReplayCanvas.mDrawCalls).isEqualTo(directCanvas.mDrawCalls);
+  }
+
+  @Test
+  public void testUnsupportedCommandFallsBackToDirectDrawing() {
+    final TestDrawable drawable = new TestDrawable(true);
+    final DisplayListContainer displayListContainer = createDisplayListContainer();
+    final DisplayListDrawable displayListDrawable =
+        new DisplayListDrawable(drawable, displayListContainer);
+    displayListDrawable.setBounds(10, 20, 110, 70);
+
+    final DrawCallsCanvas directCanvas = new DrawCallsCanvas();
+    drawable.draw(directCanvas);
+
+    final DrawCallsCanvas replayCanvas = new DrawCallsCanvas();
+    displayListDrawable.draw(replayCanvas);
+
+    assertThat(displayListContainer.hasValidDisplayList()).isFalse();
+    assertThat(replayCanvas.mDrawCalls).isEqualTo(directCanvas.mDrawCalls);
+  }
+
+  private static DisplayListContainer createDisplayListContainer() {
+    final DisplayListContainer displayListContainer = new DisplayListContainer();
+    displayListContainer.init("test", true);
+    displayListContainer.setDisplayList(DisplayList.createRecordingDisplayList("test"));
+    return displayListContainer;
+  }
+
+  private static class TestDrawable extends Drawable {
+
+    private final Paint mPaint = new Paint();
+    private final boolean mDrawPoint;
+
+    TestDrawable(boolean drawPoint) {
+      mDrawPoint = drawPoint;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+      final Rect bounds = getBounds();
+
+      mPaint.setColor(Color.RED);
+      canvas.drawRect(bounds.left, bounds.top, bounds.right, bounds.bottom, mPaint);
+
+      // The paint is mutated between draw calls, as drawables commonly do.
+      mPaint.setColor(Color.BLUE);
+      canvas.drawCircle(bounds.centerX(), bounds.centerY(), 5, mPaint);
+      canvas.drawText("text", bounds.left, bounds.bottom, mPaint);
+
+      if (mDrawPoint) {
+        canvas.drawPoint(bounds.left, bounds.top, mPaint);
+      }
+    }
+
+    @Override
+    public void setAlpha(int alpha) {}
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {}
+
+    @Override
+    public int getOpacity() {
+      return PixelFormat.OPAQUE;
+    }
+  }
+
+  /**
+   * Records the draw calls issued on it in the coordinates of the canvas they would be drawn into,
+   * so that direct and replayed drawing can be compared regardless of how they were translated.
+   */
+  private static class DrawCallsCanvas extends Canvas {
+
+    private final List<String> mDrawCalls = new ArrayList<>();
+    private final List<float[]> mSavedTranslations = new ArrayList<>();
+    private float mTranslateX;
+    private float mTranslateY;
+
+    @Override
+    public int save() {
+      mSavedTranslations.add(new float[] {mTranslateX, mTranslateY});
+      return mSavedTranslations.size();
+    }
+
+    @Override
+    public int getSaveCount() {
+      return mSavedTranslations.size() + 1;
+    }
+
+    @Override
+    public void restore() {
+      restoreToCount(mSavedTranslations.size());
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+      while (mSavedTranslations.size() >= saveCount) {
+        final float[] translation = mSavedTranslations.remove(mSavedTranslations.size() - 1);
+        mTranslateX = translation[0];
+        mTranslateY = translation[1];
+      }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+      mTranslateX += dx;
+      mTranslateY += dy;
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+      return true;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+      mDrawCalls.add(
+          "rect " + x(left) + " " + y(top) + " " + x(right) + " " + y(bottom) + " " + color(paint));
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+      mDrawCalls.add("circle " + x(cx) + " " + y(cy) + " " + radius + " " + color(paint));
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+      mDrawCalls.add("text " + text + " " + x(x) + " " + y(y) + " " + color(paint));
+    }
+
+    @Override
+    public void drawPoint(float x, float y, Paint paint) {
+      mDrawCalls.add("point " + x(x) + " " + y(y) + " " + color(paint));
+    }
+
+    private float x(float x) {
+      return x + mTranslateX;
+    }
+
+    private float y(float y) {
+      return y + mTranslateY;
+    }
+
+    private static String color(Paint paint) {
+      return Integer.toHexString(paint.getColor());
+    }
+  }
+}
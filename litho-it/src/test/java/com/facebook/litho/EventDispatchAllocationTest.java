@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import android.view.View;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Measures the bytes allocated by the framework when dispatching click and visibility events to
+ * an {@link EventHandler} and when dispatching an {@link EventTrigger}. The dispatcher and trigger
+ * target used here don't allocate, so everything counted is dispatch overhead. Each measurement
+ * is the minimum over a few frames of many dispatches, to leave out one-off allocations by the JIT
+ * or the runtime.
+ */
+@RunWith(ComponentsTestRunner.class)
+public class EventDispatchAllocationTest {
+
+  private static final int WARMUP_FRAMES = 50;
+  private static final int MEASURED_FRAMES = 10;
+  private static final int DISPATCHES_PER_FRAME = 100;
+
+  /** Bytes a single dispatch may allocate on average, less than an empty params array. */
+  private static final long DISPATCH_BUDGET_BYTES = 8;
+
+  private final RecordingEventDispatcher mDispatcher = new RecordingEventDispatcher();
+  private ComponentContext mContext;
+  private MountAllocationTracker mTracker;
+
+  @Before
+  public void setup() {
+    assumeTrue(MountAllocationTracker.isSupported());
+
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mTracker = new MountAllocationTracker();
+    mTracker.start();
+  }
+
+  @After
+  public void tearDown() {
+    if (mTracker != null) {
+      mTracker.stop();
+    }
+  }
+
+  @Test
+  public void testClickDispatchAllocationsAreBounded() {
+    final EventHandler<ClickEvent> clickHandler =
+        new EventHandler<>(mDispatcher, 1, new Object[] {mContext});
+    final View view = new View(mContext);
+
+    final long bytes =
+        measureDispatches(
+            new Runnable() {
+              @Override
+              public void run() {
+                EventDispatcherUtils.dispatchOnClick(clickHandler, view);
+              }
+            });
+
+    assertThat(bytes).isLessThanOrEqualTo(DISPATCH_BUDGET_BYTES * DISPATCHES_PER_FRAME);
+    assertThat(mDispatcher.mLastEventHandler).isSameAs(clickHandler);
+    assertThat(mDispatcher.mLastEventHandler.params[0]).isSameAs(mContext);
+    assertThat(mDispatcher.mLastEventState).isInstanceOf(ClickEvent.class);
+  }
+
+  @Test
+  public void testVisibleDispatchAllocationsAreBounded() {
+    final EventHandler<VisibleEvent> visibleHandler =
+        new EventHandler<>(mDispatcher, 2, new Object[] {mContext});
+
+    final long bytes =
+        measureDispatches(
+            new Runnable() {
+              @Override
+              public void run() {
+                EventDispatcherUtils.dispatchOnVisible(visibleHandler);
+              }
+            });
+
+    assertThat(bytes).isLessThanOrEqualTo(DISPATCH_BUDGET_BYTES * DISPATCHES_PER_FRAME);
+    assertThat(mDispatcher.mLastEventHandler).isSameAs(visibleHandler);
+    assertThat(mDispatcher.mLastEventState).isInstanceOf(VisibleEvent.class);
+  }
+
+  @Test
+  public void testTriggerWithoutParamsDispatchAllocationsAreBounded() {
+    final RecordingTriggerTarget target = new RecordingTriggerTarget();
+    final EventTrigger<ClickEvent> trigger = new EventTrigger<>("parent", 3, "child");
+    trigger.mTriggerTarget = target;
+    final ClickEvent event = new ClickEvent();
+
+    final long bytes =
+        measureDispatches(
+            new Runnable() {
+              @Override
+              public void run() {
+                trigger.dispatchOnTrigger(event);
+              }
+            });
+
+    assertThat(bytes).isLessThanOrEqualTo(DISPATCH_BUDGET_BYTES * DISPATCHES_PER_FRAME);
+    assertThat(target.mLastEventState).isSameAs(event);
+    assertThat(target.mLastParams).isEmpty();
+  }
+
+  /** @return the fewest bytes allocated by a frame of dispatches. */
+  private long measureDispatches(Runnable dispatch) {
+    for (int i = 0; i < WARMUP_FRAMES; i++) {
+      dispatchFrame(dispatch);
+    }
+
+    long minBytes = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_FRAMES; i++) {
+      mTracker.beginFrame();
+      dispatchFrame(dispatch);
+      mTracker.endFrame();
+      minBytes = Math.min(minBytes, mTracker.getFrameAllocatedBytes());
+    }
+
+    return minBytes;
+  }
+
+  private static void dispatchFrame(Runnable dispatch) {
+    for (int i = 0; i < DISPATCHES_PER_FRAME; i++) {
+      dispatch.run();
+    }
+  }
+
+  private static class RecordingEventDispatcher implements HasEventDispatcher, EventDispatcher {
+
+    private EventHandler mLastEventHandler;
+    private Object mLastEventState;
+
+    @Override
+    public EventDispatcher getEventDispatcher() {
+      return this;
+    }
+
+    @Override
+    public Object dispatchOnEvent(EventHandler eventHandler, Object eventState) {
+      mLastEventHandler = eventHandler;
+      mLastEventState = eventState;
+      return null;
+    }
+  }
+
+  private static class RecordingTriggerTarget implements EventTriggerTarget {
+
+    private Object mLastEventState;
+    private Object[] mLastParams;
+
+    @Override
+    public Object acceptTriggerEvent(
+        EventTrigger eventTrigger, Object eventState, Object[] params) {
+      mLastEventState = eventState;
+      mLastParams = params;
+      return null;
+    }
+  }
+}
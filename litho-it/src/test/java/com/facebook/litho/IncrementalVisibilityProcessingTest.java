@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.testing.TestViewComponent.create;
+import static com.facebook.litho.testing.helper.ComponentTestHelper.mountComponent;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import android.widget.FrameLayout;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.testing.util.InlineLayoutSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class IncrementalVisibilityProcessingTest {
+  private static final int ITEM_COUNT = 10;
+  private static final int ITEM_HEIGHT = 10;
+
+  private ComponentContext mContext;
+  private LithoView mLithoView;
+  private TestComponent[] mItems;
+  private EventHandler<VisibleEvent>[] mVisibleHandlers;
+  private EventHandler<InvisibleEvent>[] mInvisibleHandlers;
+
+  @Before
+  public void setup() {
+    ComponentsConfiguration.processVisibilityOutputsIncrementally = true;
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+
+    mLithoView = new LithoView(mContext);
+    final FrameLayout parent = new FrameLayout(mContext);
+    parent.setLeft(0);
+    parent.setTop(0);
+    parent.setRight(10);
+    parent.setBottom(20);
+    parent.addView(mLithoView);
+
+    mItems = new TestComponent[ITEM_COUNT];
+    mVisibleHandlers = new EventHandler[ITEM_COUNT];
+    mInvisibleHandlers = new EventHandler[ITEM_COUNT];
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      mItems[i] = create(mContext).build();
+      mVisibleHandlers[i] = new EventHandler<>(mItems[i], 1);
+      mInvisibleHandlers[i] = new EventHandler<>(mItems[i], 2);
+    }
+
+    mountComponent(
+        mContext,
+        mLithoView,
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(ComponentContext c) {
+            final Column.Builder column = Column.create(c);
+            for (int i = 0; i < ITEM_COUNT; i++) {
+              column.child(
+                  Wrapper.create(c)
+                      .delegate(mItems[i])
+                      .visibleHandler(mVisibleHandlers[i])
+                      .invisibleHandler(mInvisibleHandlers[i])
+                      .widthPx(10)
+                      .heightPx(ITEM_HEIGHT));
+            }
+            return column.build();
+          }
+        },
+        true,
+        10,
+        ITEM_COUNT * ITEM_HEIGHT);
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.processVisibilityOutputsIncrementally = false;
+  }
+
+  @Test
+  public void testScrollOnlyProcessesOutputsCrossingMovedEdges() {
+    mLithoView.performIncrementalMount(new Rect(0, 0, 10, 20), true);
+    clearDispatchedEventHandlers();
+
+    mLithoView.performIncrementalMount(new Rect(0, 10, 10, 30), true);
+    assertThat(mLithoView.getMountState().getVisibilityOutputsEvaluatedCount()).isEqualTo(2);
+    assertThat(mItems[0].getDispatchedEventHandlers()).containsExactly(mInvisibleHandlers[0]);
+    assertThat(mItems[1].getDispatchedEventHandlers()).isEmpty();
+    assertThat(mItems[2].getDispatchedEventHandlers()).containsExactly(mVisibleHandlers[2]);
+    assertThat(mItems[3].getDispatchedEventHandlers()).isEmpty();
+  }
+
+  @Test
+  public void testScrollPastItemsDispatchesEventsForAllOfThem() {
+    mLithoView.performIncrementalMount(new Rect(0, 0, 10, 20), true);
+    clearDispatchedEventHandlers();
+
+    mLithoView.performIncrementalMount(new Rect(0, 50, 10, 70), true);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      if (i < 2) {
+        assertThat(mItems[i].getDispatchedEventHandlers()).containsExactly(mInvisibleHandlers[i]);
+      } else if (i >= 5 && i < 7) {
+        assertThat(mItems[i].getDispatchedEventHandlers()).containsExactly(mVisibleHandlers[i]);
+      } else {
+        assertThat(mItems[i].getDispatchedEventHandlers()).isEmpty();
+      }
+    }
+  }
+
+  @Test
+  public void testHorizontalChangeProcessesAllOutputs() {
+    mLithoView.performIncrementalMount(new Rect(0, 0, 10, 20), true);
+    mLithoView.performIncrementalMount(new Rect(0, 0, 5, 20), true);
+
+    assertThat(mLithoView.getMountState().getVisibilityOutputsEvaluatedCount())
+        .isEqualTo(ITEM_COUNT);
+  }
+
+  private void clearDispatchedEventHandlers() {
+    for (TestComponent item : mItems) {
+      item.getDispatchedEventHandlers().clear();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.widget.Text;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class IsEquivalentToStatsTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    ComponentsConfiguration.collectIsEquivalentToStats = true;
+    IsEquivalentToStats.reset();
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.collectIsEquivalentToStats = false;
+    IsEquivalentToStats.reset();
+  }
+
+  @Test
+  public void testDifferentPropsAreRejectedByHash() {
+    final Component first = Text.create(mContext).text("first").build();
+    final Component second = Text.create(mContext).text("second").build();
+
+    assertThat(first.isEquivalentTo(second)).isFalse();
+    assertThat(IsEquivalentToStats.getComparisonCount("Text")).isEqualTo(1);
+    assertThat(IsEquivalentToStats.getFastRejectCount("Text")).isEqualTo(1);
+  }
+
+  @Test
+  public void testEquivalentPropsAreComparedFully() {
+    final Component first = Text.create(mContext).text("same").textSizePx(10).build();
+    final Component second = Text.create(mContext).text("same").textSizePx(10).build();
+
+    assertThat(first.isEquivalentTo(second)).isTrue();
+    assertThat(second.isEquivalentTo(first)).isTrue();
+    assertThat(IsEquivalentToStats.getComparisonCount("Text")).isEqualTo(2);
+    assertThat(IsEquivalentToStats.getFastRejectCount("Text")).isEqualTo(0);
+  }
+
+  @Test
+  public void testNoStatsAreCollectedWhenDisabled() {
+    ComponentsConfiguration.collectIsEquivalentToStats = false;
+    final Component first = Text.create(mContext).text("first").build();
+    final Component second = Text.create(mContext).text("second").build();
+
+    assertThat(first.isEquivalentTo(second)).isFalse();
+    assertThat(IsEquivalentToStats.getComparisonCount("Text")).isEqualTo(0);
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.res.Resources;
+import android.os.Looper;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.powermock.reflect.Whitebox;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(ComponentsTestRunner.class)
+public class LayoutSnapshotTest {
+
+  private static final long KEY = 42;
+  private static final int WIDTH_SPEC = makeSizeSpec(100, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(0, UNSPECIFIED);
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private ComponentContext mContext;
+  private Resources mResources;
+  private File mFile;
+  private ShadowLooper mLayoutThreadShadowLooper;
+  private ShadowLooper mLayoutSnapshotThreadShadowLooper;
+
+  @Before
+  public void setup() throws Exception {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mResources = mContext.getResources();
+    mFile = new File(mTemporaryFolder.getRoot(), "layout_snapshot");
+    mLayoutThreadShadowLooper =
+        Shadows.shadowOf(
+            (Looper) Whitebox.invokeMethod(ComponentTree.class, "getDefaultLayoutThreadLooper"));
+    mLayoutSnapshotThreadShadowLooper =
+        Shadows.shadowOf(
+            (Looper) Whitebox.invokeMethod(ComponentTree.class, "getLayoutSnapshotThreadLooper"));
+  }
+
+  @After
+  public void tearDown() {
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+    mLayoutSnapshotThreadShadowLooper.runToEndOfTasks();
+  }
+
+  @Test
+  public void testWrittenSnapshotIsReadBack() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    final LayoutSnapshot snapshot =
+        LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState);
+    snapshot.write(mFile);
+
+    final LayoutSnapshot readSnapshot = LayoutSnapshot.read(mFile, KEY, mResources);
+    assertThat(readSnapshot).isNotNull();
+    assertThat(readSnapshot.isSameLayout(snapshot)).isTrue();
+    assertThat(readSnapshot.isCompatibleSpec(WIDTH_SPEC, HEIGHT_SPEC)).isTrue();
+    assertThat(readSnapshot.getWidth()).isEqualTo(100);
+    assertThat(readSnapshot.getHeight()).isEqualTo(20);
+  }
+
+  @Test
+  public void testFirstCommittedLayoutIsWrittenInTheBackground() {
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, createRoot(50)).layoutSnapshot(mFile, KEY).build();
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+
+    componentTree.setSizeSpec(WIDTH_SPEC, HEIGHT_SPEC);
+    assertThat(mFile.exists()).isFalse();
+
+    mLayoutSnapshotThreadShadowLooper.runToEndOfTasks();
+    final LayoutSnapshot snapshot = LayoutSnapshot.read(mFile, KEY, mResources);
+    assertThat(snapshot).isNotNull();
+    assertThat(snapshot.getHeight()).isEqualTo(50);
+  }
+
+  @Test
+  public void testSnapshotIsNotUsedAfterRootChanges() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState).write(mFile);
+
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, createRoot(20)).layoutSnapshot(mFile, KEY).build();
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+    componentTree.setRoot(createRoot(50));
+
+    final int[] measureOutput = new int[2];
+    componentTree.measure(WIDTH_SPEC, HEIGHT_SPEC, measureOutput, false);
+    assertThat(measureOutput[1]).isEqualTo(50);
+  }
+
+  @Test
+  public void testSnapshotWithDifferentKeyIsIgnored() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState).write(mFile);
+
+    assertThat(LayoutSnapshot.read(mFile, KEY + 1, mResources)).isNull();
+  }
+
+  @Test
+  public void testSnapshotWithDifferentConfigurationIsIgnored() throws IOException {
+    final float density = mResources.getDisplayMetrics().density;
+    final float fontScale = mResources.getConfiguration().fontScale;
+    final String locale = mResources.getConfiguration().locale.toString();
+
+    createSnapshot(density, fontScale, locale).write(mFile);
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNotNull();
+
+    createSnapshot(density * 2, fontScale, locale).write(mFile);
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNull();
+
+    createSnapshot(density, fontScale * 2, locale).write(mFile);
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNull();
+
+    createSnapshot(density, fontScale, locale + "_x").write(mFile);
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNull();
+  }
+
+  @Test
+  public void testMissingOrCorruptSnapshotIsIgnored() throws IOException {
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNull();
+
+    final FileOutputStream outputStream = new FileOutputStream(mFile);
+    outputStream.write(new byte[] {0x4C, 0x53, 0x4E, 0x50, 0, 0});
+    outputStream.close();
+
+    assertThat(LayoutSnapshot.read(mFile, KEY, mResources)).isNull();
+  }
+
+  @Test
+  public void testSnapshotIsNotUsedToCalculateLayout() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState).write(mFile);
+
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, createRoot(50)).layoutSnapshot(mFile, KEY).build();
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+
+    final LayoutState withSnapshot = calculate(componentTree);
+    assertThat(withSnapshot.getMountableOutputAt(1).getBounds().height()).isEqualTo(50);
+  }
+
+  @Test
+  public void testSnapshotSizeIsOnlyUsedForFirstMeasure() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState).write(mFile);
+
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, createRoot(50)).layoutSnapshot(mFile, KEY).build();
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+
+    final int[] measureOutput = new int[2];
+    componentTree.measure(WIDTH_SPEC, HEIGHT_SPEC, measureOutput, false);
+    assertThat(measureOutput[1]).isEqualTo(20);
+
+    // The real layout is calculated in the background, calling onMeasure as usual.
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+    componentTree.measure(WIDTH_SPEC, HEIGHT_SPEC, measureOutput, false);
+    assertThat(measureOutput[1]).isEqualTo(50);
+  }
+
+  @Test
+  public void testMeasureBeforeSnapshotIsReadCalculatesLayout() throws IOException {
+    final LayoutState layoutState = calculate(ComponentTree.create(mContext, createRoot(20)));
+    LayoutSnapshot.create(KEY, mResources, WIDTH_SPEC, HEIGHT_SPEC, layoutState).write(mFile);
+
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, createRoot(50)).layoutSnapshot(mFile, KEY).build();
+
+    final int[] measureOutput = new int[2];
+    componentTree.measure(WIDTH_SPEC, HEIGHT_SPEC, measureOutput, false);
+    assertThat(measureOutput[1]).isEqualTo(50);
+  }
+
+  private LayoutSnapshot createSnapshot(float density, float fontScale, String locale) {
+    return new LayoutSnapshot(
+        KEY, density, fontScale, locale, WIDTH_SPEC, HEIGHT_SPEC, 100, 20);
+  }
+
+  private LayoutState calculate(ComponentTree.Builder builder) {
+    return calculate(builder.build());
+  }
+
+  private LayoutState calculate(ComponentTree componentTree) {
+    return componentTree.calculateLayoutState(
+        null,
+        mContext,
+        componentTree.getRoot(),
+        WIDTH_SPEC,
+        HEIGHT_SPEC,
+        true /* diffingEnabled */,
+        null /* diffNode */,
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
+  private Component createRoot(int childHeight) {
+    return Column.create(mContext)
+        .child(TestDrawableComponent.create(mContext).measuredHeight(childHeight))
+        .build();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.facebook.litho.displaylist.DisplayList;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class LayoutStateDisplayListReuseTest {
+
+  private LayoutState mLayoutState;
+  private Component mComponent;
+  private DisplayList mDisplayList;
+  private LayoutOutput mPreviousOutput;
+
+  @Before
+  public void setup() {
+    mLayoutState = new LayoutState();
+    mComponent = mock(Component.class);
+    mDisplayList = mock(DisplayList.class);
+    when(mDisplayList.isValid()).thenReturn(true);
+
+    mPreviousOutput = createLayoutOutput(mComponent, 0, 0, 100, 100);
+    mPreviousOutput.setDisplayList(mDisplayList);
+  }
+
+  @After
+  public void tearDown() {
+    ThreadUtils.setMainThreadOverride(ThreadUtils.OVERRIDE_DISABLED);
+  }
+
+  @Test
+  public void testDisplayListIsReusedForEquivalentComponentWithSameBounds() {
+    final Component nextComponent = mock(Component.class);
+    when(nextComponent.isEquivalentTo(mComponent)).thenReturn(true);
+    final LayoutOutput nextOutput = createLayoutOutput(nextComponent, 0, 0, 100, 100);
+
+    assertThat(LayoutState.maybeReuseDisplayList(mLayoutState, nextOutput, mPreviousOutput))
+        .isTrue();
+    assertThat(nextOutput.getDisplayList()).isSameAs(mDisplayList);
+    assertThat(nextOutput.getDisplayListContainer())
+        .isNotSameAs(mPreviousOutput.getDisplayListContainer());
+    assertThat(mLayoutState.getDisplayListsReusedCount()).isEqualTo(1);
+
+    // Releasing the previous output must not take the display list away from the new one.
+    mPreviousOutput.getDisplayListContainer().release();
+    assertThat(nextOutput.getDisplayList()).isSameAs(mDisplayList);
+  }
+
+  @Test
+  public void testDisplayListIsNotReusedWhenBoundsChange() {
+    final Component nextComponent = mock(Component.class);
+    when(nextComponent.isEquivalentTo(mComponent)).thenReturn(true);
+    final LayoutOutput nextOutput = createLayoutOutput(nextComponent, 0, 0, 100, 120);
+
+    assertThat(LayoutState.maybeReuseDisplayList(mLayoutState, nextOutput, mPreviousOutput))
+        .isFalse();
+    assertThat(nextOutput.getDisplayList()).isNull();
+    assertThat(mLayoutState.getDisplayListsReusedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDisplayListIsNotReusedForDifferentComponent() {
+    final Component nextComponent = mock(Component.class);
+    when(nextComponent.isEquivalentTo(mComponent)).thenReturn(false);
+    final LayoutOutput nextOutput = createLayoutOutput(nextComponent, 0, 0, 100, 100);
+
+    assertThat(LayoutState.maybeReuseDisplayList(mLayoutState, nextOutput, mPreviousOutput))
+        .isFalse();
+    assertThat(nextOutput.getDisplayList()).isNull();
+    assertThat(mLayoutState.getDisplayListsReusedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDisplayListIsNotReusedOffMainThread() {
+    ThreadUtils.setMainThreadOverride(ThreadUtils.OVERRIDE_MAIN_THREAD_FALSE);
+    final Component nextComponent = mock(Component.class);
+    when(nextComponent.isEquivalentTo(mComponent)).thenReturn(true);
+    final LayoutOutput nextOutput = createLayoutOutput(nextComponent, 0, 0, 100, 100);
+
+    assertThat(LayoutState.maybeReuseDisplayList(mLayoutState, nextOutput, mPreviousOutput))
+        .isFalse();
+    assertThat(nextOutput.getDisplayList()).isNull();
+    assertThat(mLayoutState.getDisplayListsReusedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testHostTranslationIsTakenIntoAccount() {
+    final Component nextComponent = mock(Component.class);
+    when(nextComponent.isEquivalentTo(mComponent)).thenReturn(true);
+    final LayoutOutput nextOutput = createLayoutOutput(nextComponent, 10, 10, 110, 110);
+    nextOutput.setHostTranslationX(10);
+    nextOutput.setHostTranslationY(10);
+
+    assertThat(LayoutState.maybeReuseDisplayList(mLayoutState, nextOutput, mPreviousOutput))
+        .isTrue();
+  }
+
+  private static LayoutOutput createLayoutOutput(
+      Component component, int left, int top, int right, int bottom) {
+    final LayoutOutput output = new LayoutOutput();
+    output.setComponent(component);
+    output.setBounds(left, top, right, bottom);
+    output.initDisplayListContainer("TestComponent", false);
+    return output;
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.support.annotation.Nullable;
+import com.facebook.litho.ComponentLifecycle.StateContainer;
+import com.facebook.litho.ComponentLifecycle.StateUpdate;
+import com.facebook.litho.StateUpdatesTest.TestComponent;
+import com.facebook.litho.StateUpdatesTest.TestStateContainer;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.testing.util.InlineLayoutSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class LayoutStateReusableLayoutTest {
+
+  private ComponentContext mContext;
+  private StateHandler mStateHandler;
+  private boolean mWasDebugModeEnabled;
+  private int mCreateLayoutCount;
+
+  @Before
+  public void setup() {
+    mStateHandler = StateHandler.acquireNewInstance(null);
+    mContext = new ComponentContext(RuntimeEnvironment.application, mStateHandler);
+    mWasDebugModeEnabled = ComponentsConfiguration.isDebugModeEnabled;
+    // Node trees are only released, and therefore only collected for reuse, in release builds.
+    ComponentsConfiguration.isDebugModeEnabled = false;
+    ComponentsConfiguration.reusePureLayoutSpecSubtrees = true;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.isDebugModeEnabled = mWasDebugModeEnabled;
+    ComponentsConfiguration.reusePureLayoutSpecSubtrees = false;
+  }
+
+  @Test
+  public void testEquivalentComponentReusesPreviousLayout() {
+    final LayoutState first = calculate(createRoot(10), null);
+    assertThat(mCreateLayoutCount).isEqualTo(1);
+
+    final ReusableLayouts reusableLayouts = first.getDiffTree().getReusableLayouts();
+    assertThat(reusableLayouts).isNotNull();
+    assertThat(reusableLayouts.size()).isEqualTo(1);
+
+    final LayoutState second = calculate(createRoot(10), first.getDiffTree());
+    assertThat(mCreateLayoutCount).isEqualTo(1);
+    assertThat(reusableLayouts.size()).isEqualTo(0);
+    assertThat(second.getMountableOutputCount()).isEqualTo(first.getMountableOutputCount());
+    assertThat(second.getDiffTree().getReusableLayouts().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDifferentPropsCreateLayoutAgain() {
+    final LayoutState first = calculate(createRoot(10), null);
+    calculate(createRoot(20), first.getDiffTree());
+
+    assertThat(mCreateLayoutCount).isEqualTo(2);
+  }
+
+  @Test
+  public void testNothingIsKeptWhenDisabled() {
+    ComponentsConfiguration.reusePureLayoutSpecSubtrees = false;
+
+    final LayoutState first = calculate(createRoot(10), null);
+    assertThat(first.getDiffTree().getReusableLayouts()).isNull();
+
+    calculate(createRoot(10), first.getDiffTree());
+    assertThat(mCreateLayoutCount).isEqualTo(2);
+  }
+
+  @Test
+  public void testStateUpdateOfStatefulChildOfPureSpecIsApplied() {
+    final TestComponent statefulChild = new TestComponent();
+    final LayoutState first = calculate(createRoot(new PureChild(10, statefulChild)), null);
+    assertThat(first.getDiffTree().getReusableLayouts()).isNull();
+    final int initialCount = statefulChild.getCount();
+
+    mStateHandler.queueStateUpdate(statefulChild.getGlobalKey(), new IncrementCountStateUpdate());
+    calculate(createRoot(new PureChild(10, statefulChild)), first.getDiffTree());
+
+    assertThat(mCreateLayoutCount).isEqualTo(2);
+    assertThat(statefulChild.getCount()).isEqualTo(initialCount + 1);
+  }
+
+  @Test
+  public void testPendingStateUpdateCreatesLayoutAgain() {
+    final TestComponent statefulSibling = new TestComponent();
+    final LayoutState first = calculate(createRoot(new PureChild(10, null), statefulSibling), null);
+    assertThat(first.getDiffTree().getReusableLayouts().size()).isEqualTo(1);
+    final int initialCount = statefulSibling.getCount();
+
+    mStateHandler.queueStateUpdate(
+        statefulSibling.getGlobalKey(), new IncrementCountStateUpdate());
+    calculate(createRoot(new PureChild(10, null), statefulSibling), first.getDiffTree());
+
+    assertThat(mCreateLayoutCount).isEqualTo(2);
+    assertThat(statefulSibling.getCount()).isEqualTo(initialCount + 1);
+  }
+
+  private LayoutState calculate(Component root, DiffNode previousDiffTreeRoot) {
+    return LayoutState.calculate(
+        mContext,
+        root,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY),
+        true /* shouldGenerateDiffTree */,
+        previousDiffTreeRoot,
+        false /* canPrefetchDisplayLists */,
+        false /* canCacheDrawingDisplayLists */,
+        true /* clipChildren */,
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
+  private Component createRoot(int childHeight) {
+    return createRoot(new PureChild(childHeight, null));
+  }
+
+  private static Component createRoot(final Component... children) {
+    return new InlineLayoutSpec() {
+      @Override
+      protected Component onCreateLayout(ComponentContext c) {
+        final Column.Builder builder = Column.create(c);
+        for (Component child : children) {
+          builder.child(child);
+        }
+        return builder.child(Column.create(c).heightPx(5).wrapInView()).build();
+      }
+    };
+  }
+
+  private static class IncrementCountStateUpdate implements StateUpdate {
+
+    @Override
+    public void updateState(StateContainer stateContainer, Component component) {
+      ((TestStateContainer) component.getStateContainer()).mCount =
+          ((TestStateContainer) stateContainer).mCount + 1;
+    }
+  }
+
+  private class PureChild extends InlineLayoutSpec {
+
+    private final int mHeight;
+    private final @Nullable Component mChild;
+
+    PureChild(int height, @Nullable Component child) {
+      mHeight = height;
+      mChild = child;
+    }
+
+    @Override
+    protected Component onCreateLayout(ComponentContext c) {
+      mCreateLayoutCount++;
+      return Column.create(c).heightPx(mHeight).child(mChild).wrapInView().build();
+    }
+
+    @Override
+    protected boolean canReuseLayout() {
+      return true;
+    }
+
+    @Override
+    public boolean isEquivalentTo(Component other) {
+      return other instanceof PureChild && ((PureChild) other).mHeight == mHeight;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.helper.ComponentTestHelper;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class MountPlanTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.computeMountPlanOnLayoutThread = false;
+  }
+
+  @Test
+  public void testPlanWithoutBaseLayoutState() {
+    final LayoutState layoutState = calculate(createRoot(2));
+    final MountPlan mountPlan = MountPlan.create(layoutState, null);
+
+    assertThat(mountPlan.getOutputCount()).isEqualTo(3);
+    assertThat(mountPlan.getHostPosition(0)).isEqualTo(-1);
+    assertThat(mountPlan.getHostPosition(1)).isEqualTo(0);
+    assertThat(mountPlan.getHostPosition(2)).isEqualTo(0);
+
+    final long[] outputIds = new long[3];
+    mountPlan.copyOutputIds(outputIds);
+    for (int i = 0; i < outputIds.length; i++) {
+      assertThat(outputIds[i]).isEqualTo(layoutState.getMountableOutputAt(i).getId());
+    }
+
+    assertThat(mountPlan.isBasedOn(0, outputIds)).isFalse();
+  }
+
+  @Test
+  public void testPlanDiffsAgainstBaseLayoutState() {
+    final LayoutState baseLayoutState = calculate(createRoot(3));
+    final LayoutState layoutState = calculate(createRoot(2));
+    final MountPlan mountPlan = MountPlan.create(layoutState, baseLayoutState);
+
+    final long[] baseOutputIds = new long[4];
+    MountPlan.create(baseLayoutState, null).copyOutputIds(baseOutputIds);
+
+    assertThat(mountPlan.isBasedOn(baseLayoutState.getId(), baseOutputIds)).isTrue();
+    assertThat(mountPlan.isBasedOn(layoutState.getId(), baseOutputIds)).isFalse();
+    assertThat(mountPlan.isBasedOn(baseLayoutState.getId(), new long[3])).isFalse();
+
+    assertThat(mountPlan.getNewPosition(0)).isEqualTo(0);
+    assertThat(mountPlan.getNewPosition(1)).isEqualTo(1);
+    assertThat(mountPlan.getNewPosition(2)).isEqualTo(2);
+    assertThat(mountPlan.getNewPosition(3)).isEqualTo(-1);
+    assertThat(mountPlan.hasTransitionKeyChanged(1)).isFalse();
+  }
+
+  @Test
+  public void testMountingWithPlanFromLayoutThread() {
+    ComponentsConfiguration.computeMountPlanOnLayoutThread = true;
+
+    final LithoView lithoView =
+        ComponentTestHelper.mountComponent(mContext, new LithoView(mContext), createRoot(3));
+    assertThat(lithoView.getDrawables()).hasSize(3);
+
+    lithoView.getComponentTree().setRoot(createRoot(2));
+    ComponentTestHelper.measureAndLayout(lithoView);
+
+    assertThat(lithoView.getComponentTree().getMainThreadLayoutState().getMountPlan())
+        .isNotNull();
+    assertThat(lithoView.getDrawables()).hasSize(2);
+    assertThat(lithoView.getMountState().getItemCount()).isEqualTo(3);
+  }
+
+  private LayoutState calculate(Component root) {
+    return LayoutState.calculate(
+        mContext,
+        root,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY),
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
+  private Component createRoot(int childCount) {
+    final Column.Builder column = Column.create(mContext);
+    for (int i = 0; i < childCount; i++) {
+      column.child(TestDrawableComponent.create(mContext).widthPx(10).heightPx(10));
+    }
+    return column.build();
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import android.graphics.Rect;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.helper.ComponentTestHelper;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Checks that mounting an unchanged LayoutState on each frame stays within an allocation budget.
+ * Robolectric's shadows allocate on framework calls, so the budget is checked above the baseline
+ * of a tree with no outputs, which itself has a small absolute budget. Each measurement is the
+ * minimum over a few frames, to leave out one-off allocations by the JIT or the runtime.
+ */
+@RunWith(ComponentsTestRunner.class)
+public class MountStateAllocationTest {
+
+  private static final int WARMUP_FRAMES = 50;
+  private static final int MEASURED_FRAMES = 10;
+
+  /** Bytes an unchanged frame of a tree with no outputs may allocate. */
+  private static final long EMPTY_FRAME_BUDGET_BYTES = 256;
+
+  /** Bytes an unchanged frame may allocate above the same frame of a tree with no outputs. */
+  private static final long UNCHANGED_FRAME_BUDGET_BYTES = 64;
+
+  /**
+   * Bytes a scroll cycle may allocate. Each cycle mounts and unmounts 4 items, and the budget
+   * leaves about 2KB for each. That is well above what they need, so it's only exceeded by
+   * allocations which grow with the size of the tree or with the number of frames mounted.
+   */
+  private static final long SCROLL_CYCLE_BUDGET_BYTES = 8 * 1024;
+
+  private static final Rect TOP_RECT = new Rect(0, 0, 100, 50);
+  private static final Rect SCROLLED_RECT = new Rect(0, 20, 100, 70);
+
+  private ComponentContext mContext;
+  private MountAllocationTracker mTracker;
+
+  @Before
+  public void setup() {
+    assumeTrue(MountAllocationTracker.isSupported());
+
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mTracker = new MountAllocationTracker();
+    mTracker.start();
+  }
+
+  @After
+  public void tearDown() {
+    if (mTracker != null) {
+      mTracker.stop();
+    }
+  }
+
+  @Test
+  public void testEmptyTreeFrameAllocationsAreBounded() {
+    final long[] emptyTree = measureUnchangedFrame(mountItems(0));
+
+    assertThat(emptyTree[0]).isLessThanOrEqualTo(EMPTY_FRAME_BUDGET_BYTES);
+  }
+
+  @Test
+  public void testUnchangedFrameAllocationsAreBoundedAboveEmptyTree() {
+    final long[] emptyTree = measureUnchangedFrame(mountItems(0));
+
+    assertUnchangedFrameWithinBudget(measureUnchangedFrame(mountItems(10)), emptyTree);
+    assertUnchangedFrameWithinBudget(measureUnchangedFrame(mountItems(200)), emptyTree);
+  }
+
+  @Test
+  public void testEntryPointsAreNestedInFrame() {
+    final ComponentTree componentTree = mountItems(10);
+    measureUnchangedFrame(componentTree);
+
+    assertThat(mTracker.getFrameAllocatedBytes())
+        .isGreaterThanOrEqualTo(mTracker.getMountAllocatedBytes());
+    assertThat(mTracker.getMountAllocatedBytes())
+        .isGreaterThanOrEqualTo(mTracker.getIncrementalMountAllocatedBytes());
+    assertThat(mTracker.getMountAllocatedBytes())
+        .isGreaterThanOrEqualTo(mTracker.getVisibilityOutputsAllocatedBytes());
+  }
+
+  @Test
+  public void testScrollFrameAllocationsDontGrow() {
+    final ComponentTree componentTree = mountItems(50);
+    for (int i = 0; i < WARMUP_FRAMES; i++) {
+      componentTree.mountComponent(i % 2 == 0 ? SCROLLED_RECT : TOP_RECT, true);
+    }
+
+    for (int i = 0; i < WARMUP_FRAMES; i++) {
+      measureScrollCycle(componentTree);
+    }
+
+    long minCycleBytes = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_FRAMES; i++) {
+      minCycleBytes = Math.min(minCycleBytes, measureScrollCycle(componentTree));
+    }
+
+    assertThat(minCycleBytes).isLessThanOrEqualTo(SCROLL_CYCLE_BUDGET_BYTES);
+  }
+
+  private long measureScrollCycle(ComponentTree componentTree) {
+    mTracker.beginFrame();
+    componentTree.mountComponent(SCROLLED_RECT, true);
+    mTracker.endFrame();
+    final long scrolledBytes = mTracker.getMountAllocatedBytes();
+
+    mTracker.beginFrame();
+    componentTree.mountComponent(TOP_RECT, true);
+    mTracker.endFrame();
+
+    return scrolledBytes + mTracker.getMountAllocatedBytes();
+  }
+
+  private static void assertUnchangedFrameWithinBudget(long[] frame, long[] emptyTreeFrame) {
+    for (int i = 0; i < frame.length; i++) {
+      assertThat(frame[i]).isLessThanOrEqualTo(emptyTreeFrame[i] + UNCHANGED_FRAME_BUDGET_BYTES);
+    }
+  }
+
+  /**
+   * @return the bytes allocated by mount, incremental mount and visibility processing when
+   *     mounting the same rect again, each the minimum over {@link #MEASURED_FRAMES} frames.
+   */
+  private long[] measureUnchangedFrame(ComponentTree componentTree) {
+    for (int i = 0; i < WARMUP_FRAMES; i++) {
+      componentTree.mountComponent(TOP_RECT, true);
+    }
+
+    final long[] minBytes = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+    for (int i = 0; i < MEASURED_FRAMES; i++) {
+      mTracker.beginFrame();
+      componentTree.mountComponent(TOP_RECT, true);
+      mTracker.endFrame();
+
+      minBytes[0] = Math.min(minBytes[0], mTracker.getMountAllocatedBytes());
+      minBytes[1] = Math.min(minBytes[1], mTracker.getIncrementalMountAllocatedBytes());
+      minBytes[2] = Math.min(minBytes[2], mTracker.getVisibilityOutputsAllocatedBytes());
+    }
+
+    return minBytes;
+  }
+
+  private ComponentTree mountItems(int itemCount) {
+    final Column.Builder column = Column.create(mContext);
+    for (int i = 0; i < itemCount; i++) {
+      column.child(TestDrawableComponent.create(mContext).widthPx(100).heightPx(10));
+    }
+
+    final LithoView lithoView =
+        ComponentTestHelper.mountComponent(
+            mContext, new LithoView(mContext), column.build(), true, 100, 100);
+    return lithoView.getComponentTree();
+  }
+}
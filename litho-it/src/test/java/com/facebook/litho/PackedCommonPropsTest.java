@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaDirection;
+import com.facebook.yoga.YogaEdge;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RuntimeEnvironment;
+
+/** Runs the {@link CommonPropsTest} cases against {@link PackedCommonPropsHolder}. */
+@RunWith(ComponentsTestRunner.class)
+public class PackedCommonPropsTest extends CommonPropsTest {
+
+  @Override
+  BaseCommonPropsHolder createCommonProps() {
+    return new PackedCommonPropsHolder();
+  }
+
+  @Test
+  public void testGettersReturnSetValuesAndDefaults() {
+    final PackedCommonPropsHolder commonProps = new PackedCommonPropsHolder();
+
+    assertThat(commonProps.getWidthPx()).isEqualTo(0);
+    assertThat(commonProps.getFlexGrow()).isEqualTo(0f);
+    assertThat(commonProps.getLayoutDirection()).isNull();
+    assertThat(commonProps.getTransitionKey()).isNull();
+    assertThat(commonProps.isWrapInView()).isFalse();
+
+    commonProps.flexGrow(2.5f);
+    commonProps.widthPx(10);
+    commonProps.transitionKey("key");
+    commonProps.layoutDirection(YogaDirection.INHERIT);
+    commonProps.heightPx(20);
+    commonProps.testKey("testKey");
+    commonProps.widthPx(30);
+    commonProps.wrapInView();
+
+    assertThat(commonProps.getWidthPx()).isEqualTo(30);
+    assertThat(commonProps.getHeightPx()).isEqualTo(20);
+    assertThat(commonProps.getFlexGrow()).isEqualTo(2.5f);
+    assertThat(commonProps.getLayoutDirection()).isEqualTo(YogaDirection.INHERIT);
+    assertThat(commonProps.getTransitionKey()).isEqualTo("key");
+    assertThat(commonProps.getTestKey()).isEqualTo("testKey");
+    assertThat(commonProps.isWrapInView()).isTrue();
+  }
+
+  @Test
+  public void testCopyIntoOnlyAppliesSetProps() {
+    final PackedCommonPropsHolder commonProps = new PackedCommonPropsHolder();
+    final InternalNode node = mock(InternalNode.class);
+
+    commonProps.alignSelf(YogaAlign.CENTER);
+    commonProps.paddingPx(YogaEdge.ALL, 4);
+    commonProps.copyInto(new ComponentContext(RuntimeEnvironment.application), node);
+
+    verify(node).alignSelf(YogaAlign.CENTER);
+    verify(node).paddingPx(YogaEdge.ALL, 4);
+    verify(node, never()).widthPx(anyInt());
+    verify(node, never()).flex(anyFloat());
+    verify(node, never()).marginPx(any(YogaEdge.class), anyInt());
+    verify(node, never()).layoutDirection(any(YogaDirection.class));
+    verify(node, never()).wrapInView();
+  }
+
+  @Test
+  public void testEdgesAreAppliedInTheOrderTheyWereSet() {
+    final PackedCommonPropsHolder commonProps = new PackedCommonPropsHolder();
+    final InternalNode node = mock(InternalNode.class);
+
+    commonProps.marginPx(YogaEdge.LEFT, 1);
+    commonProps.paddingPx(YogaEdge.TOP, 2);
+    commonProps.marginPx(YogaEdge.ALL, 3);
+    commonProps.marginPx(YogaEdge.LEFT, 4);
+    commonProps.copyInto(new ComponentContext(RuntimeEnvironment.application), node);
+
+    final InOrder inOrder = inOrder(node);
+    inOrder.verify(node).marginPx(YogaEdge.LEFT, 1);
+    inOrder.verify(node).marginPx(YogaEdge.ALL, 3);
+    inOrder.verify(node).marginPx(YogaEdge.LEFT, 4);
+    inOrder.verify(node).paddingPx(YogaEdge.TOP, 2);
+  }
+}
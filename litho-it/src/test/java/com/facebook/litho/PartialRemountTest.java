@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Color;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.helper.ComponentTestHelper;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class PartialRemountTest {
+
+  private ComponentContext mContext;
+  private LithoView mLithoView;
+  private ComponentTree mComponentTree;
+  private TestDrawableComponent mSharedComponent;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+    mLithoView = new LithoView(mContext);
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.skipRemountingUnchangedOutputs = false;
+  }
+
+  @Test
+  public void testUnchangedOutputsAreSkipped() {
+    ComponentsConfiguration.skipRemountingUnchangedOutputs = true;
+    mountAndUpdate();
+
+    final MountState mountState = mLithoView.getMountState();
+    assertThat(mountState.getSkippedMountItemsCount()).isEqualTo(1);
+    assertThat(mountState.getProcessedMountItemsCount()).isGreaterThan(0);
+    assertThat(mSharedComponent.isMounted()).isTrue();
+    assertThat(mSharedComponent.isBound()).isTrue();
+  }
+
+  @Test
+  public void testNothingIsSkippedWhenDisabled() {
+    mountAndUpdate();
+
+    final MountState mountState = mLithoView.getMountState();
+    assertThat(mountState.getSkippedMountItemsCount()).isEqualTo(0);
+    assertThat(mountState.getProcessedMountItemsCount()).isGreaterThan(1);
+  }
+
+  @Test
+  public void testMovedOutputsAreNotSkipped() {
+    ComponentsConfiguration.skipRemountingUnchangedOutputs = true;
+    mSharedComponent = TestDrawableComponent.create(mContext).build();
+    mComponentTree =
+        ComponentTree.create(mContext, createRoot(10, Color.BLACK))
+            .incrementalMount(false)
+            .layoutDiffing(true)
+            .build();
+    ComponentTestHelper.mountComponent(mLithoView, mComponentTree);
+
+    mComponentTree.setRoot(createRoot(20, Color.BLACK));
+    ComponentTestHelper.mountComponent(mLithoView, mComponentTree);
+
+    assertThat(mLithoView.getMountState().getSkippedMountItemsCount()).isEqualTo(0);
+  }
+
+  private void mountAndUpdate() {
+    mSharedComponent = TestDrawableComponent.create(mContext).build();
+    mComponentTree =
+        ComponentTree.create(mContext, createRoot(10, Color.BLACK))
+            .incrementalMount(false)
+            .layoutDiffing(true)
+            .build();
+    ComponentTestHelper.mountComponent(mLithoView, mComponentTree);
+
+    mComponentTree.setRoot(createRoot(10, Color.WHITE));
+    ComponentTestHelper.mountComponent(mLithoView, mComponentTree);
+  }
+
+  /**
+   * The shared component is reused as is across roots, after a sibling with the given height and
+   * color.
+   */
+  private Component createRoot(int siblingHeight, int siblingColor) {
+    return Column.create(mContext)
+        .child(
+            TestDrawableComponent.create(mContext)
+                .color(siblingColor)
+                .measuredHeight(siblingHeight))
+        .child(mSharedComponent)
+        .build();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+public class PerfEventRingBufferTest {
+
+  private final List<Integer> mCounts = new ArrayList<>();
+  private final PerfEventRingBuffer.Reader mReader =
+      new PerfEventRingBuffer.Reader() {
+        @Override
+        public void onPerfEvent(
+            int type, int treeId, long startNanos, long durationNanos, int count) {
+          mCounts.add(count);
+        }
+      };
+
+  @After
+  public void tearDown() {
+    PerfEvents.setSink(null);
+  }
+
+  @Test
+  public void testCapacityIsRoundedUpToPowerOfTwo() {
+    assertThat(new PerfEventRingBuffer(5).getCapacity()).isEqualTo(8);
+    assertThat(new PerfEventRingBuffer(8).getCapacity()).isEqualTo(8);
+  }
+
+  @Test
+  public void testEventsAreDrainedInOrder() {
+    final PerfEventRingBuffer buffer = new PerfEventRingBuffer(4);
+    buffer.add(PerfEvents.MOUNT, 1, 10, 5, 1);
+    buffer.add(PerfEvents.MOUNT, 1, 20, 5, 2);
+
+    assertThat(buffer.drain(mReader)).isEqualTo(2);
+    assertThat(mCounts).containsExactly(1, 2);
+    assertThat(buffer.drain(mReader)).isEqualTo(0);
+  }
+
+  @Test
+  public void testOverwrittenEventsAreDropped() {
+    final PerfEventRingBuffer buffer = new PerfEventRingBuffer(4);
+    for (int i = 0; i < 6; i++) {
+      buffer.add(PerfEvents.MOUNT, 1, i, 1, i);
+    }
+
+    assertThat(buffer.drain(mReader)).isEqualTo(4);
+    assertThat(mCounts).containsExactly(2, 3, 4, 5);
+    assertThat(buffer.getDroppedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testConcurrentWritersDontLoseEventsWithinCapacity() throws InterruptedException {
+    final PerfEventRingBuffer buffer = new PerfEventRingBuffer(4096);
+    final Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  for (int j = 0; j < 1000; j++) {
+                    buffer.add(PerfEvents.LAYOUT_MEASURE, 1, j, 1, 1);
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(buffer.drain(mReader)).isEqualTo(4000);
+    assertThat(buffer.getDroppedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testEventsAreOnlyRecordedWhenSampled() {
+    final PerfEventRingBuffer buffer = new PerfEventRingBuffer(4);
+    PerfEvents.end(PerfEvents.MOUNT, 1, PerfEvents.start(true), 1);
+    assertThat(buffer.drain(mReader)).isEqualTo(0);
+
+    PerfEvents.setSink(buffer);
+    PerfEvents.end(PerfEvents.MOUNT, 1, PerfEvents.start(false), 2);
+    PerfEvents.end(PerfEvents.MOUNT, 1, PerfEvents.start(true), 3);
+
+    assertThat(buffer.drain(mReader)).isEqualTo(1);
+    assertThat(mCounts).containsExactly(3);
+  }
+
+  @Test
+  public void testSampleRate() {
+    assertThat(PerfEvents.shouldSample(0)).isFalse();
+    assertThat(PerfEvents.shouldSample(1)).isTrue();
+
+    int sampled = 0;
+    for (int i = 0; i < 30; i++) {
+      if (PerfEvents.shouldSample(3)) {
+        sampled++;
+      }
+    }
+    assertThat(sampled).isEqualTo(10);
+  }
+}
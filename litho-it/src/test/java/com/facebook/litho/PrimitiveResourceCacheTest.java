@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.PrimitiveResourceCache.MISSING;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.DIMEN_OFFSET;
+import static com.facebook.litho.ResourceCache.PrimitiveKind.DIMEN_SIZE;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class PrimitiveResourceCacheTest {
+
+  @Test
+  public void testPutAndGet() {
+    final PrimitiveResourceCache cache = new PrimitiveResourceCache(16);
+    final long key = PrimitiveResourceCache.key(0x7f050001, DIMEN_SIZE);
+
+    assertThat(cache.get(key)).isEqualTo(MISSING);
+
+    cache.put(key, -12);
+    assertThat(cache.get(key)).isEqualTo(-12);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testKindsDoNotCollide() {
+    final PrimitiveResourceCache cache = new PrimitiveResourceCache(16);
+    cache.put(PrimitiveResourceCache.key(0x7f050001, DIMEN_SIZE), 3);
+    cache.put(PrimitiveResourceCache.key(0x7f050001, DIMEN_OFFSET), 2);
+
+    assertThat(cache.get(PrimitiveResourceCache.key(0x7f050001, DIMEN_SIZE))).isEqualTo(3);
+    assertThat(cache.get(PrimitiveResourceCache.key(0x7f050001, DIMEN_OFFSET))).isEqualTo(2);
+  }
+
+  @Test
+  public void testEvictsUnreferencedEntriesFirst() {
+    final PrimitiveResourceCache cache = new PrimitiveResourceCache(4);
+    for (int i = 1; i <= 4; i++) {
+      cache.put(i, i);
+    }
+    // Mark every entry but 3 as recently used.
+    cache.get(1);
+    cache.get(2);
+    cache.get(4);
+
+    cache.put(5, 5);
+
+    assertThat(cache.size()).isEqualTo(4);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(cache.get(3)).isEqualTo(MISSING);
+    assertThat(cache.get(1)).isEqualTo(1);
+    assertThat(cache.get(2)).isEqualTo(2);
+    assertThat(cache.get(4)).isEqualTo(4);
+    assertThat(cache.get(5)).isEqualTo(5);
+  }
+
+  @Test
+  public void testGrowsUpToMaxEntries() {
+    final PrimitiveResourceCache cache = new PrimitiveResourceCache(1000);
+    for (int i = 1000; i > 0; i--) {
+      cache.put(i, -i);
+    }
+
+    assertThat(cache.size()).isEqualTo(1000);
+    assertThat(cache.evictionCount()).isEqualTo(0);
+    for (int i = 1; i <= 1000; i++) {
+      assertThat(cache.get(i)).isEqualTo(-i);
+    }
+    assertThat(cache.sizeBytes())
+        .isEqualTo(1000 * PrimitiveResourceCache.ENTRY_SIZE_BYTES);
+  }
+
+  @Test
+  public void testObjectSizeIsEstimatedInBytes() {
+    assertThat(LruResourceCache.estimateSizeBytes("abc"))
+        .isLessThan(LruResourceCache.estimateSizeBytes("a much longer resolved string"));
+    assertThat(LruResourceCache.estimateSizeBytes(new int[1000]))
+        .isGreaterThanOrEqualTo(4000);
+    assertThat(LruResourceCache.estimateSizeBytes(new String[] {"a", "b"}))
+        .isGreaterThan(LruResourceCache.estimateSizeBytes("a") * 2);
+  }
+}
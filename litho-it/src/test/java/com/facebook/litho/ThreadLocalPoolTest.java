@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class ThreadLocalPoolTest {
+
+  @Test
+  public void testReleasedInstanceIsAcquiredOnSameThread() {
+    final ThreadLocalPool<Object> pool = new ThreadLocalPool<>(2);
+    final Object instance = new Object();
+
+    assertThat(pool.acquire()).isNull();
+    assertThat(pool.release(instance)).isTrue();
+    assertThat(pool.acquire()).isSameAs(instance);
+    assertThat(pool.acquire()).isNull();
+  }
+
+  @Test
+  public void testOverflowIsSharedWithOtherThreads() throws InterruptedException {
+    final ThreadLocalPool<Object> pool = new ThreadLocalPool<>(2);
+    final Object threadLocal = new Object();
+    final Object shared = new Object();
+    pool.release(threadLocal);
+    pool.release(shared);
+
+    final AtomicReference<Object> acquiredOnOtherThread = new AtomicReference<>();
+    final Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                acquiredOnOtherThread.set(pool.acquire());
+              }
+            });
+    thread.start();
+    thread.join();
+
+    assertThat(acquiredOnOtherThread.get()).isSameAs(shared);
+    assertThat(pool.acquire()).isSameAs(threadLocal);
+  }
+
+  @Test
+  public void testSharedPoolIsBounded() {
+    final ThreadLocalPool<Object> pool = new ThreadLocalPool<>(1);
+
+    assertThat(pool.release(new Object())).isTrue();
+    assertThat(pool.release(new Object())).isTrue();
+    assertThat(pool.release(new Object())).isFalse();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReleasingTwiceThrows() {
+    final ThreadLocalPool<Object> pool = new ThreadLocalPool<>(2);
+    final Object instance = new Object();
+
+    pool.release(instance);
+    pool.release(instance);
+  }
+}
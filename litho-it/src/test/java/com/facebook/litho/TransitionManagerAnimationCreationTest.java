@@ -17,6 +17,7 @@
 package com.facebook.litho;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -427,6 +428,88 @@ public class TransitionManagerAnimationCreationTest {
     return layoutState;
   }
 
+  /**
+   * @return a mock LayoutState like {@link #createMockLayoutState} which also provides a content
+   *     hash for each transition key based on the bounds of its most significant LayoutOutput.
+   */
+  private LayoutState createMockLayoutStateWithContentHashes(
+      TransitionSet transitions, LayoutOutput... layoutOutputs) {
+    final LayoutState layoutState = createMockLayoutState(transitions, layoutOutputs);
+    final SimpleArrayMap<String, OutputUnitsAffinityGroup<LayoutOutput>> transitionKeyMapping =
+        layoutState.getTransitionKeyMapping();
+    when(layoutState.hasTransitionKeyContentHashes()).thenReturn(true);
+    when(layoutState.getTransitionKeyContentHashAt(anyInt()))
+        .then(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) throws Throwable {
+                final int index = (Integer) invocation.getArguments()[0];
+                return transitionKeyMapping
+                    .valueAt(index)
+                    .getMostSignificantUnit()
+                    .getBounds()
+                    .hashCode();
+              }
+            });
+    return layoutState;
+  }
+
+  @Test
+  public void testUnchangedKeysAreSkippedWhenContentHashesMatch() {
+    final LayoutState current =
+        createMockLayoutStateWithContentHashes(
+            Transition.parallel(),
+            createMockLayoutOutput("test1", 0, 0),
+            createMockLayoutOutput("test2", 0, 0),
+            createMockLayoutOutput("test3", 0, 0));
+    final LayoutState next =
+        createMockLayoutStateWithContentHashes(
+            Transition.parallel(
+                Transition.create(Transition.allKeys())
+                    .animate(AnimatedProperties.X)
+                    .animator(mTestVerificationAnimator)),
+            createMockLayoutOutput("test1", 10, 0),
+            createMockLayoutOutput("test2", 0, 0),
+            createMockLayoutOutput("test3", 0, 0));
+
+    mTransitionManager.setupTransitions(
+        current, next, TransitionManager.getRootTransition(next, null, null));
+
+    assertThat(mCreatedAnimations)
+        .containsExactlyInAnyOrder(createPropertyAnimation("test1", AnimatedProperties.X, 10));
+    assertThat(mTransitionManager.getDiffedTransitionKeysCount()).isEqualTo(1);
+    assertThat(mTransitionManager.getSkippedTransitionKeysCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testChangedKeysAreDiffedWhenContentHashesCollide() {
+    final LayoutState current =
+        createMockLayoutState(
+            Transition.parallel(),
+            createMockLayoutOutput("test1", 0, 0),
+            createMockLayoutOutput("test2", 0, 0));
+    final LayoutState next =
+        createMockLayoutState(
+            Transition.parallel(
+                Transition.create(Transition.allKeys())
+                    .animate(AnimatedProperties.X)
+                    .animator(mTestVerificationAnimator)),
+            createMockLayoutOutput("test1", 10, 0),
+            createMockLayoutOutput("test2", 0, 0));
+    for (LayoutState layoutState : new LayoutState[] {current, next}) {
+      when(layoutState.hasTransitionKeyContentHashes()).thenReturn(true);
+      when(layoutState.getTransitionKeyContentHashAt(anyInt())).thenReturn(0);
+    }
+
+    mTransitionManager.setupTransitions(
+        current, next, TransitionManager.getRootTransition(next, null, null));
+
+    assertThat(mCreatedAnimations)
+        .containsExactlyInAnyOrder(createPropertyAnimation("test1", AnimatedProperties.X, 10));
+    assertThat(mTransitionManager.getDiffedTransitionKeysCount()).isEqualTo(1);
+    assertThat(mTransitionManager.getSkippedTransitionKeysCount()).isEqualTo(1);
+  }
+
   /** @return a mock LayoutOutput with a transition key and dummy bounds. */
   private static LayoutOutput createMockLayoutOutput(String transitionKey, int x, int y) {
     return createMockLayoutOutput(transitionKey, x, y, 100, 100);
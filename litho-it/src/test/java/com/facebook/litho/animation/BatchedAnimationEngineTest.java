@@ -0,0 +1,244 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import static com.facebook.litho.animation.AnimatedProperties.SCALE;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.robolectric.RuntimeEnvironment.application;
+
+import android.view.View;
+import com.facebook.litho.OutputUnitType;
+import com.facebook.litho.OutputUnitsAffinityGroup;
+import com.facebook.litho.dataflow.ChoreographerCompat;
+import com.facebook.litho.dataflow.ConstantNode;
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.GraphBinding;
+import com.facebook.litho.dataflow.MockTimingSource;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class BatchedAnimationEngineTest {
+
+  private static final int FRAME_TIME_MS = 16;
+  private static final long FRAME_TIME_NANOS = FRAME_TIME_MS * 1000000L;
+
+  private BatchedAnimationEngine mEngine;
+  private MockTimingSource mTimingSource;
+  private DataFlowGraph mDataFlowGraph;
+  private long mCurrentTimeNanos;
+
+  @Before
+  public void setUp() throws Exception {
+    mEngine = BatchedAnimationEngine.create(mock(ChoreographerCompat.class));
+    mTimingSource = new MockTimingSource();
+    mDataFlowGraph = DataFlowGraph.create(mTimingSource);
+    mCurrentTimeNanos = 0;
+  }
+
+  private void step(int numFrames) {
+    for (int i = 0; i < numFrames; i++) {
+      mCurrentTimeNanos += FRAME_TIME_NANOS;
+      mEngine.doFrame(mCurrentTimeNanos);
+    }
+  }
+
+  @Test
+  public void testTimingAnimationsStepTogether() {
+    final int durationMs = 320;
+    final int numFrames = durationMs / FRAME_TIME_MS + 1;
+    final int numAnimations = 100;
+
+    final View[] views = new View[numAnimations];
+    final ArrayList<BatchedAnimationBinding> bindings = new ArrayList<>();
+    for (int i = 0; i < numAnimations; i++) {
+      views[i] = new View(application);
+      final PropertyAnimation animation =
+          new PropertyAnimation(new PropertyHandle("key" + i, SCALE), i);
+      final BatchedTimingTransition binding =
+          new BatchedTimingTransition(mEngine, durationMs, animation, null);
+      binding.start(new TestResolver(views[i], 0));
+      bindings.add(binding);
+    }
+
+    assertThat(mEngine.getActiveAnimationCount()).isEqualTo(numAnimations);
+
+    step(1);
+    assertThat(views[numAnimations - 1].getScaleX()).isEqualTo(0f);
+
+    step(numFrames / 2);
+    assertThat(views[numAnimations - 1].getScaleX()).isGreaterThan(0f);
+    assertThat(views[numAnimations - 1].getScaleX()).isLessThan(numAnimations - 1);
+
+    step(numFrames / 2 + 1);
+    for (int i = 0; i < numAnimations; i++) {
+      assertThat(views[i].getScaleX()).isEqualTo((float) i);
+      assertThat(bindings.get(i).isActive()).isFalse();
+    }
+    assertThat(mEngine.getActiveAnimationCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSpringAnimationComesToRest() {
+    final View view = new View(application);
+    final TestListener listener = new TestListener();
+    final BatchedSpringTransition binding =
+        new BatchedSpringTransition(
+            mEngine, new PropertyAnimation(new PropertyHandle("key", SCALE), 100), null);
+    binding.addListener(listener);
+    binding.start(new TestResolver(view, 0));
+
+    assertThat(binding.isActive()).isTrue();
+
+    step(2);
+    assertThat(view.getScaleX()).isGreaterThan(0f);
+    assertThat(view.getScaleX()).isLessThan(100f);
+
+    step(200);
+    assertThat(view.getScaleX()).isEqualTo(100f);
+    assertThat(binding.isActive()).isFalse();
+    assertThat(listener.mFinishCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testStopRemovesAnimationWithoutFinishing() {
+    final View first = new View(application);
+    final View second = new View(application);
+    final TestListener listener = new TestListener();
+    final BatchedTimingTransition firstBinding =
+        new BatchedTimingTransition(
+            mEngine, 100, new PropertyAnimation(new PropertyHandle("first", SCALE), 50), null);
+    final BatchedTimingTransition secondBinding =
+        new BatchedTimingTransition(
+            mEngine, 100, new PropertyAnimation(new PropertyHandle("second", SCALE), 50), null);
+    firstBinding.addListener(listener);
+    firstBinding.start(new TestResolver(first, 0));
+    secondBinding.start(new TestResolver(second, 0));
+
+    step(2);
+    firstBinding.stop();
+
+    assertThat(firstBinding.isActive()).isFalse();
+    assertThat(secondBinding.isActive()).isTrue();
+    assertThat(mEngine.getActiveAnimationCount()).isEqualTo(1);
+
+    final float stoppedValue = first.getScaleX();
+    step(10);
+
+    assertThat(first.getScaleX()).isEqualTo(stoppedValue);
+    assertThat(second.getScaleX()).isEqualTo(50f);
+    assertThat(listener.mFinishCount).isEqualTo(0);
+  }
+
+  @Test
+  public void testStartingAnimationDetachesGraphBinding() {
+    final View view = new View(application);
+    final TestResolver resolver = new TestResolver(view, 0);
+    final GraphBinding graphBinding = GraphBinding.create(mDataFlowGraph);
+    graphBinding.addBinding(new ConstantNode(-1), resolver.mNode);
+    graphBinding.activate();
+
+    final BatchedTimingTransition binding =
+        new BatchedTimingTransition(
+            mEngine, 100, new PropertyAnimation(new PropertyHandle("key", SCALE), 50), null);
+    binding.start(resolver);
+
+    assertThat(resolver.mNode.isBoundInGraph()).isFalse();
+
+    for (int i = 0; i < 10; i++) {
+      step(1);
+      mTimingSource.step(1);
+    }
+
+    assertThat(view.getScaleX()).isEqualTo(50f);
+    assertThat(binding.isActive()).isFalse();
+  }
+
+  @Test
+  public void testGraphBindingTakesOverRunningAnimation() {
+    final View view = new View(application);
+    final TestListener listener = new TestListener();
+    final TestResolver resolver = new TestResolver(view, 0);
+    final BatchedTimingTransition binding =
+        new BatchedTimingTransition(
+            mEngine, 100, new PropertyAnimation(new PropertyHandle("key", SCALE), 50), null);
+    binding.addListener(listener);
+    binding.start(resolver);
+    step(2);
+
+    final GraphBinding graphBinding = GraphBinding.create(mDataFlowGraph);
+    graphBinding.addBinding(new ConstantNode(-1), resolver.mNode);
+    graphBinding.activate();
+
+    for (int i = 0; i < 10; i++) {
+      step(1);
+      mTimingSource.step(1);
+    }
+
+    assertThat(view.getScaleX()).isEqualTo(-1f);
+    assertThat(binding.isActive()).isFalse();
+    assertThat(listener.mFinishCount).isEqualTo(1);
+  }
+
+  private static class TestResolver implements Resolver {
+
+    private final AnimatedPropertyNode mNode;
+    private final float mCurrentValue;
+
+    TestResolver(View view, float currentValue) {
+      final OutputUnitsAffinityGroup<Object> group = new OutputUnitsAffinityGroup<>();
+      group.add(OutputUnitType.HOST, view);
+      mNode = new AnimatedPropertyNode(group, SCALE);
+      mCurrentValue = currentValue;
+    }
+
+    @Override
+    public float getCurrentState(PropertyHandle propertyHandle) {
+      return mCurrentValue;
+    }
+
+    @Override
+    public AnimatedPropertyNode getAnimatedPropertyNode(PropertyHandle propertyHandle) {
+      return mNode;
+    }
+  }
+
+  private static class TestListener implements AnimationBindingListener {
+
+    private int mFinishCount;
+
+    @Override
+    public void onWillStart(AnimationBinding binding) {}
+
+    @Override
+    public void onFinish(AnimationBinding binding) {
+      mFinishCount++;
+    }
+
+    @Override
+    public void onCanceledBeforeStart(AnimationBinding binding) {}
+
+    @Override
+    public boolean shouldStart(AnimationBinding binding) {
+      return true;
+    }
+  }
+}
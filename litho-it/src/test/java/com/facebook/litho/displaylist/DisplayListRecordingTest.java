@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.displaylist;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+@RunWith(ComponentsTestRunner.class)
+public class DisplayListRecordingTest {
+
+  private DisplayList mDisplayList;
+  private Canvas mCanvas;
+
+  @Before
+  public void setup() {
+    mDisplayList = DisplayList.createRecordingDisplayList("Test");
+    mCanvas = mock(Canvas.class);
+    when(mCanvas.save()).thenReturn(3);
+  }
+
+  @Test
+  public void testRecordingIsValidOnlyAfterEnd() throws DisplayListException {
+    assertThat(mDisplayList.isValid()).isFalse();
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    assertThat(canvas.getWidth()).isEqualTo(100);
+    assertThat(canvas.getHeight()).isEqualTo(50);
+    assertThat(mDisplayList.isValid()).isFalse();
+
+    mDisplayList.end(canvas);
+    assertThat(mDisplayList.isValid()).isTrue();
+
+    mDisplayList.clear();
+    assertThat(mDisplayList.isValid()).isFalse();
+  }
+
+  @Test
+  public void testReplayIsTranslatedToBounds() throws DisplayListException {
+    final Paint paint = new Paint();
+    paint.setColor(Color.RED);
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    canvas.drawRect(0, 0, 100, 50, paint);
+    mDisplayList.end(canvas);
+    mDisplayList.setBounds(10, 20, 110, 70);
+
+    mDisplayList.draw(mCanvas);
+
+    final ArgumentCaptor<Paint> paintCaptor = ArgumentCaptor.forClass(Paint.class);
+    final InOrder inOrder = inOrder(mCanvas);
+    inOrder.verify(mCanvas).translate(10, 20);
+    inOrder.verify(mCanvas).drawRect(eq(0f), eq(0f), eq(100f), eq(50f), paintCaptor.capture());
+    inOrder.verify(mCanvas).restoreToCount(3);
+    assertThat(paintCaptor.getValue().getColor()).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void testPaintIsSnapshottedWhenRecorded() throws DisplayListException {
+    final Paint paint = new Paint();
+    paint.setColor(Color.RED);
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    canvas.drawCircle(5, 5, 5, paint);
+    paint.setColor(Color.BLUE);
+    mDisplayList.end(canvas);
+
+    mDisplayList.draw(mCanvas);
+
+    final ArgumentCaptor<Paint> paintCaptor = ArgumentCaptor.forClass(Paint.class);
+    verify(mCanvas).drawCircle(eq(5f), eq(5f), eq(5f), paintCaptor.capture());
+    assertThat(paintCaptor.getValue().getColor()).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void testColorsKeepFullPrecision() throws DisplayListException {
+    final int color = 0xFF123457;
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    canvas.drawColor(color);
+    mDisplayList.end(canvas);
+
+    mDisplayList.draw(mCanvas);
+
+    verify(mCanvas).drawColor(color);
+  }
+
+  @Test
+  public void testColorsWithNaNBitPatternsAreReplayedExactly() throws DisplayListException {
+    // As floats, these are a signaling and a quiet NaN.
+    final int signalingNaNColor = 0xFF800001;
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    canvas.drawColor(signalingNaNColor);
+    canvas.drawColor(Color.WHITE);
+    mDisplayList.end(canvas);
+
+    mDisplayList.draw(mCanvas);
+
+    final InOrder inOrder = inOrder(mCanvas);
+    inOrder.verify(mCanvas).drawColor(signalingNaNColor);
+    inOrder.verify(mCanvas).drawColor(Color.WHITE);
+  }
+
+  @Test
+  public void testSaveLayersAreRecorded() throws DisplayListException {
+    final Paint paint = new Paint();
+    paint.setAlpha(128);
+
+    final Canvas canvas = mDisplayList.start(100, 50);
+    canvas.saveLayer(0, 0, 100, 50, paint, Canvas.ALL_SAVE_FLAG);
+    canvas.saveLayerAlpha(null, 64, Canvas.ALL_SAVE_FLAG);
+    canvas.save(Canvas.ALL_SAVE_FLAG);
+    assertThat(canvas.getSaveCount()).isEqualTo(4);
+    canvas.restore();
+    canvas.restore();
+    canvas.restore();
+    mDisplayList.end(canvas);
+
+    mDisplayList.draw(mCanvas);
+
+    final ArgumentCaptor<RectF> boundsCaptor = ArgumentCaptor.forClass(RectF.class);
+    final ArgumentCaptor<Paint> paintCaptor = ArgumentCaptor.forClass(Paint.class);
+    final InOrder inOrder = inOrder(mCanvas);
+    inOrder
+        .verify(mCanvas)
+        .saveLayer(boundsCaptor.capture(), paintCaptor.capture(), eq(Canvas.ALL_SAVE_FLAG));
+    inOrder.verify(mCanvas).saveLayerAlpha((RectF) isNull(), eq(64), eq(Canvas.ALL_SAVE_FLAG));
+    inOrder.verify(mCanvas).save(Canvas.ALL_SAVE_FLAG);
+    inOrder.verify(mCanvas, times(3)).restore();
+    assertThat(boundsCaptor.getValue()).isEqualTo(new RectF(0, 0, 100, 50));
+    assertThat(paintCaptor.getValue().getAlpha()).isEqualTo(128);
+  }
+
+  @Test
+  public void testSaveCountsAreReplayedRelativeToTargetCanvas() throws DisplayListException {
+    final Canvas canvas = mDisplayList.start(100, 50);
+    final int saveCount = canvas.save();
+    canvas.save();
+    canvas.translate(1, 1);
+    canvas.restoreToCount(saveCount);
+    mDisplayList.end(canvas);
+
+    // Recording starts at save count 1, so the first save returns 1.
+    assertThat(saveCount).isEqualTo(1);
+
+    mDisplayList.draw(mCanvas);
+
+    verify(mCanvas).restoreToCount(3 + saveCount);
+  }
+
+  @Test(expected = DisplayListException.class)
+  public void testDrawingWithoutRecordingThrows() throws DisplayListException {
+    mDisplayList.draw(mCanvas);
+  }
+
+  @Test
+  public void testRestartingClearsPreviousRecording() throws DisplayListException {
+    final Paint paint = new Paint();
+
+    Canvas canvas = mDisplayList.start(100, 50);
+    canvas.drawRect(0, 0, 10, 10, paint);
+    mDisplayList.end(canvas);
+
+    canvas = mDisplayList.start(100, 50);
+    canvas.drawLine(0, 0, 10, 10, paint);
+    mDisplayList.end(canvas);
+
+    mDisplayList.draw(mCanvas);
+
+    verify(mCanvas, never())
+        .drawRect(anyFloat(), anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
+    verify(mCanvas).drawLine(eq(0f), eq(0f), eq(10f), eq(10f), any(Paint.class));
+  }
+}
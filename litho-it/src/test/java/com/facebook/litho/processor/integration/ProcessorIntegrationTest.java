@@ -16,6 +16,7 @@
 
 package com.facebook.litho.processor.integration;
 
+import com.facebook.litho.specmodels.processor.AbstractComponentsProcessor;
 import com.facebook.litho.specmodels.processor.ComponentsProcessor;
 import com.facebook.litho.specmodels.processor.testing.ComponentsTestingProcessor;
 import com.google.common.collect.ImmutableList;
@@ -183,6 +184,32 @@ public class ProcessorIntegrationTest {
         .generatesSources(expectedOutput);
   }
 
+  @Test
+  public void compilesSpecsWithTimings() {
+    final JavaFileObject simpleLayoutSpecObject =
+        JavaFileObjects.forResource(
+            Resources.getResource(getClass(), RES_PREFIX + "SimpleLayoutSpec.java"));
+    final JavaFileObject simpleMountSpecObject =
+        JavaFileObjects.forResource(
+            Resources.getResource(getClass(), RES_PREFIX + "SimpleMountSpec.java"));
+
+    final JavaFileObject simpleLayoutOutput =
+        JavaFileObjects.forResource(
+            Resources.getResource(getClass(), RES_PREFIX + "SimpleLayout.java"));
+    final JavaFileObject simpleMountOutput =
+        JavaFileObjects.forResource(
+            Resources.getResource(getClass(), RES_PREFIX + "SimpleMount.java"));
+
+    Truth.assertAbout(JavaSourcesSubjectFactory.javaSources())
+        .that(ImmutableList.of(simpleLayoutSpecObject, simpleMountSpecObject))
+        .withCompilerOptions("-A" + AbstractComponentsProcessor.OPTION_TIMINGS + "=true")
+        .processedWith(new ComponentsProcessor())
+        .compilesWithoutError()
+        .withNoteContaining("Processed 2 specs in ")
+        .and()
+        .generatesSources(simpleLayoutOutput, simpleMountOutput);
+  }
+
   @Test
   public void compilesSimpleTestSampleSpec() {
     final JavaFileObject testSpecObject =
@@ -79,6 +79,38 @@ public class DrawableResourcesCacheTest {
     assertThat(mCache.get(1, resources)).isEqualTo(drawable);
     assertThat(mCache.get(1, resources)).isEqualTo(drawable2);
     assertThat(mCache.get(1, resources)).isEqualTo(drawable3);
+    assertThat(mCache.getHitCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testEvictsByEstimatedSize() {
+    Resources resources = application.getResources();
+    final int bitmapSizeBytes = 100 * 100 * 4;
+    mCache = new DrawableResourcesCache(bitmapSizeBytes * 2 + 1024);
+
+    for (int resId = 1; resId <= 3; resId++) {
+      Bitmap bitmap = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+      mCache.release(new BitmapDrawable(resources, bitmap), resId);
+    }
+
+    assertThat(mCache.getSizeBytes()).isGreaterThan(bitmapSizeBytes);
+    assertThat(mCache.getSizeBytes()).isLessThanOrEqualTo(bitmapSizeBytes * 2 + 1024);
+
+    assertThat(mCache.get(3, resources, null)).isNotNull();
+    assertThat(mCache.getHitCount()).isEqualTo(1);
+    assertThat(mCache.getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPooledDrawablesShareTheirConstantStateSize() {
+    Resources resources = application.getResources();
+    Bitmap bitmap = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+
+    mCache.release(new BitmapDrawable(resources, bitmap), 1);
+    final int singleSizeBytes = mCache.getSizeBytes();
+    mCache.release(new BitmapDrawable(resources, bitmap), 1);
+
+    assertThat(mCache.getSizeBytes()).isLessThan(singleSizeBytes * 2);
   }
 
 }
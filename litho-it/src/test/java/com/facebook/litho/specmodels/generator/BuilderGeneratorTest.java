@@ -148,7 +148,7 @@ public class BuilderGeneratorTest {
     assertThat(dataHolder.getFieldSpecs()).hasSize(1);
     assertThat(dataHolder.getFieldSpecs().get(0).toString())
         .isEqualTo(
-            "private static final android.support.v4.util.Pools.SynchronizedPool<Builder> sBuilderPool = new android.support.v4.util.Pools.SynchronizedPool<Builder>(2);\n");
+            "private static final com.facebook.litho.ThreadLocalPool<Builder> sBuilderPool = new com.facebook.litho.ThreadLocalPool<Builder>(2);\n");
 
     assertThat(dataHolder.getTypeSpecs()).hasSize(1);
     assertThat(dataHolder.getTypeSpecs().get(0).toString())
@@ -162,7 +162,7 @@ public class BuilderGeneratorTest {
                 + "\n"
                 + "  com.facebook.litho.ComponentContext mContext;\n"
                 + "\n"
-                + "  private final java.util.BitSet mRequired = new java.util.BitSet(REQUIRED_PROPS_COUNT);\n"
+                + "  private long mRequired;\n"
                 + "\n"
                 + "  private void init(com.facebook.litho.ComponentContext context, int defStyleAttr, int defStyleRes,\n"
                 + "      Test testRef) {\n"
@@ -170,7 +170,7 @@ public class BuilderGeneratorTest {
                 + "    mTest = testRef;\n"
                 + "    mContext = context;\n"
                 + "    initPropDefaults();\n"
-                + "    mRequired.clear();\n"
+                + "    mRequired = 0;\n"
                 + "  }\n"
                 + "\n"
                 + "  void initPropDefaults() {\n"
@@ -179,7 +179,7 @@ public class BuilderGeneratorTest {
                 + "\n"
                 + "  public Builder arg0(boolean arg0) {\n"
                 + "    this.mTest.arg0 = arg0;\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -201,7 +201,7 @@ public class BuilderGeneratorTest {
                 + "      this.mTest.names = new java.util.ArrayList<java.lang.String>();\n"
                 + "    }\n"
                 + "    this.mTest.names.add(name);\n"
-                + "    mRequired.set(1);\n"
+                + "    mRequired |= 1L << 1;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -214,19 +214,19 @@ public class BuilderGeneratorTest {
                 + "    } else {\n"
                 + "      this.mTest.names.addAll(names);\n"
                 + "    }\n"
-                + "    mRequired.set(1);\n"
+                + "    mRequired |= 1L << 1;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder section(com.facebook.litho.sections.Section section) {\n"
                 + "    this.mTest.section = section;\n"
-                + "    mRequired.set(2);\n"
+                + "    mRequired |= 1L << 2;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder section(com.facebook.litho.sections.Section.Builder<?> sectionBuilder) {\n"
                 + "    this.mTest.section = sectionBuilder.build();\n"
-                + "    mRequired.set(2);\n"
+                + "    mRequired |= 1L << 2;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -268,14 +268,14 @@ public class BuilderGeneratorTest {
                 + "\n"
                 + "  com.facebook.litho.ComponentContext mContext;\n"
                 + "\n"
-                + "  private final java.util.BitSet mRequired = new java.util.BitSet(REQUIRED_PROPS_COUNT);\n"
+                + "  private long mRequired;\n"
                 + "\n"
                 + "  private void init(com.facebook.litho.ComponentContext context, int defStyleAttr, int defStyleRes,\n"
                 + "      TestResTypeWithVarArgs testResTypeWithVarArgsRef) {\n"
                 + "    super.init(context, defStyleAttr, defStyleRes, testResTypeWithVarArgsRef);\n"
                 + "    mTestResTypeWithVarArgs = testResTypeWithVarArgsRef;\n"
                 + "    mContext = context;\n"
-                + "    mRequired.clear();\n"
+                + "    mRequired = 0;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizePx(@android.support.annotation.Px float size) {\n"
@@ -284,7 +284,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = size;\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -299,7 +299,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = sizes.get(i);\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -309,7 +309,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = resolveDimenSizeRes(resId);\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -324,7 +324,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = resolveDimenSizeRes(resIds.get(i));\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -335,7 +335,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = resolveDimenSizeAttr(attrResId, defResId);\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -345,7 +345,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = resolveDimenSizeAttr(attrResId, 0);\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -361,7 +361,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = resolveDimenSizeAttr(attrResIds.get(i), defResId);\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -376,7 +376,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = resolveDimenSizeAttr(attrResIds.get(i), 0);\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -386,7 +386,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = dipsToPixels(dip);\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -401,7 +401,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = dipsToPixels(dips.get(i));\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -411,7 +411,7 @@ public class BuilderGeneratorTest {
                 + "    }\n"
                 + "    final float res = sipsToPixels(sip);\n"
                 + "    this.mTestResTypeWithVarArgs.sizes.add(res);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -426,7 +426,7 @@ public class BuilderGeneratorTest {
                 + "      final float res = sipsToPixels(sips.get(i));\n"
                 + "      this.mTestResTypeWithVarArgs.sizes.add(res);\n"
                 + "    }\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -469,50 +469,50 @@ public class BuilderGeneratorTest {
                 + "\n"
                 + "  com.facebook.litho.ComponentContext mContext;\n"
                 + "\n"
-                + "  private final java.util.BitSet mRequired = new java.util.BitSet(REQUIRED_PROPS_COUNT);\n"
+                + "  private long mRequired;\n"
                 + "\n"
                 + "  private void init(com.facebook.litho.ComponentContext context, int defStyleAttr, int defStyleRes,\n"
                 + "      TestDimenResTypeWithBoxFloatArg testDimenResTypeWithBoxFloatArgRef) {\n"
                 + "    super.init(context, defStyleAttr, defStyleRes, testDimenResTypeWithBoxFloatArgRef);\n"
                 + "    mTestDimenResTypeWithBoxFloatArg = testDimenResTypeWithBoxFloatArgRef;\n"
                 + "    mContext = context;\n"
-                + "    mRequired.clear();\n"
+                + "    mRequired = 0;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizePx(@android.support.annotation.Px float size) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = size;\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizeRes(@android.support.annotation.DimenRes int resId) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = (float) resolveDimenSizeRes(resId);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizeAttr(@android.support.annotation.AttrRes int attrResId,\n"
                 + "      @android.support.annotation.DimenRes int defResId) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = (float) resolveDimenSizeAttr(attrResId, defResId);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizeAttr(@android.support.annotation.AttrRes int attrResId) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = (float) resolveDimenSizeAttr(attrResId, 0);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizeDip(@android.support.annotation.Dimension(unit = android.support.annotation.Dimension.DP) float dip) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = (float) dipsToPixels(dip);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
                 + "  public Builder sizeSp(@android.support.annotation.Dimension(unit = android.support.annotation.Dimension.SP) float sip) {\n"
                 + "    this.mTestDimenResTypeWithBoxFloatArg.size = (float) sipsToPixels(sip);\n"
-                + "    mRequired.set(0);\n"
+                + "    mRequired |= 1L << 0;\n"
                 + "    return this;\n"
                 + "  }\n"
                 + "\n"
@@ -261,6 +261,9 @@ public class ComponentBodyGeneratorTest {
                 + "  if (this.getId() == testRef.getId()) {\n"
                 + "    return true;\n"
                 + "  }\n"
+                + "  if (!isPropsHashMatching(testRef)) {\n"
+                + "    return false;\n"
+                + "  }\n"
                 + "  if (arg0 != testRef.arg0) {\n"
                 + "    return false;\n"
                 + "  }\n"
@@ -318,6 +321,24 @@ public class ComponentBodyGeneratorTest {
                 + "}\n");
   }
 
+  @Test
+  public void testGenerateComputePropsHashMethod() {
+    TypeSpecDataHolder dataHolder =
+        ComponentBodyGenerator.generateComputePropsHashMethod(mSpecModelDI);
+    assertThat(dataHolder.getMethodSpecs()).hasSize(1);
+    assertThat(dataHolder.getMethodSpecs().get(0).toString())
+        .isEqualTo(
+            "@java.lang.Override\n"
+                + "protected int computePropsHash() {\n"
+                + "  int result = 0;\n"
+                + "  result = 31 * result + (arg0 ? 1 : 0);\n"
+                + "  result = 31 * result + (arg4 != null ? 1 : 0);\n"
+                + "  result = 31 * result + (arg5 != null ? 31 + arg5.size() : 0);\n"
+                + "  result = 31 * result + (arg6 != null ? arg6.hashCode() : 0);\n"
+                + "  return result;\n"
+                + "}\n");
+  }
+
   @Test
   public void testOnUpdateStateMethods() {
     TypeSpecDataHolder dataHolder =
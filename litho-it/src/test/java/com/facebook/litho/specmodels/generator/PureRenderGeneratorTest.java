@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.specmodels.generator;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.specmodels.internal.ImmutableList;
+import com.facebook.litho.specmodels.model.StateParamModel;
+import com.facebook.litho.specmodels.model.TreePropModel;
+import com.facebook.litho.testing.specmodels.MockMethodParamModel;
+import com.facebook.litho.testing.specmodels.MockSpecModel;
+import org.junit.Test;
+
+/** Tests {@link PureRenderGenerator} */
+public class PureRenderGeneratorTest {
+
+  @Test
+  public void testGenerateIsPureRender() {
+    final MockSpecModel specModel = MockSpecModel.newBuilder().isPureRender(true).build();
+
+    final TypeSpecDataHolder dataHolder = PureRenderGenerator.generate(specModel);
+
+    assertThat(dataHolder.getMethodSpecs()).hasSize(1);
+    assertThat(dataHolder.getMethodSpecs().get(0).toString())
+        .isEqualTo(
+            "@java.lang.Override\n"
+                + "public boolean isPureRender() {\n"
+                + "  return true;\n"
+                + "}\n");
+  }
+
+  @Test
+  public void testGenerateCanReuseLayout() {
+    final MockSpecModel specModel = MockSpecModel.newBuilder().isPureRender(true).build();
+
+    final TypeSpecDataHolder dataHolder = PureRenderGenerator.generateCanReuseLayout(specModel);
+
+    assertThat(dataHolder.getMethodSpecs()).hasSize(1);
+    assertThat(dataHolder.getMethodSpecs().get(0).toString())
+        .isEqualTo(
+            "@java.lang.Override\n"
+                + "protected boolean canReuseLayout() {\n"
+                + "  return true;\n"
+                + "}\n");
+  }
+
+  @Test
+  public void testDoNotGenerateCanReuseLayoutWhenNotPure() {
+    final MockSpecModel specModel = MockSpecModel.newBuilder().isPureRender(false).build();
+
+    assertThat(PureRenderGenerator.generateCanReuseLayout(specModel).getMethodSpecs()).isEmpty();
+  }
+
+  @Test
+  public void testDoNotGenerateCanReuseLayoutWithState() {
+    final MockSpecModel specModel =
+        MockSpecModel.newBuilder()
+            .isPureRender(true)
+            .stateValues(ImmutableList.of(mock(StateParamModel.class)))
+            .build();
+
+    assertThat(PureRenderGenerator.generateCanReuseLayout(specModel).getMethodSpecs()).isEmpty();
+  }
+
+  @Test
+  public void testDoNotGenerateCanReuseLayoutWithTreeProps() {
+    final MockSpecModel specModel =
+        MockSpecModel.newBuilder()
+            .isPureRender(true)
+            .treeProps(
+                ImmutableList.of(
+                    new TreePropModel(MockMethodParamModel.newBuilder().name("treeProp").build())))
+            .build();
+
+    assertThat(PureRenderGenerator.generateCanReuseLayout(specModel).getMethodSpecs()).isEmpty();
+  }
+}
@@ -19,6 +19,7 @@ package com.facebook.litho.specmodels.generator;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.facebook.litho.IntStateValue;
 import com.facebook.litho.Transition;
 import com.facebook.litho.animation.AnimatedProperties;
 import com.facebook.litho.annotations.LayoutSpec;
@@ -111,10 +112,20 @@ public class StateGeneratorTest {
     }
   }
 
+  @LayoutSpec
+  private static class TestWithPrimitiveStateValueSpec {
+    @OnCreateLayout
+    public void onCreateLayout(@State int count) {}
+
+    @OnUpdateState
+    void incrementCount(IntStateValue count) {}
+  }
+
   private SpecModel mSpecModelWithState;
   private SpecModel mSpecModelWithoutState;
   private SpecModel mSpecModelWithStateWithTransition;
   private SpecModel mSpecModelWithBothStates;
+  private SpecModel mSpecModelWithPrimitiveStateValue;
 
   @Before
   public void setUp() {
@@ -166,6 +177,18 @@ public class StateGeneratorTest {
             RunMode.NORMAL,
             null,
             null);
+
+    TypeElement typeElementWithPrimitiveStateValue =
+        elements.getTypeElement(TestWithPrimitiveStateValueSpec.class.getCanonicalName());
+    mSpecModelWithPrimitiveStateValue =
+        mLayoutSpecModelFactory.create(
+            elements,
+            types,
+            typeElementWithPrimitiveStateValue,
+            mock(Messager.class),
+            RunMode.NORMAL,
+            null,
+            null);
   }
 
   @Test
@@ -370,6 +393,32 @@ public class StateGeneratorTest {
                 + "}\n");
   }
 
+  @Test
+  public void testGenerateStateUpdateClassWithPrimitiveStateValue() {
+    TypeSpecDataHolder dataHolder =
+        StateGenerator.generateStateUpdateClasses(mSpecModelWithPrimitiveStateValue);
+
+    assertThat(dataHolder.getTypeSpecs()).hasSize(1);
+
+    assertThat(dataHolder.getTypeSpecs().get(0).toString())
+        .isEqualTo(
+            "private static class IncrementCountStateUpdate implements com.facebook.litho.ComponentLifecycle.StateUpdate {\n"
+                + "  IncrementCountStateUpdate() {\n"
+                + "  }\n"
+                + "\n"
+                + "  @java.lang.Override\n"
+                + "  public void updateState(com.facebook.litho.ComponentLifecycle.StateContainer _stateContainer,\n"
+                + "      com.facebook.litho.Component newComponent) {\n"
+                + "    TestWithPrimitiveStateValueStateContainer stateContainer = (TestWithPrimitiveStateValueStateContainer) _stateContainer;\n"
+                + "    TestWithPrimitiveStateValue newComponentStateUpdate = (TestWithPrimitiveStateValue) newComponent;\n"
+                + "    com.facebook.litho.IntStateValue count = new com.facebook.litho.IntStateValue();\n"
+                + "    count.set(stateContainer.count);\n"
+                + "    TestWithPrimitiveStateValueSpec.incrementCount(count);\n"
+                + "    newComponentStateUpdate.mStateContainer.count = count.get();\n"
+                + "  }\n"
+                + "}\n");
+  }
+
   @Test
   public void testGenerateLazyStateUpdateMethods() {
     TypeSpecDataHolder dataHolder =
@@ -390,9 +439,7 @@ public class StateGeneratorTest {
                 + "    public void updateState(com.facebook.litho.ComponentLifecycle.StateContainer _stateContainer,\n"
                 + "        com.facebook.litho.Component newComponent) {\n"
                 + "      com.facebook.litho.specmodels.generator.StateGeneratorTest.TestWithState newComponentStateUpdate = (com.facebook.litho.specmodels.generator.StateGeneratorTest.TestWithState) newComponent;\n"
-                + "      com.facebook.litho.StateValue<java.lang.Boolean> arg4 = new com.facebook.litho.StateValue<java.lang.Boolean>();\n"
-                + "      arg4.set(lazyUpdateValue);\n"
-                + "      newComponentStateUpdate.mStateContainer.arg4 = arg4.get();\n"
+                + "      newComponentStateUpdate.mStateContainer.arg4 = lazyUpdateValue;\n"
                 + "    }\n"
                 + "  };\n"
                 + "  c.updateStateLazy(_stateUpdate);\n"
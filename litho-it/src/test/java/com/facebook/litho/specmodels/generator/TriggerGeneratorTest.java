@@ -196,16 +196,14 @@ public class TriggerGeneratorTest {
                 + "    return;\n"
                 + "  }\n"
                 + "  java.lang.Object _eventState = new java.lang.Object();\n"
-                + "  trigger.dispatchOnTrigger(_eventState, new Object[] {\n"
-                + "      });\n"
+                + "  trigger.dispatchOnTrigger(_eventState);\n"
                 + "}\n");
 
     assertThat(dataHolder.getMethodSpecs().get(4).toString())
         .isEqualTo(
             "public static void testTriggerMethod2(com.facebook.litho.EventTrigger trigger) {\n"
                 + "  java.lang.Object _eventState = new java.lang.Object();\n"
-                + "  trigger.dispatchOnTrigger(_eventState, new Object[] {\n"
-                + "      });\n"
+                + "  trigger.dispatchOnTrigger(_eventState);\n"
                 + "}\n");
 
     assertThat(dataHolder.getMethodSpecs().get(5).toString())
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.specmodels.model;
+package com.facebook.litho.specmodels.model;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.facebook.litho.specmodels.internal.ImmutableList;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import java.util.List;
+import org.junit.Test;
+
+public class AllocationValidationTest {
+  interface PureRenderSpecModel extends SpecModel, HasPureRender {}
+
+  private static final ClassName LIST = ClassName.bestGuess("java.util.List");
+
+  private final PureRenderSpecModel mSpecModel = mock(PureRenderSpecModel.class);
+  private final Object mRepresentedObject = new Object();
+
+  @Test
+  public void testComparablePropsAreValid() {
+    when(mSpecModel.isPureRender()).thenReturn(true);
+    when(mSpecModel.getProps())
+        .thenReturn(
+            ImmutableList.of(
+                mockProp(new TypeSpec(TypeName.INT)),
+                mockProp(new TypeSpec(ClassNames.STRING)),
+                mockProp(new TypeSpec(ClassNames.EVENT_HANDLER)),
+                mockProp(new TypeSpec(ParameterizedTypeName.get(LIST, ClassNames.STRING)))));
+
+    assertThat(AllocationValidation.validate(mSpecModel)).isEmpty();
+  }
+
+  @Test
+  public void testListenerPropIsInvalid() {
+    when(mSpecModel.getProps())
+        .thenReturn(
+            ImmutableList.of(
+                mockProp(new TypeSpec(ClassName.bestGuess("android.view.View.OnClickListener")))));
+
+    final List<SpecModelValidationError> validationErrors =
+        AllocationValidation.validate(mSpecModel);
+    assertThat(validationErrors).hasSize(1);
+    assertThat(validationErrors.get(0).element).isSameAs(mRepresentedObject);
+    assertThat(validationErrors.get(0).message).contains("Use an EventHandler instead.");
+  }
+
+  @Test
+  public void testIdentityPropIsOnlyInvalidForPureRender() {
+    final TypeSpec drawable =
+        new TypeSpec.DeclaredTypeSpec(
+            ClassNames.DRAWABLE,
+            ClassNames.DRAWABLE.toString(),
+            () -> null,
+            ImmutableList.of(),
+            ImmutableList.of());
+    final TypeSpec colorDrawable =
+        new TypeSpec.DeclaredTypeSpec(
+            ClassName.bestGuess("android.graphics.drawable.ColorDrawable"),
+            "android.graphics.drawable.ColorDrawable",
+            () -> drawable,
+            ImmutableList.of(),
+            ImmutableList.of());
+    when(mSpecModel.getProps()).thenReturn(ImmutableList.of(mockProp(colorDrawable)));
+
+    when(mSpecModel.isPureRender()).thenReturn(false);
+    assertThat(AllocationValidation.validate(mSpecModel)).isEmpty();
+
+    when(mSpecModel.isPureRender()).thenReturn(true);
+    final List<SpecModelValidationError> validationErrors =
+        AllocationValidation.validate(mSpecModel);
+    assertThat(validationErrors).hasSize(1);
+    assertThat(validationErrors.get(0).message).contains("is compared by identity");
+  }
+
+  @Test
+  public void testCollectionsOfIdentityElementsAreInvalid() {
+    when(mSpecModel.getProps())
+        .thenReturn(
+            ImmutableList.of(
+                mockProp(new TypeSpec(ParameterizedTypeName.get(LIST, ClassNames.DRAWABLE))),
+                mockProp(new TypeSpec(ArrayTypeName.of(ClassNames.OBJECT)))));
+
+    final List<SpecModelValidationError> validationErrors =
+        AllocationValidation.validate(mSpecModel);
+    assertThat(validationErrors).hasSize(2);
+    assertThat(validationErrors.get(0).message).contains("holds elements which are compared");
+    assertThat(validationErrors.get(1).message).contains("holds elements which are compared");
+  }
+
+  private PropModel mockProp(TypeSpec typeSpec) {
+    final PropModel propModel = mock(PropModel.class);
+    when(propModel.getName()).thenReturn("prop");
+    when(propModel.getTypeSpec()).thenReturn(typeSpec);
+    when(propModel.getTypeName()).thenReturn(typeSpec.getTypeName());
+    when(propModel.getRepresentedObject()).thenReturn(mRepresentedObject);
+    return propModel;
+  }
+}
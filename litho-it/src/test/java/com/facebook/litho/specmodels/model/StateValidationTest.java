@@ -240,6 +240,47 @@ public class StateValidationTest {
             "parameter annotated with @State.");
   }
 
+  @Test
+  public void testOnUpdateStatePrimitiveStateValueParams() {
+    when(mStateParamModel.getName()).thenReturn("count");
+    when(mStateParamModel.getTypeName()).thenReturn(TypeName.INT);
+    when(mSpecModel.getStateValues()).thenReturn(ImmutableList.of(mStateParamModel));
+
+    MethodParamModel validParam =
+        MockMethodParamModel.newBuilder()
+            .type(ClassNames.INT_STATE_VALUE)
+            .name("count")
+            .representedObject(mRepresentedObject1)
+            .build();
+    MethodParamModel wrongTypeParam =
+        MockMethodParamModel.newBuilder()
+            .type(ClassNames.LONG_STATE_VALUE)
+            .name("count")
+            .representedObject(mRepresentedObject2)
+            .build();
+
+    SpecMethodModel<UpdateStateMethod, Void> updateStateMethodModel =
+        SpecMethodModel.<UpdateStateMethod, Void>builder()
+            .annotations(null)
+            .modifiers(ImmutableList.of(Modifier.STATIC))
+            .name("methodName")
+            .returnTypeSpec(null)
+            .typeVariables(ImmutableList.of())
+            .methodParams(ImmutableList.of(validParam, wrongTypeParam))
+            .representedObject(mRepresentedObject3)
+            .typeModel(null)
+            .build();
+
+    List<SpecModelValidationError> validationErrors =
+        StateValidation.validateOnUpdateStateMethod(mSpecModel, updateStateMethodModel);
+    assertThat(validationErrors).hasSize(1);
+    assertThat(validationErrors.get(0).element).isSameAs(mRepresentedObject2);
+    assertThat(validationErrors.get(0).message)
+        .isEqualTo(
+            "Names of parameters of type com.facebook.litho.LongStateValue must match the name of "
+                + "a parameter annotated with @State of the corresponding primitive type.");
+  }
+
   @Test
   public void testOnUpdateStateNotStatic() {
     SpecMethodModel<UpdateStateMethod, Void> updateStateMethodModel =
@@ -33,6 +33,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Optional;
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
 import javax.tools.FileObject;
 import javax.tools.JavaFileManager;
 import javax.tools.StandardLocation;
@@ -91,6 +92,26 @@ public class PropNameInterStageStoreTest {
     // Not checking the actually written values here because Java IO is a horrible mess.
   }
 
+  @Test
+  public void testSaveRecordsOriginatingElement() throws IOException {
+    final PropNameInterStageStore store = new PropNameInterStageStore(mFiler);
+    final Element element = mock(Element.class);
+
+    final MockSpecModel specModel =
+        MockSpecModel.newBuilder()
+            .rawProps(ImmutableList.of(makePropModel("param0")))
+            .specTypeName(ClassName.get(MyTestSpec.class))
+            .build();
+    store.saveNames(specModel, element);
+
+    verify(mFiler)
+        .createResource(
+            StandardLocation.CLASS_OUTPUT,
+            "",
+            "META-INF/litho/com.facebook.litho.specmodels.processor.PropNameInterStageStoreTest.MyTestSpec.props",
+            element);
+  }
+
   public static class MyTestSpec {}
 
   static FileObject makeFileObjectForString(String value) throws IOException {
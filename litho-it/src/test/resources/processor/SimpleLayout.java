@@ -16,13 +16,13 @@
 
 package com.facebook.litho.processor.integration.resources;
 
-import android.support.v4.util.Pools;
 import com.facebook.litho.Component;
 import com.facebook.litho.ComponentContext;
+import com.facebook.litho.ThreadLocalPool;
 
 /** @see com.facebook.litho.processor.integration.resources.SimpleLayoutSpec */
 public final class SimpleLayout extends Component {
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool = new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<Builder>(2);
 
   private SimpleLayout() {
     super("SimpleLayout");
@@ -16,16 +16,15 @@
 
 package com.facebook.litho.processor.integration.resources;
 
-import android.support.v4.util.Pools;
 import com.facebook.litho.Component;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentLayout;
 import com.facebook.litho.ComponentLifecycle;
 import com.facebook.litho.LithoView;
 import com.facebook.litho.Size;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.ResType;
-import java.util.BitSet;
 
 /**
  * @prop-required content com.facebook.litho.Component
@@ -33,7 +32,7 @@ import java.util.BitSet;
  * @see com.facebook.litho.processor.integration.resources.SimpleMountSpec
  */
 public final class SimpleMount extends Component {
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool = new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<Builder>(2);
 
   @Prop(resType = ResType.NONE, optional = false)
   Component content;
@@ -57,6 +56,9 @@ public final class SimpleMount extends Component {
     if (this.getId() == simpleMountRef.getId()) {
       return true;
     }
+    if (!isPropsHashMatching(simpleMountRef)) {
+      return false;
+    }
     if (content != null
         ? !content.isEquivalentTo(simpleMountRef.content)
         : simpleMountRef.content != null) {
@@ -68,6 +70,16 @@ public final class SimpleMount extends Component {
     return true;
   }
 
+  @Override
+  protected int computePropsHash() {
+    int result = 0;
+    result = 31 * result + (content != null ? 1 : 0);
+    result =
+        31 * result
+            + (int) (Double.doubleToLongBits(ratio) ^ (Double.doubleToLongBits(ratio) >>> 32));
+    return result;
+  }
+
   @Override
   public SimpleMount makeShallowCopy() {
     SimpleMount component = (SimpleMount) super.makeShallowCopy();
@@ -146,31 +158,31 @@ public final class SimpleMount extends Component {
 
     ComponentContext mContext;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
 
     private void init(ComponentContext context, int defStyleAttr, int defStyleRes,
         SimpleMount simpleMountRef) {
       super.init(context, defStyleAttr, defStyleRes, simpleMountRef);
       mSimpleMount = simpleMountRef;
       mContext = context;
-      mRequired.clear();
+      mRequired = 0;
     }
 
     public Builder content(Component content) {
       this.mSimpleMount.content = content == null ? null : content.makeShallowCopy();
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
     public Builder content(Component.Builder<?> contentBuilder) {
       this.mSimpleMount.content = contentBuilder.build();
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
     public Builder ratio(double ratio) {
       this.mSimpleMount.ratio = ratio;
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
@@ -34,13 +34,13 @@ import com.facebook.litho.EventTriggersContainer;
 import com.facebook.litho.HasEventDispatcher;
 import com.facebook.litho.Output;
 import com.facebook.litho.StateValue;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.Transition;
 import com.facebook.litho.TreeProps;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.annotations.State;
 import java.util.Arrays;
-import java.util.BitSet;
 
 /**
  * @prop-required child com.facebook.litho.Component
@@ -56,7 +56,7 @@ import java.util.BitSet;
 public final class TestLayout<S extends View> extends Component implements TestTag {
   static final Pools.SynchronizedPool<TestEvent> sTestEventPool = new Pools.SynchronizedPool<TestEvent>(2);
 
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool = new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<Builder>(2);
 
   private TestLayoutStateContainer mStateContainer;
 
@@ -132,6 +132,9 @@ public final class TestLayout<S extends View> extends Component implements TestT
     if (this.getId() == testLayoutRef.getId()) {
       return true;
     }
+    if (!isPropsHashMatching(testLayoutRef)) {
+      return false;
+    }
     if (child != null ? !child.isEquivalentTo(testLayoutRef.child) : testLayoutRef.child != null) {
       return false;
     }
@@ -168,6 +171,19 @@ public final class TestLayout<S extends View> extends Component implements TestT
     return true;
   }
 
+  @Override
+  protected int computePropsHash() {
+    int result = 0;
+    result = 31 * result + (child != null ? 1 : 0);
+    result = 31 * result + prop1;
+    result = 31 * result + (prop2 ? 1 : 0);
+    result = 31 * result + (prop3 != null ? prop3.hashCode() : 0);
+    result = 31 * result + Arrays.hashCode(prop4);
+    result = 31 * result + prop5;
+    result = 31 * result + (int) (prop6 ^ (prop6 >>> 32));
+    return result;
+  }
+
   private UpdateCurrentStateStateUpdate createUpdateCurrentStateStateUpdate(int someParam) {
     return new UpdateCurrentStateStateUpdate(someParam);
   }
@@ -360,13 +376,13 @@ public final class TestLayout<S extends View> extends Component implements TestT
     }
     ClickEvent _eventState = new ClickEvent();
     _eventState.view = view;
-    trigger.dispatchOnTrigger(_eventState, new Object[] {});
+    trigger.dispatchOnTrigger(_eventState);
   }
 
   public static void onClickEventTrigger(EventTrigger trigger, View view) {
     ClickEvent _eventState = new ClickEvent();
     _eventState.view = view;
-    trigger.dispatchOnTrigger(_eventState, new Object[] {});
+    trigger.dispatchOnTrigger(_eventState);
   }
 
   static void onClickEventTrigger(ComponentContext c, View view) {
@@ -442,9 +458,7 @@ public final class TestLayout<S extends View> extends Component implements TestT
           public void updateState(
               ComponentLifecycle.StateContainer _stateContainer, Component newComponent) {
             TestLayout newComponentStateUpdate = (TestLayout) newComponent;
-            StateValue<Long> state1 = new StateValue<Long>();
-            state1.set(lazyUpdateValue);
-            newComponentStateUpdate.mStateContainer.state1 = state1.get();
+            newComponentStateUpdate.mStateContainer.state1 = lazyUpdateValue;
           }
         };
     c.updateStateLazy(_stateUpdate);
@@ -546,31 +560,31 @@ public final class TestLayout<S extends View> extends Component implements TestT
 
     ComponentContext mContext;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
 
     private void init(
         ComponentContext context, int defStyleAttr, int defStyleRes, TestLayout testLayoutRef) {
       super.init(context, defStyleAttr, defStyleRes, testLayoutRef);
       mTestLayout = testLayoutRef;
       mContext = context;
-      mRequired.clear();
+      mRequired = 0;
     }
 
     public Builder<S> child(Component child) {
       this.mTestLayout.child = child == null ? null : child.makeShallowCopy();
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
     public Builder<S> child(Component.Builder<?> childBuilder) {
       this.mTestLayout.child = childBuilder.build();
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
     public Builder<S> prop1(int prop1) {
       this.mTestLayout.prop1 = prop1;
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
@@ -581,25 +595,25 @@ public final class TestLayout<S extends View> extends Component implements TestT
 
     public Builder<S> prop3(Object prop3) {
       this.mTestLayout.prop3 = prop3;
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<S> prop4(char[] prop4) {
       this.mTestLayout.prop4 = prop4;
-      mRequired.set(3);
+      mRequired |= 1L << 3;
       return this;
     }
 
     public Builder<S> prop5(char prop5) {
       this.mTestLayout.prop5 = prop5;
-      mRequired.set(4);
+      mRequired |= 1L << 4;
       return this;
     }
 
     public Builder<S> prop6(long prop6) {
       this.mTestLayout.prop6 = prop6;
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
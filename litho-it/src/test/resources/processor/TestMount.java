@@ -40,12 +40,12 @@ import com.facebook.litho.MountContentPool;
 import com.facebook.litho.Output;
 import com.facebook.litho.Size;
 import com.facebook.litho.StateValue;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.TreeProps;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.annotations.State;
 import java.util.Arrays;
-import java.util.BitSet;
 
 /**
  * @prop-required prop1 int
@@ -62,7 +62,7 @@ import java.util.BitSet;
 public final class TestMount<S extends View> extends Component implements TestTag {
   static final Pools.SynchronizedPool<TestEvent> sTestEventPool = new Pools.SynchronizedPool<TestEvent>(2);
 
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool = new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool = new ThreadLocalPool<Builder>(2);
 
   private TestMountStateContainer mStateContainer;
 
@@ -146,6 +146,9 @@ public final class TestMount<S extends View> extends Component implements TestTa
     if (this.getId() == testMountRef.getId()) {
       return true;
     }
+    if (!isPropsHashMatching(testMountRef)) {
+      return false;
+    }
     if (prop1 != testMountRef.prop1) {
       return false;
     }
@@ -182,6 +185,20 @@ public final class TestMount<S extends View> extends Component implements TestTa
     return true;
   }
 
+  @Override
+  protected int computePropsHash() {
+    int result = 0;
+    result = 31 * result + prop1;
+    result = 31 * result + (prop2 ? 1 : 0);
+    result = 31 * result + (prop3 != null ? prop3.hashCode() : 0);
+    result = 31 * result + Arrays.hashCode(prop4);
+    result = 31 * result + prop5;
+    result = 31 * result + (int) (prop6 ^ (prop6 >>> 32));
+    result = 31 * result + (prop7 != null ? prop7.hashCode() : 0);
+    result = 31 * result + (int) (prop8 ^ (prop8 >>> 32));
+    return result;
+  }
+
   @Override
   protected void copyInterStageImpl(Component component) {
     TestMount testMountRef = (TestMount) component;
@@ -497,13 +514,13 @@ public final class TestMount<S extends View> extends Component implements TestTa
     }
     ClickEvent _eventState = new ClickEvent();
     _eventState.view = view;
-    trigger.dispatchOnTrigger(_eventState, new Object[] {});
+    trigger.dispatchOnTrigger(_eventState);
   }
 
   public static void onClickEventTrigger(EventTrigger trigger, View view) {
     ClickEvent _eventState = new ClickEvent();
     _eventState.view = view;
-    trigger.dispatchOnTrigger(_eventState, new Object[] {});
+    trigger.dispatchOnTrigger(_eventState);
   }
 
   static void onClickEventTrigger(ComponentContext c, View view) {
@@ -578,9 +595,7 @@ public final class TestMount<S extends View> extends Component implements TestTa
           public void updateState(
               ComponentLifecycle.StateContainer _stateContainer, Component newComponent) {
             TestMount newComponentStateUpdate = (TestMount) newComponent;
-            StateValue<Long> state1 = new StateValue<Long>();
-            state1.set(lazyUpdateValue);
-            newComponentStateUpdate.mStateContainer.state1 = state1.get();
+            newComponentStateUpdate.mStateContainer.state1 = lazyUpdateValue;
           }
         };
     c.updateStateLazy(_stateUpdate);
@@ -640,19 +655,19 @@ public final class TestMount<S extends View> extends Component implements TestTa
 
     ComponentContext mContext;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
 
     private void init(
         ComponentContext context, int defStyleAttr, int defStyleRes, TestMount testMountRef) {
       super.init(context, defStyleAttr, defStyleRes, testMountRef);
       mTestMount = testMountRef;
       mContext = context;
-      mRequired.clear();
+      mRequired = 0;
     }
 
     public Builder<S> prop1(int prop1) {
       this.mTestMount.prop1 = prop1;
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
@@ -663,61 +678,61 @@ public final class TestMount<S extends View> extends Component implements TestTa
 
     public Builder<S> prop3(Object prop3) {
       this.mTestMount.prop3 = prop3;
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
     public Builder<S> prop4(char[] prop4) {
       this.mTestMount.prop4 = prop4;
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<S> prop5(char prop5) {
       this.mTestMount.prop5 = prop5;
-      mRequired.set(3);
+      mRequired |= 1L << 3;
       return this;
     }
 
     public Builder<S> prop6(long prop6) {
       this.mTestMount.prop6 = prop6;
-      mRequired.set(4);
+      mRequired |= 1L << 4;
       return this;
     }
 
     public Builder<S> prop7(CharSequence prop7) {
       this.mTestMount.prop7 = prop7;
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
     public Builder<S> prop7Res(@StringRes int resId) {
       this.mTestMount.prop7 = resolveStringRes(resId);
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
     public Builder<S> prop7Res(@StringRes int resId, Object... formatArgs) {
       this.mTestMount.prop7 = resolveStringRes(resId, formatArgs);
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
     public Builder<S> prop7Attr(@AttrRes int attrResId, @StringRes int defResId) {
       this.mTestMount.prop7 = resolveStringAttr(attrResId, defResId);
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
     public Builder<S> prop7Attr(@AttrRes int attrResId) {
       this.mTestMount.prop7 = resolveStringAttr(attrResId, 0);
-      mRequired.set(5);
+      mRequired |= 1L << 5;
       return this;
     }
 
     public Builder<S> prop8(long prop8) {
       this.mTestMount.prop8 = prop8;
-      mRequired.set(6);
+      mRequired |= 1L << 6;
       return this;
     }
 
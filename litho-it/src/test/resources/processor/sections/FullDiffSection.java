@@ -26,6 +26,7 @@ import com.facebook.litho.EventDispatcher;
 import com.facebook.litho.EventHandler;
 import com.facebook.litho.HasEventDispatcher;
 import com.facebook.litho.StateValue;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.annotations.State;
@@ -34,7 +35,6 @@ import com.facebook.litho.sections.LoadingEvent;
 import com.facebook.litho.sections.Section;
 import com.facebook.litho.sections.SectionContext;
 import com.facebook.litho.sections.SectionLifecycle;
-import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -45,8 +45,8 @@ import java.util.List;
  * @see com.facebook.litho.sections.processor.integration.resources.FullDiffSectionSpec
  */
 public final class FullDiffSection<T> extends Section implements TestTag {
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool =
-      new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool =
+      new ThreadLocalPool<Builder>(2);
 
   static final Pools.SynchronizedPool<TestEvent> sTestEventPool =
       new Pools.SynchronizedPool<TestEvent>(2);
@@ -345,24 +345,24 @@ public final class FullDiffSection<T> extends Section implements TestTag {
 
     SectionContext mContext;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
 
     private void init(SectionContext context, FullDiffSection fullDiffSectionRef) {
       super.init(context, fullDiffSectionRef);
       mFullDiffSection = fullDiffSectionRef;
       mContext = context;
-      mRequired.clear();
+      mRequired = 0;
     }
 
     public Builder<T> data(List<T> data) {
       this.mFullDiffSection.data = data;
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
     public Builder<T> prop1(Integer prop1) {
       this.mFullDiffSection.prop1 = prop1;
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
@@ -373,13 +373,13 @@ public final class FullDiffSection<T> extends Section implements TestTag {
 
     public Builder<T> prop3(Component prop3) {
       this.mFullDiffSection.prop3 = prop3;
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<T> prop3(Component.Builder<?> prop3Builder) {
       this.mFullDiffSection.prop3 = prop3Builder.build();
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
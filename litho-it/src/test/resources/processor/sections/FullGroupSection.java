@@ -28,6 +28,7 @@ import com.facebook.litho.EventDispatcher;
 import com.facebook.litho.EventHandler;
 import com.facebook.litho.HasEventDispatcher;
 import com.facebook.litho.StateValue;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.TreeProps;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.ResType;
@@ -37,7 +38,6 @@ import com.facebook.litho.sections.LoadingEvent;
 import com.facebook.litho.sections.Section;
 import com.facebook.litho.sections.SectionContext;
 import com.facebook.litho.sections.SectionLifecycle;
-import java.util.BitSet;
 
 /**
  * Comment to be copied in generated section
@@ -51,8 +51,8 @@ import java.util.BitSet;
  * @see com.facebook.litho.sections.processor.integration.resources.FullGroupSectionSpec
  */
 final class FullGroupSection<T> extends Section implements TestTag {
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool =
-      new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool =
+      new ThreadLocalPool<Builder>(2);
 
   static final Pools.SynchronizedPool<TestEvent> sTestEventPool =
       new Pools.SynchronizedPool<TestEvent>(2);
@@ -196,9 +196,7 @@ final class FullGroupSection<T> extends Section implements TestTag {
           public void updateState(
               SectionLifecycle.StateContainer _stateContainer, Section newComponent) {
             FullGroupSection newComponentStateUpdate = (FullGroupSection) newComponent;
-            StateValue<Object> state2 = new StateValue<Object>();
-            state2.set(lazyUpdateValue);
-            newComponentStateUpdate.mStateContainer.state2 = state2.get();
+            newComponentStateUpdate.mStateContainer.state2 = lazyUpdateValue;
           }
         };
     c.updateStateLazy(_stateUpdate);
@@ -396,18 +394,18 @@ final class FullGroupSection<T> extends Section implements TestTag {
 
     SectionContext mContext;
 
-    private final BitSet mRequired = new BitSet(REQUIRED_PROPS_COUNT);
+    private long mRequired;
 
     private void init(SectionContext context, FullGroupSection fullGroupSectionRef) {
       super.init(context, fullGroupSectionRef);
       mFullGroupSection = fullGroupSectionRef;
       mContext = context;
-      mRequired.clear();
+      mRequired = 0;
     }
 
     public Builder<T> prop1(int prop1) {
       this.mFullGroupSection.prop1 = prop1;
-      mRequired.set(0);
+      mRequired |= 1L << 0;
       return this;
     }
 
@@ -418,43 +416,43 @@ final class FullGroupSection<T> extends Section implements TestTag {
 
     public Builder<T> prop3(Component prop3) {
       this.mFullGroupSection.prop3 = prop3;
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
     public Builder<T> prop3(Component.Builder<?> prop3Builder) {
       this.mFullGroupSection.prop3 = prop3Builder.build();
-      mRequired.set(1);
+      mRequired |= 1L << 1;
       return this;
     }
 
     public Builder<T> prop4(String prop4) {
       this.mFullGroupSection.prop4 = prop4;
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<T> prop4Res(@StringRes int resId) {
       this.mFullGroupSection.prop4 = resolveStringRes(resId);
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<T> prop4Res(@StringRes int resId, Object... formatArgs) {
       this.mFullGroupSection.prop4 = resolveStringRes(resId, formatArgs);
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<T> prop4Attr(@AttrRes int attrResId, @StringRes int defResId) {
       this.mFullGroupSection.prop4 = resolveStringAttr(attrResId, defResId);
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
     public Builder<T> prop4Attr(@AttrRes int attrResId) {
       this.mFullGroupSection.prop4 = resolveStringAttr(attrResId, 0);
-      mRequired.set(2);
+      mRequired |= 1L << 2;
       return this;
     }
 
@@ -16,8 +16,8 @@
 
 package com.facebook.litho.sections.processor.integration.resources;
 
-import android.support.v4.util.Pools;
 import com.facebook.litho.EventHandler;
+import com.facebook.litho.ThreadLocalPool;
 import com.facebook.litho.sections.ChangeSet;
 import com.facebook.litho.sections.LoadingEvent;
 import com.facebook.litho.sections.Section;
@@ -25,8 +25,8 @@ import com.facebook.litho.sections.SectionContext;
 
 /** @see com.facebook.litho.sections.processor.integration.resources.SimpleDiffSectionSpec */
 public final class SimpleDiffSection extends Section {
-  private static final Pools.SynchronizedPool<Builder> sBuilderPool =
-      new Pools.SynchronizedPool<Builder>(2);
+  private static final ThreadLocalPool<Builder> sBuilderPool =
+      new ThreadLocalPool<Builder>(2);
 
   private SimpleDiffSection() {
     super("SimpleDiffSection");
@@ -54,6 +54,9 @@ public class BuilderGenerator {
   private static final String CONTEXT_PARAM_NAME = "context";
   private static final String REQUIRED_PROPS_NAMES = "REQUIRED_PROPS_NAMES";
   private static final String REQUIRED_PROPS_COUNT = "REQUIRED_PROPS_COUNT";
+  private static final String REQUIRED_MEMBER_NAME = "mRequired";
+  // Up to this number of required props, the supplied ones are tracked in a long bitmask.
+  private static final int MAX_REQUIRED_PROPS_IN_BITMASK = 64;
 
   private BuilderGenerator() {
   }
@@ -68,13 +71,13 @@ public class BuilderGenerator {
   static TypeSpecDataHolder generateFactoryMethods(SpecModel specModel) {
     final TypeSpecDataHolder.Builder dataHolder = TypeSpecDataHolder.newBuilder();
 
-    final ParameterizedTypeName synchronizedPoolClass =
-        ParameterizedTypeName.get(ClassNames.SYNCHRONIZED_POOL, BUILDER_CLASS_NAME);
+    final ParameterizedTypeName poolClass =
+        ParameterizedTypeName.get(ClassNames.THREAD_LOCAL_POOL, BUILDER_CLASS_NAME);
 
     final FieldSpec.Builder poolField =
-        FieldSpec.builder(synchronizedPoolClass, BUILDER_POOL_FIELD)
+        FieldSpec.builder(poolClass, BUILDER_POOL_FIELD)
             .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-            .initializer("new $T(2)", synchronizedPoolClass);
+            .initializer("new $T(2)", poolClass);
 
     final MethodSpec.Builder factoryMethod =
         MethodSpec.methodBuilder("create")
@@ -238,12 +241,19 @@ public class BuilderGenerator {
 
       propsBuilderClassBuilder.addField(requiredPropsCountBuilder.build());
 
-      propsBuilderClassBuilder.addField(
-          FieldSpec.builder(BitSet.class, "mRequired", Modifier.PRIVATE, Modifier.FINAL)
-              .initializer("new $T($L)", BitSet.class, REQUIRED_PROPS_COUNT)
-              .build());
+      if (numRequiredProps <= MAX_REQUIRED_PROPS_IN_BITMASK) {
+        propsBuilderClassBuilder.addField(
+            FieldSpec.builder(long.class, REQUIRED_MEMBER_NAME, Modifier.PRIVATE).build());
+
+        initMethodSpec.addStatement("$L = 0", REQUIRED_MEMBER_NAME);
+      } else {
+        propsBuilderClassBuilder.addField(
+            FieldSpec.builder(BitSet.class, REQUIRED_MEMBER_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T($L)", BitSet.class, REQUIRED_PROPS_COUNT)
+                .build());
 
-      initMethodSpec.addStatement("mRequired.clear()");
+        initMethodSpec.addStatement("$L.clear()", REQUIRED_MEMBER_NAME);
+      }
     }
 
     propsBuilderClassBuilder.addMethod(initMethodSpec.build());
@@ -1141,7 +1151,11 @@ public class BuilderGenerator {
     }
 
     if (!prop.isOptional()) {
-      builder.addStatement("$L.set($L)", "mRequired", requiredIndex);
+      if (getRequiredPropsCount(specModel) <= MAX_REQUIRED_PROPS_IN_BITMASK) {
+        builder.addStatement("$L |= 1L << $L", REQUIRED_MEMBER_NAME, requiredIndex);
+      } else {
+        builder.addStatement("$L.set($L)", REQUIRED_MEMBER_NAME, requiredIndex);
+      }
     }
 
     builder.addStatement("return this");
@@ -1264,7 +1278,7 @@ public class BuilderGenerator {
           .addStatement(
               "checkArgs($L, $L, $L)",
               REQUIRED_PROPS_COUNT,
-              "mRequired",
+              REQUIRED_MEMBER_NAME,
               REQUIRED_PROPS_NAMES);
     }
 
@@ -1311,6 +1325,17 @@ public class BuilderGenerator {
     return builtInitializer.toString();
   }
 
+  private static int getRequiredPropsCount(SpecModel specModel) {
+    int numRequiredProps = 0;
+    for (PropModel prop : specModel.getProps()) {
+      if (!prop.isOptional()) {
+        numRequiredProps++;
+      }
+    }
+
+    return numRequiredProps;
+  }
+
   private static boolean hasStaticCreate(SpecModel specModel) {
     return !(specModel.hasInjectedDependencies()
         && specModel.getDependencyInjectionHelper().hasDIComponentCreation());
@@ -96,6 +96,7 @@ public class ComponentBodyGenerator {
         .addTypeSpecDataHolder(generateEventTriggers(specModel));
 
     builder.addMethod(generateIsEquivalentMethod(specModel));
+    builder.addTypeSpecDataHolder(generateComputePropsHashMethod(specModel));
 
     builder.addTypeSpecDataHolder(generateCopyInterStageImpl(specModel));
     builder.addTypeSpecDataHolder(generateOnUpdateStateMethods(specModel));
@@ -403,6 +404,13 @@ public class ComponentBodyGenerator {
           .endControlFlow();
     }
 
+    if (shouldGeneratePropsHash(specModel)) {
+      isEquivalentBuilder
+          .beginControlFlow("if (!isPropsHashMatching($N))", instanceRefName)
+          .addStatement("return false")
+          .endControlFlow();
+    }
+
     for (PropModel prop : specModel.getProps()) {
       isEquivalentBuilder.addCode(getCompareStatement(specModel, instanceRefName, prop));
     }
@@ -420,6 +428,80 @@ public class ComponentBodyGenerator {
     return isEquivalentBuilder.build();
   }
 
+  /**
+   * Generates an override of Component#computePropsHash. Every prop contributes to the hash in a
+   * way that is consistent with how isEquivalentTo compares it, so that equivalent components
+   * always end up with the same hash. Props compared with equals contribute their hashCode, while
+   * components, which are compared with isEquivalentTo, only contribute whether they are null, and
+   * collections of components their size.
+   */
+  static TypeSpecDataHolder generateComputePropsHashMethod(SpecModel specModel) {
+    final TypeSpecDataHolder.Builder typeSpecDataHolder = TypeSpecDataHolder.newBuilder();
+    if (!shouldGeneratePropsHash(specModel)) {
+      return typeSpecDataHolder.build();
+    }
+
+    final MethodSpec.Builder computePropsHashBuilder =
+        MethodSpec.methodBuilder("computePropsHash")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(TypeName.INT)
+            .addStatement("int result = 0");
+
+    for (PropModel prop : specModel.getProps()) {
+      final CodeBlock propHash = getPropHashExpression(specModel, prop);
+      if (propHash != null) {
+        computePropsHashBuilder.addStatement("result = 31 * result + $L", propHash);
+      }
+    }
+
+    computePropsHashBuilder.addStatement("return result");
+
+    return typeSpecDataHolder.addMethod(computePropsHashBuilder.build()).build();
+  }
+
+  private static boolean shouldGeneratePropsHash(SpecModel specModel) {
+    return specModel.getComponentClass().equals(ClassNames.COMPONENT)
+        && !specModel.getProps().isEmpty();
+  }
+
+  @Nullable
+  private static CodeBlock getPropHashExpression(SpecModel specModel, MethodParamModel field) {
+    final String implAccessor = getImplAccessor(specModel, field);
+    final TypeName typeName = field.getTypeName();
+
+    if (typeName.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("($L ? 1 : 0)", implAccessor);
+    } else if (typeName.equals(TypeName.INT)
+        || typeName.equals(TypeName.SHORT)
+        || typeName.equals(TypeName.BYTE)
+        || typeName.equals(TypeName.CHAR)) {
+      return CodeBlock.of("$L", implAccessor);
+    } else if (typeName.equals(TypeName.LONG)) {
+      return CodeBlock.of("(int) ($L ^ ($L >>> 32))", implAccessor, implAccessor);
+    } else if (typeName.equals(TypeName.FLOAT)) {
+      return CodeBlock.of("Float.floatToIntBits($L)", implAccessor);
+    } else if (typeName.equals(TypeName.DOUBLE)) {
+      return CodeBlock.of(
+          "(int) (Double.doubleToLongBits($L) ^ (Double.doubleToLongBits($L) >>> 32))",
+          implAccessor,
+          implAccessor);
+    } else if (typeName instanceof ArrayTypeName) {
+      // Arrays are compared with Arrays#equals, which Arrays#hashCode is consistent with.
+      return CodeBlock.of("$T.hashCode($L)", Arrays.class, implAccessor);
+    } else if (typeName.equals(ClassNames.REFERENCE)) {
+      // References are compared with Reference#shouldUpdate, which the hash can't mirror.
+      return null;
+    } else if (field.getTypeSpec().isSubInterface(ClassNames.COLLECTION)
+        && calculateLevelOfComponentInCollections((DeclaredTypeSpec) field.getTypeSpec()) > 0) {
+      return CodeBlock.of("($L != null ? 31 + $L.size() : 0)", implAccessor, implAccessor);
+    } else if (shouldUseIsEquivalentTo(specModel, field)) {
+      return CodeBlock.of("($L != null ? 1 : 0)", implAccessor);
+    }
+
+    return CodeBlock.of("($L != null ? $L.hashCode() : 0)", implAccessor, implAccessor);
+  }
+
   static TypeSpecDataHolder generateCopyInterStageImpl(SpecModel specModel) {
     final TypeSpecDataHolder.Builder typeSpecDataHolder = TypeSpecDataHolder.newBuilder();
     final ImmutableList<InterStageInputParamModel> interStageInputs =
@@ -16,7 +16,10 @@
 
 package com.facebook.litho.specmodels.generator;
 
+import com.facebook.litho.annotations.OnCreateLayoutWithSizeSpec;
 import com.facebook.litho.specmodels.model.HasPureRender;
+import com.facebook.litho.specmodels.model.SpecModel;
+import com.facebook.litho.specmodels.model.SpecModelUtils;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import javax.lang.model.element.Modifier;
@@ -41,4 +44,31 @@ public class PureRenderGenerator {
 
     return dataHolder.build();
   }
+
+  /**
+   * Generates {@code canReuseLayout()} for pure layout specs whose layout only depends on their
+   * props, so that a previously resolved subtree can be reused when the component is equivalent.
+   * Specs with state, tree props or a size dependent layout are excluded.
+   */
+  public static <S extends SpecModel & HasPureRender> TypeSpecDataHolder generateCanReuseLayout(
+      S specModel) {
+    TypeSpecDataHolder.Builder dataHolder = TypeSpecDataHolder.newBuilder();
+
+    if (specModel.isPureRender()
+        && specModel.getStateValues().isEmpty()
+        && specModel.getTreeProps().isEmpty()
+        && SpecModelUtils.getMethodModelWithAnnotation(
+                specModel, OnCreateLayoutWithSizeSpec.class)
+            == null) {
+      dataHolder.addMethod(
+          MethodSpec.methodBuilder("canReuseLayout")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PROTECTED)
+              .returns(TypeName.BOOLEAN)
+              .addStatement("return true")
+              .build());
+    }
+
+    return dataHolder.build();
+  }
 }
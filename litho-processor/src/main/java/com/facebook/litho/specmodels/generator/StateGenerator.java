@@ -31,7 +31,6 @@ import com.facebook.litho.specmodels.model.UpdateStateMethod;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
-import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.Locale;
@@ -273,7 +272,7 @@ public class StateGenerator {
               MethodParamModelUtils.getTypeVariables(methodParam));
         }
       } else {
-        // Must be a StateValue<>.
+        // Must be a StateValue<> or one of its primitive counterparts, such as IntStateValue.
         updateStateMethodBuilder
             .addStatement(
                 "$T $L = new $T()",
@@ -390,18 +389,13 @@ public class StateGenerator {
                 newComponentImplName,
                 compClass,
                 STATE_UPDATE_NEW_COMPONENT_NAME)
+            // Assign the value directly rather than through a StateValue, which would box it.
             .addStatement(
-                "$T $L = new $T()",
-                ParameterizedTypeName.get(ClassNames.STATE_VALUE, stateValue.getTypeName().box()),
-                stateValue.getName(),
-                ParameterizedTypeName.get(ClassNames.STATE_VALUE, stateValue.getTypeName().box()))
-            .addStatement(stateValue.getName() + ".set(" + LAZY_STATE_UPDATE_VALUE_PARAM + ")")
-            .addStatement(
-                "$L.$L.$L = $L.get()",
+                "$L.$L.$L = $L",
                 newComponentImplName,
                 GeneratorConstants.STATE_CONTAINER_FIELD_NAME,
                 stateValue.getName(),
-                stateValue.getName());
+                LAZY_STATE_UPDATE_VALUE_PARAM);
 
     final TypeSpec.Builder stateBuilderImpl =
         TypeSpec.anonymousClassBuilder("")
@@ -378,20 +378,23 @@ public class TriggerGenerator {
     paramsBlock.indent();
 
     addParametersToStaticTriggerMethods(contextClassName, eventMethodModel, eventTriggerMethod);
-    addTriggerParams(contextClassName, eventMethodModel, eventTriggerMethod, paramsBlock);
+    final boolean hasParams =
+        addTriggerParams(contextClassName, eventMethodModel, eventTriggerMethod, paramsBlock);
 
     paramsBlock.unindent();
     paramsBlock.add("}");
 
+    // Triggers without any @Param don't need to allocate a params array.
+    final CodeBlock dispatchCall =
+        hasParams
+            ? CodeBlock.of("trigger.dispatchOnTrigger(_eventState, $L)", paramsBlock.build())
+            : CodeBlock.of("trigger.dispatchOnTrigger(_eventState)");
+
     if (eventDeclaration.returnType == null || eventDeclaration.returnType.equals(TypeName.VOID)) {
-      eventTriggerMethod.addStatement(
-          "trigger.dispatchOnTrigger(_eventState, $L)", paramsBlock.build());
+      eventTriggerMethod.addStatement("$L", dispatchCall);
     } else {
       eventTriggerMethod
-          .addStatement(
-              "return ($L) trigger.dispatchOnTrigger(_eventState, $L)",
-              eventDeclaration.returnType,
-              paramsBlock.build())
+          .addStatement("return ($L) $L", eventDeclaration.returnType, dispatchCall)
           .returns(eventDeclaration.returnType);
     }
 
@@ -430,11 +433,13 @@ public class TriggerGenerator {
     }
   }
 
-  private static MethodSpec.Builder addTriggerParams(
+  /** @return whether any {@link Param} was added to the given params block. */
+  private static boolean addTriggerParams(
       ClassName contextClassName,
       SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel,
       MethodSpec.Builder eventTriggerMethod,
       CodeBlock.Builder paramsBlock) {
+    boolean hasParams = false;
     for (int i = 0, size = eventMethodModel.methodParams.size(); i < size; i++) {
       final MethodParamModel methodParamModel = eventMethodModel.methodParams.get(i);
 
@@ -449,9 +454,10 @@ public class TriggerGenerator {
 
       if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, Param.class)) {
         paramsBlock.add("$L,\n", methodParamModel.getName());
+        hasParams = true;
       }
     }
 
-    return eventTriggerMethod;
+    return hasParams;
   }
 }
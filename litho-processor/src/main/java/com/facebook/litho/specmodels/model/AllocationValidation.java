@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.specmodels.model;
+
+import com.facebook.litho.specmodels.internal.ImmutableList;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Opt-in validation of props which can't be meaningfully compared. Such props are usually
+ * allocated anew every time the parent creates its layout, so the generated isEquivalentTo never
+ * considers two instances of the component equal and their measurements and mounted content can't
+ * be reused.
+ */
+public class AllocationValidation {
+
+  /** Types that don't override equals, so instances are only ever equal to themselves. */
+  static final ImmutableList<ClassName> IDENTITY_EQUALITY_TYPES =
+      ImmutableList.of(
+          ClassNames.DRAWABLE,
+          ClassNames.VIEW,
+          ClassName.bestGuess("android.graphics.Bitmap"),
+          ClassName.bestGuess("java.lang.Runnable"));
+
+  private static final ImmutableList<ClassName> COLLECTION_TYPES =
+      ImmutableList.of(
+          ClassName.bestGuess("java.util.Collection"),
+          ClassName.bestGuess("java.util.List"),
+          ClassName.bestGuess("java.util.Set"),
+          ClassName.bestGuess("java.util.ArrayList"));
+
+  public static List<SpecModelValidationError> validate(SpecModel specModel) {
+    final List<SpecModelValidationError> validationErrors = new ArrayList<>();
+    final boolean isPureRender =
+        specModel instanceof HasPureRender && ((HasPureRender) specModel).isPureRender();
+
+    for (PropModel prop : specModel.getProps()) {
+      final TypeSpec typeSpec = prop.getTypeSpec();
+
+      if (isCallbackType(typeSpec.getTypeName())) {
+        validationErrors.add(
+            new SpecModelValidationError(
+                prop.getRepresentedObject(),
+                "The prop "
+                    + prop.getName()
+                    + " of type "
+                    + typeSpec.getTypeName()
+                    + " has no meaningful equality, so a new instance or lambda passed on every "
+                    + "layout makes this component non-equivalent to its previous version. "
+                    + "Use an EventHandler instead."));
+      } else if (isPureRender && hasIdentityEquality(typeSpec)) {
+        validationErrors.add(
+            new SpecModelValidationError(
+                prop.getRepresentedObject(),
+                "The prop "
+                    + prop.getName()
+                    + " of type "
+                    + typeSpec.getTypeName()
+                    + " is compared by identity, so this pure render component is updated "
+                    + "whenever a new instance is passed. Pass a Reference or a type which "
+                    + "implements equals, or set isPureRender = false."));
+      } else {
+        final TypeSpec elementTypeSpec = getElementTypeSpec(typeSpec);
+        if (elementTypeSpec != null
+            && (hasIdentityEquality(elementTypeSpec)
+                || isCallbackType(elementTypeSpec.getTypeName()))) {
+          validationErrors.add(
+              new SpecModelValidationError(
+                  prop.getRepresentedObject(),
+                  "The prop "
+                      + prop.getName()
+                      + " of type "
+                      + typeSpec.getTypeName()
+                      + " holds elements which are compared by identity, so a new collection "
+                      + "of new instances is never equal to the previous one. Use elements "
+                      + "which implement equals."));
+        }
+      }
+    }
+
+    return validationErrors;
+  }
+
+  static boolean hasIdentityEquality(TypeSpec typeSpec) {
+    final TypeName typeName = typeSpec.getTypeName();
+    if (typeName.equals(ClassNames.OBJECT)) {
+      return true;
+    }
+
+    final ClassName rawType = getRawType(typeName);
+    for (ClassName identityType : IDENTITY_EQUALITY_TYPES) {
+      if (identityType.equals(rawType)
+          || typeSpec.isSubType(identityType)
+          || typeSpec.isSubInterface(identityType)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Listeners and callbacks are typically implemented with lambdas or anonymous classes, which
+   * are allocated every time the layout is created.
+   */
+  static boolean isCallbackType(TypeName typeName) {
+    final ClassName rawType = getRawType(typeName);
+    return rawType != null
+        && (rawType.simpleName().endsWith("Listener") || rawType.simpleName().endsWith("Callback"));
+  }
+
+  @Nullable
+  private static TypeSpec getElementTypeSpec(TypeSpec typeSpec) {
+    final TypeName typeName = typeSpec.getTypeName();
+    if (typeName instanceof ArrayTypeName) {
+      return new TypeSpec(((ArrayTypeName) typeName).componentType);
+    }
+
+    final boolean isCollection =
+        typeSpec.isSubInterface(ClassNames.COLLECTION)
+            || COLLECTION_TYPES.contains(getRawType(typeName));
+    if (!isCollection || !(typeName instanceof ParameterizedTypeName)) {
+      return null;
+    }
+
+    if (typeSpec instanceof TypeSpec.DeclaredTypeSpec) {
+      final List<TypeSpec> typeArgumentSpecs =
+          ((TypeSpec.DeclaredTypeSpec) typeSpec).getTypeArguments();
+      return typeArgumentSpecs.isEmpty() ? null : typeArgumentSpecs.get(0);
+    }
+
+    final List<TypeName> typeArguments = ((ParameterizedTypeName) typeName).typeArguments;
+    return typeArguments.isEmpty() ? null : new TypeSpec(typeArguments.get(0));
+  }
+
+  @Nullable
+  private static ClassName getRawType(TypeName typeName) {
+    if (typeName instanceof ClassName) {
+      return (ClassName) typeName;
+    } else if (typeName instanceof ParameterizedTypeName) {
+      return ((ParameterizedTypeName) typeName).rawType;
+    }
+
+    return null;
+  }
+}
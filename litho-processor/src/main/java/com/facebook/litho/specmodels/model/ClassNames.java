@@ -56,6 +56,7 @@ public interface ClassNames {
 
   ClassName SYNCHRONIZED_POOL =
       ClassName.bestGuess("android.support.v4.util.Pools.SynchronizedPool");
+  ClassName THREAD_LOCAL_POOL = ClassName.bestGuess("com.facebook.litho.ThreadLocalPool");
   ClassName MOUNT_CONTENT_POOL = ClassName.bestGuess("com.facebook.litho.MountContentPool");
 
   ClassName LAYOUT_SPEC = ClassName.bestGuess("com.facebook.litho.annotations.LayoutSpec");
@@ -98,6 +99,10 @@ public interface ClassNames {
   ClassName TREE_PROPS = ClassName.bestGuess("com.facebook.litho.TreeProps");
 
   ClassName STATE_VALUE = ClassName.bestGuess("com.facebook.litho.StateValue");
+  ClassName INT_STATE_VALUE = ClassName.bestGuess("com.facebook.litho.IntStateValue");
+  ClassName LONG_STATE_VALUE = ClassName.bestGuess("com.facebook.litho.LongStateValue");
+  ClassName FLOAT_STATE_VALUE = ClassName.bestGuess("com.facebook.litho.FloatStateValue");
+  ClassName BOOLEAN_STATE_VALUE = ClassName.bestGuess("com.facebook.litho.BooleanStateValue");
   ClassName COMPONENT_STATE_UPDATE =
       ClassName.bestGuess("com.facebook.litho.ComponentLifecycle.StateUpdate");
   ClassName STATE_CONTAINER_COMPONENT =
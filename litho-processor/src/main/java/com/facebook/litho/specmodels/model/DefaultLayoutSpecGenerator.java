@@ -62,6 +62,7 @@ public class DefaultLayoutSpecGenerator implements SpecGenerator<LayoutSpecModel
             DelegateMethodGenerator.generateDelegates(
                 layoutSpecModel, DelegateMethodDescriptions.LAYOUT_SPEC_DELEGATE_METHODS_MAP))
         .addTypeSpecDataHolder(PureRenderGenerator.generate(layoutSpecModel))
+        .addTypeSpecDataHolder(PureRenderGenerator.generateCanReuseLayout(layoutSpecModel))
         .addTypeSpecDataHolder(EventGenerator.generate(layoutSpecModel))
         .addTypeSpecDataHolder(TriggerGenerator.generate(layoutSpecModel))
         .addTypeSpecDataHolder(WorkingRangeGenerator.generate(layoutSpecModel))
@@ -142,6 +142,32 @@ public class SpecModelUtils {
             .equals(stateValue.getTypeName().box());
   }
 
+  /**
+   * @return the holder which can be used instead of StateValue in @OnUpdateState methods for state
+   *     of the given primitive type, or null if there is none.
+   */
+  @Nullable
+  public static ClassName getPrimitiveStateValueClass(TypeName stateType) {
+    if (stateType.equals(TypeName.INT)) {
+      return ClassNames.INT_STATE_VALUE;
+    } else if (stateType.equals(TypeName.LONG)) {
+      return ClassNames.LONG_STATE_VALUE;
+    } else if (stateType.equals(TypeName.FLOAT)) {
+      return ClassNames.FLOAT_STATE_VALUE;
+    } else if (stateType.equals(TypeName.BOOLEAN)) {
+      return ClassNames.BOOLEAN_STATE_VALUE;
+    }
+
+    return null;
+  }
+
+  public static boolean isPrimitiveStateValueType(TypeName type) {
+    return type.equals(ClassNames.INT_STATE_VALUE)
+        || type.equals(ClassNames.LONG_STATE_VALUE)
+        || type.equals(ClassNames.FLOAT_STATE_VALUE)
+        || type.equals(ClassNames.BOOLEAN_STATE_VALUE);
+  }
+
   /** @return the model for state/prop that this Diff is refering to. */
   public static MethodParamModel getReferencedParamModelForDiff(
       SpecModel specModel, RenderDataDiffModel diffModel) {
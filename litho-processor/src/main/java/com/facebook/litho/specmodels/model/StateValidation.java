@@ -88,9 +88,12 @@ public class StateValidation {
    *   <li>1. Method parameters annotated with {@link Param} don't have the same name as parameters
    *       annotated with {@link State} or {@link Prop}.
    *   <li>2. Method parameters not annotated with {@link Param} must be of type
-   *       com.facebook.litho.StateValue.
+   *       com.facebook.litho.StateValue, or of one of its primitive counterparts such as
+   *       com.facebook.litho.IntStateValue.
    *   <li>3. Names of method parameters not annotated with {@link Param} must match the name and
    *       type of a parameter annotated with {@link State}.
+   *   <li>4. Primitive state values must match the name of a parameter annotated with {@link
+   *       State} of the corresponding primitive type.
    * </ul>
    *
    * @return a list of validation errors. If the list is empty, the method is well-formed.
@@ -123,6 +126,17 @@ public class StateValidation {
                         "value."));
           }
         }
+      } else if (SpecModelUtils.isPrimitiveStateValueType(methodParam.getTypeName())) {
+        // Check #4
+        if (!definesPrimitiveStateValue(
+            specModel, methodParam.getName(), methodParam.getTypeName())) {
+          validationErrors.add(
+              new SpecModelValidationError(
+                  methodParam.getRepresentedObject(),
+                  "Names of parameters of type " + methodParam.getTypeName() + " must match the " +
+                      "name of a parameter annotated with @State of the corresponding primitive " +
+                      "type."));
+        }
       } else {
         // Check #2
         if (!(methodParam.getTypeName() instanceof ParameterizedTypeName) ||
@@ -160,6 +174,19 @@ public class StateValidation {
     return validationErrors;
   }
 
+  private static boolean definesPrimitiveStateValue(
+      SpecModel specModel, String name, TypeName primitiveStateValueType) {
+    for (StateParamModel stateValue : specModel.getStateValues()) {
+      if (stateValue.getName().equals(name) &&
+          primitiveStateValueType.equals(
+              SpecModelUtils.getPrimitiveStateValueClass(stateValue.getTypeName()))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
   private static boolean definesStateValue(SpecModel specModel, String name, TypeName type) {
     for (StateParamModel stateValue : specModel.getStateValues()) {
       if (stateValue.getName().equals(name) &&
@@ -18,12 +18,16 @@ package com.facebook.litho.specmodels.processor;
 
 import static com.facebook.litho.specmodels.processor.ProcessorUtils.getPackageName;
 import static com.facebook.litho.specmodels.processor.ProcessorUtils.validate;
+import static com.facebook.litho.specmodels.processor.ProcessorUtils.validateAllocations;
 
 import com.facebook.litho.specmodels.internal.RunMode;
 import com.facebook.litho.specmodels.model.DependencyInjectionHelperFactory;
 import com.facebook.litho.specmodels.model.SpecModel;
 import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,11 +44,23 @@ import javax.tools.Diagnostic;
 @SupportedSourceVersion(SourceVersion.RELEASE_7)
 public abstract class AbstractComponentsProcessor extends AbstractProcessor {
 
+  /** Whether to report the time spent in each processing phase when compilation finishes. */
+  public static final String OPTION_TIMINGS = "com.facebook.litho.processor.timings";
+
+  /**
+   * Whether to fail on props which defeat the reuse of equivalent components, such as listeners or
+   * collections of drawables. See {@link
+   * com.facebook.litho.specmodels.model.AllocationValidation}.
+   */
+  public static final String OPTION_ALLOCATION_LINT = "com.facebook.litho.processor.allocationLint";
+
   @Nullable private final DependencyInjectionHelperFactory mDependencyInjectionHelperFactory;
   private final List<SpecModelFactory> mSpecModelFactories;
   private final boolean mShouldSavePropNames;
   private PropNameInterStageStore mPropNameInterStageStore;
   private RunMode mRunMode;
+  private boolean mAllocationLint;
+  @Nullable private ProcessorTimings mTimings;
 
   private final InterStageStore mInterStageStore =
       new InterStageStore() {
@@ -77,22 +93,46 @@ public abstract class AbstractComponentsProcessor extends AbstractProcessor {
     boolean isGeneratingAbi =
         Boolean.valueOf(options.getOrDefault("com.facebook.buck.java.generating_abi", "false"));
     mRunMode = isGeneratingAbi ? RunMode.ABI : RunMode.NORMAL;
+
+    mAllocationLint = Boolean.valueOf(options.getOrDefault(OPTION_ALLOCATION_LINT, "false"));
+    mTimings =
+        Boolean.valueOf(options.getOrDefault(OPTION_TIMINGS, "false"))
+            ? new ProcessorTimings()
+            : null;
+  }
+
+  @Override
+  public Set<String> getSupportedOptions() {
+    final Set<String> options = new HashSet<>(super.getSupportedOptions());
+    options.add(OPTION_TIMINGS);
+    options.add(OPTION_ALLOCATION_LINT);
+    return options;
   }
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
     if (roundEnv.processingOver()) {
+      if (mTimings != null) {
+        processingEnv
+            .getMessager()
+            .printMessage(Diagnostic.Kind.NOTE, mTimings.report());
+      }
       return false;
     }
+    final long roundStartNanos = System.nanoTime();
     // processingEnv is not available at construction time. :(
     mPropNameInterStageStore = new PropNameInterStageStore(processingEnv.getFiler());
 
+    final List<SpecTask> tasks = new ArrayList<>();
     for (SpecModelFactory specModelFactory : mSpecModelFactories) {
       final Set<Element> elements = specModelFactory.extract(roundEnv);
 
       for (Element element : elements) {
+        final SpecTask task = new SpecTask(element);
+        tasks.add(task);
+        final long startNanos = System.nanoTime();
         try {
-          final SpecModel specModel =
+          task.mSpecModel =
               specModelFactory.create(
                   processingEnv.getElementUtils(),
                   processingEnv.getTypeUtils(),
@@ -102,42 +142,118 @@ public abstract class AbstractComponentsProcessor extends AbstractProcessor {
                   mDependencyInjectionHelperFactory == null
                       ? null
                       : mDependencyInjectionHelperFactory.create((TypeElement) element, mRunMode),
-                  mInterStageStore);
-
-          validate(specModel, mRunMode);
-          generate(specModel);
-          afterGenerate(specModel);
-        } catch (PrintableException e) {
-          e.print(processingEnv.getMessager());
+                  shouldLoadPropNames() ? mInterStageStore : null);
         } catch (Exception e) {
-          processingEnv
-              .getMessager()
-              .printMessage(
-                  Diagnostic.Kind.ERROR,
-                  String.format(
-                      "Unexpected error thrown when generating this component spec. "
-                          + "Please report stack trace to the components team.\n%s",
-                      e),
-                  element);
-          e.printStackTrace();
+          task.mException = e;
         }
+        recordTiming(ProcessorTimings.CREATE, startNanos);
       }
     }
 
+    // Validating and generating specs stays on this thread: the javac element and type utils
+    // aren't thread safe, and type specs resolve their superclass from them lazily.
+    for (SpecTask task : tasks) {
+      task.validateAndGenerate();
+    }
+
+    // Files are written and errors reported in the order the specs were extracted.
+    for (SpecTask task : tasks) {
+      final long startNanos = System.nanoTime();
+      try {
+        if (task.mException != null) {
+          throw task.mException;
+        }
+        task.mJavaFile.writeTo(processingEnv.getFiler());
+        afterGenerate(task.mSpecModel, task.mElement);
+      } catch (PrintableException e) {
+        e.print(processingEnv.getMessager());
+      } catch (Exception e) {
+        processingEnv
+            .getMessager()
+            .printMessage(
+                Diagnostic.Kind.ERROR,
+                String.format(
+                    "Unexpected error thrown when generating this component spec. "
+                        + "Please report stack trace to the components team.\n%s",
+                    e),
+                task.mElement);
+        e.printStackTrace();
+      }
+      recordTiming(ProcessorTimings.WRITE, startNanos);
+    }
+
+    if (mTimings != null) {
+      mTimings.addRound(tasks.size(), roundStartNanos);
+    }
+
     return false;
   }
 
-  protected void generate(SpecModel specModel) throws IOException {
+  private void recordTiming(int phase, long startNanos) {
+    if (mTimings != null) {
+      mTimings.add(phase, startNanos);
+    }
+  }
+
+  /**
+   * Whether the spec models created by this processor may read the prop names saved by the
+   * compilation of other modules. Specs which are annotated in the sources being compiled have
+   * their parameter names available, so processors which only create models for those don't need
+   * to read resources from the class path. Not reading them keeps such processors isolating for
+   * Gradle's incremental annotation processing.
+   */
+  protected boolean shouldLoadPropNames() {
+    return true;
+  }
+
+  /**
+   * Creates the file of the component generated for the given spec model. The spec element is
+   * recorded as the only originating element of the generated file, so that incremental builds only
+   * reprocess it when that spec changes.
+   */
+  protected JavaFile generate(SpecModel specModel, Element originatingElement) {
     final String packageName = getPackageName(specModel.getComponentTypeName());
-    JavaFile.builder(packageName, specModel.generate())
-        .skipJavaLangImports(true)
-        .build()
-        .writeTo(processingEnv.getFiler());
+    final TypeSpec typeSpec =
+        specModel.generate().toBuilder().addOriginatingElement(originatingElement).build();
+    return JavaFile.builder(packageName, typeSpec).skipJavaLangImports(true).build();
   }
 
-  private void afterGenerate(SpecModel specModel) throws IOException {
+  private void afterGenerate(SpecModel specModel, Element originatingElement) throws IOException {
     if (mShouldSavePropNames) {
-      mInterStageStore.getPropNameInterStageStore().saveNames(specModel);
+      mInterStageStore.getPropNameInterStageStore().saveNames(specModel, originatingElement);
+    }
+  }
+
+  /** Validates and generates a single spec, keeping the result until it's written. */
+  private class SpecTask {
+    private final Element mElement;
+    private @Nullable SpecModel mSpecModel;
+    private @Nullable JavaFile mJavaFile;
+    private @Nullable Exception mException;
+
+    private SpecTask(Element element) {
+      mElement = element;
+    }
+
+    private void validateAndGenerate() {
+      if (mException != null) {
+        return;
+      }
+
+      long startNanos = System.nanoTime();
+      try {
+        validate(mSpecModel, mRunMode);
+        if (mAllocationLint) {
+          validateAllocations(mSpecModel);
+        }
+        recordTiming(ProcessorTimings.VALIDATE, startNanos);
+
+        startNanos = System.nanoTime();
+        mJavaFile = generate(mSpecModel, mElement);
+        recordTiming(ProcessorTimings.GENERATE, startNanos);
+      } catch (Exception e) {
+        mException = e;
+      }
     }
   }
 }
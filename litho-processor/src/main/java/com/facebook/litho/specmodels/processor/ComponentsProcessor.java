@@ -36,4 +36,10 @@ public class ComponentsProcessor extends AbstractComponentsProcessor {
     return new LinkedHashSet<>(
         Arrays.asList(ClassNames.LAYOUT_SPEC.toString(), ClassNames.MOUNT_SPEC.toString()));
   }
+
+  @Override
+  protected boolean shouldLoadPropNames() {
+    // All specs handled by this processor are annotated in the sources being compiled.
+    return false;
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.specmodels.processor;
+
+import java.util.concurrent.TimeUnit;
+
+/** Accumulates the time spent in each phase of processing the specs of a compilation. */
+class ProcessorTimings {
+
+  static final int CREATE = 0;
+  static final int VALIDATE = 1;
+  static final int GENERATE = 2;
+  static final int WRITE = 3;
+
+  private static final String[] PHASE_NAMES = {"create", "validate", "generate", "write"};
+
+  private final long[] mPhaseNanos = new long[PHASE_NAMES.length];
+  private long mWallNanos;
+  private int mSpecCount;
+
+  void add(int phase, long startNanos) {
+    mPhaseNanos[phase] += System.nanoTime() - startNanos;
+  }
+
+  void addRound(int specCount, long startNanos) {
+    mSpecCount += specCount;
+    mWallNanos += System.nanoTime() - startNanos;
+  }
+
+  String report() {
+    final StringBuilder report =
+        new StringBuilder("Processed ")
+            .append(mSpecCount)
+            .append(" specs in ")
+            .append(toMillis(mWallNanos))
+            .append("ms (");
+
+    for (int i = 0; i < PHASE_NAMES.length; i++) {
+      if (i > 0) {
+        report.append(", ");
+      }
+      report.append(PHASE_NAMES[i]).append(' ').append(toMillis(mPhaseNanos[i])).append("ms");
+    }
+
+    return report.append(')').toString();
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
@@ -17,6 +17,7 @@
 package com.facebook.litho.specmodels.processor;
 
 import com.facebook.litho.specmodels.internal.RunMode;
+import com.facebook.litho.specmodels.model.AllocationValidation;
 import com.facebook.litho.specmodels.model.SpecModel;
 import com.facebook.litho.specmodels.model.SpecModelValidationError;
 import com.squareup.javapoet.TypeName;
@@ -88,8 +89,18 @@ public class ProcessorUtils {
    * errors are found.
    */
   public static final void validate(SpecModel specModel, RunMode runMode) {
-    List<SpecModelValidationError> validationErrors = specModel.validate(runMode);
+    throwIfInvalid(specModel.validate(runMode));
+  }
+
+  /**
+   * Runs the opt-in {@link AllocationValidation} for the given specmodel and throws a {@link
+   * MultiPrintableException} if any of its props breaks the reuse of equivalent components.
+   */
+  public static void validateAllocations(SpecModel specModel) {
+    throwIfInvalid(AllocationValidation.validate(specModel));
+  }
 
+  private static void throwIfInvalid(List<SpecModelValidationError> validationErrors) {
     if (validationErrors == null || validationErrors.isEmpty()) {
       return;
     }
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Name;
 import javax.tools.FileObject;
 import javax.tools.JavaFileManager;
@@ -81,8 +82,13 @@ public class PropNameInterStageStore {
         });
   }
 
-  /** Saves the prop names of the given spec model at a well-known path within the resources. */
-  public void saveNames(SpecModel specModel) throws IOException {
+  /**
+   * Saves the prop names of the given spec model at a well-known path within the resources.
+   *
+   * @param originatingElements the elements the saved names are derived from, used by build tools
+   *     to track which resources need to be regenerated when a source changes.
+   */
+  public void saveNames(SpecModel specModel, Element... originatingElements) throws IOException {
     // This is quite important, because we must not open resources without writing to them
     // due to a bug in the Buck caching layer.
     if (specModel.getRawProps().isEmpty()) {
@@ -91,7 +97,10 @@ public class PropNameInterStageStore {
 
     final FileObject outputFile =
         mFiler.createResource(
-            StandardLocation.CLASS_OUTPUT, "", BASE_PATH + specModel.getSpecTypeName() + FILE_EXT);
+            StandardLocation.CLASS_OUTPUT,
+            "",
+            BASE_PATH + specModel.getSpecTypeName() + FILE_EXT,
+            originatingElements);
 
     try (Writer writer =
         new BufferedWriter(new OutputStreamWriter(outputFile.openOutputStream()))) {
@@ -136,6 +136,30 @@ public abstract class Section extends SectionLifecycle
                 + Arrays.toString(missingProps.toArray()));
       }
     }
+
+    /**
+     * Same as {@link #checkArgs(int, BitSet, String[])}, for components with at most 64 required
+     * props whose supplied props are tracked in a bitmask.
+     *
+     * @param requiredPropsCount expected number of props
+     * @param required the bitmask that identifies which props have been supplied
+     * @param requiredPropsNames the names of all props used for a useful error message
+     */
+    protected static void checkArgs(
+        int requiredPropsCount, long required, String[] requiredPropsNames) {
+      final long allRequired = requiredPropsCount == 64 ? -1L : (1L << requiredPropsCount) - 1;
+      if ((required & allRequired) != allRequired) {
+        List<String> missingProps = new ArrayList<>();
+        for (int i = 0; i < requiredPropsCount; i++) {
+          if ((required & (1L << i)) == 0) {
+            missingProps.add(requiredPropsNames[i]);
+          }
+        }
+        throw new IllegalStateException(
+            "The following props are not marked as optional and were not supplied: "
+                + Arrays.toString(missingProps.toArray()));
+      }
+    }
   }
 
   private static final AtomicInteger sIdGenerator = new AtomicInteger(0);
@@ -42,8 +42,10 @@ import com.facebook.litho.EventHandler;
 import com.facebook.litho.EventTrigger;
 import com.facebook.litho.EventTriggersContainer;
 import com.facebook.litho.LogEvent;
+import com.facebook.litho.PerfEvents;
 import com.facebook.litho.ThreadUtils;
 import com.facebook.litho.TreeProps;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.SectionsLogEventUtils.ApplyNewChangeSet;
 import com.facebook.litho.sections.config.SectionsConfiguration;
 import com.facebook.litho.sections.logger.SectionsDebugLogger;
@@ -148,6 +150,7 @@ public class SectionTree {
   private final String mTag;
   private final Map<String, Range> mLastRanges = new HashMap<>();
   private final boolean mForceSyncStateUpdates;
+  private final boolean mIsPerfEventSampled;
 
   // Holds a Pair where the first item is a section's global starting index
   // and the second is the count.
@@ -283,6 +286,7 @@ public class SectionTree {
 
     mAsyncPropUpdates = builder.mAsyncPropUpdates;
     mTag = builder.mTag;
+    mIsPerfEventSampled = PerfEvents.shouldSample(builder.mPerfEventSampleRate);
     mTarget = new BatchedTarget(builder.mTarget, mSectionsDebugLogger, mTag);
     mFocusDispatcher = new FocusDispatcher(mTarget);
     mContext = SectionContext.withSectionTree(builder.mContext, this);
@@ -849,6 +853,7 @@ public class SectionTree {
       // Checking nextRoot is enough here since whenever we enqueue a new state update we also
       // re-assign nextRoot.
       while (nextRoot != null) {
+        final long changeSetStart = PerfEvents.start(mIsPerfEventSampled);
         final ChangeSetState changeSetState =
             calculateNewChangeSet(
                 mContext,
@@ -857,6 +862,11 @@ public class SectionTree {
                 pendingStateUpdates.mAllStateUpdates,
                 mSectionsDebugLogger,
                 mTag);
+        PerfEvents.end(
+            PerfEvents.SECTIONS_CHANGESET,
+            System.identityHashCode(this),
+            changeSetStart,
+            changeSetState.getChangeSet().getChangeCount());
 
         final boolean changeSetIsValid;
         Section oldRoot = null;
@@ -1311,6 +1321,7 @@ public class SectionTree {
     private String mTag;
     private Handler mChangeSetThreadHandler;
     private boolean mForceSyncStateUpdates;
+    private int mPerfEventSampleRate = ComponentsConfiguration.perfEventSampleRate;
 
     private Builder(SectionContext componentContext, Target target) {
       mContext = componentContext;
@@ -1369,6 +1380,15 @@ public class SectionTree {
       return this;
     }
 
+    /**
+     * Records {@link PerfEvents} for one tree out of the given number of trees built, or for none
+     * if 0. Defaults to {@link ComponentsConfiguration#perfEventSampleRate}.
+     */
+    public Builder perfEventSampleRate(int sampleRate) {
+      mPerfEventSampleRate = sampleRate;
+      return this;
+    }
+
     /**
      * @return the {@link SectionTree}.
      */
@@ -43,4 +43,10 @@ public class SectionsComponentProcessor extends AbstractComponentsProcessor {
             SectionClassNames.GROUP_SECTION_SPEC.toString(),
             SectionClassNames.DIFF_SECTION_SPEC.toString()));
   }
+
+  @Override
+  protected boolean shouldLoadPropNames() {
+    // All specs handled by this processor are annotated in the sources being compiled.
+    return false;
+  }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2014-present Facebook, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import java.lang.reflect.Method;
+import javax.annotation.Nullable;
+
+/**
+ * Records the bytes allocated on the main thread by {@link MountState#mount}, its incremental mount
+ * pass and its processing of visibility outputs, frame by frame.
+ *
+ * <p>Allocations are read from the JVM's per-thread allocation counter, so this only works when
+ * tests run on a HotSpot compatible JVM (see {@link #isSupported()}). Under Robolectric calls into
+ * shadowed framework classes allocate too, so counts are best compared between frames and layouts
+ * rather than against an absolute number.
+ *
+ * <pre>
+ *   final MountAllocationTracker tracker = new MountAllocationTracker();
+ *   tracker.start();
+ *   tracker.beginFrame();
+ *   componentTree.mountComponent(visibleRect, true);
+ *   tracker.endFrame();
+ *   tracker.stop();
+ *   final long incrementalMountBytes = tracker.getIncrementalMountAllocatedBytes();
+ * </pre>
+ */
+public class MountAllocationTracker implements MountAudit {
+
+  private static final int CALIBRATION_READS = 64;
+
+  @Nullable private static final Object sThreadMXBean;
+  @Nullable private static final Method sGetThreadAllocatedBytes;
+
+  static {
+    Object threadMXBean = null;
+    Method getThreadAllocatedBytes = null;
+    try {
+      threadMXBean =
+          Class.forName("java.lang.management.ManagementFactory")
+              .getMethod("getThreadMXBean")
+              .invoke(null);
+      getThreadAllocatedBytes =
+          Class.forName("com.sun.management.ThreadMXBean")
+              .getMethod("getThreadAllocatedBytes", long.class);
+      if ((Long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId())
+          < 0) {
+        // Allocation counting is disabled on this JVM.
+        getThreadAllocatedBytes = null;
+      }
+    } catch (Exception e) {
+      getThreadAllocatedBytes = null;
+    }
+
+    sThreadMXBean = getThreadAllocatedBytes != null ? threadMXBean : null;
+    sGetThreadAllocatedBytes = getThreadAllocatedBytes;
+  }
+
+  private final Object[] mThreadIdArgs = new Object[1];
+  private final int[] mDepths = new int[ENTRY_POINT_COUNT];
+  private final long[] mStartBytes = new long[ENTRY_POINT_COUNT];
+  private final long[] mStartReads = new long[ENTRY_POINT_COUNT];
+  private final long[] mFrameBytes = new long[ENTRY_POINT_COUNT];
+
+  // Bytes allocated by reading the allocation counter itself, which are subtracted from counts.
+  private long mReadOverheadBytes;
+  private long mReadCount;
+  private long mFrameStartBytes;
+  private long mFrameStartReads;
+  private long mFrameTotalBytes = -1;
+
+  /** @return whether allocations can be counted on this JVM. */
+  public static boolean isSupported() {
+    return sGetThreadAllocatedBytes != null;
+  }
+
+  /** Starts notifying this tracker of mounts on the current thread, which must be the main one. */
+  public void start() {
+    if (!isSupported()) {
+      throw new IllegalStateException("Allocation counting isn't supported on this JVM");
+    }
+
+    mThreadIdArgs[0] = Thread.currentThread().getId();
+    calibrate();
+    MountState.setMountAudit(this);
+  }
+
+  public void stop() {
+    MountState.setMountAudit(null);
+  }
+
+  /** Starts a new frame, clearing the counts of the previous one. */
+  public void beginFrame() {
+    for (int i = 0; i < ENTRY_POINT_COUNT; i++) {
+      mDepths[i] = 0;
+      mFrameBytes[i] = 0;
+    }
+    mFrameTotalBytes = -1;
+    mFrameStartBytes = readAllocatedBytes();
+    mFrameStartReads = mReadCount;
+  }
+
+  public void endFrame() {
+    mFrameTotalBytes = allocatedSince(mFrameStartBytes, mFrameStartReads);
+  }
+
+  /** @return the bytes allocated between the last calls to beginFrame and endFrame. */
+  public long getFrameAllocatedBytes() {
+    return mFrameTotalBytes;
+  }
+
+  /** @return the bytes allocated by MountState.mount during the last frame. */
+  public long getMountAllocatedBytes() {
+    return mFrameBytes[MOUNT];
+  }
+
+  /** @return the bytes allocated by the incremental mount pass during the last frame. */
+  public long getIncrementalMountAllocatedBytes() {
+    return mFrameBytes[INCREMENTAL_MOUNT];
+  }
+
+  /** @return the bytes allocated processing visibility outputs during the last frame. */
+  public long getVisibilityOutputsAllocatedBytes() {
+    return mFrameBytes[PROCESS_VISIBILITY_OUTPUTS];
+  }
+
+  @Override
+  public void onEnter(@EntryPoint int entryPoint) {
+    // Nested LithoViews are mounted from their parent's mount, so only the outermost call counts.
+    if (mDepths[entryPoint]++ == 0) {
+      mStartBytes[entryPoint] = readAllocatedBytes();
+      mStartReads[entryPoint] = mReadCount;
+    }
+  }
+
+  @Override
+  public void onExit(@EntryPoint int entryPoint) {
+    if (mDepths[entryPoint] > 0 && --mDepths[entryPoint] == 0) {
+      mFrameBytes[entryPoint] +=
+          allocatedSince(mStartBytes[entryPoint], mStartReads[entryPoint]);
+    }
+  }
+
+  private long allocatedSince(long startBytes, long startReads) {
+    final long endBytes = readAllocatedBytes();
+    final long readOverheadBytes = (mReadCount - startReads) * mReadOverheadBytes;
+    return Math.max(0, endBytes - startBytes - readOverheadBytes);
+  }
+
+  private void calibrate() {
+    long minOverhead = Long.MAX_VALUE;
+    long previousBytes = readAllocatedBytes();
+    for (int i = 0; i < CALIBRATION_READS; i++) {
+      final long bytes = readAllocatedBytes();
+      minOverhead = Math.min(minOverhead, bytes - previousBytes);
+      previousBytes = bytes;
+    }
+    mReadOverheadBytes = minOverhead;
+  }
+
+  private long readAllocatedBytes() {
+    mReadCount++;
+    try {
+      return (Long) sGetThreadAllocatedBytes.invoke(sThreadMXBean, mThreadIdArgs);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -49,6 +49,7 @@ import com.facebook.litho.LayoutHandler;
 import com.facebook.litho.LithoView;
 import com.facebook.litho.LogEvent;
 import com.facebook.litho.MeasureComparisonUtils;
+import com.facebook.litho.PerfEvents;
 import com.facebook.litho.Size;
 import com.facebook.litho.SizeSpec;
 import com.facebook.litho.ThreadUtils;
@@ -95,6 +96,8 @@ public class RecyclerBinder
   private final List<ComponentTreeHolder> mPendingComponentTreeHolders;
   private final float mRangeRatio;
   private final AtomicBoolean mIsMeasured = new AtomicBoolean(false);
+  private final boolean mIsPerfEventSampled =
+      PerfEvents.shouldSample(ComponentsConfiguration.perfEventSampleRate);
   private final AtomicBoolean mRequiresRemeasure = new AtomicBoolean(false);
   private final Runnable mRemeasureRunnable = new Runnable() {
     @Override
@@ -1560,7 +1563,13 @@ public class RecyclerBinder
       treeHoldersSize = mComponentTreeHolders.size();
     }
 
+    final long computeRangeStart = PerfEvents.start(mIsPerfEventSampled);
     computeRangeLayout(treeHoldersSize, rangeStart, rangeEnd, mIsCircular);
+    PerfEvents.end(
+        PerfEvents.RECYCLER_RANGE,
+        System.identityHashCode(this),
+        computeRangeStart,
+        rangeEnd - rangeStart + 1);
   }
 
   private void computeRangeLayout(